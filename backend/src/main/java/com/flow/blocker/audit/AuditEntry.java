@@ -0,0 +1,14 @@
+package com.flow.blocker.audit;
+
+import com.flow.blocker.policy.PolicyChangedEvent;
+
+import java.time.LocalDateTime;
+
+public record AuditEntry(LocalDateTime occurredAt, String actor, String changeType,
+                         String extension, String before, String after) {
+
+    public static AuditEntry of(PolicyChangedEvent event, String actor) {
+        return new AuditEntry(LocalDateTime.now(), actor, event.type().name(),
+                event.extension(), event.before(), event.after());
+    }
+}
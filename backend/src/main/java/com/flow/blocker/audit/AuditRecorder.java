@@ -0,0 +1,173 @@
+package com.flow.blocker.audit;
+
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.policy.PolicyChangedEvent;
+import com.flow.blocker.repository.PolicyAuditBulkRepository;
+import com.flow.blocker.storage.StoreModificationCounter;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 커밋된 규칙 변경을 메모리 큐에 담고, 백그라운드 스레드가 배치로 policy_audit 테이블에 기록한다.
+ * 관리 API는 큐에 넣는 비용만 부담하며, 종료 시에는 웹 서버가 멈춘 뒤 남은 항목을 모두 기록한다.
+ */
+@Slf4j
+@Component
+public class AuditRecorder implements SmartLifecycle {
+
+    static final String ACTOR_HEADER = "X-Actor";
+    private static final String SYSTEM_ACTOR = "system";
+    private static final int MAX_ACTOR_LENGTH = 100;
+
+    private final PolicyAuditBulkRepository auditRepository;
+    private final StoreModificationCounter modifications;
+    private final BlockerProperties.Audit properties;
+    private final BlockingQueue<AuditEntry> queue;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Object flushLock = new Object();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditRecorder(PolicyAuditBulkRepository auditRepository, StoreModificationCounter modifications,
+                         BlockerProperties properties) {
+        this.auditRepository = auditRepository;
+        this.modifications = modifications;
+        this.properties = properties.getAudit();
+        this.queue = new ArrayBlockingQueue<>(this.properties.getQueueCapacity());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        record(AuditEntry.of(event, resolveActor()));
+    }
+
+    public void record(AuditEntry entry) {
+        try {
+            if (!queue.offer(entry, properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                long dropped = droppedCount.incrementAndGet();
+                log.warn("감사 로그 큐가 가득 차 항목을 버립니다. extension={}, 누적 {}건", entry.extension(), dropped);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedCount.incrementAndGet();
+        }
+
+        // 종료 이후의 변경은 바로 기록
+        if (!running) {
+            flush();
+        }
+    }
+
+    /**
+     * 큐에 남은 항목을 호출 스레드에서 모두 기록한다.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            List<AuditEntry> batch = new ArrayList<>(properties.getBatchSize());
+            while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 인터럽트 대신 플래그로 멈춘다. 기록 중인 JDBC 작업이 인터럽트로 끊기지 않도록 하기 위함이다.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join(properties.getFlushInterval().toMillis() * 2 + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버(DEFAULT_PHASE - 2048)보다 늦게 멈춰 처리 중이던 요청의 변경까지 기록한다
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void runWriter() {
+        long pollMillis = properties.getFlushInterval().toMillis();
+        List<AuditEntry> batch = new ArrayList<>(properties.getBatchSize());
+        while (running) {
+            try {
+                AuditEntry first = queue.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                synchronized (flushLock) {
+                    batch.add(first);
+                    queue.drainTo(batch, properties.getBatchSize() - 1);
+                    write(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<AuditEntry> batch) {
+        try {
+            auditRepository.insertBatch(batch);
+            modifications.markModified();
+        } catch (RuntimeException e) {
+            droppedCount.addAndGet(batch.size());
+            log.error("감사 로그 {}건 기록 실패", batch.size(), e);
+        }
+    }
+
+    private static String resolveActor() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            String actor = request.getHeader(ACTOR_HEADER);
+            if (actor == null || actor.isBlank()) {
+                actor = request.getRemoteAddr();
+            }
+            actor = actor.strip();
+            return actor.length() > MAX_ACTOR_LENGTH ? actor.substring(0, MAX_ACTOR_LENGTH) : actor;
+        }
+        return SYSTEM_ACTOR;
+    }
+}
@@ -0,0 +1,232 @@
+package com.flow.blocker.config;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.policy.ContentTypePolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "blocker")
+public class BlockerProperties {
+
+    private final Policy policy = new Policy();
+    private final Custom custom = new Custom();
+    private final Transfer transfer = new Transfer();
+    private final Audit audit = new Audit();
+    private final Checkpoint checkpoint = new Checkpoint();
+    private final WriteBehind writeBehind = new WriteBehind();
+    private final Grpc grpc = new Grpc();
+    private final UploadGuard uploadGuard = new UploadGuard();
+    private final Scan scan = new Scan();
+    private final Warmup warmup = new Warmup();
+    private final SharedPolicy sharedPolicy = new SharedPolicy();
+    private final Filter filter = new Filter();
+    private final Jfr jfr = new Jfr();
+    private final Delta delta = new Delta();
+    private final ContentType contentType = new ContentType();
+    private final Schedule schedule = new Schedule();
+    private final Replica replica = new Replica();
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        // 어떤 규칙에도 일치하지 않을 때의 결정 (ALLOW: 차단 목록 모드, BLOCK: 허용 목록 모드)
+        private RuleAction defaultAction = RuleAction.ALLOW;
+    }
+
+    @Getter
+    @Setter
+    public static class Custom {
+
+        // 배포 환경별 커스텀 규칙 최대 개수
+        private int maxCount = 200;
+
+        // 커서 기반 목록 조회의 기본/최대 페이지 크기
+        private int defaultPageSize = 100;
+        private int maxPageSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Transfer {
+
+        // 가져오기 시 JDBC 배치 크기
+        private int batchSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Audit {
+
+        // 메모리 큐 용량. 가득 차면 offerTimeout 만큼 기다린 뒤 버리고 경고를 남긴다
+        private int queueCapacity = 10_000;
+        private Duration offerTimeout = Duration.ofMillis(100);
+
+        // 백그라운드 기록 주기와 한 번에 기록할 최대 건수
+        private Duration flushInterval = Duration.ofSeconds(1);
+        private int batchSize = 200;
+    }
+
+    @Getter
+    @Setter
+    public static class Checkpoint {
+
+        // 메모리 우선 모드 (인메모리 H2 + 주기적 파일 체크포인트)
+        private boolean enabled = false;
+        private Path path = Path.of("./data/extensions-checkpoint.sql.gz");
+        private Duration interval = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class WriteBehind {
+
+        // 관리 API 변경을 메모리에 먼저 반영하고 백그라운드에서 묶어 저장
+        private boolean enabled = false;
+
+        // 기록 주기와 한 트랜잭션에 묶을 최대 건수. 반영 전 변경은 저널에 남아 재기동 시 복구된다
+        private Duration flushInterval = Duration.ofMillis(200);
+        private int maxBatchSize = 100;
+        private Path journalPath = Path.of("./data/write-behind.journal");
+
+        // 저널 한 줄마다 디스크까지 내린 뒤 반환 (끄면 프로세스 종료는 견디지만 OS/전원 장애에는 잃을 수 있다)
+        private boolean fsync = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Grpc {
+
+        // 클러스터 내부 업로드 서비스용 검사/구독 API (0이면 임의 포트)
+        private boolean enabled = false;
+        private int port = 9090;
+    }
+
+    @Getter
+    @Setter
+    public static class UploadGuard {
+
+        // 업로드 게이트웨이 경로의 multipart 요청 파일명을 검사
+        private boolean enabled = false;
+        private List<String> urlPatterns = List.of("/upload/*");
+        // 파트 헤더 최대 크기 (넘으면 400)
+        private int maxHeaderBytes = 16 * 1024;
+    }
+
+    @Getter
+    @Setter
+    public static class Scan {
+
+        // 저장된 파일 디렉터리를 현재 정책으로 다시 검사
+        private boolean enabled = false;
+        private Path root = Path.of("./data/uploads");
+        private Path reportPath = Path.of("./data/scan/violations.csv");
+        private Path checkpointPath = Path.of("./data/scan/scan.checkpoint");
+        // 규칙 변경이 없을 때 새 파일을 검사하는 주기
+        private Duration interval = Duration.ofMinutes(10);
+        // 규칙 변경 후 재검사까지 대기 (연속 변경을 한 번으로 묶음)
+        private Duration triggerDelay = Duration.ofSeconds(5);
+        // 0이면 CPU 수
+        private int parallelism = 0;
+    }
+
+    @Getter
+    @Setter
+    public static class Warmup {
+
+        // 끝날 때까지 readiness가 REFUSING_TRAFFIC으로 유지된다
+        private boolean enabled = true;
+        private int checkIterations = 20_000;
+        private int listIterations = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class SharedPolicy {
+
+        // 같은 호스트의 워커가 메모리 매핑으로 읽는 활성 규칙 파일 (형식: SharedPolicyReader)
+        private boolean enabled = false;
+        private Path path = Path.of("./data/policy.fxpl");
+    }
+
+    @Getter
+    @Setter
+    public static class Filter {
+
+        // /api/extensions/filter Bloom 필터의 목표 오탐률 (낮을수록 커진다: 규칙당 약 -1.44 log2(p) 비트)
+        private double falsePositiveRate = 0.01;
+    }
+
+    @Getter
+    @Setter
+    public static class Jfr {
+
+        // 기동 시 애플리케이션이 직접 여는 JFR 연속 기록 (settings: JDK default/profile)
+        private boolean enabled = false;
+        private String settings = "default";
+        private Duration maxAge = Duration.ofHours(6);
+        private DataSize maxSize = DataSize.ofMegabytes(100);
+        private Path dumpPath = Path.of("./data/jfr/flow-blocker.jfr");
+
+        // 이 시간보다 오래 걸린 검사/변경/재빌드만 기록 (0이면 전부)
+        private Duration checkThreshold = Duration.ofMillis(1);
+        private Duration mutationThreshold = Duration.ZERO;
+        private Duration rebuildThreshold = Duration.ZERO;
+    }
+
+    @Getter
+    @Setter
+    public static class Delta {
+
+        // GET /api/extensions/changes 가 돌려줄 수 있는 최근 변경 수 (넘으면 클라이언트가 전체를 다시 받는다)
+        private int retainedChanges = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class ContentType {
+
+        // 검사 API에 contentType을 보낸 경우. REPORT: 불일치는 표시만, STRICT: 불일치도 차단 (차단 대상 타입은 항상 차단)
+        private ContentTypePolicy.Mode mode = ContentTypePolicy.Mode.REPORT;
+    }
+
+    @Getter
+    @Setter
+    public static class Schedule {
+
+        // 예약 규칙의 매일 구간/요일을 해석하는 시간대
+        private ZoneId zone = ZoneId.systemDefault();
+
+        // 활성화 전환 타이머 휠의 칸 간격(전환 시각 오차 상한)과 칸 수 (2의 거듭제곱으로 올림)
+        private Duration tick = Duration.ofSeconds(1);
+        private int wheelSize = 512;
+    }
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        // 읽기 전용 트랜잭션을 복제본으로 보낸다 (쓰기, 방금 쓴 클라이언트의 읽기, 지연이 큰 동안의 읽기는 주 DB)
+        private boolean enabled = false;
+        private String url;
+        private String username = "sa";
+        private String password = "";
+        private int maximumPoolSize = 10;
+
+        // 주 DB에 하트비트를 쓰고 복제본에서 읽어 오는 주기. 복제본 지연이 maxLag보다 크면 모든 읽기를 주 DB로 보낸다
+        private Duration heartbeatInterval = Duration.ofSeconds(1);
+        private Duration maxLag = Duration.ofSeconds(5);
+
+        // 로컬 시험용: 이 주기로 주 DB 내용을 복제본 H2에 복사한다 (0이면 사용 안 함, 운영에서는 DB 복제가 담당)
+        private Duration localReplicationInterval = Duration.ZERO;
+    }
+}
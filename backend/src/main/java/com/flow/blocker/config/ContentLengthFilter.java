@@ -0,0 +1,36 @@
+package com.flow.blocker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * JSON 응답을 모아 Content-Length를 붙인다.
+ * Tomcat은 길이를 알 때만 server.compression.min-response-size를 적용하므로, 이 필터가 없으면 작은 응답까지 압축된다.
+ * 스트리밍 응답(내보내기)은 버퍼링하지 않는다.
+ */
+public class ContentLengthFilter extends OncePerRequestFilter {
+
+    private static final String EXPORT_PATH = "/api/extensions/export";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(EXPORT_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.flow.blocker.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate가 실행하는 SQL 문장 수를 스레드별로 센다. (JdbcTemplate 경로는 포함하지 않는다)
+ * 요청 단위 집계는 QueryCountFilter가 요청 시작 시 reset하고 끝날 때 읽는다.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     * 마지막 reset 이후 현재 스레드에서 실행된 문장 수
+     */
+    public static int count() {
+        return COUNT.get()[0];
+    }
+}
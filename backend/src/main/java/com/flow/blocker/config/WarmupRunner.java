@@ -0,0 +1,120 @@
+package com.flow.blocker.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flow.blocker.domain.BlockedExtension;
+import com.flow.blocker.exception.ExtensionException;
+import com.flow.blocker.policy.PolicyCache;
+import com.flow.blocker.policy.PolicySnapshot;
+import com.flow.blocker.repository.BlockedExtensionRepository;
+import com.flow.blocker.service.ExtensionService;
+import com.flow.blocker.service.ExtensionValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기동 직후 트래픽을 받기 전에 규칙 로딩, 정책 스냅샷 빌드, 검사/목록 경로를 미리 실행한다.
+ * 스프링 부트는 모든 ApplicationRunner가 끝난 뒤에 readiness를 ACCEPTING_TRAFFIC으로 바꾸므로,
+ * /actuator/health/readiness는 워밍업이 끝나야 UP이 된다. (실패하면 기동을 중단한다)
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final List<String> SAMPLE_FILENAMES = List.of(
+            "report.pdf", "photo.JPG", " notes.txt ", "archive.tar.gz", "README", ".env",
+            "dir/sub/setup.exe", "C:\\Users\\me\\run.BAT", "invoice.exe.pdf", "index.php5");
+
+    private final BlockedExtensionRepository repository;
+    private final PolicyCache policyCache;
+    private final ExtensionService extensionService;
+    private final ExtensionValidator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockerProperties.Warmup properties;
+
+    private volatile boolean completed;
+
+    public WarmupRunner(BlockedExtensionRepository repository, PolicyCache policyCache,
+                        ExtensionService extensionService, ExtensionValidator validator, ObjectMapper objectMapper,
+                        ApplicationEventPublisher eventPublisher, BlockerProperties properties) {
+        this.repository = repository;
+        this.policyCache = policyCache;
+        this.extensionService = extensionService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties.getWarmup();
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws JsonProcessingException {
+        if (!properties.isEnabled()) {
+            completed = true;
+            return;
+        }
+        // 기본값도 REFUSING_TRAFFIC이지만, 다른 컴포넌트가 먼저 바꿔도 워밍업 동안은 받지 않도록 명시한다
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        long started = System.nanoTime();
+
+        // 1. 규칙 로딩 (Hibernate/커넥션 풀 초기화, 첫 JPA 쿼리)
+        List<BlockedExtension> rules = repository.findAll();
+
+        // 2. 정책 스냅샷 빌드 (오토마톤, 결정표)
+        PolicySnapshot snapshot = policyCache.current();
+
+        // 3. 입력 검증 정규식과 예외 경로
+        for (BlockedExtension rule : rules) {
+            String normalized = validator.normalize(rule.getExtension());
+            try {
+                validator.validate(normalized, validator.resolveRuleType(normalized, rule.getRuleType()));
+            } catch (ExtensionException e) {
+                // 이전 버전에서 저장된 규칙은 현재 검증 규칙과 다를 수 있다
+            }
+        }
+        try {
+            validator.validate(validator.normalize("../exe"), null);
+        } catch (ExtensionException expected) {
+            // 거부 경로도 한 번 실행
+        }
+
+        // 4. 검사 경로 (JIT가 컴파일할 만큼 반복)
+        List<String> filenames = new ArrayList<>(SAMPLE_FILENAMES);
+        for (BlockedExtension rule : rules) {
+            filenames.add("sample." + rule.getExtension().replace("*", "1"));
+        }
+        long blocked = 0;
+        for (int i = 0; i < properties.getCheckIterations(); i++) {
+            if (extensionService.checkFilename(filenames.get(i % filenames.size())).isBlocked()) {
+                blocked++;
+            }
+        }
+
+        // 5. 목록 경로 (JPA 쿼리와 JSON 직렬화)
+        int listBytes = 0;
+        for (int i = 0; i < properties.getListIterations(); i++) {
+            listBytes = objectMapper.writeValueAsBytes(extensionService.getAllExtensions()).length
+                    + objectMapper.writeValueAsBytes(extensionService.getCustomExtensions(null, null)).length;
+        }
+
+        completed = true;
+        log.info("워밍업 완료: rules={}, revision={}, checks={} (blocked={}), lists={} ({} bytes), {}ms",
+                rules.size(), snapshot.revision(), properties.getCheckIterations(), blocked,
+                properties.getListIterations(), listBytes, (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -1,6 +1,17 @@
 package com.flow.blocker.config;
 
+import com.flow.blocker.service.ExtensionService;
+import com.flow.blocker.upload.UploadGuardFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.multipart.MultipartResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -15,8 +26,45 @@ public class WebConfig implements WebMvcConfigurer {
                         "http://localhost:3000",
                         "https://flow-file-extension-blocker.vercel.app"
                 )
-                .allowedMethods("GET", "POST", "PATCH", "DELETE", "OPTIONS")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    @Bean
+    public FilterRegistrationBean<ContentLengthFilter> contentLengthFilter() {
+        FilterRegistrationBean<ContentLengthFilter> registration = new FilterRegistrationBean<>(new ContentLengthFilter());
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(
+                new QueryCountFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "blocker.upload-guard", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<UploadGuardFilter> uploadGuardFilter(ExtensionService extensionService,
+                                                                       BlockerProperties properties,
+                                                                       ObjectProvider<MultipartResolver> multipartResolver) {
+        BlockerProperties.UploadGuard config = properties.getUploadGuard();
+        // 스프링 MVC로 가는 요청은 MultipartResolver가 getParts()로 본문을 받는다
+        boolean resolvesParts = multipartResolver.getIfAvailable() != null;
+        UploadGuardFilter filter = new UploadGuardFilter(
+                filename -> extensionService.checkFilename(filename).isBlocked(), config.getMaxHeaderBytes(),
+                request -> resolvesParts && DispatcherServletAutoConfiguration.DEFAULT_DISPATCHER_SERVLET_BEAN_NAME
+                        .equals(request.getHttpServletMapping().getServletName()));
+        FilterRegistrationBean<UploadGuardFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setUrlPatterns(config.getUrlPatterns());
+        return registration;
+    }
 }
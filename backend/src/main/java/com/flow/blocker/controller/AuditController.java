@@ -0,0 +1,26 @@
+package com.flow.blocker.controller;
+
+import com.flow.blocker.dto.AuditPageResponse;
+import com.flow.blocker.service.AuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/audit")
+@RequiredArgsConstructor
+public class AuditController {
+
+    private final AuditService auditService;
+
+    @GetMapping
+    public ResponseEntity<AuditPageResponse> getHistory(
+            @RequestParam(required = false) String extension,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(auditService.getHistory(extension, cursor, size));
+    }
+}
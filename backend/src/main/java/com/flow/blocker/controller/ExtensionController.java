@@ -1,12 +1,28 @@
 package com.flow.blocker.controller;
 
+import com.flow.blocker.dto.CustomExtensionPageResponse;
 import com.flow.blocker.dto.CustomExtensionRequest;
+import com.flow.blocker.dto.ExtensionChangeResponse;
+import com.flow.blocker.dto.ExtensionCheckResponse;
+import com.flow.blocker.dto.ExtensionDeltaResponse;
+import com.flow.blocker.dto.ExtensionFilterResponse;
 import com.flow.blocker.dto.ExtensionResponse;
+import com.flow.blocker.dto.ImportResponse;
+import com.flow.blocker.dto.ScheduleRequest;
+import com.flow.blocker.service.BlockListTransferService;
 import com.flow.blocker.service.ExtensionService;
+import com.flow.blocker.transfer.TransferFormat;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/extensions")
@@ -14,27 +30,93 @@ import org.springframework.web.bind.annotation.*;
 public class ExtensionController {
 
     private final ExtensionService extensionService;
+    private final BlockListTransferService transferService;
 
     @GetMapping
     public ResponseEntity<ExtensionResponse> getAllExtensions() {
         return ResponseEntity.ok(extensionService.getAllExtensions());
     }
 
+    /**
+     * since(목록/변경 응답의 revision) 이후 커밋된 변경만 돌려준다. reset이면 전체 목록을 다시 받아야 한다.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ExtensionDeltaResponse> getChanges(@RequestParam long since) {
+        return ResponseEntity.ok(extensionService.getChangesSince(since));
+    }
+
+    @GetMapping("/custom")
+    public ResponseEntity<CustomExtensionPageResponse> getCustomExtensions(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(extensionService.getCustomExtensions(cursor, size));
+    }
+
+    @GetMapping("/check")
+    public ResponseEntity<ExtensionCheckResponse> checkFilename(@RequestParam(required = false) String filename,
+                                                                @RequestParam(required = false) String contentType) {
+        return ResponseEntity.ok(extensionService.checkFilename(filename, contentType));
+    }
+
+    /**
+     * 클라이언트 사전 필터용 Bloom 필터. ETag로 규칙이 바뀌지 않았으면 304를 돌려준다.
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<ExtensionFilterResponse> getExtensionFilter(WebRequest webRequest) {
+        ExtensionFilterResponse filter = extensionService.getExtensionFilter();
+        String etag = "\"" + filter.getRevision() + "-" + Integer.toHexString(filter.getBits().hashCode()) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(filter);
+    }
+
     @PatchMapping("/fixed/{extension}")
-    public ResponseEntity<Void> toggleFixedExtension(@PathVariable String extension) {
-        extensionService.toggleFixedExtension(extension);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ExtensionChangeResponse> toggleFixedExtension(@PathVariable String extension) {
+        return ResponseEntity.ok(extensionService.toggleFixedExtension(extension));
     }
 
     @PostMapping("/custom")
-    public ResponseEntity<Void> addCustomExtension(@Valid @RequestBody CustomExtensionRequest request) {
-        extensionService.addCustomExtension(request.getExtension());
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ExtensionChangeResponse> addCustomExtension(@Valid @RequestBody CustomExtensionRequest request) {
+        return ResponseEntity.ok(extensionService.addCustomExtension(request.getExtension(), request.getRuleType(),
+                request.getAction(), request.getPriority()));
     }
 
     @DeleteMapping("/custom/{extension}")
-    public ResponseEntity<Void> deleteCustomExtension(@PathVariable String extension) {
-        extensionService.deleteCustomExtension(extension);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ExtensionChangeResponse> deleteCustomExtension(@PathVariable String extension) {
+        return ResponseEntity.ok(extensionService.deleteCustomExtension(extension));
+    }
+
+    /**
+     * 규칙 예약(기간/매일 구간) 설정. 경계 시각에 ActivationEngine이 규칙을 켜고 끈다.
+     */
+    @PutMapping("/{extension}/schedule")
+    public ResponseEntity<ExtensionChangeResponse> updateSchedule(@PathVariable String extension,
+                                                                  @RequestBody ScheduleRequest request) {
+        return ResponseEntity.ok(extensionService.updateSchedule(extension, request));
+    }
+
+    @DeleteMapping("/{extension}/schedule")
+    public ResponseEntity<ExtensionChangeResponse> deleteSchedule(@PathVariable String extension) {
+        return ResponseEntity.ok(extensionService.updateSchedule(extension, null));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRules(@RequestParam(defaultValue = "csv") String format) {
+        TransferFormat transferFormat = TransferFormat.from(format);
+        return ResponseEntity.ok()
+                .contentType(transferFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"blocked-extensions." + transferFormat.getFileExtension() + "\"")
+                .body(out -> transferService.exportRules(out, transferFormat));
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<ImportResponse> importRules(@RequestParam(defaultValue = "csv") String format,
+                                                      InputStream body) throws IOException {
+        return ResponseEntity.ok(transferService.importRules(body, TransferFormat.from(format)));
     }
 }
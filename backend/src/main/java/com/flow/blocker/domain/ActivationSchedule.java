@@ -0,0 +1,190 @@
+package com.flow.blocker.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 규칙이 실제로 적용되는 시간 범위. is_active가 켜져 있을 때만 의미가 있다.
+ * - validFrom/validUntil: 절대 기간 [validFrom, validUntil). 한쪽만 지정 가능
+ * - windowStart/windowEnd: 매일 반복되는 구간 [start, end). start > end면 자정을 넘긴다 (22:00~02:00)
+ * - windowDays: 구간이 시작하는 요일 (월요일 = 1번째 비트). 0이면 매일
+ * - outsideWindow: 구간 밖에서 적용 (업무 시간 외 차단)
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ActivationSchedule {
+
+    private static final int EVERY_DAY = 0;
+    // 요일 구간은 최소 일주일에 한 번 바뀌므로 기준일 앞뒤로 이만큼만 경계를 찾는다
+    private static final int SEARCH_DAYS = 8;
+
+    @Column(name = "valid_from")
+    private Instant validFrom;
+
+    @Column(name = "valid_until")
+    private Instant validUntil;
+
+    @Column(name = "window_start")
+    private LocalTime windowStart;
+
+    @Column(name = "window_end")
+    private LocalTime windowEnd;
+
+    @Column(name = "window_days")
+    private Integer windowDays;
+
+    @Column(name = "outside_window")
+    private Boolean outsideWindow;
+
+    @Builder
+    public ActivationSchedule(Instant validFrom, Instant validUntil, LocalTime windowStart, LocalTime windowEnd,
+                              Set<DayOfWeek> windowDays, boolean outsideWindow) {
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.windowDays = windowStart != null ? toMask(windowDays) : null;
+        this.outsideWindow = windowStart != null ? outsideWindow : null;
+    }
+
+    public boolean isEmpty() {
+        return validFrom == null && validUntil == null && windowStart == null;
+    }
+
+    public boolean hasWindow() {
+        return windowStart != null && windowEnd != null;
+    }
+
+    public boolean isOutsideWindow() {
+        return Boolean.TRUE.equals(outsideWindow);
+    }
+
+    public Set<DayOfWeek> getWindowDaySet() {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        int mask = windowDays != null ? windowDays : EVERY_DAY;
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (mask == EVERY_DAY || (mask & bit(day)) != 0) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    public boolean isActiveAt(ZonedDateTime time) {
+        Instant instant = time.toInstant();
+        if (validFrom != null && instant.isBefore(validFrom)) {
+            return false;
+        }
+        if (validUntil != null && !instant.isBefore(validUntil)) {
+            return false;
+        }
+        return !hasWindow() || inWindow(time) != isOutsideWindow();
+    }
+
+    /**
+     * time 이후 isActiveAt 결과가 처음 바뀌는 시각. 더 이상 바뀌지 않으면 null.
+     * 상태는 후보 경계(기간 양 끝, 구간 시작/끝) 사이에서 일정하므로 후보를 순서대로 확인한다.
+     */
+    public ZonedDateTime nextTransitionAfter(ZonedDateTime time) {
+        ZoneId zone = time.getZone();
+        Set<ZonedDateTime> candidates = new TreeSet<>();
+        if (validFrom != null) {
+            candidates.add(validFrom.atZone(zone));
+        }
+        if (validUntil != null) {
+            candidates.add(validUntil.atZone(zone));
+        }
+        if (hasWindow()) {
+            // 시작 전이면 validFrom 근처의 구간 경계가 필요하다
+            ZonedDateTime anchor = validFrom != null && validFrom.isAfter(time.toInstant())
+                    ? validFrom.atZone(zone) : time;
+            LocalDate anchorDate = anchor.toLocalDate();
+            Set<DayOfWeek> days = getWindowDaySet();
+            for (int offset = -1; offset <= SEARCH_DAYS; offset++) {
+                LocalDate date = anchorDate.plusDays(offset);
+                if (days.contains(date.getDayOfWeek())) {
+                    candidates.add(ZonedDateTime.of(date, windowStart, zone));
+                    candidates.add(ZonedDateTime.of(wrapsMidnight() ? date.plusDays(1) : date, windowEnd, zone));
+                }
+            }
+        }
+
+        boolean current = isActiveAt(time);
+        for (ZonedDateTime candidate : candidates) {
+            if (candidate.isAfter(time) && isActiveAt(candidate) != current) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 감사 로그/이벤트용 요약
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        if (validFrom != null) {
+            sb.append("from=").append(validFrom).append(',');
+        }
+        if (validUntil != null) {
+            sb.append("until=").append(validUntil).append(',');
+        }
+        if (hasWindow()) {
+            sb.append(isOutsideWindow() ? "outside=" : "window=")
+                    .append(windowStart).append('-').append(windowEnd);
+            if (windowDays != null && windowDays != EVERY_DAY) {
+                sb.append(getWindowDaySet());
+            }
+            sb.append(',');
+        }
+        return sb.isEmpty() ? "always" : sb.substring(0, sb.length() - 1);
+    }
+
+    private boolean inWindow(ZonedDateTime time) {
+        Set<DayOfWeek> days = getWindowDaySet();
+        LocalTime localTime = time.toLocalTime();
+        if (!wrapsMidnight()) {
+            return days.contains(time.getDayOfWeek())
+                    && !localTime.isBefore(windowStart) && localTime.isBefore(windowEnd);
+        }
+        // 자정을 넘기는 구간은 시작한 날의 요일을 따른다
+        if (!localTime.isBefore(windowStart)) {
+            return days.contains(time.getDayOfWeek());
+        }
+        return localTime.isBefore(windowEnd) && days.contains(time.getDayOfWeek().minus(1));
+    }
+
+    private boolean wrapsMidnight() {
+        return windowEnd.isBefore(windowStart);
+    }
+
+    private static int toMask(Set<DayOfWeek> days) {
+        if (days == null || days.isEmpty() || days.size() == DayOfWeek.values().length) {
+            return EVERY_DAY;
+        }
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= bit(day);
+        }
+        return mask;
+    }
+
+    private static int bit(DayOfWeek day) {
+        return 1 << (day.getValue() - 1);
+    }
+}
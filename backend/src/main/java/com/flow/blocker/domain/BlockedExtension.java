@@ -5,6 +5,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -27,6 +28,25 @@ public class BlockedExtension {
     @Column(name = "is_active", nullable = false)
     private boolean active;
 
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'EXTENSION'")
+    @Column(name = "rule_type", nullable = false, length = 20)
+    private RuleType ruleType = RuleType.EXTENSION;
+
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'BLOCK'")
+    @Column(name = "rule_action", nullable = false, length = 10)
+    private RuleAction action = RuleAction.BLOCK;
+
+    // 값이 작을수록 먼저 평가
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int priority;
+
+    // 없으면 is_active만으로 적용 여부가 정해진다
+    @Embedded
+    private ActivationSchedule schedule;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -36,21 +56,58 @@ public class BlockedExtension {
     }
 
     @Builder
-    public BlockedExtension(String extension, boolean fixed, boolean active) {
+    public BlockedExtension(String extension, boolean fixed, boolean active, RuleType ruleType,
+                            RuleAction action, int priority) {
         this.extension = extension;
         this.fixed = fixed;
         this.active = active;
+        this.ruleType = ruleType != null ? ruleType : RuleType.EXTENSION;
+        this.action = action != null ? action : RuleAction.BLOCK;
+        this.priority = priority;
     }
 
     public void toggleActive() {
         this.active = !this.active;
     }
 
+    public void updateSchedule(ActivationSchedule schedule) {
+        this.schedule = schedule != null && !schedule.isEmpty() ? schedule : null;
+    }
+
     public static BlockedExtension createCustomExtension(String extension) {
+        return createCustomExtension(extension, RuleType.EXTENSION);
+    }
+
+    public static BlockedExtension createCustomExtension(String extension, RuleType ruleType) {
+        return createCustomRule(extension, ruleType, RuleAction.BLOCK, 0);
+    }
+
+    public static BlockedExtension createCustomRule(String extension, RuleType ruleType,
+                                                    RuleAction action, int priority) {
         return BlockedExtension.builder()
                 .extension(extension)
                 .fixed(false)
                 .active(true)
+                .ruleType(ruleType)
+                .action(action)
+                .priority(priority)
                 .build();
     }
+
+    /**
+     * 규칙 종류
+     * - EXTENSION: 마지막 확장자(다중 확장자 포함)가 일치 (exe, tar.gz)
+     * - PREFIX: 마지막 확장자가 접두사로 시작 (php* → php, php5, phtml 제외)
+     * - SEGMENT: 파일명의 어느 확장자 구간이든 일치 (exe → invoice.exe.pdf, invoice.pdf.exe)
+     */
+    public enum RuleType {
+        EXTENSION,
+        PREFIX,
+        SEGMENT
+    }
+
+    public enum RuleAction {
+        BLOCK,
+        ALLOW
+    }
 }
@@ -0,0 +1,40 @@
+package com.flow.blocker.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 규칙 변경 이력. AuditRecorder가 JDBC 배치로 기록하며, 여기서는 조회와 스키마 정의에만 사용한다.
+ */
+@Entity
+@Table(name = "policy_audit", indexes = @Index(name = "idx_policy_audit_extension", columnList = "extension, id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PolicyAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false, length = 100)
+    private String actor;
+
+    @Column(name = "change_type", nullable = false, length = 10)
+    private String changeType;
+
+    @Column(nullable = false, length = 20)
+    private String extension;
+
+    @Column(name = "before_state", length = 200)
+    private String beforeState;
+
+    @Column(name = "after_state", length = 200)
+    private String afterState;
+}
@@ -0,0 +1,42 @@
+package com.flow.blocker.dto;
+
+import com.flow.blocker.domain.PolicyAudit;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+public class AuditPageResponse {
+
+    private List<AuditDto> items;
+
+    // 다음(더 오래된) 페이지 요청 시 cursor로 전달, 마지막 페이지이면 null
+    private Long nextCursor;
+
+    @Getter
+    @Builder
+    public static class AuditDto {
+        private Long id;
+        private LocalDateTime occurredAt;
+        private String actor;
+        private String changeType;
+        private String extension;
+        private String before;
+        private String after;
+
+        public static AuditDto from(PolicyAudit entity) {
+            return AuditDto.builder()
+                    .id(entity.getId())
+                    .occurredAt(entity.getOccurredAt())
+                    .actor(entity.getActor())
+                    .changeType(entity.getChangeType())
+                    .extension(entity.getExtension())
+                    .before(entity.getBeforeState())
+                    .after(entity.getAfterState())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.flow.blocker.dto;
+
+import com.flow.blocker.dto.ExtensionResponse.CustomExtensionDto;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class CustomExtensionPageResponse {
+
+    private List<CustomExtensionDto> items;
+
+    // 다음 페이지 요청 시 cursor로 전달, 마지막 페이지이면 null
+    private Long nextCursor;
+}
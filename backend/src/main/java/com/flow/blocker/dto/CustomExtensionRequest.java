@@ -1,5 +1,7 @@
 package com.flow.blocker.dto;
 
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -16,4 +18,17 @@ public class CustomExtensionRequest {
     @NotBlank(message = "확장자를 입력해주세요.")
     @Size(max = 20, message = "확장자는 최대 20자까지 입력 가능합니다.")
     private String extension;
+
+    // 생략 시 패턴으로 판단 (php* → PREFIX, 그 외 EXTENSION)
+    private RuleType ruleType;
+
+    // 생략 시 BLOCK
+    private RuleAction action;
+
+    // 생략 시 0, 값이 작을수록 먼저 평가
+    private Integer priority;
+
+    public CustomExtensionRequest(String extension) {
+        this.extension = extension;
+    }
 }
@@ -0,0 +1,67 @@
+package com.flow.blocker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.flow.blocker.domain.BlockedExtension;
+import com.flow.blocker.dto.ExtensionResponse.CustomExtensionDto;
+import com.flow.blocker.dto.ExtensionResponse.FixedExtensionDto;
+import com.flow.blocker.policy.PolicyChangedEvent.ChangeType;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 토글/추가/삭제/예약 응답이자 변경 목록(GET /api/extensions/changes)의 항목.
+ * revision은 커밋 직후 ExtensionChangeLog가 채운다. (바깥 트랜잭션 안에서 호출하면 0)
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExtensionChangeResponse {
+
+    private ChangeType type;
+    private String extension;
+    // TOGGLE이면 fixedExtension, ADD면 customExtension, SCHEDULE이면 대상 종류에 따라 둘 중 하나, DELETE면 둘 다 없음
+    private FixedExtensionDto fixedExtension;
+    private CustomExtensionDto customExtension;
+    private long customCount;
+    private long revision;
+
+    public static ExtensionChangeResponse toggled(BlockedExtension entity, long customCount) {
+        return ExtensionChangeResponse.builder()
+                .type(ChangeType.TOGGLE)
+                .extension(entity.getExtension())
+                .fixedExtension(FixedExtensionDto.from(entity))
+                .customCount(customCount)
+                .build();
+    }
+
+    public static ExtensionChangeResponse added(BlockedExtension entity, long customCount) {
+        return ExtensionChangeResponse.builder()
+                .type(ChangeType.ADD)
+                .extension(entity.getExtension())
+                .customExtension(CustomExtensionDto.from(entity))
+                .customCount(customCount)
+                .build();
+    }
+
+    public static ExtensionChangeResponse scheduled(BlockedExtension entity, long customCount) {
+        return ExtensionChangeResponse.builder()
+                .type(ChangeType.SCHEDULE)
+                .extension(entity.getExtension())
+                .fixedExtension(entity.isFixed() ? FixedExtensionDto.from(entity) : null)
+                .customExtension(entity.isFixed() ? null : CustomExtensionDto.from(entity))
+                .customCount(customCount)
+                .build();
+    }
+
+    public static ExtensionChangeResponse deleted(String extension, long customCount) {
+        return ExtensionChangeResponse.builder()
+                .type(ChangeType.DELETE)
+                .extension(extension)
+                .customCount(customCount)
+                .build();
+    }
+
+    public void assignRevision(long revision) {
+        this.revision = revision;
+    }
+}
@@ -0,0 +1,52 @@
+package com.flow.blocker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.policy.ContentTypePolicy.Match;
+import com.flow.blocker.policy.PolicyRule;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ExtensionCheckResponse {
+
+    private String filename;
+    private boolean blocked;
+    private String matchedRule;
+    private RuleType ruleType;
+    private RuleAction action;
+
+    // contentType을 함께 검사한 경우에만 포함
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String contentType;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Match contentTypeMatch;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean contentTypeBlocked;
+
+    public static ExtensionCheckResponse of(String filename, PolicyRule rule, boolean blocked) {
+        return ExtensionCheckResponse.builder()
+                .filename(filename)
+                .blocked(blocked)
+                .matchedRule(rule != null ? rule.pattern() : null)
+                .ruleType(rule != null ? rule.type() : null)
+                .action(rule != null ? rule.action() : null)
+                .build();
+    }
+
+    public static ExtensionCheckResponse of(String filename, PolicyRule rule, boolean blocked, String contentType,
+                                            Match contentTypeMatch, boolean contentTypeBlocked) {
+        return ExtensionCheckResponse.builder()
+                .filename(filename)
+                .blocked(blocked)
+                .matchedRule(rule != null ? rule.pattern() : null)
+                .ruleType(rule != null ? rule.type() : null)
+                .action(rule != null ? rule.action() : null)
+                .contentType(contentType)
+                .contentTypeMatch(contentTypeMatch)
+                .contentTypeBlocked(contentTypeBlocked)
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.flow.blocker.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * since 이후 커밋된 변경. reset이면 보관 범위를 벗어났거나(가져오기, 재기동 포함) 알 수 없는 revision이므로
+ * 전체 목록(GET /api/extensions)을 다시 받아야 한다.
+ */
+@Getter
+@Builder
+public class ExtensionDeltaResponse {
+
+    private long revision;
+    private boolean reset;
+    private List<ExtensionChangeResponse> changes;
+}
@@ -0,0 +1,43 @@
+package com.flow.blocker.dto;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.policy.ExtensionBloomFilter;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Base64;
+
+@Getter
+@Builder
+public class ExtensionFilterResponse {
+
+    private long revision;
+    private String algorithm;
+    private RuleAction defaultAction;
+    private double falsePositiveRate;
+    private int bitCount;
+    private int hashCount;
+    private int keyCount;
+    // 종류별 키 수 (0이면 클라이언트는 해당 종류의 후보 키를 조회하지 않는다)
+    private int extensionKeyCount;
+    private int segmentKeyCount;
+    private int prefixKeyCount;
+    // Base64 인코딩된 비트 배열
+    private String bits;
+
+    public static ExtensionFilterResponse from(ExtensionBloomFilter filter) {
+        return ExtensionFilterResponse.builder()
+                .revision(filter.revision())
+                .algorithm(ExtensionBloomFilter.ALGORITHM)
+                .defaultAction(filter.defaultAction())
+                .falsePositiveRate(filter.falsePositiveRate())
+                .bitCount(filter.bitCount())
+                .hashCount(filter.hashCount())
+                .keyCount(filter.keyCount())
+                .extensionKeyCount(filter.extensionKeyCount())
+                .segmentKeyCount(filter.segmentKeyCount())
+                .prefixKeyCount(filter.prefixKeyCount())
+                .bits(Base64.getEncoder().encodeToString(filter.toByteArray()))
+                .build();
+    }
+}
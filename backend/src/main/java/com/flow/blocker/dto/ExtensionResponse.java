@@ -1,10 +1,18 @@
 package com.flow.blocker.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.flow.blocker.domain.ActivationSchedule;
 import com.flow.blocker.domain.BlockedExtension;
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Set;
 
 @Getter
 @Builder
@@ -14,17 +22,23 @@ public class ExtensionResponse {
     private List<CustomExtensionDto> customExtensions;
     private int customCount;
     private int maxCustomCount;
+    private RuleAction defaultAction;
+    // 이 목록이 반영한 변경 revision (GET /api/extensions/changes?since=)
+    private long revision;
 
     @Getter
     @Builder
     public static class FixedExtensionDto {
         private String extension;
         private boolean active;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private ScheduleDto schedule;
 
         public static FixedExtensionDto from(BlockedExtension entity) {
             return FixedExtensionDto.builder()
                     .extension(entity.getExtension())
                     .active(entity.isActive())
+                    .schedule(ScheduleDto.from(entity.getSchedule()))
                     .build();
         }
     }
@@ -33,11 +47,49 @@ public class ExtensionResponse {
     @Builder
     public static class CustomExtensionDto {
         private String extension;
+        private RuleType ruleType;
+        private RuleAction action;
+        private int priority;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private ScheduleDto schedule;
 
         public static CustomExtensionDto from(BlockedExtension entity) {
             return CustomExtensionDto.builder()
                     .extension(entity.getExtension())
+                    .ruleType(entity.getRuleType())
+                    .action(entity.getAction())
+                    .priority(entity.getPriority())
+                    .schedule(ScheduleDto.from(entity.getSchedule()))
                     .build();
         }
     }
+
+    // 규칙 예약. 없으면 is_active만으로 적용된다
+    @Getter
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ScheduleDto {
+        private Instant validFrom;
+        private Instant validUntil;
+        private LocalTime windowStart;
+        private LocalTime windowEnd;
+        private Set<DayOfWeek> windowDays;
+        private Boolean outsideWindow;
+
+        public static ScheduleDto from(ActivationSchedule schedule) {
+            if (schedule == null || schedule.isEmpty()) {
+                return null;
+            }
+            ScheduleDtoBuilder builder = ScheduleDto.builder()
+                    .validFrom(schedule.getValidFrom())
+                    .validUntil(schedule.getValidUntil());
+            if (schedule.hasWindow()) {
+                builder.windowStart(schedule.getWindowStart())
+                        .windowEnd(schedule.getWindowEnd())
+                        .windowDays(schedule.getWindowDaySet())
+                        .outsideWindow(schedule.isOutsideWindow());
+            }
+            return builder.build();
+        }
+    }
 }
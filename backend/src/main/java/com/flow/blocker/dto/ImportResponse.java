@@ -0,0 +1,12 @@
+package com.flow.blocker.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ImportResponse {
+
+    private long importedCount;
+    private long customCount;
+}
@@ -0,0 +1,49 @@
+package com.flow.blocker.dto;
+
+import com.flow.blocker.domain.ActivationSchedule;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.Set;
+
+/**
+ * PUT /api/extensions/{extension}/schedule 본문. 모두 생략 가능하며, 시간은 blocker.schedule.zone 기준이다.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleRequest {
+
+    // 절대 기간 [validFrom, validUntil) (ISO-8601, 예: 2025-01-01T00:00:00Z)
+    private Instant validFrom;
+    private Instant validUntil;
+
+    // 매일 반복 구간 [windowStart, windowEnd) (HH:mm). 시작이 끝보다 늦으면 자정을 넘긴다
+    private LocalTime windowStart;
+    private LocalTime windowEnd;
+
+    // 구간이 시작하는 요일. 생략 시 매일
+    private Set<DayOfWeek> windowDays;
+
+    // true면 구간 밖에서만 적용 (업무 시간 외 차단)
+    private boolean outsideWindow;
+
+    public ActivationSchedule toSchedule() {
+        return ActivationSchedule.builder()
+                .validFrom(validFrom)
+                .validUntil(validUntil)
+                .windowStart(windowStart)
+                .windowEnd(windowEnd)
+                .windowDays(windowDays)
+                .outsideWindow(outsideWindow)
+                .build();
+    }
+}
@@ -2,25 +2,69 @@ package com.flow.blocker.exception;
 
 import lombok.Getter;
 
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 입력 검증, 중복, 개수 제한 등 예상된 도메인 오류. 대량으로 거절할 때 비용이 들지 않도록 스택 트레이스를 채우지 않는다.
+ * 메시지 인자가 없는 오류는 of(...)로 코드별 공유 인스턴스를 던진다. (스택/원인/suppressed를 기록하지 않으므로 공유해도 안전)
+ */
 @Getter
 public class ExtensionException extends RuntimeException {
 
+    private static final Map<ErrorCode, ExtensionException> SHARED = new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            if (!errorCode.hasArguments()) {
+                SHARED.put(errorCode, new ExtensionException(errorCode));
+            }
+        }
+    }
+
     private final ErrorCode errorCode;
 
     public ExtensionException(ErrorCode errorCode) {
-        super(errorCode.getMessage());
+        super(errorCode.getMessage(), null, false, false);
         this.errorCode = errorCode;
     }
 
+    public ExtensionException(ErrorCode errorCode, Object... args) {
+        super(errorCode.format(args), null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public static ExtensionException of(ErrorCode errorCode) {
+        ExtensionException shared = SHARED.get(errorCode);
+        if (shared == null) {
+            throw new IllegalArgumentException(errorCode + "는 메시지 인자가 필요합니다");
+        }
+        return shared;
+    }
+
+    /**
+     * 메시지가 코드의 고정 메시지 그대로인지. (응답 본문을 미리 만들어 둘 수 있음)
+     */
+    public boolean hasDefaultMessage() {
+        return errorCode.getMessage().equals(getMessage());
+    }
+
     public enum ErrorCode {
         INVALID_EXTENSION("유효하지 않은 확장자입니다. 영문과 숫자만 사용할 수 있습니다."),
+        INVALID_RULE_PATTERN("규칙 형식이 올바르지 않습니다. 다중 확장자는 tar.gz, 접두사 규칙은 php* 형식으로 입력해주세요."),
+        EMPTY_FILENAME("파일명을 입력해주세요."),
         PATH_TRAVERSAL_DETECTED("경로 문자(/, \\, ..)는 사용할 수 없습니다."),
         EMPTY_EXTENSION("확장자를 입력해주세요."),
         EXTENSION_TOO_LONG("확장자는 최대 20자까지 입력 가능합니다."),
         DUPLICATE_EXTENSION("이미 등록된 확장자입니다."),
-        MAX_CUSTOM_EXCEEDED("커스텀 확장자는 최대 200개까지 등록할 수 있습니다."),
+        MAX_CUSTOM_EXCEEDED("커스텀 확장자는 최대 %d개까지 등록할 수 있습니다."),
         EXTENSION_NOT_FOUND("해당 확장자를 찾을 수 없습니다."),
-        CANNOT_DELETE_FIXED("고정 확장자는 삭제할 수 없습니다.");
+        CANNOT_DELETE_FIXED("고정 확장자는 삭제할 수 없습니다."),
+        INVALID_SCHEDULE("예약 설정이 올바르지 않습니다: %s"),
+        UNSUPPORTED_TRANSFER_FORMAT("지원하지 않는 형식입니다. csv 또는 binary를 사용해주세요."),
+        INVALID_IMPORT_ROW("가져오기 데이터 %d번째 행이 올바르지 않습니다: %s"),
+        BLOCKED_UPLOAD("차단된 확장자의 파일은 업로드할 수 없습니다: %s"),
+        INVALID_MULTIPART("multipart 요청 형식이 올바르지 않습니다: %s");
 
         private final String message;
 
@@ -31,5 +75,13 @@ public class ExtensionException extends RuntimeException {
         public String getMessage() {
             return message;
         }
+
+        public String format(Object... args) {
+            return String.format(message, args);
+        }
+
+        public boolean hasArguments() {
+            return message.indexOf('%') >= 0;
+        }
     }
 }
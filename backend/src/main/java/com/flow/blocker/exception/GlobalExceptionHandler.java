@@ -1,25 +1,47 @@
 package com.flow.blocker.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flow.blocker.exception.ExtensionException.ErrorCode;
 import lombok.Builder;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final ObjectMapper objectMapper;
+
+    // 고정 메시지 오류는 코드별로 직렬화까지 끝낸 응답을 그대로 돌려준다 (ResponseEntity 헤더는 읽기 전용)
+    private final Map<ErrorCode, ResponseEntity<byte[]>> precomputed = new EnumMap<>(ErrorCode.class);
+
+    public GlobalExceptionHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            if (!errorCode.hasArguments()) {
+                precomputed.put(errorCode, badRequest(errorCode.name(), errorCode.getMessage()));
+            }
+        }
+    }
+
     @ExceptionHandler(ExtensionException.class)
-    public ResponseEntity<ErrorResponse> handleExtensionException(ExtensionException e) {
-        return ResponseEntity
-                .badRequest()
-                .body(ErrorResponse.builder()
-                        .code(e.getErrorCode().name())
-                        .message(e.getMessage())
-                        .build());
+    public ResponseEntity<byte[]> handleExtensionException(ExtensionException e) {
+        if (e.hasDefaultMessage()) {
+            ResponseEntity<byte[]> response = precomputed.get(e.getErrorCode());
+            if (response != null) {
+                return response;
+            }
+        }
+        return badRequest(e.getErrorCode().name(), e.getMessage());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -45,6 +67,21 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    private ResponseEntity<byte[]> badRequest(String code, String message) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(ErrorResponse.builder()
+                    .code(code)
+                    .message(message)
+                    .build());
+            return ResponseEntity
+                    .badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Getter
     @Builder
     public static class ErrorResponse {
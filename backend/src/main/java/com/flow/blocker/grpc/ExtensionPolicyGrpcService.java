@@ -0,0 +1,172 @@
+package com.flow.blocker.grpc;
+
+import com.flow.blocker.dto.ExtensionCheckResponse;
+import com.flow.blocker.exception.ExtensionException;
+import com.flow.blocker.grpc.v1.ChangeType;
+import com.flow.blocker.grpc.v1.CheckRequest;
+import com.flow.blocker.grpc.v1.CheckResponse;
+import com.flow.blocker.grpc.v1.ExtensionPolicyGrpc;
+import com.flow.blocker.grpc.v1.PolicyUpdate;
+import com.flow.blocker.grpc.v1.Rule;
+import com.flow.blocker.grpc.v1.RuleAction;
+import com.flow.blocker.grpc.v1.RuleType;
+import com.flow.blocker.grpc.v1.WatchPolicyRequest;
+import com.flow.blocker.policy.PackedRuleTable;
+import com.flow.blocker.policy.PolicyCache;
+import com.flow.blocker.policy.PolicyChangedEvent;
+import com.flow.blocker.policy.PolicySnapshot;
+import com.flow.blocker.service.ExtensionService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * REST 검사 API와 같은 ExtensionService/정책 스냅샷을 쓰는 gRPC 구현.
+ * WatchPolicy 구독자에게는 커밋된 규칙 변경마다 활성 규칙 전체를 다시 보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExtensionPolicyGrpcService extends ExtensionPolicyGrpc.ExtensionPolicyImplBase {
+
+    private final ExtensionService extensionService;
+    private final PolicyCache policyCache;
+    private final Set<ServerCallStreamObserver<PolicyUpdate>> watchers = new CopyOnWriteArraySet<>();
+
+    @Override
+    public void check(CheckRequest request, StreamObserver<CheckResponse> responseObserver) {
+        try {
+            responseObserver.onNext(check(request));
+            responseObserver.onCompleted();
+        } catch (ExtensionException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+        }
+    }
+
+    @Override
+    public StreamObserver<CheckRequest> checkStream(StreamObserver<CheckResponse> responseObserver) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(CheckRequest request) {
+                CheckResponse response;
+                try {
+                    response = check(request);
+                } catch (ExtensionException e) {
+                    // 한 항목의 오류로 스트림 전체를 끝내지 않는다
+                    response = rejected(request, e);
+                }
+                responseObserver.onNext(response);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // 클라이언트 취소. 보낼 것이 없다
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    @Override
+    public void watchPolicy(WatchPolicyRequest request, StreamObserver<PolicyUpdate> responseObserver) {
+        ServerCallStreamObserver<PolicyUpdate> watcher = (ServerCallStreamObserver<PolicyUpdate>) responseObserver;
+        watcher.setOnCancelHandler(() -> watchers.remove(watcher));
+        synchronized (watcher) {
+            watchers.add(watcher);
+            watcher.onNext(toUpdate(policyCache.current(), null));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        if (watchers.isEmpty()) {
+            return;
+        }
+        PolicyUpdate update = toUpdate(policyCache.current(), event);
+        for (ServerCallStreamObserver<PolicyUpdate> watcher : watchers) {
+            synchronized (watcher) {
+                if (watcher.isCancelled()) {
+                    watchers.remove(watcher);
+                    continue;
+                }
+                try {
+                    watcher.onNext(update);
+                } catch (RuntimeException e) {
+                    watchers.remove(watcher);
+                    log.debug("정책 구독 전송 실패, 구독 해제", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 서버 종료 전에 구독 스트림을 정상 종료한다.
+     */
+    void completeWatchers() {
+        for (ServerCallStreamObserver<PolicyUpdate> watcher : watchers) {
+            synchronized (watcher) {
+                if (!watcher.isCancelled()) {
+                    watcher.onCompleted();
+                }
+            }
+        }
+        watchers.clear();
+    }
+
+    int getWatcherCount() {
+        return watchers.size();
+    }
+
+    private CheckResponse check(CheckRequest request) {
+        ExtensionCheckResponse result = extensionService.checkFilename(request.getFilename());
+        CheckResponse.Builder response = CheckResponse.newBuilder()
+                .setFilename(request.getFilename())
+                .setBlocked(result.isBlocked())
+                .setCorrelationId(request.getCorrelationId());
+        if (result.getMatchedRule() != null) {
+            response.setMatchedRule(result.getMatchedRule())
+                    .setRuleType(RuleType.valueOf(result.getRuleType().name()))
+                    .setAction(RuleAction.valueOf(result.getAction().name()));
+        }
+        return response.build();
+    }
+
+    private static CheckResponse rejected(CheckRequest request, ExtensionException e) {
+        return CheckResponse.newBuilder()
+                .setFilename(request.getFilename())
+                .setCorrelationId(request.getCorrelationId())
+                .setErrorCode(e.getErrorCode().name())
+                .setErrorMessage(e.getMessage())
+                .build();
+    }
+
+    private static PolicyUpdate toUpdate(PolicySnapshot snapshot, PolicyChangedEvent event) {
+        PackedRuleTable rules = snapshot.rules();
+        PolicyUpdate.Builder update = PolicyUpdate.newBuilder()
+                .setRevision(snapshot.revision())
+                .setDefaultAction(RuleAction.valueOf(snapshot.defaultAction().name()));
+        for (int i = 0; i < rules.size(); i++) {
+            update.addRules(Rule.newBuilder()
+                    .setPattern(rules.pattern(i))
+                    .setType(RuleType.valueOf(rules.type(i).name()))
+                    .setAction(RuleAction.valueOf(rules.action(i).name()))
+                    .setPriority(rules.priority(i)));
+        }
+        if (event != null) {
+            update.setChangeType(ChangeType.valueOf(event.type().name()))
+                    .setExtension(event.extension());
+        }
+        return update.build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.flow.blocker.grpc;
+
+import com.flow.blocker.config.BlockerProperties;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gRPC 서버를 웹 서버와 같은 단계에서 띄우고 내린다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "blocker.grpc", name = "enabled", havingValue = "true")
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ExtensionPolicyGrpcService service;
+    private final BlockerProperties.Grpc properties;
+
+    private volatile Server server;
+
+    public GrpcServerLifecycle(ExtensionPolicyGrpcService service, BlockerProperties properties) {
+        this.service = service;
+        this.properties = properties.getGrpc();
+    }
+
+    @Override
+    public void start() {
+        try {
+            server = NettyServerBuilder.forPort(properties.getPort())
+                    .addService(service)
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("gRPC 서버 시작 실패 (port=" + properties.getPort() + ")", e);
+        }
+        log.info("gRPC 서버 시작: port={}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        service.completeWatchers();
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    /**
+     * 실제 바인딩된 포트 (port=0 이면 임의 포트)
+     */
+    public int getPort() {
+        return server.getPort();
+    }
+}
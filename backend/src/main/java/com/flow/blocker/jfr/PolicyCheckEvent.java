@@ -0,0 +1,55 @@
+package com.flow.blocker.jfr;
+
+import com.flow.blocker.policy.PolicyRule;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 파일명 검사 한 건. 기본 임계값(1 ms)보다 느린 검사만 기록된다. (blocker.jfr.check-threshold)
+ */
+@Name(PolicyCheckEvent.NAME)
+@Label("Policy Check")
+@Category({"Flow Blocker", "Policy"})
+@Description("ExtensionService.checkFilename 한 건")
+@Threshold("1 ms")
+@StackTrace(false)
+public final class PolicyCheckEvent extends Event {
+
+    public static final String NAME = "com.flow.blocker.PolicyCheck";
+
+    @Label("Filename")
+    String filename;
+
+    @Label("Policy Revision")
+    long revision;
+
+    @Label("Matched Rule")
+    String rule;
+
+    @Label("Rule Type")
+    String ruleType;
+
+    @Label("Blocked")
+    boolean blocked;
+
+    /**
+     * 임계값을 넘었을 때만 필드를 채워 기록한다. 기록 중이 아니면 JIT가 대부분 제거한다.
+     */
+    public void complete(String filename, long revision, PolicyRule rule, boolean blocked) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.filename = filename;
+        this.revision = revision;
+        this.rule = rule != null ? rule.pattern() : null;
+        this.ruleType = rule != null ? rule.type().name() : null;
+        this.blocked = blocked;
+        commit();
+    }
+}
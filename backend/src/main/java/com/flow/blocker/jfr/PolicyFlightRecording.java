@@ -0,0 +1,92 @@
+package com.flow.blocker.jfr;
+
+import com.flow.blocker.config.BlockerProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * 기동 시 JDK default 설정(저오버헤드) + 정책 이벤트 임계값으로 연속 기록을 시작한다.
+ * 디스크 버퍼는 max-age/max-size 만큼만 유지되며, 종료 시(또는 jcmd PID JFR.dump name=flow-blocker) dump-path에 쓴다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "blocker.jfr", name = "enabled", havingValue = "true")
+public class PolicyFlightRecording implements SmartLifecycle {
+
+    public static final String RECORDING_NAME = "flow-blocker";
+
+    private final BlockerProperties.Jfr properties;
+
+    private Recording recording;
+
+    public PolicyFlightRecording(BlockerProperties properties) {
+        this.properties = properties.getJfr();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("JFR을 사용할 수 없는 JVM이라 연속 기록을 시작하지 않습니다");
+            return;
+        }
+        try {
+            Path dumpPath = properties.getDumpPath();
+            if (dumpPath.getParent() != null) {
+                Files.createDirectories(dumpPath.getParent());
+            }
+            FlightRecorder.register(PolicyCheckEvent.class);
+            FlightRecorder.register(PolicyMutationEvent.class);
+            FlightRecorder.register(PolicyRebuildEvent.class);
+
+            Recording started = new Recording(Configuration.getConfiguration(properties.getSettings()));
+            started.setName(RECORDING_NAME);
+            started.setToDisk(true);
+            started.setMaxAge(properties.getMaxAge());
+            started.setMaxSize(properties.getMaxSize().toBytes());
+            started.setDumpOnExit(true);
+            started.setDestination(dumpPath);
+            started.enable(PolicyCheckEvent.class).withThreshold(properties.getCheckThreshold());
+            started.enable(PolicyMutationEvent.class).withThreshold(properties.getMutationThreshold());
+            started.enable(PolicyRebuildEvent.class).withThreshold(properties.getRebuildThreshold());
+            started.start();
+            recording = started;
+            log.info("JFR 연속 기록 시작: settings={}, checkThreshold={}, dumpPath={}", properties.getSettings(),
+                    properties.getCheckThreshold(), dumpPath);
+        } catch (IOException | ParseException e) {
+            log.error("JFR 연속 기록 시작 실패", e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (recording == null) {
+            return;
+        }
+        // stop()이 destination(dump-path)에 기록한다. JVM 종료 중이면 JFR 종료 훅이 이미 멈추고 기록했을 수 있다
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        recording.close();
+        recording = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return recording != null;
+    }
+
+    synchronized Recording recording() {
+        return recording;
+    }
+}
@@ -0,0 +1,100 @@
+package com.flow.blocker.jfr;
+
+import com.flow.blocker.policy.PolicyChangedEvent.ChangeType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * 규칙 추가/삭제/토글 한 건. 트랜잭션이 끝날 때(커밋/롤백) 기록되므로 duration에 커밋 시간까지 포함된다.
+ * dbTime은 db(...)로 감싼 조회와 커밋(flush 포함) 시간의 합이다. (blocker.jfr.mutation-threshold)
+ */
+@Name(PolicyMutationEvent.NAME)
+@Label("Policy Mutation")
+@Category({"Flow Blocker", "Policy"})
+@Description("ExtensionService 규칙 추가/삭제/토글")
+@Threshold("0 ms")
+@StackTrace(false)
+public final class PolicyMutationEvent extends Event {
+
+    public static final String NAME = "com.flow.blocker.PolicyMutation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Extension")
+    String extension;
+
+    @Label("Write Behind")
+    boolean writeBehind;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("DB Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long dbTime;
+
+    private transient boolean tracked;
+
+    /**
+     * 기록 중이고 트랜잭션 동기화가 활성일 때만 추적한다. 아니면 db(...)는 호출만 위임한다.
+     */
+    public static PolicyMutationEvent begin(ChangeType operation, String extension, boolean writeBehind) {
+        PolicyMutationEvent event = new PolicyMutationEvent();
+        if (!event.isEnabled() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return event;
+        }
+        event.operation = operation.name();
+        event.extension = extension;
+        event.writeBehind = writeBehind;
+        event.tracked = true;
+        event.begin();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStart;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStart = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (commitStart != 0) {
+                    event.dbTime += System.nanoTime() - commitStart;
+                }
+                event.outcome = switch (status) {
+                    case STATUS_COMMITTED -> "COMMITTED";
+                    case STATUS_ROLLED_BACK -> "ROLLED_BACK";
+                    default -> "UNKNOWN";
+                };
+                event.end();
+                if (event.shouldCommit()) {
+                    event.commit();
+                }
+            }
+        });
+        return event;
+    }
+
+    public <T> T db(Supplier<T> call) {
+        if (!tracked) {
+            return call.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            dbTime += System.nanoTime() - start;
+        }
+    }
+}
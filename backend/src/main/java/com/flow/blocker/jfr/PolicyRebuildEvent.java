@@ -0,0 +1,51 @@
+package com.flow.blocker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 메모리 정책 구조(스냅샷, Bloom 필터)를 다시 만든 한 번. (blocker.jfr.rebuild-threshold)
+ */
+@Name(PolicyRebuildEvent.NAME)
+@Label("Policy Rebuild")
+@Category({"Flow Blocker", "Policy"})
+@Description("정책 스냅샷/Bloom 필터 재빌드. 규칙 조회 시간 포함")
+@Threshold("0 ms")
+@StackTrace(false)
+public final class PolicyRebuildEvent extends Event {
+
+    public static final String NAME = "com.flow.blocker.PolicyRebuild";
+    public static final String SNAPSHOT = "snapshot";
+    public static final String BLOOM_FILTER = "bloom-filter";
+
+    @Label("Structure")
+    String structure;
+
+    @Label("Policy Revision")
+    long revision;
+
+    @Label("Rule Count")
+    int ruleCount;
+
+    @Label("Size")
+    @DataAmount
+    long sizeBytes;
+
+    public void complete(String structure, long revision, int ruleCount, long sizeBytes) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.structure = structure;
+        this.revision = revision;
+        this.ruleCount = ruleCount;
+        this.sizeBytes = sizeBytes;
+        commit();
+    }
+}
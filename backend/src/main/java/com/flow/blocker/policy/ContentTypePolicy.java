@@ -0,0 +1,131 @@
+package com.flow.blocker.policy;
+
+import com.flow.blocker.config.BlockerProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 선언된 Content-Type을 파일명 확장자, 활성 규칙과 대조한다. (MIME 표: classpath:mime-types.txt)
+ * 타입별 차단 여부는 정책 스냅샷 revision이 바뀔 때만 다시 계산하므로 검사 시 객체를 만들지 않는다.
+ */
+@Component
+public class ContentTypePolicy {
+
+    public static final String TABLE_RESOURCE = "/mime-types.txt";
+
+    public enum Match {
+        // 확장자가 선언된 타입의 확장자 중 하나
+        MATCH,
+        MISMATCH,
+        // 타입이나 확장자가 표에 없음
+        UNKNOWN
+    }
+
+    public enum Mode {
+        // 불일치는 응답에만 표시하고, 선언된 타입이 차단 대상일 때만 차단
+        REPORT,
+        // 불일치도 차단
+        STRICT
+    }
+
+    private final MimeTable table;
+    private final Mode mode;
+
+    private volatile TypeIndex index;
+
+    public ContentTypePolicy(BlockerProperties properties) {
+        this.table = loadTable();
+        this.mode = properties.getContentType().getMode();
+    }
+
+    public MimeTable table() {
+        return table;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public int typeOf(CharSequence contentType) {
+        return table.typeOf(contentType);
+    }
+
+    public Match match(int type, CharSequence filename, int from, int to) {
+        if (type == MimeTable.UNKNOWN) {
+            return Match.UNKNOWN;
+        }
+        int extension = table.extensionOf(filename, from, to);
+        if (extension == MimeTable.UNKNOWN) {
+            return Match.UNKNOWN;
+        }
+        return table.matches(type, extension) ? Match.MATCH : Match.MISMATCH;
+    }
+
+    /**
+     * 선언된 타입의 확장자 중 하나라도 차단(BLOCK) 규칙에 일치하면 true (파일명 확장자와 무관)
+     * 규칙에 일치하지 않아 기본 동작으로 정해지는 확장자는 보지 않는다. (허용 목록 모드에서 jpe가 없다고 image/jpeg 전체를 막지 않도록)
+     */
+    public boolean isTypeBlocked(PolicySnapshot snapshot, int type) {
+        return type != MimeTable.UNKNOWN && index(snapshot).blocked[type];
+    }
+
+    /**
+     * isTypeBlocked가 true일 때 차단한 규칙의 순위
+     */
+    public int blockingRank(PolicySnapshot snapshot, int type) {
+        return index(snapshot).rank[type];
+    }
+
+    public boolean isBlocked(Match match) {
+        return mode == Mode.STRICT && match == Match.MISMATCH;
+    }
+
+    private TypeIndex index(PolicySnapshot snapshot) {
+        TypeIndex current = index;
+        if (current != null && current.revision == snapshot.revision()) {
+            return current;
+        }
+        current = new TypeIndex(snapshot, table);
+        index = current;
+        return current;
+    }
+
+    private static MimeTable loadTable() {
+        try (InputStream in = ContentTypePolicy.class.getResourceAsStream(TABLE_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("MIME 표를 찾을 수 없습니다: " + TABLE_RESOURCE);
+            }
+            return MimeTable.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class TypeIndex {
+
+        private final long revision;
+        private final boolean[] blocked;
+        private final int[] rank;
+
+        private TypeIndex(PolicySnapshot snapshot, MimeTable table) {
+            this.revision = snapshot.revision();
+            this.blocked = new boolean[table.typeCount()];
+            this.rank = new int[table.typeCount()];
+            for (int type = 0; type < table.typeCount(); type++) {
+                rank[type] = ExtensionMatcher.NO_MATCH;
+                for (int i = 0; i < table.extensionCountOf(type); i++) {
+                    String extension = table.extension(table.extensionOf(type, i));
+                    int extensionRank = snapshot.evaluateExtension(extension, 0, extension.length());
+                    if (extensionRank != ExtensionMatcher.NO_MATCH && snapshot.isBlocked(extensionRank)) {
+                        blocked[type] = true;
+                        rank[type] = extensionRank;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.flow.blocker.policy;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+
+/**
+ * 활성 차단(BLOCK) 규칙의 Bloom 필터. 클라이언트가 깨끗한 파일명을 로컬에서 걸러내고 가능성이 있을 때만 검사 API를 부르게 한다.
+ *
+ * 키는 규칙 종류 문자 + 패턴이다. (EXTENSION "e" + "tar.gz", SEGMENT "s" + "exe", PREFIX "p" + "php")
+ * 파일명의 후보 키는 검사 API와 같이 {@link FilenameCanonicalizer}로 정규화한 이름에서 매처와 같은 규칙으로 만든다 ({@link #mightBlock} 참고). 대문자는 소문자로 접고, ASCII가 아닌 문자가 든 키는 규칙이 될 수 없으므로 건너뛴다.
+ * 해시는 FNV-1a 32비트 두 개(h2는 다른 시작값, 홀수로 보정)로 이중 해싱한다: index_i = (h1 + i * h2) mod bitCount (부호 없는 32비트).
+ * 비트 i는 bits[i / 8]의 (i % 8)번째 하위 비트이다.
+ */
+public final class ExtensionBloomFilter {
+
+    public static final String ALGORITHM = "bloom-fnv1a32-double";
+
+    private static final int FNV_OFFSET = 0x811c9dc5;
+    private static final int FNV_OFFSET_2 = 0x050c5d1f;
+    private static final int FNV_PRIME = 0x01000193;
+    private static final int MIN_BITS = 64;
+    private static final int EXTENSION = 0;
+    private static final int SEGMENT = 1;
+    private static final int PREFIX = 2;
+
+    private final long revision;
+    private final RuleAction defaultAction;
+    private final double falsePositiveRate;
+    private final byte[] bits;
+    private final int bitCount;
+    private final int hashCount;
+    private final int keyCount;
+    private final int[] keyCountByKind = new int[3];
+
+    private ExtensionBloomFilter(long revision, RuleAction defaultAction, double falsePositiveRate,
+                                 int bitCount, int hashCount, int keyCount) {
+        this.revision = revision;
+        this.defaultAction = defaultAction;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bits = new byte[bitCount / 8];
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.keyCount = keyCount;
+    }
+
+    public static ExtensionBloomFilter of(PolicySnapshot snapshot, double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("오탐률은 0과 1 사이여야 합니다: " + falsePositiveRate);
+        }
+        PackedRuleTable rules = snapshot.rules();
+        int keyCount = 0;
+        for (int rank = 0; rank < rules.size(); rank++) {
+            if (rules.action(rank) == RuleAction.BLOCK) {
+                keyCount++;
+            }
+        }
+        // m = -n ln p / (ln 2)^2, k = m / n ln 2
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-Math.max(keyCount, 1) * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int bitCount = (int) Math.min(Integer.MAX_VALUE - 7, Math.max(MIN_BITS, (optimalBits + 7) & ~7L));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / Math.max(keyCount, 1) * ln2));
+
+        ExtensionBloomFilter filter = new ExtensionBloomFilter(snapshot.revision(), snapshot.defaultAction(),
+                falsePositiveRate, bitCount, hashCount, keyCount);
+        for (int rank = 0; rank < rules.size(); rank++) {
+            if (rules.action(rank) != RuleAction.BLOCK) {
+                continue;
+            }
+            String pattern = rules.pattern(rank);
+            switch (rules.type(rank)) {
+                case EXTENSION -> filter.add(EXTENSION, pattern, 0, pattern.length());
+                case SEGMENT -> filter.add(SEGMENT, pattern, 0, pattern.length());
+                case PREFIX -> filter.add(PREFIX, pattern, 0,
+                        pattern.endsWith("*") ? pattern.length() - 1 : pattern.length());
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * 차단 규칙에 걸릴 가능성이 있으면 true. false면 차단 규칙은 확실히 없다. (기본 동작이 BLOCK이면 항상 검사 API로 확인해야 한다)
+     * 후보 키: 각 '.' 뒤 끝까지(e), 각 '.' 뒤 다음 '.'까지(s), 마지막 '.' 뒤 구간의 길이 1 이상 앞부분(p)
+     * 키가 하나도 없는 종류는 조회하지 않는다. 파일명당 오탐률은 대략 (조회한 키 수) × falsePositiveRate 이다.
+     */
+    public boolean mightBlock(CharSequence filename) {
+        int from = 0;
+        int to = filename.length();
+        long scan = FilenameCanonicalizer.scan(filename, from, to);
+        if (FilenameCanonicalizer.needsRewrite(scan)) {
+            filename = FilenameCanonicalizer.rewrite(filename, from, to, scan);
+            to = filename.length();
+        } else {
+            from = ExtensionNormalizer.start(scan);
+            to = ExtensionNormalizer.end(scan);
+        }
+        return mightBlock(filename, from, to);
+    }
+
+    private boolean mightBlock(CharSequence filename, int from, int length) {
+        int lastDot = -1;
+        for (int i = length - 1; i >= from; i--) {
+            if (filename.charAt(i) == '.') {
+                lastDot = i;
+                break;
+            }
+        }
+        for (int dot = from; dot < length; dot++) {
+            if (filename.charAt(dot) != '.') {
+                continue;
+            }
+            int next = dot + 1;
+            while (next < length && filename.charAt(next) != '.') {
+                next++;
+            }
+            if (keyCountByKind[EXTENSION] > 0 && mightContain('e', filename, dot + 1, length)
+                    || keyCountByKind[SEGMENT] > 0 && mightContain('s', filename, dot + 1, next)) {
+                return true;
+            }
+            if (dot == lastDot && keyCountByKind[PREFIX] > 0) {
+                for (int end = dot + 2; end <= length; end++) {
+                    if (mightContain('p', filename, dot + 1, end)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    public boolean mightContain(char kind, CharSequence key, int from, int to) {
+        if (from >= to || !isAscii(key, from, to)) {
+            return false;
+        }
+        long hashes = hash(kind, key, from, to);
+        int h1 = (int) (hashes >>> 32);
+        int h2 = (int) hashes;
+        for (int i = 0; i < hashCount; i++) {
+            int index = Integer.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits[index >>> 3] & (1 << (index & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long revision() {
+        return revision;
+    }
+
+    public RuleAction defaultAction() {
+        return defaultAction;
+    }
+
+    public double falsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public int bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    public int keyCount() {
+        return keyCount;
+    }
+
+    public int extensionKeyCount() {
+        return keyCountByKind[EXTENSION];
+    }
+
+    public int segmentKeyCount() {
+        return keyCountByKind[SEGMENT];
+    }
+
+    public int prefixKeyCount() {
+        return keyCountByKind[PREFIX];
+    }
+
+    public byte[] toByteArray() {
+        return bits.clone();
+    }
+
+    private void add(int kind, CharSequence key, int from, int to) {
+        keyCountByKind[kind]++;
+        long hashes = hash("esp".charAt(kind), key, from, to);
+        int h1 = (int) (hashes >>> 32);
+        int h2 = (int) hashes;
+        for (int i = 0; i < hashCount; i++) {
+            int index = Integer.remainderUnsigned(h1 + i * h2, bitCount);
+            bits[index >>> 3] |= (byte) (1 << (index & 7));
+        }
+    }
+
+    private static boolean isAscii(CharSequence key, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (key.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 상위 32비트 h1, 하위 32비트 h2
+     */
+    private static long hash(char kind, CharSequence key, int from, int to) {
+        int h1 = (FNV_OFFSET ^ kind) * FNV_PRIME;
+        int h2 = (FNV_OFFSET_2 ^ kind) * FNV_PRIME;
+        for (int i = from; i < to; i++) {
+            char c = key.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            h1 = (h1 ^ c) * FNV_PRIME;
+            h2 = (h2 ^ c) * FNV_PRIME;
+        }
+        return (long) h1 << 32 | ((h2 | 1) & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,296 @@
+package com.flow.blocker.policy;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 활성 규칙 전체를 하나의 Aho-Corasick 오토마톤으로 컴파일한 매처.
+ * 파일명 끝에 종료 기호(END)를 붙여 한 번만 훑으므로 비용은 규칙 수와 무관하게 O(파일명 길이)이다.
+ *
+ * 규칙별 키워드
+ * - EXTENSION exe    → ".exe$"
+ * - EXTENSION tar.gz → ".tar.gz$"
+ * - SEGMENT exe      → ".exe." / ".exe$"
+ * - PREFIX php*      → ".php" 이후 '.' 없이 끝나면 일치
+ *
+ * 상태 전이는 CSR(간선 배열)로 압축해 규칙 수가 많아도 메모리가 선형으로만 증가한다.
+ */
+public final class ExtensionMatcher {
+
+    public static final int NO_MATCH = -1;
+
+    private static final int ALPHABET = 39;
+    private static final int DOT = 36;
+    private static final int END = 37;
+    private static final int OTHER = 38;
+    private static final int ROOT = 0;
+
+    private final int[] rootNext;
+    private final int[] edgeStart;
+    private final byte[] edgeLabel;
+    private final int[] edgeTarget;
+    private final int[] fail;
+    private final int[] accept;
+    private final int[] prefix;
+    private final int ruleCount;
+
+    private ExtensionMatcher(int[] rootNext, int[] edgeStart, byte[] edgeLabel, int[] edgeTarget,
+                             int[] fail, int[] accept, int[] prefix, int ruleCount) {
+        this.rootNext = rootNext;
+        this.edgeStart = edgeStart;
+        this.edgeLabel = edgeLabel;
+        this.edgeTarget = edgeTarget;
+        this.fail = fail;
+        this.accept = accept;
+        this.prefix = prefix;
+        this.ruleCount = ruleCount;
+    }
+
+    /**
+     * 규칙 목록의 인덱스가 곧 우선순위이다. 여러 규칙이 일치하면 가장 작은 인덱스를 돌려준다.
+     */
+    public static ExtensionMatcher compile(List<PolicyRule> rules) {
+        return compile(PackedRuleTable.of(rules));
+    }
+
+    public static ExtensionMatcher compile(PackedRuleTable rules) {
+        Builder builder = new Builder();
+        for (int rank = 0; rank < rules.size(); rank++) {
+            int from = rules.patternStart(rank);
+            int to = rules.patternEnd(rank);
+            switch (rules.type(rank)) {
+                case EXTENSION -> builder.add(rules, from, to, END, rank, false);
+                case SEGMENT -> {
+                    builder.add(rules, from, to, DOT, rank, false);
+                    builder.add(rules, from, to, END, rank, false);
+                }
+                case PREFIX -> {
+                    // 끝의 와일드카드(*)는 키워드에서 제외
+                    int end = to > from && rules.patternByte(to - 1) == '*' ? to - 1 : to;
+                    builder.add(rules, from, end, -1, rank, true);
+                }
+            }
+        }
+        return builder.build(rules.size());
+    }
+
+    public int match(CharSequence filename) {
+        return match(filename, 0, filename.length());
+    }
+
+    /**
+     * filename[from, to) 구간을 검사해 일치한 규칙의 우선순위(인덱스)를, 없으면 NO_MATCH를 반환한다.
+     */
+    public int match(CharSequence filename, int from, int to) {
+        int state = ROOT;
+        int best = NO_MATCH;
+        int pending = NO_MATCH;
+
+        for (int i = from; i <= to; i++) {
+            int symbol = i == to ? END : symbolOf(filename.charAt(i));
+            if (symbol == DOT) {
+                pending = NO_MATCH;
+            }
+            state = next(state, symbol);
+            best = better(best, accept[state]);
+            pending = better(pending, prefix[state]);
+        }
+
+        return better(best, pending);
+    }
+
+    /**
+     * 파일명이 아닌 확장자 자체(예: "EXE", "tar.gz")를 "." + extension[from, to) 로 보고 검사한다.
+     * 앞의 '.'은 실제로 붙이지 않고 시작 상태만 옮긴다.
+     */
+    public int matchExtension(CharSequence extension, int from, int to) {
+        int state = next(ROOT, DOT);
+        int best = accept[state];
+        int pending = NO_MATCH;
+
+        for (int i = from; i <= to; i++) {
+            int symbol = i == to ? END : symbolOf(extension.charAt(i));
+            if (symbol == DOT) {
+                pending = NO_MATCH;
+            }
+            state = next(state, symbol);
+            best = better(best, accept[state]);
+            pending = better(pending, prefix[state]);
+        }
+
+        return better(best, pending);
+    }
+
+    public int ruleCount() {
+        return ruleCount;
+    }
+
+    public int stateCount() {
+        return fail.length;
+    }
+
+    public long footprintBytes() {
+        return 4L * (rootNext.length + edgeStart.length + edgeTarget.length + fail.length + accept.length + prefix.length)
+                + edgeLabel.length;
+    }
+
+    private int next(int state, int symbol) {
+        if (symbol == OTHER) {
+            return ROOT;
+        }
+        while (state != ROOT) {
+            for (int e = edgeStart[state], end = edgeStart[state + 1]; e < end; e++) {
+                if (edgeLabel[e] == symbol) {
+                    return edgeTarget[e];
+                }
+            }
+            state = fail[state];
+        }
+        return rootNext[symbol];
+    }
+
+    private static int better(int current, int candidate) {
+        if (current == NO_MATCH) {
+            return candidate;
+        }
+        if (candidate == NO_MATCH) {
+            return current;
+        }
+        return Math.min(current, candidate);
+    }
+
+    static int symbolOf(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return 10 + (c - 'a');
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return 10 + (c - 'A');
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        return c == '.' ? DOT : OTHER;
+    }
+
+    private static final class Builder {
+
+        private int size = 1;
+        private int[] firstChild = filled(16);
+        private int[] nextSibling = filled(16);
+        private byte[] label = new byte[16];
+        private int[] accept = filled(16);
+        private int[] prefix = filled(16);
+
+        void add(PackedRuleTable rules, int from, int to, int terminal, int rank, boolean isPrefix) {
+            int state = child(ROOT, DOT, true);
+            for (int i = from; i < to; i++) {
+                int symbol = symbolOf((char) rules.patternByte(i));
+                if (symbol == OTHER) {
+                    throw new IllegalArgumentException("지원하지 않는 규칙 문자: " + rules.pattern(rank));
+                }
+                state = child(state, symbol, true);
+            }
+            if (terminal >= 0) {
+                state = child(state, terminal, true);
+            }
+            if (isPrefix) {
+                prefix[state] = better(prefix[state], rank);
+            } else {
+                accept[state] = better(accept[state], rank);
+            }
+        }
+
+        ExtensionMatcher build(int ruleCount) {
+            int[] fail = new int[size];
+            int[] edgeStart = new int[size + 1];
+            int[] queue = new int[size];
+            int head = 0;
+            int tail = 0;
+
+            for (int c = firstChild[ROOT]; c != -1; c = nextSibling[c]) {
+                queue[tail++] = c;
+            }
+            while (head < tail) {
+                int state = queue[head++];
+                for (int c = firstChild[state]; c != -1; c = nextSibling[c]) {
+                    int f = fail[state];
+                    int target;
+                    while ((target = child(f, label[c], false)) == -1 && f != ROOT) {
+                        f = fail[f];
+                    }
+                    fail[c] = target == -1 ? ROOT : target;
+                    accept[c] = better(accept[c], accept[fail[c]]);
+                    prefix[c] = better(prefix[c], prefix[fail[c]]);
+                    queue[tail++] = c;
+                }
+            }
+
+            int edges = 0;
+            for (int s = 0; s < size; s++) {
+                edgeStart[s] = edges;
+                for (int c = firstChild[s]; c != -1; c = nextSibling[c]) {
+                    edges++;
+                }
+            }
+            edgeStart[size] = edges;
+
+            byte[] edgeLabel = new byte[edges];
+            int[] edgeTarget = new int[edges];
+            int[] rootNext = new int[ALPHABET];
+            for (int s = 0; s < size; s++) {
+                int e = edgeStart[s];
+                for (int c = firstChild[s]; c != -1; c = nextSibling[c]) {
+                    edgeLabel[e] = label[c];
+                    edgeTarget[e++] = c;
+                    if (s == ROOT) {
+                        rootNext[label[c]] = c;
+                    }
+                }
+            }
+
+            return new ExtensionMatcher(rootNext, edgeStart, edgeLabel, edgeTarget, fail,
+                    Arrays.copyOf(accept, size), Arrays.copyOf(prefix, size), ruleCount);
+        }
+
+        private int child(int state, int symbol, boolean create) {
+            for (int c = firstChild[state]; c != -1; c = nextSibling[c]) {
+                if (label[c] == symbol) {
+                    return c;
+                }
+            }
+            if (!create) {
+                return -1;
+            }
+            ensureCapacity();
+            int created = size++;
+            label[created] = (byte) symbol;
+            nextSibling[created] = firstChild[state];
+            firstChild[state] = created;
+            return created;
+        }
+
+        private void ensureCapacity() {
+            if (size < label.length) {
+                return;
+            }
+            int capacity = label.length * 2;
+            firstChild = grow(firstChild, capacity);
+            nextSibling = grow(nextSibling, capacity);
+            accept = grow(accept, capacity);
+            prefix = grow(prefix, capacity);
+            label = Arrays.copyOf(label, capacity);
+        }
+
+        private static int[] grow(int[] array, int capacity) {
+            int[] grown = Arrays.copyOf(array, capacity);
+            Arrays.fill(grown, array.length, capacity, -1);
+            return grown;
+        }
+
+        private static int[] filled(int capacity) {
+            int[] array = new int[capacity];
+            Arrays.fill(array, -1);
+            return array;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.flow.blocker.policy;
+
+import java.util.Locale;
+
+/**
+ * 확장자 입력 정규화 (앞뒤 공백 제거 → 소문자 → 선행 "*." / "." 제거).
+ * 구간 계산은 CharSequence 위에서 인덱스로만 하고, 대소문자는 ASCII 범위에서 직접 접어 중간 문자열을 만들지 않는다.
+ * 기본 로케일과 무관하게 동작한다. (예: 터키어 로케일에서도 "BIN" → "bin")
+ */
+public final class ExtensionNormalizer {
+
+    private ExtensionNormalizer() {
+    }
+
+    /**
+     * s[from, to)에서 앞뒤 공백(String.trim 기준)과 선행 "*." 또는 "."을 뺀 구간.
+     * 결과는 (시작 << 32 | 끝)으로 묶어 반환하며 {@link #start}, {@link #end}로 꺼낸다.
+     */
+    public static long trimRange(CharSequence s, int from, int to) {
+        while (from < to && s.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && s.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        if (to - from >= 2 && s.charAt(from) == '*' && s.charAt(from + 1) == '.') {
+            from += 2;
+        } else if (to - from >= 1 && s.charAt(from) == '.') {
+            from++;
+        }
+        return (long) from << 32 | to;
+    }
+
+    public static int start(long range) {
+        return (int) (range >>> 32);
+    }
+
+    public static int end(long range) {
+        return (int) range;
+    }
+
+    /**
+     * 이미 정규화된 문자열이면 그대로 돌려주고, 아니면 한 번만 새로 만든다.
+     * ASCII가 아닌 문자가 있으면 기존과 같은 결과를 위해 String.toLowerCase(Locale.ROOT)로 처리한다.
+     */
+    public static String normalize(CharSequence s) {
+        long range = trimRange(s, 0, s.length());
+        int from = start(range);
+        int to = end(range);
+
+        boolean needsFold = false;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                return s.subSequence(from, to).toString().toLowerCase(Locale.ROOT);
+            }
+            needsFold |= c >= 'A' && c <= 'Z';
+        }
+
+        if (!needsFold && s instanceof String string) {
+            return from == 0 && to == string.length() ? string : string.substring(from, to);
+        }
+        char[] folded = new char[to - from];
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            folded[i - from] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return new String(folded);
+    }
+}
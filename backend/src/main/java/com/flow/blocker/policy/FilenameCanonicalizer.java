@@ -0,0 +1,119 @@
+package com.flow.blocker.policy;
+
+/**
+ * 검사 경로용 파일명 정규화. 화면에 보이는 이름과 실제로 저장·실행되는 이름을 맞춘다.
+ * <ul>
+ *     <li>Windows가 버리는 끝의 '.'과 공백 제거 ("evil.exe." / "evil.exe " → "evil.exe")</li>
+ *     <li>폭 없는 문자, 방향 제어 문자(RLO 등) 같은 서식 문자 제거 (U+200B가 끼어든 "evil.e xe" → "evil.exe")</li>
+ *     <li>전각 ASCII를 반각으로 ("ｅｘｅ" → "exe"), 유니코드 공백을 ' '로</li>
+ * </ul>
+ * 대소문자는 매처가 접으므로 건드리지 않는다. 정규식 없이 문자 단위로 한 번만 훑으며,
+ * ASCII만 있는 이름은 원본 위의 구간만 계산하고 문자열을 만들지 않는다.
+ */
+public final class FilenameCanonicalizer {
+
+    private static final int FULLWIDTH_FIRST = 0xFF01;
+    private static final int FULLWIDTH_LAST = 0xFF5E;
+    private static final int FULLWIDTH_OFFSET = 0xFEE0;
+
+    private FilenameCanonicalizer() {
+    }
+
+    /**
+     * s[from, to)를 한 번 훑는다. ASCII만 있으면 앞 공백과 끝의 '.'/공백을 뺀 구간을 (시작 << 32 | 끝)으로 반환하고
+     * ({@link ExtensionNormalizer#start}, {@link ExtensionNormalizer#end}로 꺼냄),
+     * ASCII가 아닌 문자를 만나면 그 위치를 담은 음수를 반환한다. 음수는 {@link #rewrite}에 그대로 넘긴다.
+     */
+    public static long scan(CharSequence s, int from, int to) {
+        int start = -1;
+        int end = from;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                return ~(long) i;
+            }
+            if (c > ' ') {
+                if (start < 0) {
+                    start = i;
+                }
+                if (c != '.') {
+                    end = i + 1;
+                }
+            }
+        }
+        if (start < 0) {
+            return (long) to << 32 | to;
+        }
+        return (long) start << 32 | Math.max(start, end);
+    }
+
+    public static boolean needsRewrite(long scan) {
+        return scan < 0;
+    }
+
+    /**
+     * scan이 멈춘 위치부터 이어서 정규화한 새 문자열. 앞부분은 ASCII로 확인됐으므로 판정 없이 옮기기만 한다.
+     */
+    public static String rewrite(CharSequence s, int from, int to, long scan) {
+        int resume = (int) ~scan;
+        StringBuilder out = new StringBuilder(to - from);
+        int significant = 0;
+        for (int i = from; i < resume; i++) {
+            significant = append(out, s.charAt(i), significant);
+        }
+        for (int i = resume; i < to; i++) {
+            int c = s.charAt(i);
+            if (Character.isHighSurrogate((char) c) && i + 1 < to && Character.isLowSurrogate(s.charAt(i + 1))) {
+                c = Character.toCodePoint((char) c, s.charAt(++i));
+            }
+            if (isInvisible(c)) {
+                continue;
+            }
+            if (c >= FULLWIDTH_FIRST && c <= FULLWIDTH_LAST) {
+                c -= FULLWIDTH_OFFSET;
+            } else if (Character.getType(c) == Character.SPACE_SEPARATOR) {
+                c = ' ';
+            }
+            if (c > Character.MAX_VALUE) {
+                out.appendCodePoint(c);
+                significant = out.length();
+            } else {
+                significant = append(out, (char) c, significant);
+            }
+        }
+        out.setLength(significant);
+        return out.toString();
+    }
+
+    /**
+     * 이미 정규화된 이름이면 같은 인스턴스를 돌려준다.
+     */
+    public static String canonicalize(String s) {
+        long scan = scan(s, 0, s.length());
+        if (needsRewrite(scan)) {
+            return rewrite(s, 0, s.length(), scan);
+        }
+        int start = ExtensionNormalizer.start(scan);
+        int end = ExtensionNormalizer.end(scan);
+        return start == 0 && end == s.length() ? s : s.substring(start, end);
+    }
+
+    // 앞 공백은 버리고, 끝의 '.'/공백은 일단 붙인 뒤 마지막에 significant 길이로 잘라낸다
+    private static int append(StringBuilder out, char c, int significant) {
+        if (c <= ' ') {
+            if (out.length() > 0) {
+                out.append(c);
+            }
+            return significant;
+        }
+        out.append(c);
+        return c == '.' ? significant : out.length();
+    }
+
+    // 서식 문자(U+200B~U+200F, U+202A~U+202E, U+2060~U+2069, U+FEFF, U+00AD 등)와 이형 선택자
+    private static boolean isInvisible(int c) {
+        return Character.getType(c) == Character.FORMAT
+                || (c >= 0xFE00 && c <= 0xFE0F)
+                || (c >= 0xE0100 && c <= 0xE01EF);
+    }
+}
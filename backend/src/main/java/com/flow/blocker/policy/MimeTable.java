@@ -0,0 +1,243 @@
+package com.flow.blocker.policy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MIME 타입 ↔ 확장자 불변 표. 기동 시 한 번 만들고, 조회는 선형 탐사 해시로 문자열을 복사하지 않고 O(1)에 한다.
+ * 타입/확장자는 ASCII 대소문자를 무시해 비교하고, Content-Type의 ';' 뒤 파라미터와 앞뒤 공백은 무시한다.
+ */
+public final class MimeTable {
+
+    public static final int UNKNOWN = -1;
+
+    private final String[] mimeTypes;
+    private final String[] extensions;
+    // 타입 id별 확장자 id 목록
+    private final int[][] extensionsByType;
+
+    private final int[] typeSlots;
+    private final int[] extensionSlots;
+    // (타입 id << 32 | 확장자 id), 빈 칸은 -1
+    private final long[] pairSlots;
+
+    private MimeTable(Map<String, List<String>> table) {
+        List<String> extensionList = new ArrayList<>();
+        Map<String, Integer> extensionIds = new LinkedHashMap<>();
+        this.mimeTypes = table.keySet().toArray(String[]::new);
+        this.extensionsByType = new int[mimeTypes.length][];
+        int pairCount = 0;
+        for (int type = 0; type < mimeTypes.length; type++) {
+            List<String> typeExtensions = table.get(mimeTypes[type]);
+            extensionsByType[type] = new int[typeExtensions.size()];
+            for (int i = 0; i < typeExtensions.size(); i++) {
+                String extension = typeExtensions.get(i);
+                Integer id = extensionIds.get(extension);
+                if (id == null) {
+                    id = extensionList.size();
+                    extensionIds.put(extension, id);
+                    extensionList.add(extension);
+                }
+                extensionsByType[type][i] = id;
+                pairCount++;
+            }
+        }
+        this.extensions = extensionList.toArray(String[]::new);
+
+        this.typeSlots = new int[tableSize(mimeTypes.length)];
+        for (int type = 0; type < mimeTypes.length; type++) {
+            insert(typeSlots, mimeTypes[type], type);
+        }
+        this.extensionSlots = new int[tableSize(extensions.length)];
+        for (int extension = 0; extension < extensions.length; extension++) {
+            insert(extensionSlots, extensions[extension], extension);
+        }
+        this.pairSlots = new long[tableSize(pairCount)];
+        Arrays.fill(pairSlots, -1L);
+        for (int type = 0; type < mimeTypes.length; type++) {
+            for (int extension : extensionsByType[type]) {
+                long key = pairKey(type, extension);
+                int slot = mix(key) & (pairSlots.length - 1);
+                while (pairSlots[slot] != -1L && pairSlots[slot] != key) {
+                    slot = (slot + 1) & (pairSlots.length - 1);
+                }
+                pairSlots[slot] = key;
+            }
+        }
+    }
+
+    /**
+     * 한 줄에 "타입 확장자 확장자 ..." 형식. '#' 뒤는 주석이다. 같은 타입이 여러 번 나오면 확장자를 합친다.
+     */
+    public static MimeTable load(InputStream in) throws IOException {
+        Map<String, List<String>> table = new LinkedHashMap<>();
+        Map<String, Set<String>> seen = new LinkedHashMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (content.isEmpty()) {
+                continue;
+            }
+            String[] tokens = content.toLowerCase(Locale.ROOT).split("\\s+");
+            if (tokens.length < 2 || tokens[0].indexOf('/') <= 0) {
+                throw new IOException("MIME 표 " + lineNumber + "번째 줄 형식이 올바르지 않습니다: " + line);
+            }
+            List<String> typeExtensions = table.computeIfAbsent(tokens[0], key -> new ArrayList<>());
+            Set<String> typeSeen = seen.computeIfAbsent(tokens[0], key -> new HashSet<>());
+            for (int i = 1; i < tokens.length; i++) {
+                if (typeSeen.add(tokens[i])) {
+                    typeExtensions.add(tokens[i]);
+                }
+            }
+        }
+        return new MimeTable(table);
+    }
+
+    public int typeCount() {
+        return mimeTypes.length;
+    }
+
+    public int extensionCount() {
+        return extensions.length;
+    }
+
+    public String mimeType(int type) {
+        return mimeTypes[type];
+    }
+
+    public String extension(int extension) {
+        return extensions[extension];
+    }
+
+    public int extensionCountOf(int type) {
+        return extensionsByType[type].length;
+    }
+
+    public int extensionOf(int type, int index) {
+        return extensionsByType[type][index];
+    }
+
+    /**
+     * Content-Type 헤더 값(예: "Image/PNG; charset=binary")의 타입 id, 표에 없으면 UNKNOWN
+     */
+    public int typeOf(CharSequence contentType) {
+        if (contentType == null) {
+            return UNKNOWN;
+        }
+        int from = 0;
+        int to = contentType.length();
+        for (int i = 0; i < to; i++) {
+            if (contentType.charAt(i) == ';') {
+                to = i;
+                break;
+            }
+        }
+        while (from < to && contentType.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && contentType.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return find(typeSlots, mimeTypes, contentType, from, to);
+    }
+
+    /**
+     * 파일명 filename[from, to)의 마지막 '.' 뒤 확장자 id. 확장자가 없거나 표에 없으면 UNKNOWN
+     */
+    public int extensionOf(CharSequence filename, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (filename.charAt(i) == '.') {
+                return find(extensionSlots, extensions, filename, i + 1, to);
+            }
+        }
+        return UNKNOWN;
+    }
+
+    public boolean matches(int type, int extension) {
+        long key = pairKey(type, extension);
+        int slot = mix(key) & (pairSlots.length - 1);
+        while (pairSlots[slot] != -1L) {
+            if (pairSlots[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & (pairSlots.length - 1);
+        }
+        return false;
+    }
+
+    private static int find(int[] slots, String[] keys, CharSequence value, int from, int to) {
+        if (from >= to) {
+            return UNKNOWN;
+        }
+        int slot = hash(value, from, to) & (slots.length - 1);
+        while (slots[slot] != 0) {
+            int id = slots[slot] - 1;
+            if (equalsIgnoreCase(keys[id], value, from, to)) {
+                return id;
+            }
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        return UNKNOWN;
+    }
+
+    private static void insert(int[] slots, String key, int id) {
+        int slot = hash(key, 0, key.length()) & (slots.length - 1);
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        slots[slot] = id + 1;
+    }
+
+    private static boolean equalsIgnoreCase(String key, CharSequence value, int from, int to) {
+        if (key.length() != to - from) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != lower(value.charAt(from + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence value, int from, int to) {
+        int h = 0x811c9dc5;
+        for (int i = from; i < to; i++) {
+            h = (h ^ lower(value.charAt(i))) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static char lower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static long pairKey(int type, int extension) {
+        return (long) type << 32 | extension;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // 적재율 0.5 이하인 2의 거듭제곱
+    private static int tableSize(int count) {
+        return Integer.highestOneBit(Math.max(count, 1) * 2 - 1) << 1;
+    }
+}
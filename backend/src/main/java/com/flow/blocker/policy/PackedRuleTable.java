@@ -0,0 +1,208 @@
+package com.flow.blocker.policy;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 규칙을 규칙당 String/엔티티 대신 몇 개의 원시 배열에 압축해 보관한다.
+ * 패턴은 ASCII 바이트를 하나의 배열에 이어 붙이고 오프셋으로 구분하므로, 규칙당 추가 비용은 패턴 길이 + 약 10바이트이다.
+ */
+public final class PackedRuleTable {
+
+    private static final RuleType[] TYPES = RuleType.values();
+    private static final long FNV64_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV64_PRIME = 0x100000001b3L;
+    private static final RuleAction[] ACTIONS = RuleAction.values();
+
+    private final byte[] patterns;
+    private final int[] offsets;
+    private final byte[] types;
+    private final byte[] actions;
+    private final int[] priorities;
+
+    private PackedRuleTable(byte[] patterns, int[] offsets, byte[] types, byte[] actions, int[] priorities) {
+        this.patterns = patterns;
+        this.offsets = offsets;
+        this.types = types;
+        this.actions = actions;
+        this.priorities = priorities;
+    }
+
+    public static PackedRuleTable of(List<PolicyRule> rules) {
+        Builder builder = builder(rules.size());
+        rules.forEach(builder::add);
+        return builder.build();
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return types.length;
+    }
+
+    public int patternStart(int index) {
+        return offsets[index];
+    }
+
+    public int patternEnd(int index) {
+        return offsets[index + 1];
+    }
+
+    public byte patternByte(int position) {
+        return patterns[position];
+    }
+
+    public RuleType type(int index) {
+        return TYPES[types[index]];
+    }
+
+    public RuleAction action(int index) {
+        return ACTIONS[actions[index]];
+    }
+
+    public int priority(int index) {
+        return priorities[index];
+    }
+
+    public String pattern(int index) {
+        return new String(patterns, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.US_ASCII);
+    }
+
+    public PolicyRule rule(int index) {
+        return new PolicyRule(pattern(index), type(index), action(index), priority(index));
+    }
+
+    public long footprintBytes() {
+        return patterns.length + 4L * offsets.length + types.length + actions.length + 4L * priorities.length;
+    }
+
+    /**
+     * 규칙 내용(패턴, 유형, 동작, 우선순위)을 테이블 순서대로 해시한 64비트 FNV-1a 값.
+     * revision과 달리 메모리 밖의 값에 의존하지 않으므로 재기동 뒤에도 같은 규칙이면 같은 값이다.
+     */
+    public long fingerprint() {
+        long hash = FNV64_OFFSET;
+        for (int i = 0; i < size(); i++) {
+            hash = fnv(hash, offsets[i + 1] - offsets[i]);
+            for (int p = offsets[i]; p < offsets[i + 1]; p++) {
+                hash = (hash ^ (patterns[p] & 0xFF)) * FNV64_PRIME;
+            }
+            hash = fnv(hash, types[i]);
+            hash = fnv(hash, actions[i]);
+            hash = fnv(hash, priorities[i]);
+        }
+        return hash;
+    }
+
+    static long fnv(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash = (hash ^ (value >>> shift & 0xFF)) * FNV64_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * 평가 순서(우선순위 오름차순, 같은 우선순위에서는 BLOCK 먼저, 그다음 입력 순서)로 정렬한 새 테이블.
+     * 정렬 키를 long 하나로 묶어 원시 배열 정렬만 사용한다.
+     */
+    public PackedRuleTable sortedForEvaluation() {
+        int size = size();
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (long) priorities[i] << 32 | (long) actions[i] << 31 | i;
+        }
+        Arrays.sort(keys);
+
+        Builder builder = new Builder(size);
+        for (long key : keys) {
+            int i = (int) (key & 0x7FFFFFFFL);
+            builder.addRaw(patterns, offsets[i], offsets[i + 1], types[i], actions[i], priorities[i]);
+        }
+        return builder.build();
+    }
+
+    public static final class Builder {
+
+        private byte[] patterns;
+        private int[] offsets;
+        private byte[] types;
+        private byte[] actions;
+        private int[] priorities;
+        private int size;
+        private int length;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 8);
+            this.patterns = new byte[capacity * 8];
+            this.offsets = new int[capacity + 1];
+            this.types = new byte[capacity];
+            this.actions = new byte[capacity];
+            this.priorities = new int[capacity];
+        }
+
+        public Builder add(PolicyRule rule) {
+            return add(rule.pattern(), rule.type(), rule.action(), rule.priority());
+        }
+
+        public Builder add(CharSequence pattern, RuleType type, RuleAction action, int priority) {
+            ensureRuleCapacity();
+            ensurePatternCapacity(pattern.length());
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c > 0x7F) {
+                    throw new IllegalArgumentException("규칙 패턴은 ASCII만 허용됩니다: " + pattern);
+                }
+                patterns[length++] = (byte) c;
+            }
+            return commit(type.ordinal(), action.ordinal(), priority);
+        }
+
+        private void addRaw(byte[] source, int from, int to, byte type, byte action, int priority) {
+            ensureRuleCapacity();
+            ensurePatternCapacity(to - from);
+            System.arraycopy(source, from, patterns, length, to - from);
+            length += to - from;
+            commit(type, action, priority);
+        }
+
+        private Builder commit(int type, int action, int priority) {
+            types[size] = (byte) type;
+            actions[size] = (byte) action;
+            priorities[size] = priority;
+            offsets[++size] = length;
+            return this;
+        }
+
+        public PackedRuleTable build() {
+            return new PackedRuleTable(
+                    Arrays.copyOf(patterns, length),
+                    Arrays.copyOf(offsets, size + 1),
+                    Arrays.copyOf(types, size),
+                    Arrays.copyOf(actions, size),
+                    Arrays.copyOf(priorities, size));
+        }
+
+        private void ensureRuleCapacity() {
+            if (size < types.length) {
+                return;
+            }
+            int capacity = types.length * 2;
+            offsets = Arrays.copyOf(offsets, capacity + 1);
+            types = Arrays.copyOf(types, capacity);
+            actions = Arrays.copyOf(actions, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+        }
+
+        private void ensurePatternCapacity(int additional) {
+            if (length + additional > patterns.length) {
+                patterns = Arrays.copyOf(patterns, Math.max(patterns.length * 2, length + additional));
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.flow.blocker.policy;
+
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.jfr.PolicyRebuildEvent;
+import com.flow.blocker.repository.BlockedExtensionRepository;
+import com.flow.blocker.routing.ReadRouting;
+import com.flow.blocker.storage.PendingChange;
+import com.flow.blocker.storage.WriteBehindBuffer;
+import com.flow.blocker.transfer.TransferRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 활성 규칙으로 컴파일한 정책 스냅샷(매처 + 결정표)을 메모리에 보관한다.
+ * ExtensionService가 데이터를 변경할 때와 예약 규칙이 켜지고 꺼질 때만 revision이 올라가고, 다음 조회 시 한 번만 다시 빌드한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PolicyCache {
+
+    private final BlockedExtensionRepository repository;
+    private final BlockerProperties properties;
+    private final WriteBehindBuffer writeBehind;
+    private final AtomicLong revision = new AtomicLong();
+
+    private volatile PolicySnapshot snapshot;
+    // 예약 시간 밖이라 지금은 적용하지 않는 규칙 (ActivationEngine이 전환 시점에만 바꾼다)
+    private volatile Set<String> scheduledOff = Set.of();
+
+    public PolicySnapshot current() {
+        PolicySnapshot current = snapshot;
+        if (current != null && current.revision() == revision.get()) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    public long revision() {
+        return revision.get();
+    }
+
+    /**
+     * 변경 직후 같은 트랜잭션 안의 조회는 변경된 내용으로, 커밋/롤백 이후의 조회는 확정된 내용으로 다시 빌드되도록
+     * 트랜잭션 종료 시점에 한 번 더 무효화한다.
+     */
+    public void invalidate() {
+        revision.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    revision.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    public Set<String> scheduledOff() {
+        return scheduledOff;
+    }
+
+    /**
+     * 예약으로 꺼진 규칙 집합을 바꾸고 무효화한다. 조회 경로는 시간을 보지 않고 이 집합으로 빌드된 스냅샷만 쓴다.
+     */
+    public void updateScheduledOff(Set<String> patterns) {
+        if (patterns.equals(scheduledOff)) {
+            return;
+        }
+        scheduledOff = Set.copyOf(patterns);
+        invalidate();
+    }
+
+    private synchronized PolicySnapshot rebuild() {
+        long target = revision.get();
+        PolicySnapshot current = snapshot;
+        if (current != null && current.revision() == target) {
+            return current;
+        }
+
+        PolicyRebuildEvent event = new PolicyRebuildEvent();
+        event.begin();
+        // 반영 대기 변경을 먼저 읽어야 그 사이 기록된 변경이 양쪽 모두에서 빠지지 않는다
+        Map<String, PendingChange> pending = writeBehind.pendingChanges();
+        Set<String> off = scheduledOff;
+        // 다른 클라이언트의 변경까지 반영된 복제본이 아니면 주 DB에서 읽는다 (스냅샷은 다음 변경까지 재사용되므로)
+        List<PolicyRule> rows = ReadRouting.latest(repository::findActiveRules);
+        PackedRuleTable.Builder builder = PackedRuleTable.builder(rows.size() + pending.size());
+        for (PolicyRule row : rows) {
+            if (!pending.containsKey(row.pattern()) && !off.contains(row.pattern())) {
+                builder.add(row);
+            }
+        }
+        for (PendingChange change : pending.values()) {
+            TransferRow row = change.row();
+            if (row != null && row.active() && !off.contains(row.extension())) {
+                builder.add(row.extension(), row.ruleType(), row.action(), row.priority());
+            }
+        }
+        PackedRuleTable rules = builder.build();
+        PolicySnapshot rebuilt = new PolicySnapshot(target, rules, properties.getPolicy().getDefaultAction());
+        event.complete(PolicyRebuildEvent.SNAPSHOT, target, rules.size(), rebuilt.footprintBytes());
+
+        // 빌드 도중 다시 변경되었다면 저장하지 않고 다음 조회에서 재빌드한다
+        if (revision.get() == target) {
+            snapshot = rebuilt;
+        }
+        return rebuilt;
+    }
+}
@@ -0,0 +1,60 @@
+package com.flow.blocker.policy;
+
+import com.flow.blocker.domain.ActivationSchedule;
+import com.flow.blocker.domain.BlockedExtension;
+
+/**
+ * ExtensionService/BlockListTransferService가 규칙을 변경할 때, ActivationEngine이 예약 경계에서 규칙을 켜고 끌 때 발행하는 이벤트.
+ * before/after는 변경 전후 상태 요약이며, 없던 규칙/삭제된 규칙은 null이다.
+ */
+public record PolicyChangedEvent(ChangeType type, String extension, String before, String after) {
+
+    public enum ChangeType {
+        ADD,
+        DELETE,
+        TOGGLE,
+        IMPORT,
+        // 규칙의 예약(기간/매일 구간) 변경
+        SCHEDULE,
+        // 예약 경계에서 규칙이 켜지거나 꺼짐 (ActivationEngine)
+        ACTIVATION
+    }
+
+    public static PolicyChangedEvent added(BlockedExtension entity) {
+        return new PolicyChangedEvent(ChangeType.ADD, entity.getExtension(), null, describe(entity));
+    }
+
+    public static PolicyChangedEvent deleted(BlockedExtension entity) {
+        return new PolicyChangedEvent(ChangeType.DELETE, entity.getExtension(), describe(entity), null);
+    }
+
+    public static PolicyChangedEvent toggled(BlockedExtension entity) {
+        return new PolicyChangedEvent(ChangeType.TOGGLE, entity.getExtension(),
+                "active=" + !entity.isActive(), "active=" + entity.isActive());
+    }
+
+    public static PolicyChangedEvent scheduled(BlockedExtension entity, ActivationSchedule before) {
+        return new PolicyChangedEvent(ChangeType.SCHEDULE, entity.getExtension(),
+                describe(before), describe(entity.getSchedule()));
+    }
+
+    public static PolicyChangedEvent activated(String extension, boolean active) {
+        return new PolicyChangedEvent(ChangeType.ACTIVATION, extension,
+                "scheduled=" + (active ? "off" : "on"), "scheduled=" + (active ? "on" : "off"));
+    }
+
+    public static PolicyChangedEvent imported(long importedCount) {
+        return new PolicyChangedEvent(ChangeType.IMPORT, "*", null, "imported=" + importedCount);
+    }
+
+    private static String describe(ActivationSchedule schedule) {
+        return "schedule=" + (schedule != null ? schedule.describe() : "always");
+    }
+
+    private static String describe(BlockedExtension entity) {
+        return "active=" + entity.isActive()
+                + ",type=" + entity.getRuleType()
+                + ",action=" + entity.getAction()
+                + ",priority=" + entity.getPriority();
+    }
+}
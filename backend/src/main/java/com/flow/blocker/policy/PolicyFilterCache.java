@@ -0,0 +1,34 @@
+package com.flow.blocker.policy;
+
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.jfr.PolicyRebuildEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 현재 정책 스냅샷으로 만든 Bloom 필터를 revision이 바뀔 때만 다시 만든다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PolicyFilterCache {
+
+    private final PolicyCache policyCache;
+    private final BlockerProperties properties;
+
+    private volatile ExtensionBloomFilter filter;
+
+    public ExtensionBloomFilter current() {
+        PolicySnapshot snapshot = policyCache.current();
+        ExtensionBloomFilter current = filter;
+        if (current != null && current.revision() == snapshot.revision()) {
+            return current;
+        }
+        PolicyRebuildEvent event = new PolicyRebuildEvent();
+        event.begin();
+        current = ExtensionBloomFilter.of(snapshot, properties.getFilter().getFalsePositiveRate());
+        event.complete(PolicyRebuildEvent.BLOOM_FILTER, current.revision(), current.keyCount(),
+                current.bitCount() / 8);
+        filter = current;
+        return current;
+    }
+}
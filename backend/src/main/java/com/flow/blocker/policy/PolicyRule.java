@@ -0,0 +1,16 @@
+package com.flow.blocker.policy;
+
+import com.flow.blocker.domain.BlockedExtension;
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+
+public record PolicyRule(String pattern, RuleType type, RuleAction action, int priority) {
+
+    public PolicyRule(String pattern, RuleType type) {
+        this(pattern, type, RuleAction.BLOCK, 0);
+    }
+
+    public static PolicyRule from(BlockedExtension entity) {
+        return new PolicyRule(entity.getExtension(), entity.getRuleType(), entity.getAction(), entity.getPriority());
+    }
+}
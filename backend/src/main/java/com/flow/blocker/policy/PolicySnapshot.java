@@ -0,0 +1,105 @@
+package com.flow.blocker.policy;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+
+import java.util.List;
+
+/**
+ * 평가 순서대로 정렬·압축된 규칙 테이블, 이를 컴파일한 매처, 순위별 결정표를 묶은 불변 스냅샷.
+ * 평가 시 매처가 돌려준 순위로 결정표를 한 번 조회하므로 규칙 수와 무관하고 객체를 만들지 않는다.
+ */
+public final class PolicySnapshot {
+
+    private final long revision;
+    private final PackedRuleTable rules;
+    private final ExtensionMatcher matcher;
+    private final boolean[] blockByRank;
+    private final RuleAction defaultAction;
+    private final long fingerprint;
+
+    public PolicySnapshot(long revision, List<PolicyRule> rules, RuleAction defaultAction) {
+        this(revision, PackedRuleTable.of(rules), defaultAction);
+    }
+
+    public PolicySnapshot(long revision, PackedRuleTable rules, RuleAction defaultAction) {
+        PackedRuleTable ordered = rules.sortedForEvaluation();
+
+        this.revision = revision;
+        this.rules = ordered;
+        this.matcher = ExtensionMatcher.compile(ordered);
+        this.blockByRank = new boolean[ordered.size()];
+        for (int rank = 0; rank < ordered.size(); rank++) {
+            blockByRank[rank] = ordered.action(rank) == RuleAction.BLOCK;
+        }
+        this.defaultAction = defaultAction;
+        this.fingerprint = PackedRuleTable.fnv(ordered.fingerprint(), defaultAction.ordinal());
+    }
+
+    public long revision() {
+        return revision;
+    }
+
+    /**
+     * 평가 순서의 규칙과 기본 동작으로 정해지는 판정 지문. revision은 프로세스마다 새로 세므로
+     * 재기동 뒤에도 유지되어야 하는 비교(재검사 체크포인트 등)에는 이 값을 쓴다.
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    public PackedRuleTable rules() {
+        return rules;
+    }
+
+    public ExtensionMatcher matcher() {
+        return matcher;
+    }
+
+    public RuleAction defaultAction() {
+        return defaultAction;
+    }
+
+    public long footprintBytes() {
+        return rules.footprintBytes() + matcher.footprintBytes() + blockByRank.length;
+    }
+
+    /**
+     * filename[from, to)에 가장 먼저 일치하는 규칙의 순위, 없으면 ExtensionMatcher.NO_MATCH
+     */
+    public int evaluate(CharSequence filename, int from, int to) {
+        return matcher.match(filename, from, to);
+    }
+
+    /**
+     * 파일명 세그먼트 filename[from, to)를 {@link FilenameCanonicalizer}로 정규화한 뒤 평가한다. (검사 API와 같은 판정)
+     * ASCII만 있는 이름은 원본 위의 구간으로 평가하므로 문자열을 만들지 않는다.
+     */
+    public int evaluateCanonical(CharSequence filename, int from, int to) {
+        long scan = FilenameCanonicalizer.scan(filename, from, to);
+        if (FilenameCanonicalizer.needsRewrite(scan)) {
+            String name = FilenameCanonicalizer.rewrite(filename, from, to, scan);
+            return matcher.match(name, 0, name.length());
+        }
+        return matcher.match(filename, ExtensionNormalizer.start(scan), ExtensionNormalizer.end(scan));
+    }
+
+    /**
+     * 사용자 입력 확장자(앞뒤 공백, "*.", 대문자 허용)를 문자열 복사 없이 검사한다.
+     */
+    public int evaluateExtension(CharSequence extension, int from, int to) {
+        long range = ExtensionNormalizer.trimRange(extension, from, to);
+        return matcher.matchExtension(extension, ExtensionNormalizer.start(range), ExtensionNormalizer.end(range));
+    }
+
+    public boolean isBlocked(int rank) {
+        return rank == ExtensionMatcher.NO_MATCH ? defaultAction == RuleAction.BLOCK : blockByRank[rank];
+    }
+
+    public boolean isBlocked(CharSequence filename, int from, int to) {
+        return isBlocked(evaluate(filename, from, to));
+    }
+
+    public PolicyRule rule(int rank) {
+        return rank == ExtensionMatcher.NO_MATCH ? null : rules.rule(rank);
+    }
+}
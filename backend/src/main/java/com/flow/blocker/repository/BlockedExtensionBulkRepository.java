@@ -0,0 +1,91 @@
+package com.flow.blocker.repository;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.transfer.TransferRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 일괄 가져오기/내보내기, 쓰기 지연 기록 전용 JDBC 접근. 엔티티를 만들지 않고 커서로 읽고, 배치로 쓴다.
+ */
+@Repository
+public class BlockedExtensionBulkRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String SELECT_ALL = """
+            SELECT extension, is_fixed, is_active, rule_type, rule_action, priority
+            FROM blocked_extension
+            ORDER BY id
+            """;
+
+    private static final String UPSERT = """
+            MERGE INTO blocked_extension t
+            USING (SELECT CAST(? AS VARCHAR(20)) AS extension, CAST(? AS BOOLEAN) AS is_fixed,
+                          CAST(? AS BOOLEAN) AS is_active, CAST(? AS VARCHAR(20)) AS rule_type,
+                          CAST(? AS VARCHAR(10)) AS rule_action, CAST(? AS INT) AS priority) s
+            ON t.extension = s.extension
+            WHEN MATCHED THEN UPDATE SET
+                is_active = s.is_active, rule_type = s.rule_type, rule_action = s.rule_action, priority = s.priority
+            WHEN NOT MATCHED THEN INSERT (extension, is_fixed, is_active, rule_type, rule_action, priority, created_at)
+                VALUES (s.extension, s.is_fixed, s.is_active, s.rule_type, s.rule_action, s.priority, CURRENT_TIMESTAMP)
+            """;
+
+    private static final String DELETE_CUSTOM = "DELETE FROM blocked_extension WHERE extension = ? AND is_fixed = FALSE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BlockedExtensionBulkRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    public void streamAll(Consumer<TransferRow> consumer) {
+        jdbcTemplate.query(SELECT_ALL, rs -> {
+            consumer.accept(new TransferRow(
+                    rs.getString(1),
+                    rs.getBoolean(2),
+                    rs.getBoolean(3),
+                    RuleType.valueOf(rs.getString(4)),
+                    RuleAction.valueOf(rs.getString(5)),
+                    rs.getInt(6)));
+        });
+    }
+
+    public void upsert(List<TransferRow> rows) {
+        jdbcTemplate.batchUpdate(UPSERT, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.extension());
+            ps.setBoolean(2, row.fixed());
+            ps.setBoolean(3, row.active());
+            ps.setString(4, row.ruleType().name());
+            ps.setString(5, row.action().name());
+            ps.setInt(6, row.priority());
+        });
+    }
+
+    /**
+     * 주어진 확장자 중 이미 저장된 규칙 수
+     */
+    public long countExisting(Collection<String> extensions) {
+        if (extensions.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(",", Collections.nCopies(extensions.size(), "?"));
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM blocked_extension WHERE extension IN (" + placeholders + ")",
+                Long.class, extensions.toArray());
+        return count != null ? count : 0;
+    }
+
+    public void deleteCustom(List<String> extensions) {
+        jdbcTemplate.batchUpdate(DELETE_CUSTOM, extensions, extensions.size(),
+                (ps, extension) -> ps.setString(1, extension));
+    }
+}
@@ -1,8 +1,13 @@
 package com.flow.blocker.repository;
 
 import com.flow.blocker.domain.BlockedExtension;
+import com.flow.blocker.policy.PolicyRule;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,7 +21,31 @@ public interface BlockedExtensionRepository extends JpaRepository<BlockedExtensi
 
     List<BlockedExtension> findByFixedFalse();
 
+    // 엔티티 대신 필요한 컬럼만 조회 (정책 스냅샷 빌드용)
+    @Query("select new com.flow.blocker.policy.PolicyRule(e.extension, e.ruleType, e.action, e.priority) "
+            + "from BlockedExtension e where e.active = true")
+    List<PolicyRule> findActiveRules();
+
+    // 예약이 있는 규칙 (ActivationEngine 적재용)
+    @Query("select e from BlockedExtension e where e.schedule.validFrom is not null "
+            + "or e.schedule.validUntil is not null or e.schedule.windowStart is not null")
+    List<BlockedExtension> findScheduled();
+
+    List<BlockedExtension> findByFixedFalseAndIdGreaterThanOrderByIdAsc(Long cursor, Limit limit);
+
     long countByFixedFalse();
 
+    @Query("select new com.flow.blocker.repository.CustomRuleStats("
+            + "count(case when e.fixed = false then 1 end), count(case when e.extension = :extension then 1 end)) "
+            + "from BlockedExtension e where e.fixed = false or e.extension = :extension")
+    CustomRuleStats customRuleStats(@Param("extension") String extension);
+
+    @Query("select new com.flow.blocker.repository.CustomRuleLookup(e, "
+            + "(select count(c) from BlockedExtension c where c.fixed = false)) "
+            + "from BlockedExtension e where e.extension = :extension")
+    Optional<CustomRuleLookup> findWithCustomCount(@Param("extension") String extension);
+
+    long countByFixedFalseAndExtensionNotIn(Collection<String> extensions);
+
     void deleteByExtension(String extension);
 }
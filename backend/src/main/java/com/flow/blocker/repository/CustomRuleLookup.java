@@ -0,0 +1,9 @@
+package com.flow.blocker.repository;
+
+import com.flow.blocker.domain.BlockedExtension;
+
+/**
+ * 토글/삭제 시 대상 규칙과 변경 응답에 담을 커스텀 규칙 수를 한 번의 조회로 가져오기 위한 결과
+ */
+public record CustomRuleLookup(BlockedExtension rule, long customCount) {
+}
@@ -0,0 +1,11 @@
+package com.flow.blocker.repository;
+
+/**
+ * 커스텀 추가 시 중복 검사와 개수 제한 검사를 한 번의 조회로 처리하기 위한 집계
+ */
+public record CustomRuleStats(long customCount, long sameExtensionCount) {
+
+    public boolean exists() {
+        return sameExtensionCount > 0;
+    }
+}
@@ -0,0 +1,35 @@
+package com.flow.blocker.repository;
+
+import com.flow.blocker.audit.AuditEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+
+@Repository
+public class PolicyAuditBulkRepository {
+
+    private static final String INSERT = """
+            INSERT INTO policy_audit (occurred_at, actor, change_type, extension, before_state, after_state)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PolicyAuditBulkRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public void insertBatch(List<AuditEntry> entries) {
+        jdbcTemplate.batchUpdate(INSERT, entries, entries.size(), (ps, entry) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(entry.occurredAt()));
+            ps.setString(2, entry.actor());
+            ps.setString(3, entry.changeType());
+            ps.setString(4, entry.extension());
+            ps.setString(5, entry.before());
+            ps.setString(6, entry.after());
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package com.flow.blocker.repository;
+
+import com.flow.blocker.domain.PolicyAudit;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface PolicyAuditRepository extends JpaRepository<PolicyAudit, Long> {
+
+    List<PolicyAudit> findByIdLessThanOrderByIdDesc(Long cursor, Limit limit);
+
+    List<PolicyAudit> findByExtensionAndIdLessThanOrderByIdDesc(String extension, Long cursor, Limit limit);
+}
@@ -0,0 +1,132 @@
+package com.flow.blocker.routing;
+
+import com.flow.blocker.config.BlockerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 시험용 복제: 두 번째 H2(복제본)에 주 DB의 스키마를 만들고, localReplicationInterval 마다 전체 행을 복사한다.
+ * 복사는 복제본의 한 트랜잭션에서 이뤄지므로 읽는 쪽은 이전 상태 또는 새 상태만 본다. (MVCC)
+ * 하트비트 테이블을 가장 먼저 읽으므로 복제본 하트비트 이전에 커밋된 쓰기는 모두 복사된다.
+ * 운영에서는 DB 자체 복제를 쓰고 이 컴포넌트는 켜지 않는다.
+ */
+@Slf4j
+public class LocalSnapshotReplicator implements SmartLifecycle {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final TransactionTemplate replicaTransaction;
+    private final Duration interval;
+
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    public LocalSnapshotReplicator(DataSource primary, DataSource replica, BlockerProperties properties) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.replicaTransaction = new TransactionTemplate(new DataSourceTransactionManager(replica));
+        this.interval = properties.getReplica().getLocalReplicationInterval();
+    }
+
+    /**
+     * 주 DB의 테이블 정의를 복제본에 다시 만든다. (기존 테이블은 삭제)
+     */
+    public void copySchema() {
+        List<String> script = primary.queryForList("SCRIPT NODATA NOPASSWORDS NOSETTINGS DROP", String.class);
+        for (String statement : script) {
+            if (!statement.startsWith("CREATE USER")) {
+                replica.execute(statement);
+            }
+        }
+    }
+
+    public synchronized void replicate() {
+        List<String> tables = primary.queryForList(
+                "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC' "
+                        + "AND TABLE_TYPE = 'BASE TABLE'", String.class);
+        tables.sort(Comparator.comparing(table -> !table.equalsIgnoreCase(ReplicaLagMonitor.HEARTBEAT_TABLE)));
+
+        List<List<Object[]>> rows = new ArrayList<>(tables.size());
+        for (String table : tables) {
+            rows.add(primary.query("SELECT * FROM " + table, (rs, rowNum) -> {
+                Object[] values = new Object[rs.getMetaData().getColumnCount()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getObject(i + 1);
+                }
+                return values;
+            }));
+        }
+
+        replicaTransaction.executeWithoutResult(status -> {
+            for (int i = 0; i < tables.size(); i++) {
+                String table = tables.get(i);
+                replica.update("DELETE FROM " + table);
+                List<Object[]> tableRows = rows.get(i);
+                if (!tableRows.isEmpty()) {
+                    String placeholders = String.join(", ", Collections.nCopies(tableRows.get(0).length, "?"));
+                    replica.batchUpdate("INSERT INTO " + table + " VALUES (" + placeholders + ")", tableRows);
+                }
+            }
+        });
+    }
+
+    private void replicateQuietly() {
+        try {
+            replicate();
+        } catch (RuntimeException e) {
+            log.warn("로컬 복제 실패: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return !interval.isZero() && !interval.isNegative();
+    }
+
+    @Override
+    public void start() {
+        copySchema();
+        replicate();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "local-replicator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::replicateQuietly, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("로컬 복제 시작 (주기 {})", interval);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 하트비트 테이블이 만들어진 뒤, 요청을 받기 전에 첫 복사를 끝낸다
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 7000;
+    }
+}
@@ -0,0 +1,55 @@
+package com.flow.blocker.routing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.function.Supplier;
+
+/**
+ * 읽기를 복제본으로 보내도 되는지 판단할 때 쓰는 요청/스레드 문맥.
+ * 기본은 "이 클라이언트가 쓴 내용까지만" 반영되면 되고, latest(...) 안에서는 이 노드에서 커밋된 모든 쓰기가 반영되어야 한다.
+ * 복제본을 쓰지 않으면 아무 효과가 없다.
+ */
+public final class ReadRouting {
+
+    // 감사 로그와 같은 기준으로 클라이언트를 구분한다 (헤더가 없으면 클라이언트 주소)
+    static final String CLIENT_HEADER = "X-Actor";
+
+    private static final ThreadLocal<Boolean> LATEST = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * 다른 클라이언트의 변경까지 모두 반영된 데이터가 필요한 읽기. (정책 스냅샷 빌드, revision과 함께 내려가는 전체 목록)
+     * 트랜잭션 안에서는 그 트랜잭션의 첫 문장보다 먼저 호출해야 한다.
+     */
+    public static <T> T latest(Supplier<T> action) {
+        Boolean previous = LATEST.get();
+        LATEST.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                LATEST.remove();
+            }
+        }
+    }
+
+    static boolean requiresLatest() {
+        return LATEST.get() != null;
+    }
+
+    /**
+     * 요청 스레드가 아니면 null (백그라운드 작업)
+     */
+    static String clientKey() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            String client = request.getHeader(CLIENT_HEADER);
+            return client == null || client.isBlank() ? request.getRemoteAddr() : client.strip();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.flow.blocker.routing;
+
+import com.flow.blocker.config.BlockerProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * blocker.replica.enabled일 때 spring.datasource(주 DB)와 blocker.replica(복제본) 두 풀을 만들고,
+ * 애플리케이션에는 읽기 전용 트랜잭션을 복제본으로 보내는 라우팅 DataSource를 노출한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "blocker.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(BlockerProperties properties) {
+        BlockerProperties.Replica replica = properties.getReplica();
+        if (replica.getUrl() == null || replica.getUrl().isBlank()) {
+            throw new IllegalStateException("blocker.replica.url이 필요합니다");
+        }
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("blocker-replica-pool");
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               BlockerProperties properties, MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primary, replica, properties, meterRegistry);
+    }
+
+    @Bean
+    public LocalSnapshotReplicator localSnapshotReplicator(@Qualifier("primaryDataSource") DataSource primary,
+                                                           @Qualifier("replicaDataSource") DataSource replica,
+                                                           BlockerProperties properties) {
+        return new LocalSnapshotReplicator(primary, replica, properties);
+    }
+
+    /**
+     * 트랜잭션 시작 시점에는 읽기 전용 여부가 아직 동기화 관리자에 없으므로, 첫 문장에서 실제 연결을 고르도록 지연 프록시로 감싼다.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, lagMonitor, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
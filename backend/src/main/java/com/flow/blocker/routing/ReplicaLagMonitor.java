@@ -0,0 +1,147 @@
+package com.flow.blocker.routing;
+
+import com.flow.blocker.config.BlockerProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 복제본 지연을 하트비트로 측정하고, 클라이언트별 마지막 쓰기 시각과 비교해 복제본 읽기 가능 여부를 판단한다.
+ * 주 DB의 replica_heartbeat에 현재 시각을 쓰고, 복제본에서 같은 행을 읽어 "복제본이 반영한 주 DB 시각"으로 삼는다.
+ * 하트비트는 그 시각 이전에 커밋된 쓰기 뒤에 커밋되므로, 복제본 하트비트가 쓰기 시각보다 뒤면 그 쓰기도 반영되어 있다.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements SmartLifecycle {
+
+    static final String HEARTBEAT_TABLE = "replica_heartbeat";
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final BlockerProperties.Replica properties;
+    // 복제본이 아직 따라잡지 못했을 수 있는 클라이언트별 마지막 쓰기 커밋 시각
+    private final Map<String, Long> lastWriteByClient = new ConcurrentHashMap<>();
+    private final AtomicLong lastWrite = new AtomicLong(UNKNOWN);
+
+    private volatile long replicatedAt = UNKNOWN;
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, BlockerProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.properties = properties.getReplica();
+        Gauge.builder("blocker.replica.lag", this, monitor -> monitor.lagMillis())
+                .description("복제본이 반영한 마지막 하트비트 이후 경과 시간 (알 수 없으면 -1)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * client가 null이면 이 노드에서 커밋된 모든 쓰기가 반영되어야 한다.
+     */
+    public boolean canReadFromReplica(String client) {
+        long replicated = replicatedAt;
+        if (replicated == UNKNOWN || System.currentTimeMillis() - replicated > properties.getMaxLag().toMillis()) {
+            return false;
+        }
+        long written = client == null ? lastWrite.get() : lastWriteByClient.getOrDefault(client, UNKNOWN);
+        // 같은 밀리초의 하트비트는 커밋 전에 찍혔을 수 있으므로 엄격히 뒤여야 한다
+        return written == UNKNOWN || replicated > written;
+    }
+
+    /**
+     * 쓰기 트랜잭션 커밋 직후 호출된다. client가 null이면 전체 기준에만 반영한다.
+     */
+    public void recordWrite(String client) {
+        long now = System.currentTimeMillis();
+        lastWrite.accumulateAndGet(now, Math::max);
+        if (client != null) {
+            lastWriteByClient.merge(client, now, Math::max);
+        }
+    }
+
+    public long lagMillis() {
+        long replicated = replicatedAt;
+        return replicated == UNKNOWN ? -1 : Math.max(0, System.currentTimeMillis() - replicated);
+    }
+
+    public void beat() {
+        primary.update("MERGE INTO " + HEARTBEAT_TABLE + " (id, beat_at) KEY(id) VALUES (1, ?)",
+                System.currentTimeMillis());
+    }
+
+    public void probe() {
+        try {
+            Long beatAt = replica.queryForObject("SELECT beat_at FROM " + HEARTBEAT_TABLE + " WHERE id = 1",
+                    Long.class);
+            replicatedAt = beatAt != null ? beatAt : UNKNOWN;
+        } catch (DataAccessException e) {
+            // 복제본이 없거나 아직 하트비트가 복제되지 않았으면 주 DB만 쓴다
+            if (replicatedAt != UNKNOWN) {
+                log.warn("복제본 하트비트 조회 실패, 주 DB로 읽습니다: {}", e.getMessage());
+            }
+            replicatedAt = UNKNOWN;
+        }
+        // 복제본이 따라잡은 클라이언트는 더 추적하지 않는다
+        long replicated = replicatedAt;
+        if (replicated != UNKNOWN) {
+            lastWriteByClient.values().removeIf(written -> written < replicated);
+        }
+    }
+
+    private void tick() {
+        try {
+            beat();
+        } catch (DataAccessException e) {
+            log.warn("복제본 하트비트 기록 실패: {}", e.getMessage());
+        }
+        probe();
+    }
+
+    @Override
+    public void start() {
+        primary.execute("CREATE TABLE IF NOT EXISTS " + HEARTBEAT_TABLE
+                + " (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        tick();
+        long interval = properties.getHeartbeatInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 요청을 받기 전에 첫 측정을 끝낸다
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 7168;
+    }
+}
@@ -0,0 +1,88 @@
+package com.flow.blocker.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본, 그 외(쓰기, 트랜잭션 밖 JDBC)는 주 DB로 보낸다.
+ * 읽기라도 복제본이 이 클라이언트의 마지막 쓰기(latest면 모든 쓰기)를 아직 반영하지 않았거나 지연이 크면 주 DB로 보낸다.
+ * 트랜잭션 시작 시점이 아니라 첫 문장에서 연결을 고르도록 LazyConnectionDataSourceProxy로 감싸서 쓴다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+    private final Counter writes;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.primaryReads = route(meterRegistry, "read", Target.PRIMARY);
+        this.replicaReads = route(meterRegistry, "read", Target.REPLICA);
+        this.writes = route(meterRegistry, "write", Target.PRIMARY);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            trackWrite(ReadRouting.clientKey());
+            return Target.PRIMARY;
+        }
+        String client = ReadRouting.requiresLatest() ? null : ReadRouting.clientKey();
+        if (lagMonitor.canReadFromReplica(client)) {
+            replicaReads.increment();
+            return Target.REPLICA;
+        }
+        primaryReads.increment();
+        return Target.PRIMARY;
+    }
+
+    /**
+     * 커밋된 뒤의 시각을 기록해야 그 뒤의 하트비트로 반영 여부를 판단할 수 있다.
+     * 정책 캐시 무효화 등 다른 커밋 후 처리보다 먼저 기록해 그 처리에서 시작한 읽기가 주 DB로 가게 한다.
+     */
+    private void trackWrite(String client) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lagMonitor.recordWrite(client);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    lagMonitor.recordWrite(client);
+                }
+            }
+        });
+    }
+
+    private static Counter route(MeterRegistry meterRegistry, String operation, Target target) {
+        return Counter.builder("blocker.datasource.routes")
+                .description("연결을 고른 횟수 (트랜잭션당 한 번)")
+                .tag("operation", operation)
+                .tag("target", target.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
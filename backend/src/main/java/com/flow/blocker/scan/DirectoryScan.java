@@ -0,0 +1,210 @@
+package com.flow.blocker.scan;
+
+import com.flow.blocker.policy.PolicyRule;
+import com.flow.blocker.policy.PolicySnapshot;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로컬 디렉터리 트리를 하나의 정책 스냅샷으로 한 번 검사한다.
+ * 디렉터리마다 fork-join 작업 하나가 Files.walkFileTree(깊이 1)로 항목을 스트리밍하며 파일은 바로 검사하고
+ * 하위 디렉터리는 새 작업으로 나눈다. 전체 목록을 메모리에 올리지 않으며, 심볼릭 링크는 따라가지 않는다.
+ *
+ * 같은 정책 지문(PolicySnapshot.fingerprint)으로 완료된 검사가 있으면 그 이후 변경된 파일만(증분), 중단된 검사가 있으면 남은 디렉터리만(재개) 검사한다.
+ * 위반 파일은 report(CSV)에 기록하며, 전체 검사를 새로 시작할 때만 비운다.
+ */
+@Slf4j
+class DirectoryScan {
+
+    static final String REPORT_HEADER = "path,rule_type,rule,last_modified";
+
+    enum Mode {
+        FULL,
+        INCREMENTAL,
+        RESUMED
+    }
+
+    record Result(long revision, Mode mode, boolean completed, long filesChecked, long violations,
+                  long failures, Duration elapsed) {
+    }
+
+    private final Path root;
+    private final PolicySnapshot policy;
+    private final Path checkpointPath;
+    private final Path reportPath;
+    private final LongAdder filesChecked = new LongAdder();
+    private final LongAdder violations = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private volatile boolean cancelled;
+    private ScanCheckpoint checkpoint;
+    private BufferedWriter report;
+    private long since;
+
+    DirectoryScan(Path root, PolicySnapshot policy, Path checkpointPath, Path reportPath) {
+        this.root = root.toAbsolutePath().normalize();
+        this.policy = policy;
+        this.checkpointPath = checkpointPath;
+        this.reportPath = reportPath;
+    }
+
+    /**
+     * 진행 중인 작업은 현재 디렉터리까지만 처리하고 멈춘다. 체크포인트는 RUNNING으로 남아 다음 검사에서 재개된다.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    Result run(ForkJoinPool pool) throws IOException {
+        long started = System.currentTimeMillis();
+        Mode mode = open(started);
+        try {
+            if (Files.isDirectory(root)) {
+                pool.invoke(new DirectoryTask(root));
+            } else {
+                log.warn("검사 대상 디렉터리가 없습니다: {}", root);
+            }
+            report.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            report.close();
+            checkpoint.close();
+        }
+        if (!cancelled) {
+            checkpoint.complete();
+        }
+        return new Result(policy.revision(), mode, !cancelled, filesChecked.sum(), violations.sum(), failures.sum(),
+                Duration.ofMillis(System.currentTimeMillis() - started));
+    }
+
+    private Mode open(long started) throws IOException {
+        ScanCheckpoint.Header previous = ScanCheckpoint.readHeader(checkpointPath);
+        // revision은 프로세스마다 새로 세므로 재기동 뒤에도 규칙 내용으로 비교한다
+        boolean samePolicy = previous != null && previous.policy() == policy.fingerprint() && Files.exists(reportPath);
+        Mode mode;
+        if (samePolicy && previous.state() == ScanCheckpoint.State.RUNNING) {
+            checkpoint = ScanCheckpoint.resume(checkpointPath);
+            mode = Mode.RESUMED;
+        } else if (samePolicy) {
+            checkpoint = ScanCheckpoint.begin(checkpointPath, policy.fingerprint(), previous.startedAt(), started);
+            mode = Mode.INCREMENTAL;
+        } else {
+            checkpoint = ScanCheckpoint.begin(checkpointPath, policy.fingerprint(), 0, started);
+            mode = Mode.FULL;
+        }
+        since = checkpoint.header().since();
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        if (mode == Mode.FULL) {
+            report = Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8);
+            report.write(REPORT_HEADER + "\n");
+        } else {
+            report = Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        }
+        return mode;
+    }
+
+    private void check(Path file, BasicFileAttributes attrs) throws IOException {
+        // 이동된 파일은 수정 시각이 유지되므로 생성 시각도 함께 본다
+        long changed = Math.max(attrs.lastModifiedTime().toMillis(), attrs.creationTime().toMillis());
+        if (changed < since) {
+            return;
+        }
+        filesChecked.increment();
+        String name = file.getFileName().toString();
+        // 검사 API와 같이 정규화한 이름으로 판정한다 ("evil.exe.", 전각/폭 없는 문자가 섞인 이름)
+        int rank = policy.evaluateCanonical(name, 0, name.length());
+        if (!policy.isBlocked(rank)) {
+            return;
+        }
+        violations.increment();
+        PolicyRule rule = policy.rule(rank);
+        String line = csv(root.relativize(file).toString()) + ","
+                + (rule != null ? rule.type() : "") + ","
+                + (rule != null ? csv(rule.pattern()) : "") + ","
+                + Instant.ofEpochMilli(attrs.lastModifiedTime().toMillis()) + "\n";
+        synchronized (report) {
+            report.write(line);
+        }
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private class DirectoryTask extends RecursiveAction {
+
+        private final Path directory;
+
+        DirectoryTask(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled) {
+                return;
+            }
+            String key = root.relativize(directory).toString();
+            boolean filesDone = checkpoint.isDone(key);
+            List<DirectoryTask> children = new ArrayList<>();
+            try {
+                Files.walkFileTree(directory, EnumSet.noneOf(FileVisitOption.class), 1, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                        if (attrs.isDirectory()) {
+                            children.add(new DirectoryTask(file));
+                        } else if (!filesDone && attrs.isRegularFile()) {
+                            check(file, attrs);
+                        }
+                        return cancelled ? FileVisitResult.TERMINATE : FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        failures.increment();
+                        log.warn("검사 중 파일을 읽지 못했습니다: {} ({})", file, e.toString());
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+                if (cancelled) {
+                    return;
+                }
+                if (!filesDone) {
+                    // 이 디렉터리의 위반 기록이 디스크에 내려간 뒤에 완료로 표시한다
+                    synchronized (report) {
+                        report.flush();
+                    }
+                    checkpoint.markDone(key);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            invokeAll(children);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.flow.blocker.scan;
+
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.policy.PolicyCache;
+import com.flow.blocker.policy.PolicyChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장된 파일 디렉터리(blocker.scan.root)를 현재 정책으로 주기적으로 다시 검사한다.
+ * 규칙이 바뀌면 진행 중인 검사를 멈추고 trigger-delay 뒤에 새 정책으로 전체 검사를 다시 시작하며,
+ * 바뀌지 않았으면 interval 마다 새로 들어온 파일만 검사한다. 종료 시 중단된 검사는 다음 기동 때 재개된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "blocker.scan", name = "enabled", havingValue = "true")
+public class PolicyRescanScheduler implements SmartLifecycle {
+
+    private final PolicyCache policyCache;
+    private final BlockerProperties.Scan properties;
+
+    private volatile boolean running;
+    private volatile DirectoryScan current;
+    private volatile DirectoryScan.Result lastResult;
+    private ScheduledExecutorService scheduler;
+    private ForkJoinPool pool;
+    private ScheduledFuture<?> pendingTrigger;
+
+    public PolicyRescanScheduler(PolicyCache policyCache, BlockerProperties properties) {
+        this.policyCache = policyCache;
+        this.properties = properties.getScan();
+    }
+
+    /**
+     * 검사를 한 번 실행한다. 스케줄러 스레드에서만 호출되므로 동시에 두 검사가 돌지 않는다.
+     */
+    DirectoryScan.Result scan() {
+        DirectoryScan scan = new DirectoryScan(properties.getRoot(), policyCache.current(),
+                properties.getCheckpointPath(), properties.getReportPath());
+        current = scan;
+        try {
+            DirectoryScan.Result result = scan.run(pool);
+            lastResult = result;
+            if (result.completed()) {
+                log.info("디렉터리 재검사 완료: revision={}, mode={}, files={}, violations={}, failures={}, elapsed={}ms",
+                        result.revision(), result.mode(), result.filesChecked(), result.violations(),
+                        result.failures(), result.elapsed().toMillis());
+            } else {
+                log.info("디렉터리 재검사 중단: revision={}, files={}", result.revision(), result.filesChecked());
+            }
+            return result;
+        } catch (IOException | RuntimeException e) {
+            log.error("디렉터리 재검사 실패: {}", properties.getRoot(), e);
+            return null;
+        } finally {
+            current = null;
+        }
+    }
+
+    public DirectoryScan.Result getLastResult() {
+        return lastResult;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        if (!running) {
+            return;
+        }
+        DirectoryScan scan = current;
+        if (scan != null) {
+            // 이전 정책으로 검사한 결과는 어차피 버려지므로 바로 멈춘다
+            scan.cancel();
+        }
+        synchronized (this) {
+            // 연속된 변경은 마지막 변경 뒤 한 번만 검사
+            if (pendingTrigger != null) {
+                pendingTrigger.cancel(false);
+            }
+            pendingTrigger = scheduler.schedule(this::scan, properties.getTriggerDelay().toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void start() {
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("policy-scan-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "policy-scan");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 기동 직후 한 번 실행해 중단된 검사를 재개하거나 그 사이 들어온 파일을 검사한다
+        scheduler.scheduleWithFixedDelay(this::scan, properties.getTriggerDelay().toMillis(),
+                properties.getInterval().toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        DirectoryScan scan = current;
+        if (scan != null) {
+            scan.cancel();
+        }
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pool.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,160 @@
+package com.flow.blocker.scan;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 디렉터리 재검사 체크포인트 파일.
+ * 헤더(policy, since, started, state) 뒤에 파일 검사를 마친 디렉터리를 한 줄씩(D 상대경로) 덧붙인다.
+ * 중단된 검사(RUNNING)는 같은 정책 지문이면 기록된 디렉터리의 파일을 건너뛰고 이어서 진행한다.
+ */
+class ScanCheckpoint implements AutoCloseable {
+
+    enum State {
+        RUNNING,
+        COMPLETED
+    }
+
+    /**
+     * @param policy 검사에 쓴 정책 지문 (PolicySnapshot.fingerprint, 재기동 뒤에도 같은 규칙이면 같다)
+     * @param since 이 시각(epoch ms) 이후 변경된 파일만 검사 (0이면 전체)
+     * @param startedAt 검사 시작 시각 (완료 후 다음 증분 검사의 since)
+     */
+    record Header(long policy, long since, long startedAt, State state) {
+    }
+
+    private final Path path;
+    private final Header header;
+    private final Set<String> completedDirectories;
+    private BufferedWriter writer;
+
+    private ScanCheckpoint(Path path, Header header, Set<String> completedDirectories) {
+        this.path = path;
+        this.header = header;
+        this.completedDirectories = completedDirectories;
+    }
+
+    /**
+     * 저장된 체크포인트의 헤더만 읽는다. 없거나 손상되었으면 null.
+     */
+    static Header readHeader(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parseHeader(reader);
+        }
+    }
+
+    /**
+     * 같은 정책의 중단된 검사를 이어서 연다.
+     */
+    static ScanCheckpoint resume(Path path) throws IOException {
+        Set<String> completed = new HashSet<>();
+        Header header;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            header = parseHeader(reader);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // 비정상 종료로 잘린 마지막 줄은 무시 (해당 디렉터리는 다시 검사)
+                if (line.startsWith("D ") && line.endsWith(" .")) {
+                    completed.add(decode(line.substring(2, line.length() - 2)));
+                }
+            }
+        }
+        ScanCheckpoint checkpoint = new ScanCheckpoint(path, header, completed);
+        checkpoint.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        return checkpoint;
+    }
+
+    /**
+     * 새 검사를 시작하며 체크포인트를 덮어쓴다.
+     */
+    static ScanCheckpoint begin(Path path, long policy, long since, long startedAt) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Header header = new Header(policy, since, startedAt, State.RUNNING);
+        writeHeader(path, header);
+        ScanCheckpoint checkpoint = new ScanCheckpoint(path, header, Set.of());
+        checkpoint.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        return checkpoint;
+    }
+
+    Header header() {
+        return header;
+    }
+
+    boolean isDone(String directory) {
+        return completedDirectories.contains(directory);
+    }
+
+    synchronized void markDone(String directory) throws IOException {
+        writer.write("D " + encode(directory) + " .\n");
+        writer.flush();
+    }
+
+    /**
+     * 디렉터리 목록을 버리고 완료 헤더만 남긴다.
+     */
+    synchronized void complete() throws IOException {
+        close();
+        writeHeader(path, new Header(header.policy(), header.since(), header.startedAt(), State.COMPLETED));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private static void writeHeader(Path path, Header header) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.writeString(temp, "policy=" + Long.toHexString(header.policy()) + "\n"
+                + "since=" + header.since() + "\n"
+                + "started=" + header.startedAt() + "\n"
+                + "state=" + header.state() + "\n", StandardCharsets.UTF_8);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Header parseHeader(BufferedReader reader) throws IOException {
+        try {
+            // revision 헤더를 쓰던 이전 형식은 손상으로 보고 전체 검사를 다시 한다
+            long policy = Long.parseUnsignedLong(value(reader.readLine(), "policy"), 16);
+            long since = Long.parseLong(value(reader.readLine(), "since"));
+            long started = Long.parseLong(value(reader.readLine(), "started"));
+            State state = State.valueOf(value(reader.readLine(), "state"));
+            return new Header(policy, since, started, state);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private static String value(String line, String key) {
+        if (line == null || !line.startsWith(key + "=")) {
+            throw new IllegalArgumentException("체크포인트 헤더가 올바르지 않습니다: " + line);
+        }
+        return line.substring(key.length() + 1);
+    }
+
+    // 줄바꿈/공백이 든 디렉터리 이름도 한 줄로 기록
+    private static String encode(String directory) {
+        return URLEncoder.encode(directory, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String directory) {
+        return URLDecoder.decode(directory, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,272 @@
+package com.flow.blocker.schedule;
+
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.domain.ActivationSchedule;
+import com.flow.blocker.domain.BlockedExtension;
+import com.flow.blocker.policy.PolicyCache;
+import com.flow.blocker.policy.PolicyChangedEvent;
+import com.flow.blocker.repository.BlockedExtensionRepository;
+import com.flow.blocker.schedule.HashedTimerWheel.Timeout;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예약 규칙의 다음 전환 시각을 해시 타이머 휠에 걸어 두고, 경계에 도달했을 때만 "예약으로 꺼진 규칙" 집합을 바꿔
+ * PolicyCache를 무효화한다. 검사 경로는 시간 규칙을 평가하지 않고 전환 시점에 한 번 빌드된 스냅샷을 쓴다.
+ * 전환은 ACTIVATION 이벤트로도 발행되어 gRPC 구독/공유 정책 파일/감사 로그/재검사에 그대로 전달된다.
+ * 휠 스레드는 잠금 안에서 새 꺼진 집합을 계산해 캐시에 반영하는 것까지만 하고, 이벤트 발행(트랜잭션과 커밋 후 리스너)은
+ * 발행 스레드에 넘긴다. 느린 리스너가 다른 경계나 요청 스레드의 refresh/forget을 막지 않는다.
+ */
+@Slf4j
+@Component
+public class ActivationEngine implements SmartLifecycle {
+
+    private final BlockedExtensionRepository repository;
+    private final PolicyCache policyCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockerProperties.Schedule properties;
+    private final Clock clock;
+
+    // 규칙별 예약과 마지막으로 판단한 상태 (this로 보호)
+    private final Map<String, Entry> entries = new HashMap<>();
+    // 꺼진 집합은 계산 순서대로만 캐시에 반영한다 (잠금 밖 반영이 더 새 집합을 덮지 않도록)
+    private final Object offLock = new Object();
+    private long offVersion;
+    private long appliedOffVersion;
+
+    private HashedTimerWheel wheel;
+    private ExecutorService publisher;
+    private volatile boolean running;
+
+    public ActivationEngine(BlockedExtensionRepository repository, PolicyCache policyCache,
+                            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                            BlockerProperties properties) {
+        this.repository = repository;
+        this.policyCache = policyCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties.getSchedule();
+        this.clock = Clock.system(this.properties.getZone());
+    }
+
+    /**
+     * 예약 변경은 해당 규칙만, 삭제는 추적 해제, 가져오기는 전체를 다시 읽는다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        if (!running) {
+            return;
+        }
+        switch (event.type()) {
+            case SCHEDULE -> refresh(event.extension());
+            case DELETE -> forget(event.extension());
+            case IMPORT -> reload();
+            default -> {
+                // 추가/토글은 예약을 바꾸지 않는다
+            }
+        }
+    }
+
+    public synchronized void reload() {
+        entries.values().forEach(Entry::disarm);
+        entries.clear();
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        for (BlockedExtension rule : repository.findScheduled()) {
+            track(rule.getExtension(), rule.getSchedule(), now);
+        }
+        publishScheduledOff();
+        log.info("예약 규칙 {}건 적재, 현재 꺼진 규칙 {}건", entries.size(), policyCache.scheduledOff().size());
+    }
+
+    public synchronized void refresh(String extension) {
+        ActivationSchedule schedule = repository.findByExtension(extension)
+                .map(BlockedExtension::getSchedule)
+                .orElse(null);
+        Entry previous = entries.remove(extension);
+        if (previous != null) {
+            previous.disarm();
+        }
+        if (schedule != null) {
+            track(extension, schedule, ZonedDateTime.now(clock));
+        }
+        publishScheduledOff();
+    }
+
+    public synchronized void forget(String extension) {
+        Entry previous = entries.remove(extension);
+        if (previous != null) {
+            previous.disarm();
+            publishScheduledOff();
+        }
+    }
+
+    public synchronized int trackedCount() {
+        return entries.size();
+    }
+
+    private void track(String extension, ActivationSchedule schedule, ZonedDateTime now) {
+        Entry entry = new Entry(schedule, schedule.isActiveAt(now));
+        entries.put(extension, entry);
+        arm(extension, entry, now);
+    }
+
+    private void arm(String extension, Entry entry, ZonedDateTime now) {
+        ZonedDateTime next = entry.schedule.nextTransitionAfter(now);
+        if (next != null) {
+            entry.timeout = wheel.schedule(Duration.between(now, next), () -> onTransition(extension, entry));
+        } else {
+            entry.timeout = null;
+        }
+    }
+
+    /**
+     * 휠 스레드에서 호출된다. 시계가 휠보다 늦어 아직 경계 전이면 상태가 그대로이므로 다시 걸기만 한다.
+     */
+    private void onTransition(String extension, Entry entry) {
+        boolean active;
+        long version;
+        Set<String> off;
+        ExecutorService target;
+        synchronized (this) {
+            if (!running || entries.get(extension) != entry) {
+                return;
+            }
+            ZonedDateTime now = ZonedDateTime.now(clock);
+            active = entry.schedule.isActiveAt(now);
+            arm(extension, entry, now);
+            if (active == entry.active) {
+                return;
+            }
+            entry.active = active;
+            version = ++offVersion;
+            off = scheduledOff();
+            target = publisher;
+        }
+        applyScheduledOff(version, off);
+        log.info("예약 전환: {} {}", extension, active ? "적용" : "해제");
+        try {
+            target.execute(() -> publishActivation(extension, active));
+        } catch (RejectedExecutionException e) {
+            // 종료 중. 캐시에는 이미 반영했다
+            log.debug("종료 중이라 예약 전환 이벤트를 발행하지 않습니다: {}", extension);
+        }
+    }
+
+    /**
+     * 발행 스레드에서 호출된다. 커밋 이후 리스너(gRPC 구독, 공유 정책 파일, 감사 로그)가 동작하도록 트랜잭션 안에서 발행한다.
+     */
+    private void publishActivation(String extension, boolean active) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    eventPublisher.publishEvent(PolicyChangedEvent.activated(extension, active)));
+        } catch (RuntimeException e) {
+            log.error("예약 전환 이벤트 발행 실패: {}", extension, e);
+        }
+    }
+
+    private void publishScheduledOff() {
+        applyScheduledOff(++offVersion, scheduledOff());
+    }
+
+    private Set<String> scheduledOff() {
+        Set<String> off = new HashSet<>();
+        entries.forEach((extension, entry) -> {
+            if (!entry.active) {
+                off.add(extension);
+            }
+        });
+        return off;
+    }
+
+    private void applyScheduledOff(long version, Set<String> off) {
+        synchronized (offLock) {
+            if (version > appliedOffVersion) {
+                appliedOffVersion = version;
+                policyCache.updateScheduledOff(off);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        wheel = new HashedTimerWheel("activation-wheel", properties.getTick(), properties.getWheelSize());
+        // 이벤트 순서를 지키도록 한 스레드에서 차례로 발행한다
+        publisher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "activation-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        reload();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        synchronized (this) {
+            entries.values().forEach(Entry::disarm);
+            entries.clear();
+        }
+        // 전환 처리 중인 휠 스레드가 락을 기다릴 수 있으므로 락 밖에서 멈춘다
+        if (wheel != null) {
+            wheel.stop();
+        }
+        if (publisher != null) {
+            // 이미 넘긴 전환 이벤트는 마저 발행한다
+            publisher.shutdown();
+            try {
+                publisher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 검사 API/gRPC/공유 정책 파일보다 먼저 예약 상태를 반영한다
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 5120;
+    }
+
+    private static final class Entry {
+
+        private final ActivationSchedule schedule;
+        private boolean active;
+        private Timeout timeout;
+
+        private Entry(ActivationSchedule schedule, boolean active) {
+            this.schedule = schedule;
+            this.active = active;
+        }
+
+        private void disarm() {
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.flow.blocker.schedule;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 해시 타이머 휠. 예약은 O(1)로 큐에 넣고, 전용 스레드가 tick마다 칸 하나만 확인해 만료된 작업을 실행한다.
+ * 휠 한 바퀴보다 먼 작업은 남은 바퀴 수(remainingRounds)를 줄여 가며 같은 칸에 머문다.
+ * 작업은 휠 스레드에서 실행되므로 오래 걸리는 일은 넘기지 않는다. 실행 시각의 오차는 최대 tick 하나다.
+ */
+@Slf4j
+public final class HashedTimerWheel {
+
+    private final long tickNanos;
+    private final int mask;
+    private final Bucket[] wheel;
+    // 다른 스레드의 예약은 여기 쌓였다가 다음 tick에 휠 스레드가 칸으로 옮긴다
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final long startNanos;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+    // 휠 스레드만 접근
+    private long tick;
+
+    public HashedTimerWheel(String name, Duration tickDuration, int wheelSize) {
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("tickDuration must be positive: " + tickDuration);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize out of range: " + wheelSize);
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        size = Math.max(size, 1);
+        this.tickNanos = tickDuration.toNanos();
+        this.mask = size - 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * delay 이후 task를 휠 스레드에서 실행한다. 음수/0이면 다음 tick에 실행한다.
+     */
+    public Timeout schedule(Duration delay, Runnable task) {
+        if (!running) {
+            throw new IllegalStateException("timer wheel stopped");
+        }
+        long delayNanos = saturatedNanos(delay);
+        long now = System.nanoTime() - startNanos;
+        long deadline = delayNanos > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + Math.max(delayNanos, 0);
+        Timeout timeout = new Timeout(deadline, task);
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    public int wheelSize() {
+        return wheel.length;
+    }
+
+    /**
+     * 휠 스레드를 멈춘다. 실행되지 않은 작업은 버린다.
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        if (Thread.currentThread() != worker) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = waitForNextTick();
+            if (!running) {
+                break;
+            }
+            transferIncoming();
+            expire(wheel[(int) (tick & mask)], deadline);
+            tick++;
+        }
+        incoming.clear();
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (running) {
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos <= 0) {
+                break;
+            }
+            LockSupport.parkNanos(this, sleepNanos);
+        }
+        return deadline;
+    }
+
+    private void transferIncoming() {
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // 이미 지난 칸이면 현재 칸에 넣어 이번 tick에 실행
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].timeouts.add(timeout);
+        }
+    }
+
+    private void expire(Bucket bucket, long deadline) {
+        Iterator<Timeout> it = bucket.timeouts.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+            } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                it.remove();
+                timeout.fire();
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private static final class Bucket {
+        private final ArrayDeque<Timeout> timeouts = new ArrayDeque<>();
+    }
+
+    public static final class Timeout {
+
+        private final long deadline;
+        private final Runnable task;
+        private volatile boolean cancelled;
+        private volatile boolean expired;
+        private long remainingRounds;
+
+        private Timeout(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /**
+         * 아직 실행되지 않았으면 실행하지 않는다. 칸에서는 해당 칸 차례에 제거된다.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean isExpired() {
+            return expired;
+        }
+
+        private void fire() {
+            expired = true;
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("타이머 작업 실행 실패", e);
+            }
+        }
+    }
+}
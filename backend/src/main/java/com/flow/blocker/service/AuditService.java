@@ -0,0 +1,49 @@
+package com.flow.blocker.service;
+
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.domain.PolicyAudit;
+import com.flow.blocker.dto.AuditPageResponse;
+import com.flow.blocker.dto.AuditPageResponse.AuditDto;
+import com.flow.blocker.repository.PolicyAuditRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AuditService {
+
+    private final PolicyAuditRepository repository;
+    private final BlockerProperties properties;
+
+    /**
+     * 최신 순으로 조회한다. extension을 지정하면 해당 규칙의 이력만 조회한다.
+     */
+    public AuditPageResponse getHistory(String extension, Long cursor, Integer size) {
+        BlockerProperties.Custom paging = properties.getCustom();
+        int pageSize = size == null || size <= 0
+                ? paging.getDefaultPageSize()
+                : Math.min(size, paging.getMaxPageSize());
+        long before = cursor != null ? cursor : Long.MAX_VALUE;
+
+        List<PolicyAudit> rows = extension == null || extension.isBlank()
+                ? repository.findByIdLessThanOrderByIdDesc(before, Limit.of(pageSize + 1))
+                : repository.findByExtensionAndIdLessThanOrderByIdDesc(
+                        extension.strip().toLowerCase(Locale.ROOT), before, Limit.of(pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<PolicyAudit> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return AuditPageResponse.builder()
+                .items(page.stream()
+                        .map(AuditDto::from)
+                        .toList())
+                .nextCursor(hasNext ? page.get(page.size() - 1).getId() : null)
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.flow.blocker.service;
+
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.domain.BlockedExtension;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.dto.ImportResponse;
+import com.flow.blocker.exception.ExtensionException;
+import com.flow.blocker.exception.ExtensionException.ErrorCode;
+import com.flow.blocker.policy.PolicyCache;
+import com.flow.blocker.policy.PolicyChangedEvent;
+import com.flow.blocker.repository.BlockedExtensionBulkRepository;
+import com.flow.blocker.repository.BlockedExtensionRepository;
+import com.flow.blocker.storage.WriteBehindBuffer;
+import com.flow.blocker.transfer.TransferFormat;
+import com.flow.blocker.transfer.TransferFormat.MalformedRowException;
+import com.flow.blocker.transfer.TransferFormat.RowReader;
+import com.flow.blocker.transfer.TransferFormat.RowWriter;
+import com.flow.blocker.transfer.TransferRow;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 차단 목록 일괄 가져오기/내보내기. 스트림을 한 행씩 처리하므로 목록 크기와 무관하게 메모리 사용량이 일정하다.
+ */
+@Service
+@RequiredArgsConstructor
+public class BlockListTransferService {
+
+    private final BlockedExtensionRepository repository;
+    private final BlockedExtensionBulkRepository bulkRepository;
+    private final ExtensionValidator validator;
+    private final PolicyCache policyCache;
+    private final BlockerProperties properties;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WriteBehindBuffer writeBehind;
+    private final ExtensionChangeLog changeLog;
+
+    public void exportRules(OutputStream out, TransferFormat format) throws IOException {
+        writeBehind.flush();
+        try (RowWriter writer = format.writer(out)) {
+            bulkRepository.streamAll(row -> {
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 전체를 하나의 트랜잭션으로 처리한다. 잘못된 행이 하나라도 있거나 개수 제한을 넘으면 모두 롤백된다.
+     * 고정 여부는 파일 값 대신 저장소 기준이다. (고정 규칙은 새로 만들 수 없다)
+     * 개수 제한은 배치를 쓰기 전마다 새로 생길 커스텀 규칙 수를 더해 검사하므로, 제한을 넘는 순간 나머지를 읽지 않고 중단한다.
+     */
+    @Transactional
+    public ImportResponse importRules(InputStream in, TransferFormat format) throws IOException {
+        int batchSize = properties.getTransfer().getBatchSize();
+        List<TransferRow> batch = new ArrayList<>(batchSize);
+        long imported = 0;
+
+        // JDBC로 직접 쓰므로 영속성 컨텍스트와 쓰기 지연 버퍼의 변경분을 먼저 반영하고, 끝나면 비운다
+        entityManager.flush();
+        writeBehind.flush();
+
+        Set<String> fixedExtensions = repository.findByFixedTrue().stream()
+                .map(BlockedExtension::getExtension)
+                .collect(Collectors.toSet());
+        long customCount = repository.countByFixedFalse();
+
+        RowReader reader = format.reader(in);
+        TransferRow row;
+        while ((row = readRow(reader)) != null) {
+            batch.add(validate(row, reader.position(), fixedExtensions));
+            imported++;
+            if (batch.size() == batchSize) {
+                customCount = writeBatch(batch, customCount);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            customCount = writeBatch(batch, customCount);
+        }
+        entityManager.clear();
+
+        policyCache.invalidate();
+        eventPublisher.publishEvent(PolicyChangedEvent.imported(imported));
+        changeLog.recordReset();
+        return ImportResponse.builder()
+                .importedCount(imported)
+                .customCount(customCount)
+                .build();
+    }
+
+    /**
+     * @return 배치를 쓴 뒤의 커스텀 규칙 수
+     */
+    private long writeBatch(List<TransferRow> batch, long customCount) {
+        Set<String> custom = new HashSet<>();
+        for (TransferRow row : batch) {
+            if (!row.fixed()) {
+                custom.add(row.extension());
+            }
+        }
+        long after = customCount + custom.size() - bulkRepository.countExisting(custom);
+        int maxCount = properties.getCustom().getMaxCount();
+        if (after > maxCount) {
+            throw new ExtensionException(ErrorCode.MAX_CUSTOM_EXCEEDED, maxCount);
+        }
+        bulkRepository.upsert(batch);
+        return after;
+    }
+
+    private TransferRow readRow(RowReader reader) throws IOException {
+        try {
+            return reader.next();
+        } catch (MalformedRowException e) {
+            throw new ExtensionException(ErrorCode.INVALID_IMPORT_ROW, reader.position(), e.getMessage());
+        }
+    }
+
+    private TransferRow validate(TransferRow row, long position, Set<String> fixedExtensions) {
+        try {
+            String normalized = validator.normalize(row.extension());
+            RuleType ruleType = validator.resolveRuleType(normalized, row.ruleType());
+            validator.validate(normalized, ruleType);
+            return row.withRule(normalized, ruleType).withFixed(fixedExtensions.contains(normalized));
+        } catch (ExtensionException e) {
+            throw new ExtensionException(ErrorCode.INVALID_IMPORT_ROW, position, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.flow.blocker.service;
+
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.dto.ExtensionChangeResponse;
+import com.flow.blocker.dto.ExtensionDeltaResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 커밋된 규칙 변경에 목록 revision을 매기고 최근 retained-changes 건을 보관한다.
+ * revision은 기동 시각(ms)에서 시작해 커밋마다 1씩 오르므로, 재기동 전의 revision은 항상 보관 범위 밖(reset)이 된다.
+ */
+@Component
+public class ExtensionChangeLog {
+
+    private final int capacity;
+    private final ArrayDeque<ExtensionChangeResponse> changes = new ArrayDeque<>();
+
+    private long revision = System.currentTimeMillis();
+    // 이 revision 이후의 변경만 모두 보관하고 있다
+    private long floor = revision;
+
+    public ExtensionChangeLog(BlockerProperties properties) {
+        this.capacity = properties.getDelta().getRetainedChanges();
+    }
+
+    public synchronized long revision() {
+        return revision;
+    }
+
+    /**
+     * 트랜잭션이 커밋된 직후 revision을 매겨 change에 채운다. 롤백되면 기록하지 않는다.
+     */
+    public void record(ExtensionChangeResponse change) {
+        afterCommit(() -> append(change));
+    }
+
+    /**
+     * 일괄 가져오기처럼 개별 변경으로 표현하지 않는 변경. 이전 revision의 클라이언트는 전체를 다시 받는다.
+     */
+    public void recordReset() {
+        afterCommit(this::reset);
+    }
+
+    public synchronized ExtensionDeltaResponse since(long since) {
+        if (since < floor || since > revision) {
+            return ExtensionDeltaResponse.builder()
+                    .revision(revision)
+                    .reset(true)
+                    .changes(List.of())
+                    .build();
+        }
+        List<ExtensionChangeResponse> result = new ArrayList<>((int) (revision - since));
+        for (ExtensionChangeResponse change : changes) {
+            if (change.getRevision() > since) {
+                result.add(change);
+            }
+        }
+        return ExtensionDeltaResponse.builder()
+                .revision(revision)
+                .changes(result)
+                .build();
+    }
+
+    private synchronized void append(ExtensionChangeResponse change) {
+        change.assignRevision(++revision);
+        changes.addLast(change);
+        if (changes.size() > capacity) {
+            floor = changes.removeFirst().getRevision();
+        }
+    }
+
+    private synchronized void reset() {
+        floor = ++revision;
+        changes.clear();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,34 +1,80 @@
 package com.flow.blocker.service;
 
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.domain.ActivationSchedule;
 import com.flow.blocker.domain.BlockedExtension;
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.dto.CustomExtensionPageResponse;
+import com.flow.blocker.dto.ExtensionChangeResponse;
+import com.flow.blocker.dto.ExtensionCheckResponse;
+import com.flow.blocker.dto.ExtensionDeltaResponse;
+import com.flow.blocker.dto.ExtensionFilterResponse;
 import com.flow.blocker.dto.ExtensionResponse;
 import com.flow.blocker.dto.ExtensionResponse.CustomExtensionDto;
 import com.flow.blocker.dto.ExtensionResponse.FixedExtensionDto;
+import com.flow.blocker.dto.ScheduleRequest;
 import com.flow.blocker.exception.ExtensionException;
 import com.flow.blocker.exception.ExtensionException.ErrorCode;
+import com.flow.blocker.jfr.PolicyCheckEvent;
+import com.flow.blocker.jfr.PolicyMutationEvent;
+import com.flow.blocker.policy.ContentTypePolicy;
+import com.flow.blocker.policy.ContentTypePolicy.Match;
+import com.flow.blocker.policy.ExtensionNormalizer;
+import com.flow.blocker.policy.FilenameCanonicalizer;
+import com.flow.blocker.policy.PolicyCache;
+import com.flow.blocker.policy.PolicyChangedEvent;
+import com.flow.blocker.policy.PolicyChangedEvent.ChangeType;
+import com.flow.blocker.policy.PolicyFilterCache;
+import com.flow.blocker.policy.PolicySnapshot;
 import com.flow.blocker.repository.BlockedExtensionRepository;
+import com.flow.blocker.repository.CustomRuleLookup;
+import com.flow.blocker.repository.CustomRuleStats;
+import com.flow.blocker.routing.ReadRouting;
+import com.flow.blocker.storage.PendingChange;
+import com.flow.blocker.storage.WriteBehindBuffer;
+import com.flow.blocker.transfer.TransferRow;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ExtensionService {
 
-    private static final int MAX_CUSTOM_COUNT = 200;
-    private static final int MAX_EXTENSION_LENGTH = 20;
-    private static final Pattern VALID_EXTENSION_PATTERN = Pattern.compile("^[a-z0-9]+$");
-    private static final Pattern PATH_TRAVERSAL_PATTERN = Pattern.compile(".*([/\\\\]|\\.\\.).*");
-
     private final BlockedExtensionRepository repository;
+    private final ExtensionValidator validator;
+    private final PolicyCache policyCache;
+    private final BlockerProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WriteBehindBuffer writeBehind;
+    private final PolicyFilterCache policyFilterCache;
+    private final ExtensionChangeLog changeLog;
+    private final ContentTypePolicy contentTypePolicy;
 
     public ExtensionResponse getAllExtensions() {
-        List<BlockedExtension> fixedList = repository.findByFixedTrue();
-        List<BlockedExtension> customList = repository.findByFixedFalse();
+        // 조회 전에 읽어야 이 revision까지의 변경이 모두 목록에 포함된다 (이후 변경이 섞여도 변경 목록 재적용은 멱등)
+        long revision = changeLog.revision();
+        Map<String, PendingChange> pending = writeBehind.pendingChanges();
+        // 고정/커스텀을 한 번에 읽어 나눈다. revision 이전 변경이 빠지지 않도록 모든 쓰기가 반영된 곳에서 읽는다
+        List<BlockedExtension> all = ReadRouting.latest(() -> repository.findAll(Sort.by("id")));
+        Map<Boolean, List<BlockedExtension>> byFixed = all.stream()
+                .collect(Collectors.partitioningBy(BlockedExtension::isFixed));
+        List<BlockedExtension> fixedList = withPending(byFixed.get(true), pending, true);
+        List<BlockedExtension> customList = withPending(byFixed.get(false), pending, false);
 
         return ExtensionResponse.builder()
                 .fixedExtensions(fixedList.stream()
@@ -38,77 +84,305 @@ public class ExtensionService {
                         .map(CustomExtensionDto::from)
                         .toList())
                 .customCount(customList.size())
-                .maxCustomCount(MAX_CUSTOM_COUNT)
+                .maxCustomCount(properties.getCustom().getMaxCount())
+                .defaultAction(properties.getPolicy().getDefaultAction())
+                .revision(revision)
+                .build();
+    }
+
+    /**
+     * since 이후 커밋된 변경만 돌려준다. DB를 읽지 않는다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ExtensionDeltaResponse getChangesSince(long since) {
+        return changeLog.since(since);
+    }
+
+    /**
+     * 커밋된 상태 기준이다. 쓰기 지연 모드에서는 최대 flushInterval 만큼 늦게 보일 수 있다.
+     */
+    public CustomExtensionPageResponse getCustomExtensions(Long cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<BlockedExtension> rows = repository.findByFixedFalseAndIdGreaterThanOrderByIdAsc(
+                cursor != null ? cursor : 0L, Limit.of(pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<BlockedExtension> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return CustomExtensionPageResponse.builder()
+                .items(page.stream()
+                        .map(CustomExtensionDto::from)
+                        .toList())
+                .nextCursor(hasNext ? page.get(page.size() - 1).getId() : null)
                 .build();
     }
 
     @Transactional
-    public void toggleFixedExtension(String extension) {
-        String normalized = normalizeExtension(extension);
-        BlockedExtension entity = repository.findByExtension(normalized)
-                .orElseThrow(() -> new ExtensionException(ErrorCode.EXTENSION_NOT_FOUND));
+    public ExtensionChangeResponse toggleFixedExtension(String extension) {
+        String normalized = validator.normalize(extension);
+        PolicyMutationEvent event = PolicyMutationEvent.begin(ChangeType.TOGGLE, normalized, writeBehind.isEnabled());
+        if (writeBehind.isEnabled()) {
+            return writeBehind.locked(() -> {
+                BlockedExtension current = event.db(() -> findEffective(normalized))
+                        .orElseThrow(() -> ExtensionException.of(ErrorCode.EXTENSION_NOT_FOUND));
+                TransferRow toggled = TransferRow.from(current).withActive(!current.isActive());
+                writeBehind.enqueue(PendingChange.upsert(toggled));
+                policyCache.invalidate();
+                eventPublisher.publishEvent(PolicyChangedEvent.toggled(toggled.toEntity()));
+                return recordChange(ExtensionChangeResponse.toggled(toggled.toEntity(),
+                        event.db(this::countEffectiveCustom)));
+            });
+        }
+
+        // 대상과 커스텀 개수를 한 번에 조회 (토글 요청은 조회 1 + UPDATE 1)
+        CustomRuleLookup lookup = event.db(() -> repository.findWithCustomCount(normalized))
+                .orElseThrow(() -> ExtensionException.of(ErrorCode.EXTENSION_NOT_FOUND));
+        BlockedExtension entity = lookup.rule();
 
         entity.toggleActive();
+        policyCache.invalidate();
+        eventPublisher.publishEvent(PolicyChangedEvent.toggled(entity));
+        return recordChange(ExtensionChangeResponse.toggled(entity, lookup.customCount()));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ExtensionCheckResponse checkFilename(String filename) {
+        return checkFilename(filename, null);
+    }
+
+    /**
+     * contentType이 있으면 파일명 확장자와 대조한다. 선언된 타입이 파일명 확장자와 맞지 않고 차단 규칙에 걸리는 타입이면 확장자와 무관하게 차단한다.
+     * (타입이 확장자와 맞으면 파일명 판정이 곧 타입 판정이다)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ExtensionCheckResponse checkFilename(String filename, String contentType) {
+        if (filename == null || filename.isBlank()) {
+            throw ExtensionException.of(ErrorCode.EMPTY_FILENAME);
+        }
+
+        // 디렉터리 경로는 제외하고 파일명 구간만 검사. ASCII 이름은 문자열 복사 없이 구간만 줄인다
+        int from = Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\')) + 1;
+        int to = filename.length();
+        CharSequence name = filename;
+        long scan = FilenameCanonicalizer.scan(filename, from, to);
+        if (FilenameCanonicalizer.needsRewrite(scan)) {
+            name = FilenameCanonicalizer.rewrite(filename, from, to, scan);
+            from = 0;
+            to = name.length();
+        } else {
+            from = ExtensionNormalizer.start(scan);
+            to = ExtensionNormalizer.end(scan);
+        }
+
+        PolicyCheckEvent event = new PolicyCheckEvent();
+        event.begin();
+        PolicySnapshot policy = policyCache.current();
+        int rank = policy.evaluate(name, from, to);
+        boolean blocked = policy.isBlocked(rank);
+        if (contentType == null || contentType.isBlank()) {
+            event.complete(filename, policy.revision(), policy.rule(rank), blocked);
+            return ExtensionCheckResponse.of(filename, policy.rule(rank), blocked);
+        }
+
+        int type = contentTypePolicy.typeOf(contentType);
+        Match match = contentTypePolicy.match(type, name, from, to);
+        boolean typeBlocked = match != Match.MATCH && contentTypePolicy.isTypeBlocked(policy, type);
+        if (!blocked && typeBlocked) {
+            rank = contentTypePolicy.blockingRank(policy, type);
+        }
+        blocked = blocked || typeBlocked || contentTypePolicy.isBlocked(match);
+        event.complete(filename, policy.revision(), policy.rule(rank), blocked);
+        return ExtensionCheckResponse.of(filename, policy.rule(rank), blocked, contentType, match, typeBlocked);
+    }
+
+    /**
+     * 차단 규칙 Bloom 필터. 정책 revision이 바뀔 때만 다시 만든다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ExtensionFilterResponse getExtensionFilter() {
+        return ExtensionFilterResponse.from(policyFilterCache.current());
+    }
+
+    @Transactional
+    public ExtensionChangeResponse addCustomExtension(String extension) {
+        return addCustomExtension(extension, null);
+    }
+
+    @Transactional
+    public ExtensionChangeResponse addCustomExtension(String extension, RuleType ruleType) {
+        return addCustomExtension(extension, ruleType, null, null);
     }
 
     @Transactional
-    public void addCustomExtension(String extension) {
-        String normalized = normalizeExtension(extension);
-        validateExtension(normalized);
+    public ExtensionChangeResponse addCustomExtension(String extension, RuleType ruleType, RuleAction action,
+                                                      Integer priority) {
+        String normalized = validator.normalize(extension);
+        RuleType resolvedType = validator.resolveRuleType(normalized, ruleType);
+        validator.validate(normalized, resolvedType);
+        RuleAction resolvedAction = action != null ? action : RuleAction.BLOCK;
+        int resolvedPriority = priority != null ? priority : 0;
 
-        if (repository.existsByExtension(normalized)) {
-            throw new ExtensionException(ErrorCode.DUPLICATE_EXTENSION);
+        PolicyMutationEvent event = PolicyMutationEvent.begin(ChangeType.ADD, normalized, writeBehind.isEnabled());
+        if (writeBehind.isEnabled()) {
+            return writeBehind.locked(() -> {
+                if (event.db(() -> findEffective(normalized)).isPresent()) {
+                    throw ExtensionException.of(ErrorCode.DUPLICATE_EXTENSION);
+                }
+                long customCount = event.db(this::countEffectiveCustom);
+                checkCustomCount(customCount);
+                TransferRow row = TransferRow.from(BlockedExtension.createCustomRule(normalized, resolvedType,
+                        resolvedAction, resolvedPriority));
+                writeBehind.enqueue(PendingChange.upsert(row));
+                policyCache.invalidate();
+                eventPublisher.publishEvent(PolicyChangedEvent.added(row.toEntity()));
+                return recordChange(ExtensionChangeResponse.added(row.toEntity(), customCount + 1));
+            });
         }
 
-        if (repository.countByFixedFalse() >= MAX_CUSTOM_COUNT) {
-            throw new ExtensionException(ErrorCode.MAX_CUSTOM_EXCEEDED);
+        // 중복 검사와 개수 검사를 한 번의 조회로 (추가 요청은 조회 1 + INSERT 1)
+        CustomRuleStats stats = event.db(() -> repository.customRuleStats(normalized));
+        if (stats.exists()) {
+            throw ExtensionException.of(ErrorCode.DUPLICATE_EXTENSION);
         }
 
-        repository.save(BlockedExtension.createCustomExtension(normalized));
+        checkCustomCount(stats.customCount());
+
+        BlockedExtension saved = event.db(() -> repository.save(BlockedExtension.createCustomRule(normalized,
+                resolvedType, resolvedAction, resolvedPriority)));
+        policyCache.invalidate();
+        eventPublisher.publishEvent(PolicyChangedEvent.added(saved));
+        return recordChange(ExtensionChangeResponse.added(saved, stats.customCount() + 1));
     }
 
     @Transactional
-    public void deleteCustomExtension(String extension) {
-        String normalized = normalizeExtension(extension);
-        BlockedExtension entity = repository.findByExtension(normalized)
-                .orElseThrow(() -> new ExtensionException(ErrorCode.EXTENSION_NOT_FOUND));
+    public ExtensionChangeResponse deleteCustomExtension(String extension) {
+        String normalized = validator.normalize(extension);
+        PolicyMutationEvent event = PolicyMutationEvent.begin(ChangeType.DELETE, normalized, writeBehind.isEnabled());
+        if (writeBehind.isEnabled()) {
+            return writeBehind.locked(() -> {
+                BlockedExtension current = event.db(() -> findEffective(normalized))
+                        .orElseThrow(() -> ExtensionException.of(ErrorCode.EXTENSION_NOT_FOUND));
+                if (current.isFixed()) {
+                    throw ExtensionException.of(ErrorCode.CANNOT_DELETE_FIXED);
+                }
+                writeBehind.enqueue(PendingChange.delete(normalized));
+                policyCache.invalidate();
+                eventPublisher.publishEvent(PolicyChangedEvent.deleted(current));
+                return recordChange(ExtensionChangeResponse.deleted(normalized,
+                        event.db(this::countEffectiveCustom)));
+            });
+        }
+
+        // 대상과 커스텀 개수를 한 번에 조회 (삭제 요청은 조회 1 + DELETE 1)
+        CustomRuleLookup lookup = event.db(() -> repository.findWithCustomCount(normalized))
+                .orElseThrow(() -> ExtensionException.of(ErrorCode.EXTENSION_NOT_FOUND));
+        BlockedExtension entity = lookup.rule();
 
         if (entity.isFixed()) {
-            throw new ExtensionException(ErrorCode.CANNOT_DELETE_FIXED);
+            throw ExtensionException.of(ErrorCode.CANNOT_DELETE_FIXED);
         }
 
         repository.delete(entity);
+        policyCache.invalidate();
+        eventPublisher.publishEvent(PolicyChangedEvent.deleted(entity));
+        return recordChange(ExtensionChangeResponse.deleted(normalized, lookup.customCount() - 1));
     }
 
-    private String normalizeExtension(String extension) {
-        if (extension == null) {
-            throw new ExtensionException(ErrorCode.EMPTY_EXTENSION);
+    /**
+     * 규칙의 예약을 바꾼다. (request가 없거나 비어 있으면 해제)
+     * 쓰기 지연 모드에서도 예약은 바로 저장하며, 대상에 반영 대기 변경이 있으면 먼저 반영한다.
+     * 적용 여부는 커밋 후 ActivationEngine이 현재 시각 기준으로 다시 판단하고, 이후 경계마다 전환한다.
+     */
+    @Transactional
+    public ExtensionChangeResponse updateSchedule(String extension, ScheduleRequest request) {
+        String normalized = validator.normalize(extension);
+        if (request != null) {
+            validator.validateSchedule(request);
         }
 
-        String normalized = extension.trim().toLowerCase();
-
-        if (normalized.startsWith(".")) {
-            normalized = normalized.substring(1);
+        PolicyMutationEvent event = PolicyMutationEvent.begin(ChangeType.SCHEDULE, normalized, writeBehind.isEnabled());
+        if (writeBehind.isEnabled() && writeBehind.find(normalized).isPresent()) {
+            event.db(() -> {
+                writeBehind.flush();
+                return null;
+            });
         }
 
-        return normalized;
+        CustomRuleLookup lookup = event.db(() -> repository.findWithCustomCount(normalized))
+                .orElseThrow(() -> ExtensionException.of(ErrorCode.EXTENSION_NOT_FOUND));
+        BlockedExtension entity = lookup.rule();
+
+        ActivationSchedule before = entity.getSchedule();
+        entity.updateSchedule(request != null ? request.toSchedule() : null);
+        eventPublisher.publishEvent(PolicyChangedEvent.scheduled(entity, before));
+        long customCount = writeBehind.isEnabled() ? event.db(this::countEffectiveCustom) : lookup.customCount();
+        return recordChange(ExtensionChangeResponse.scheduled(entity, customCount));
+    }
+
+    private ExtensionChangeResponse recordChange(ExtensionChangeResponse change) {
+        changeLog.record(change);
+        return change;
     }
 
-    private void validateExtension(String extension) {
-        if (extension.isEmpty()) {
-            throw new ExtensionException(ErrorCode.EMPTY_EXTENSION);
+    private void checkCustomCount(long customCount) {
+        int maxCount = properties.getCustom().getMaxCount();
+        if (customCount >= maxCount) {
+            throw new ExtensionException(ErrorCode.MAX_CUSTOM_EXCEEDED, maxCount);
         }
+    }
 
-        if (extension.length() > MAX_EXTENSION_LENGTH) {
-            throw new ExtensionException(ErrorCode.EXTENSION_TOO_LONG);
+    /**
+     * 반영 대기 중인 변경을 우선한 현재 상태. (쓰기 지연 모드)
+     */
+    private Optional<BlockedExtension> findEffective(String extension) {
+        Optional<PendingChange> change = writeBehind.find(extension);
+        if (change.isPresent()) {
+            return Optional.ofNullable(change.get().row()).map(TransferRow::toEntity);
         }
+        return repository.findByExtension(extension);
+    }
 
-        if (PATH_TRAVERSAL_PATTERN.matcher(extension).matches()) {
-            throw new ExtensionException(ErrorCode.PATH_TRAVERSAL_DETECTED);
+    private long countEffectiveCustom() {
+        Map<String, PendingChange> pending = writeBehind.pendingChanges();
+        if (pending.isEmpty()) {
+            return repository.countByFixedFalse();
         }
+        long pendingCustom = pending.values().stream()
+                .filter(change -> !change.isDelete() && !change.row().fixed())
+                .count();
+        return repository.countByFixedFalseAndExtensionNotIn(pending.keySet()) + pendingCustom;
+    }
+
+    private static List<BlockedExtension> withPending(List<BlockedExtension> committed,
+                                                      Map<String, PendingChange> pending, boolean fixed) {
+        if (pending.isEmpty()) {
+            return committed;
+        }
+        List<BlockedExtension> merged = new ArrayList<>(committed.size());
+        Set<String> committedExtensions = new HashSet<>(committed.size() * 2);
+        for (BlockedExtension entity : committed) {
+            committedExtensions.add(entity.getExtension());
+            PendingChange change = pending.get(entity.getExtension());
+            if (change == null) {
+                merged.add(entity);
+            } else if (!change.isDelete()) {
+                merged.add(change.row().toEntity());
+            }
+        }
+        for (PendingChange change : pending.values()) {
+            if (!change.isDelete() && change.row().fixed() == fixed
+                    && !committedExtensions.contains(change.extension())) {
+                merged.add(change.row().toEntity());
+            }
+        }
+        return merged;
+    }
 
-        if (!VALID_EXTENSION_PATTERN.matcher(extension).matches()) {
-            throw new ExtensionException(ErrorCode.INVALID_EXTENSION);
+    private int resolvePageSize(Integer size) {
+        BlockerProperties.Custom custom = properties.getCustom();
+        if (size == null || size <= 0) {
+            return custom.getDefaultPageSize();
         }
+        return Math.min(size, custom.getMaxPageSize());
     }
 }
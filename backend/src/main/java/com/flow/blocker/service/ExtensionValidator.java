@@ -0,0 +1,81 @@
+package com.flow.blocker.service;
+
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.dto.ScheduleRequest;
+import com.flow.blocker.exception.ExtensionException;
+import com.flow.blocker.exception.ExtensionException.ErrorCode;
+import com.flow.blocker.policy.ExtensionNormalizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 확장자 규칙 입력의 정규화/검증. 단건 추가와 일괄 가져오기가 같은 규칙을 쓰도록 분리했다.
+ */
+@Component
+public class ExtensionValidator {
+
+    private static final int MAX_EXTENSION_LENGTH = 20;
+    private static final Pattern VALID_EXTENSION_PATTERN = Pattern.compile("^[a-z0-9.*]+$");
+    private static final Pattern PATH_TRAVERSAL_PATTERN = Pattern.compile(".*([/\\\\]|\\.\\.).*");
+    private static final Map<RuleType, Pattern> RULE_PATTERNS = Map.of(
+            RuleType.EXTENSION, Pattern.compile("^[a-z0-9]+(\\.[a-z0-9]+)*$"),
+            RuleType.PREFIX, Pattern.compile("^[a-z0-9]+\\*$"),
+            RuleType.SEGMENT, Pattern.compile("^[a-z0-9]+$")
+    );
+
+    public String normalize(String extension) {
+        if (extension == null) {
+            throw ExtensionException.of(ErrorCode.EMPTY_EXTENSION);
+        }
+
+        return ExtensionNormalizer.normalize(extension);
+    }
+
+    public RuleType resolveRuleType(String extension, RuleType requested) {
+        if (requested != null) {
+            return requested;
+        }
+        return extension.endsWith("*") ? RuleType.PREFIX : RuleType.EXTENSION;
+    }
+
+    public void validate(String extension, RuleType ruleType) {
+        if (extension.isEmpty()) {
+            throw ExtensionException.of(ErrorCode.EMPTY_EXTENSION);
+        }
+
+        if (extension.length() > MAX_EXTENSION_LENGTH) {
+            throw ExtensionException.of(ErrorCode.EXTENSION_TOO_LONG);
+        }
+
+        if (PATH_TRAVERSAL_PATTERN.matcher(extension).matches()) {
+            throw ExtensionException.of(ErrorCode.PATH_TRAVERSAL_DETECTED);
+        }
+
+        if (!VALID_EXTENSION_PATTERN.matcher(extension).matches()) {
+            throw ExtensionException.of(ErrorCode.INVALID_EXTENSION);
+        }
+
+        if (!RULE_PATTERNS.get(ruleType).matcher(extension).matches()) {
+            throw ExtensionException.of(ErrorCode.INVALID_RULE_PATTERN);
+        }
+    }
+
+    public void validateSchedule(ScheduleRequest request) {
+        if (request.getValidFrom() != null && request.getValidUntil() != null
+                && !request.getValidFrom().isBefore(request.getValidUntil())) {
+            throw new ExtensionException(ErrorCode.INVALID_SCHEDULE, "validFrom은 validUntil보다 앞서야 합니다.");
+        }
+        if ((request.getWindowStart() == null) != (request.getWindowEnd() == null)) {
+            throw new ExtensionException(ErrorCode.INVALID_SCHEDULE, "windowStart와 windowEnd는 함께 지정해야 합니다.");
+        }
+        if (request.getWindowStart() == null) {
+            if ((request.getWindowDays() != null && !request.getWindowDays().isEmpty()) || request.isOutsideWindow()) {
+                throw new ExtensionException(ErrorCode.INVALID_SCHEDULE, "windowDays/outsideWindow는 구간과 함께 지정해야 합니다.");
+            }
+        } else if (request.getWindowStart().equals(request.getWindowEnd())) {
+            throw new ExtensionException(ErrorCode.INVALID_SCHEDULE, "windowStart와 windowEnd가 같을 수 없습니다.");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.flow.blocker.sharedpolicy;
+
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.policy.PolicyCache;
+import com.flow.blocker.policy.PolicyChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+
+/**
+ * 기동 시와 규칙 변경이 커밋될 때마다 활성 규칙을 공유 정책 파일(blocker.shared-policy.path)에 기록한다.
+ * 같은 호스트의 워커는 SharedPolicyReader(또는 같은 형식을 읽는 구현)로 파일을 매핑해 HTTP 없이 조회한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "blocker.shared-policy", name = "enabled", havingValue = "true")
+public class SharedPolicyPublisher implements SmartLifecycle {
+
+    private final PolicyCache policyCache;
+    private final SharedPolicyWriter writer;
+
+    private volatile boolean running;
+
+    public SharedPolicyPublisher(PolicyCache policyCache, BlockerProperties properties) {
+        this.policyCache = policyCache;
+        this.writer = new SharedPolicyWriter(properties.getSharedPolicy().getPath());
+    }
+
+    public void publish() {
+        try {
+            writer.publish(policyCache.current());
+        } catch (IOException | RuntimeException e) {
+            log.error("공유 정책 파일 기록 실패", e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        if (running) {
+            publish();
+        }
+    }
+
+    @Override
+    public void start() {
+        publish();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        writer.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
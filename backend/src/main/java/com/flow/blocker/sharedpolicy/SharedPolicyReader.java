@@ -0,0 +1,323 @@
+package com.flow.blocker.sharedpolicy;
+
+import com.flow.blocker.policy.ExtensionNormalizer;
+import com.flow.blocker.policy.FilenameCanonicalizer;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 같은 호스트의 업로드 워커가 HTTP 없이 차단 목록을 조회하기 위한 공유 정책 파일 리더. (JDK와 FilenameCanonicalizer 외 의존성 없음)
+ *
+ * 파일 형식 (리틀 엔디언)
+ * <pre>
+ * 0   int   magic "FXPL"
+ * 4   int   형식 버전 (1)
+ * 8   long  sequence   홀수면 기록 중 (seqlock)
+ * 16  long  revision   정책 revision
+ * 24  long  publishedAt epoch ms
+ * 32  int   flags      bit0 STALE: 새 파일로 교체됨, 경로를 다시 열어야 함
+ * 36  int   defaultAction 0 ALLOW, 1 BLOCK (일치하는 규칙이 없을 때)
+ * 40  int   entryCount
+ * 44  int   entryStride
+ * 48  int   dataCapacity (바이트)
+ * 64  entry[entryCount]  패턴 바이트 오름차순 정렬
+ *     0 int rank (작을수록 우선) / 4 int priority / 8 byte type (0 EXTENSION, 1 PREFIX, 2 SEGMENT)
+ *     9 byte action (0 ALLOW, 1 BLOCK) / 10 byte patternLength / 12 pattern (ASCII 소문자, PREFIX는 끝에 '*')
+ * </pre>
+ * 읽기는 sequence를 읽고 → 데이터를 읽고 → sequence를 다시 읽어 둘이 같고 짝수일 때만 결과를 쓴다.
+ * 판정은 검사 API와 같다: 파일명을 FilenameCanonicalizer로 정규화한 뒤 마지막 '.' 뒤 전체(EXTENSION), '.' 사이 구간(SEGMENT), 마지막 구간의 앞부분(PREFIX) 중 rank가 가장 작은 규칙.
+ */
+public final class SharedPolicyReader implements AutoCloseable {
+
+    static final int MAGIC = 'F' | 'X' << 8 | 'P' << 16 | 'L' << 24;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+
+    static final int OFFSET_MAGIC = 0;
+    static final int OFFSET_VERSION = 4;
+    static final int OFFSET_SEQUENCE = 8;
+    static final int OFFSET_REVISION = 16;
+    static final int OFFSET_PUBLISHED_AT = 24;
+    static final int OFFSET_FLAGS = 32;
+    static final int OFFSET_DEFAULT_ACTION = 36;
+    static final int OFFSET_ENTRY_COUNT = 40;
+    static final int OFFSET_ENTRY_STRIDE = 44;
+    static final int OFFSET_DATA_CAPACITY = 48;
+
+    static final int ENTRY_RANK = 0;
+    static final int ENTRY_PRIORITY = 4;
+    static final int ENTRY_TYPE = 8;
+    static final int ENTRY_ACTION = 9;
+    static final int ENTRY_LENGTH = 10;
+    static final int ENTRY_PATTERN = 12;
+
+    static final int FLAG_STALE = 1;
+
+    static final byte TYPE_EXTENSION = 0;
+    static final byte TYPE_PREFIX = 1;
+    static final byte TYPE_SEGMENT = 2;
+    static final byte ACTION_ALLOW = 0;
+    static final byte ACTION_BLOCK = 1;
+
+    static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final String[] TYPE_NAMES = {"EXTENSION", "PREFIX", "SEGMENT"};
+
+    public record Entry(String pattern, String type, boolean block, int priority, int rank) {
+    }
+
+    private final Path path;
+    private volatile ByteBuffer buffer;
+
+    private SharedPolicyReader(Path path, ByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    public static SharedPolicyReader open(Path path) throws IOException {
+        return new SharedPolicyReader(path, map(path));
+    }
+
+    /**
+     * 파일명이 차단 대상인지. 검사 API와 같이 정규화한 이름으로 판정하며,
+     * ASCII만 있는 이름은 문자열을 복사하지 않고 매핑된 페이지를 직접 비교한다.
+     */
+    public boolean isBlocked(CharSequence filename) {
+        int from = 0;
+        int to = filename.length();
+        long scan = FilenameCanonicalizer.scan(filename, from, to);
+        if (FilenameCanonicalizer.needsRewrite(scan)) {
+            filename = FilenameCanonicalizer.rewrite(filename, from, to, scan);
+            to = filename.length();
+        } else {
+            from = ExtensionNormalizer.start(scan);
+            to = ExtensionNormalizer.end(scan);
+        }
+        while (true) {
+            ByteBuffer b = current();
+            long sequence = (long) LONGS.getAcquire(b, OFFSET_SEQUENCE);
+            if ((sequence & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            boolean blocked;
+            try {
+                blocked = evaluate(b, filename, from, to);
+            } catch (IndexOutOfBoundsException torn) {
+                // 기록 중인 값을 읽었다. sequence가 달라졌을 것이므로 다시 읽는다
+                continue;
+            }
+            VarHandle.loadLoadFence();
+            if ((long) LONGS.getAcquire(b, OFFSET_SEQUENCE) == sequence) {
+                return blocked;
+            }
+        }
+    }
+
+    /**
+     * 패턴(예: "exe", "tar.gz", "php*")이 규칙으로 있는지
+     */
+    public boolean contains(CharSequence pattern) {
+        while (true) {
+            ByteBuffer b = current();
+            long sequence = (long) LONGS.getAcquire(b, OFFSET_SEQUENCE);
+            if ((sequence & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            boolean found;
+            try {
+                found = find(b, pattern, 0, pattern.length(), false) >= 0;
+            } catch (IndexOutOfBoundsException torn) {
+                continue;
+            }
+            VarHandle.loadLoadFence();
+            if ((long) LONGS.getAcquire(b, OFFSET_SEQUENCE) == sequence) {
+                return found;
+            }
+        }
+    }
+
+    public long revision() {
+        while (true) {
+            ByteBuffer b = current();
+            long sequence = (long) LONGS.getAcquire(b, OFFSET_SEQUENCE);
+            long revision = b.getLong(OFFSET_REVISION);
+            VarHandle.loadLoadFence();
+            if ((sequence & 1) == 0 && (long) LONGS.getAcquire(b, OFFSET_SEQUENCE) == sequence) {
+                return revision;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 한 시점의 일관된 규칙 목록 (패턴 순)
+     */
+    public List<Entry> entries() {
+        while (true) {
+            ByteBuffer b = current();
+            long sequence = (long) LONGS.getAcquire(b, OFFSET_SEQUENCE);
+            if ((sequence & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            List<Entry> entries;
+            try {
+                int count = b.getInt(OFFSET_ENTRY_COUNT);
+                int stride = b.getInt(OFFSET_ENTRY_STRIDE);
+                entries = new ArrayList<>(Math.min(count, 1 << 16));
+                for (int i = 0; i < count; i++) {
+                    int offset = HEADER_SIZE + i * stride;
+                    byte[] pattern = new byte[b.get(offset + ENTRY_LENGTH)];
+                    b.get(offset + ENTRY_PATTERN, pattern);
+                    entries.add(new Entry(new String(pattern, StandardCharsets.US_ASCII),
+                            TYPE_NAMES[b.get(offset + ENTRY_TYPE)], b.get(offset + ENTRY_ACTION) == ACTION_BLOCK,
+                            b.getInt(offset + ENTRY_PRIORITY), b.getInt(offset + ENTRY_RANK)));
+                }
+            } catch (IndexOutOfBoundsException | NegativeArraySizeException torn) {
+                continue;
+            }
+            VarHandle.loadLoadFence();
+            if ((long) LONGS.getAcquire(b, OFFSET_SEQUENCE) == sequence) {
+                return entries;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        // 매핑은 버퍼가 GC될 때 해제된다
+        buffer = null;
+    }
+
+    private ByteBuffer current() {
+        ByteBuffer b = buffer;
+        if (b == null) {
+            throw new IllegalStateException("닫힌 리더입니다");
+        }
+        if ((b.getInt(OFFSET_FLAGS) & FLAG_STALE) != 0) {
+            try {
+                b = map(path);
+                buffer = b;
+            } catch (IOException e) {
+                // 교체 중이면 기존 매핑으로 한 번 더 읽는다 (교체 전 내용은 여전히 일관됨)
+            }
+        }
+        return b;
+    }
+
+    private static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.capacity() < HEADER_SIZE || mapped.getInt(OFFSET_MAGIC) != MAGIC) {
+                throw new IOException("공유 정책 파일이 아닙니다: " + path);
+            }
+            if (mapped.getInt(OFFSET_VERSION) != FORMAT_VERSION) {
+                throw new IOException("지원하지 않는 공유 정책 파일 버전: " + mapped.getInt(OFFSET_VERSION));
+            }
+            return mapped;
+        }
+    }
+
+    private static boolean evaluate(ByteBuffer b, CharSequence filename, int from, int length) {
+        int best = -1;
+        int lastDot = -1;
+        for (int i = length - 1; i >= from; i--) {
+            if (filename.charAt(i) == '.') {
+                lastDot = i;
+                break;
+            }
+        }
+        for (int dot = from; dot < length; dot++) {
+            if (filename.charAt(dot) != '.') {
+                continue;
+            }
+            int next = dot + 1;
+            while (next < length && filename.charAt(next) != '.') {
+                next++;
+            }
+            int entry = find(b, filename, dot + 1, length, false);
+            if (entry >= 0 && b.get(entry + ENTRY_TYPE) == TYPE_EXTENSION) {
+                best = pick(b, entry, best);
+            }
+            entry = find(b, filename, dot + 1, next, false);
+            if (entry >= 0 && b.get(entry + ENTRY_TYPE) == TYPE_SEGMENT) {
+                best = pick(b, entry, best);
+            }
+            if (dot == lastDot) {
+                for (int end = dot + 2; end <= length; end++) {
+                    entry = find(b, filename, dot + 1, end, true);
+                    if (entry >= 0 && b.get(entry + ENTRY_TYPE) == TYPE_PREFIX) {
+                        best = pick(b, entry, best);
+                    }
+                }
+            }
+        }
+        if (best < 0) {
+            return b.getInt(OFFSET_DEFAULT_ACTION) == ACTION_BLOCK;
+        }
+        return b.get(best + ENTRY_ACTION) == ACTION_BLOCK;
+    }
+
+    // rank가 더 작은 쪽 (entry는 바이트 오프셋)
+    private static int pick(ByteBuffer b, int candidate, int best) {
+        return best < 0 || b.getInt(candidate + ENTRY_RANK) < b.getInt(best + ENTRY_RANK) ? candidate : best;
+    }
+
+    /**
+     * 패턴이 key[from, to) (+ star면 '*')와 같은 항목의 바이트 오프셋, 없으면 -1
+     */
+    private static int find(ByteBuffer b, CharSequence key, int from, int to, boolean star) {
+        if (from >= to) {
+            return -1;
+        }
+        int stride = b.getInt(OFFSET_ENTRY_STRIDE);
+        int low = 0;
+        int high = b.getInt(OFFSET_ENTRY_COUNT) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = HEADER_SIZE + mid * stride;
+            int cmp = compare(b, offset, key, from, to, star);
+            if (cmp == 0) {
+                return offset;
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int compare(ByteBuffer b, int offset, CharSequence key, int from, int to, boolean star) {
+        int patternLength = b.get(offset + ENTRY_LENGTH);
+        int keyLength = to - from + (star ? 1 : 0);
+        int n = Math.min(patternLength, keyLength);
+        for (int i = 0; i < n; i++) {
+            int p = b.get(offset + ENTRY_PATTERN + i) & 0xFF;
+            int k = from + i < to ? fold(key.charAt(from + i)) : '*';
+            if (p != k) {
+                return p - k;
+            }
+        }
+        return patternLength - keyLength;
+    }
+
+    private static int fold(char c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+}
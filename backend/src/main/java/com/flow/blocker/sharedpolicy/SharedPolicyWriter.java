@@ -0,0 +1,152 @@
+package com.flow.blocker.sharedpolicy;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.policy.PackedRuleTable;
+import com.flow.blocker.policy.PolicySnapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static com.flow.blocker.sharedpolicy.SharedPolicyReader.*;
+
+/**
+ * 정책 스냅샷을 공유 정책 파일(형식은 SharedPolicyReader 참고)에 기록한다.
+ * 용량과 항목 크기가 맞으면 매핑된 파일을 seqlock으로 제자리에서 고치고,
+ * 넘치면 더 큰 새 파일을 임시 경로에 만들어 원자적으로 교체한 뒤 이전 파일에 STALE 표시를 남긴다.
+ */
+public class SharedPolicyWriter implements Closeable {
+
+    private static final int MIN_CAPACITY_ENTRIES = 256;
+    private static final int MIN_PATTERN_BYTES = 20;
+
+    private final Path path;
+    private MappedByteBuffer buffer;
+
+    public SharedPolicyWriter(Path path) {
+        this.path = path;
+    }
+
+    public synchronized void publish(PolicySnapshot snapshot) throws IOException {
+        PackedRuleTable rules = snapshot.rules();
+        Integer[] order = new Integer[rules.size()];
+        int maxPattern = MIN_PATTERN_BYTES;
+        for (int rank = 0; rank < order.length; rank++) {
+            order[rank] = rank;
+            maxPattern = Math.max(maxPattern, rules.patternEnd(rank) - rules.patternStart(rank));
+        }
+        if (maxPattern > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("공유 정책 파일에 담을 수 없는 규칙 길이: " + maxPattern);
+        }
+        // 리더의 이진 탐색 순서 (부호 없는 바이트 사전순)
+        Arrays.sort(order, Comparator.comparing(rank -> patternBytes(rules, rank), Arrays::compareUnsigned));
+        int stride = ENTRY_PATTERN + ((maxPattern + 3) & ~3);
+        long needed = (long) order.length * stride;
+
+        if (buffer == null || buffer.getInt(OFFSET_ENTRY_STRIDE) != stride
+                || buffer.getInt(OFFSET_DATA_CAPACITY) < needed) {
+            int capacity = Math.toIntExact(Math.max(needed * 2, (long) MIN_CAPACITY_ENTRIES * stride));
+            replace(snapshot, order, capacity, stride);
+            return;
+        }
+
+        MappedByteBuffer b = buffer;
+        long sequence = (long) LONGS.getVolatile(b, OFFSET_SEQUENCE);
+        LONGS.setVolatile(b, OFFSET_SEQUENCE, sequence + 1);
+        VarHandle.storeStoreFence();
+        write(b, snapshot, order, stride);
+        LONGS.setRelease(b, OFFSET_SEQUENCE, sequence + 2);
+    }
+
+    @Override
+    public synchronized void close() {
+        buffer = null;
+    }
+
+    private void replace(PolicySnapshot snapshot, Integer[] order, int capacity, int stride) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        MappedByteBuffer next;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            next = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity);
+        }
+        next.order(ByteOrder.LITTLE_ENDIAN);
+        next.putInt(OFFSET_MAGIC, MAGIC);
+        next.putInt(OFFSET_VERSION, FORMAT_VERSION);
+        next.putInt(OFFSET_ENTRY_STRIDE, stride);
+        next.putInt(OFFSET_DATA_CAPACITY, capacity);
+        write(next, snapshot, order, stride);
+        MappedByteBuffer previous = buffer != null ? buffer : mapExisting();
+        // 내용을 다 쓴 파일만 경로에 보이게 한다
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        buffer = next;
+        if (previous != null) {
+            // 이전 파일을 연 리더는 이 표시를 보고 경로를 다시 연다
+            long sequence = (long) LONGS.getVolatile(previous, OFFSET_SEQUENCE);
+            LONGS.setVolatile(previous, OFFSET_SEQUENCE, sequence + 1);
+            previous.putInt(OFFSET_FLAGS, previous.getInt(OFFSET_FLAGS) | FLAG_STALE);
+            LONGS.setRelease(previous, OFFSET_SEQUENCE, sequence + 2);
+        }
+    }
+
+    private static void write(MappedByteBuffer b, PolicySnapshot snapshot, Integer[] order, int stride) {
+        PackedRuleTable rules = snapshot.rules();
+        b.putLong(OFFSET_REVISION, snapshot.revision());
+        b.putLong(OFFSET_PUBLISHED_AT, System.currentTimeMillis());
+        b.putInt(OFFSET_DEFAULT_ACTION, snapshot.defaultAction() == RuleAction.BLOCK ? ACTION_BLOCK : ACTION_ALLOW);
+        b.putInt(OFFSET_ENTRY_COUNT, order.length);
+        for (int i = 0; i < order.length; i++) {
+            int rank = order[i];
+            int offset = HEADER_SIZE + i * stride;
+            int from = rules.patternStart(rank);
+            int length = rules.patternEnd(rank) - from;
+            b.putInt(offset + ENTRY_RANK, rank);
+            b.putInt(offset + ENTRY_PRIORITY, rules.priority(rank));
+            b.put(offset + ENTRY_TYPE, switch (rules.type(rank)) {
+                case EXTENSION -> TYPE_EXTENSION;
+                case PREFIX -> TYPE_PREFIX;
+                case SEGMENT -> TYPE_SEGMENT;
+            });
+            b.put(offset + ENTRY_ACTION, rules.action(rank) == RuleAction.BLOCK ? ACTION_BLOCK : ACTION_ALLOW);
+            b.put(offset + ENTRY_LENGTH, (byte) length);
+            for (int j = 0; j < length; j++) {
+                b.put(offset + ENTRY_PATTERN + j, rules.patternByte(from + j));
+            }
+        }
+    }
+
+    // 재기동 전 프로세스가 쓴 파일 (그 파일을 열고 있는 리더에게도 교체를 알린다)
+    private MappedByteBuffer mapExisting() {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            MappedByteBuffer existing = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            existing.order(ByteOrder.LITTLE_ENDIAN);
+            return existing.getInt(OFFSET_MAGIC) == MAGIC ? existing : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static byte[] patternBytes(PackedRuleTable rules, int rank) {
+        return rules.pattern(rank).getBytes(StandardCharsets.US_ASCII);
+    }
+}
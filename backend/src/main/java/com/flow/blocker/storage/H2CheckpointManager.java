@@ -0,0 +1,130 @@
+package com.flow.blocker.storage;
+
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.policy.PolicyCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메모리 우선 모드: 인메모리 H2를 주 저장소로 쓰고, 주기적으로 파일에 스크립트로 체크포인트한다.
+ * 기동 시 체크포인트가 있으면 복원하며, 종료 시에는 웹 서버와 감사 로그 기록기가 멈춘 뒤 변경 여부와 상관없이 마지막으로 한 번 더 기록한다.
+ * 체크포인트 사이의 변경은 비정상 종료 시 유실될 수 있다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "blocker.checkpoint", name = "enabled", havingValue = "true")
+public class H2CheckpointManager implements SmartLifecycle {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PolicyCache policyCache;
+    private final StoreModificationCounter modifications;
+    private final BlockerProperties.Checkpoint properties;
+    private final Object checkpointLock = new Object();
+
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+    private long checkpointedModifications = -1;
+
+    public H2CheckpointManager(DataSource dataSource, PolicyCache policyCache, StoreModificationCounter modifications,
+                               BlockerProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.policyCache = policyCache;
+        this.modifications = modifications;
+        this.properties = properties.getCheckpoint();
+    }
+
+    /**
+     * 마지막 체크포인트 이후 저장소에 커밋된 쓰기(규칙, 예약, 감사 로그, 쓰기 지연 반영)가 있을 때만 기록한다.
+     *
+     * @return 기록했으면 true
+     */
+    public boolean checkpoint() {
+        return checkpoint(false);
+    }
+
+    private boolean checkpoint(boolean force) {
+        synchronized (checkpointLock) {
+            // 기록 중에 커밋된 쓰기는 다음 체크포인트에서 다시 잡히도록 먼저 읽는다
+            long modified = modifications.count();
+            if (!force && modified == checkpointedModifications) {
+                return false;
+            }
+            Path target = properties.getPath();
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            try {
+                if (target.getParent() != null) {
+                    Files.createDirectories(target.getParent());
+                }
+                jdbcTemplate.execute("SCRIPT DROP TO '" + escape(temp) + "' COMPRESSION GZIP");
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                checkpointedModifications = modified;
+                return true;
+            } catch (IOException | RuntimeException e) {
+                log.error("H2 체크포인트 기록 실패: {}", target, e);
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        restore();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "h2-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkpoint, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(properties.getInterval().toMillis() + 5000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkpoint(true);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 감사 로그 기록기(DEFAULT_PHASE - 4096)보다 먼저 복원하고, 그보다 늦게 멈춰 마지막 기록까지 포함한다
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    private void restore() {
+        Path source = properties.getPath();
+        if (Files.exists(source)) {
+            jdbcTemplate.execute("RUNSCRIPT FROM '" + escape(source) + "' COMPRESSION GZIP");
+            log.info("H2 체크포인트 복원: {}", source);
+        }
+        policyCache.invalidate();
+        checkpointedModifications = modifications.count();
+    }
+
+    private static String escape(Path path) {
+        return path.toAbsolutePath().toString().replace("'", "''");
+    }
+}
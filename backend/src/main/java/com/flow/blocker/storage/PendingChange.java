@@ -0,0 +1,47 @@
+package com.flow.blocker.storage;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.transfer.TransferRow;
+
+/**
+ * 아직 저장소에 반영되지 않은 확장자 하나의 최종 상태. row가 null이면 삭제다.
+ */
+public record PendingChange(String extension, TransferRow row) {
+
+    public static PendingChange upsert(TransferRow row) {
+        return new PendingChange(row.extension(), row);
+    }
+
+    public static PendingChange delete(String extension) {
+        return new PendingChange(extension, null);
+    }
+
+    public boolean isDelete() {
+        return row == null;
+    }
+
+    String toJournalLine() {
+        if (row == null) {
+            return "D " + extension;
+        }
+        return "U " + extension + " " + row.fixed() + " " + row.active() + " "
+                + row.ruleType() + " " + row.action() + " " + row.priority();
+    }
+
+    static PendingChange fromJournalLine(String line) {
+        String[] parts = line.split(" ");
+        if (parts.length == 2 && parts[0].equals("D")) {
+            return delete(parts[1]);
+        }
+        if (parts.length == 7 && parts[0].equals("U")) {
+            return upsert(new TransferRow(parts[1],
+                    Boolean.parseBoolean(parts[2]),
+                    Boolean.parseBoolean(parts[3]),
+                    RuleType.valueOf(parts[4]),
+                    RuleAction.valueOf(parts[5]),
+                    Integer.parseInt(parts[6])));
+        }
+        throw new IllegalArgumentException(line);
+    }
+}
@@ -0,0 +1,34 @@
+package com.flow.blocker.storage;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 저장소에 커밋된 쓰기 횟수. 체크포인트가 마지막 기록 이후 변경이 있었는지 판단하는 데 쓴다.
+ * 트랜잭션 매니저 리스너로 등록되어 읽기 전용이 아닌 트랜잭션이 커밋될 때마다 늘고,
+ * 트랜잭션 밖에서 JDBC로 바로 쓰는 곳(감사 로그 기록기)은 {@link #markModified()}를 직접 부른다.
+ * 쓰지 않고 끝난 읽기-쓰기 트랜잭션도 세므로 체크포인트가 한 번 더 기록될 수는 있지만 빠뜨리지는 않는다.
+ */
+@Component
+public class StoreModificationCounter implements TransactionExecutionListener {
+
+    private final AtomicLong count = new AtomicLong();
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            count.incrementAndGet();
+        }
+    }
+
+    public void markModified() {
+        count.incrementAndGet();
+    }
+
+    public long count() {
+        return count.get();
+    }
+}
@@ -0,0 +1,373 @@
+package com.flow.blocker.storage;
+
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.repository.BlockedExtensionBulkRepository;
+import com.flow.blocker.transfer.TransferRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 쓰기 지연(write-behind) 모드의 변경 버퍼.
+ * 관리 API의 변경은 확장자별 최종 상태로 합쳐 메모리에 두고 저널 파일에 한 줄씩 남긴 뒤 바로 반환한다.
+ * 단일 기록 스레드가 flushInterval 마다, 또는 maxBatchSize 건이 쌓이면 한 트랜잭션으로 묶어 저장소에 반영한다.
+ * 기록은 버퍼 잠금 밖에서 하므로 변경 요청은 DB 커밋을 기다리지 않는다. 기록 중인 변경도 커밋될 때까지 버퍼에 남아 조회에 보이고,
+ * 그 사이 같은 확장자가 다시 바뀌면 버전이 달라져 커밋 후에도 지워지지 않고 다음 묶음에 포함된다.
+ * 저널은 fsync가 켜져 있으면 한 줄마다 디스크까지 내린 뒤 반환하고, 꺼져 있으면 OS까지만 내보낸다(프로세스 종료만 견딤).
+ * 기동 시 저널이 남아 있으면(비정상 종료) 그 내용을 다시 버퍼에 올려 다음 기록에 포함한다.
+ * 비활성화 상태에서는 아무 것도 하지 않는다.
+ */
+@Slf4j
+@Component
+public class WriteBehindBuffer implements SmartLifecycle {
+
+    private final BlockedExtensionBulkRepository bulkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockerProperties.WriteBehind properties;
+
+    // 변경 검사-적용과 버퍼/저널 갱신을 직렬화한다. DB 기록 중에는 잡지 않는다
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchFull = lock.newCondition();
+    // 묶음 기록을 한 번에 하나로 (같은 확장자의 두 버전이 다른 순서로 커밋되지 않도록)
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Map<String, Versioned> pending = new LinkedHashMap<>();
+
+    private volatile Map<String, PendingChange> pendingView = Map.of();
+    private volatile boolean running;
+    private long version;
+    private FileChannel journal;
+    private Thread writer;
+
+    private record Versioned(PendingChange change, long version) {
+    }
+
+    public WriteBehindBuffer(BlockedExtensionBulkRepository bulkRepository,
+                             PlatformTransactionManager transactionManager,
+                             BlockerProperties properties) {
+        this.bulkRepository = bulkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties.getWriteBehind();
+        if (this.properties.isEnabled()) {
+            recover();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 버퍼 잠금 안에서 실행한다. 검사와 적용 사이에 다른 변경이 끼어들지 않는다.
+     * 기록은 잠금 밖에서 하고 커밋될 때까지 버퍼에 남으므로, 검사가 보는 상태(버퍼 → 저장소 순)는 기록 중에도 같다.
+     */
+    public <T> T locked(Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 반영 대기 중인 변경. 없으면 empty, 삭제 대기면 isDelete()가 true인 값
+     */
+    public Optional<PendingChange> find(String extension) {
+        return Optional.ofNullable(pendingView.get(extension));
+    }
+
+    /**
+     * 반영 대기 중인 변경의 불변 사본 (잠금 없이 읽는다).
+     */
+    public Map<String, PendingChange> pendingChanges() {
+        return pendingView;
+    }
+
+    public void enqueue(PendingChange change) {
+        lock.lock();
+        try {
+            appendJournal(change);
+            pending.remove(change.extension());
+            pending.put(change.extension(), new Versioned(change, ++version));
+            publishView();
+            if (pending.size() >= properties.getMaxBatchSize()) {
+                batchFull.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 호출 시점까지 들어온 변경을 호출 스레드에서 모두 반영한다.
+     */
+    public void flush() {
+        if (!isEnabled()) {
+            return;
+        }
+        drain();
+    }
+
+    public int getPendingCount() {
+        return pendingView.size();
+    }
+
+    @Override
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        lock.lock();
+        try {
+            running = false;
+            batchFull.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join(properties.getFlushInterval().toMillis() + 5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 감사 로그 기록기(DEFAULT_PHASE - 4096)보다 늦게, 체크포인트(DEFAULT_PHASE - 8192)보다 먼저 멈춘다
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 6144;
+    }
+
+    private void runWriter() {
+        long intervalNanos = properties.getFlushInterval().toNanos();
+        boolean failed = false;
+        try {
+            while (running) {
+                lock.lock();
+                try {
+                    long remaining = intervalNanos;
+                    // 실패한 뒤에는 묶음이 차 있어도 한 주기를 쉰다
+                    while (running && (failed || pending.size() < properties.getMaxBatchSize()) && remaining > 0) {
+                        remaining = batchFull.awaitNanos(remaining);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                failed = !drain();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 시작 시점까지 들어온 변경을 묶음 단위로 기록한다. 실패하면 버퍼와 저널을 그대로 두고 false.
+     */
+    private boolean drain() {
+        flushLock.lock();
+        try {
+            long upTo;
+            lock.lock();
+            try {
+                upTo = version;
+            } finally {
+                lock.unlock();
+            }
+            while (true) {
+                List<Versioned> batch = nextBatch(upTo);
+                if (batch.isEmpty()) {
+                    return true;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> write(batch));
+                } catch (RuntimeException e) {
+                    // 다음 주기에 다시 시도한다
+                    log.error("쓰기 지연 변경 {}건 반영 실패", batch.size(), e);
+                    return false;
+                }
+                committed(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // 버퍼에서 꺼내지 않고 복사만 한다. 커밋 전까지는 조회가 계속 버퍼 값을 본다
+    private List<Versioned> nextBatch(long upTo) {
+        lock.lock();
+        try {
+            List<Versioned> batch = new ArrayList<>(Math.min(pending.size(), properties.getMaxBatchSize()));
+            for (Versioned entry : pending.values()) {
+                if (entry.version() <= upTo) {
+                    batch.add(entry);
+                    if (batch.size() == properties.getMaxBatchSize()) {
+                        break;
+                    }
+                }
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void committed(List<Versioned> batch) {
+        lock.lock();
+        try {
+            // 기록하는 사이에 다시 바뀐 확장자는 새 버전이 남는다
+            batch.forEach(entry -> pending.remove(entry.change().extension(), entry));
+            publishView();
+            compactJournal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void publishView() {
+        Map<String, PendingChange> view = new LinkedHashMap<>();
+        pending.forEach((extension, entry) -> view.put(extension, entry.change()));
+        pendingView = Map.copyOf(view);
+    }
+
+    private void write(List<Versioned> batch) {
+        List<TransferRow> upserts = new ArrayList<>(batch.size());
+        List<String> deletes = new ArrayList<>();
+        for (Versioned entry : batch) {
+            PendingChange change = entry.change();
+            if (change.isDelete()) {
+                deletes.add(change.extension());
+            } else {
+                upserts.add(change.row());
+            }
+        }
+        if (!upserts.isEmpty()) {
+            bulkRepository.upsert(upserts);
+        }
+        if (!deletes.isEmpty()) {
+            bulkRepository.deleteCustom(deletes);
+        }
+    }
+
+    private void appendJournal(PendingChange change) {
+        try {
+            if (journal == null) {
+                Path path = properties.getJournalPath();
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                journal = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            }
+            writeLine(journal, change);
+            if (properties.isFsync()) {
+                journal.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("쓰기 지연 저널 기록 실패", e);
+        }
+    }
+
+    /**
+     * 커밋된 변경을 저널에서 뺀다. 남은 변경이 없으면 지우고, 있으면 남은 변경만으로 새로 써서 교체한다.
+     */
+    private void compactJournal() {
+        Path path = properties.getJournalPath();
+        try {
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+            if (pending.isEmpty()) {
+                Files.deleteIfExists(path);
+                return;
+            }
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Versioned entry : pending.values()) {
+                    writeLine(channel, entry.change());
+                }
+                if (properties.isFsync()) {
+                    channel.force(false);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // 원래 저널이 남아 있으면 재기동 시 이미 커밋된 변경까지 다시 반영할 뿐이다 (같은 최종 상태)
+            log.warn("쓰기 지연 저널 정리 실패: {}", path, e);
+        }
+    }
+
+    private static void writeLine(FileChannel channel, PendingChange change) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((change.toJournalLine() + "\n").getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            channel.write(line);
+        }
+    }
+
+    private void recover() {
+        Path path = properties.getJournalPath();
+        if (!Files.exists(path)) {
+            return;
+        }
+        int recovered = 0;
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    PendingChange change = PendingChange.fromJournalLine(line);
+                    pending.remove(change.extension());
+                    pending.put(change.extension(), new Versioned(change, ++version));
+                    recovered++;
+                } catch (IllegalArgumentException e) {
+                    // 비정상 종료로 마지막 줄이 잘렸을 수 있다
+                    log.warn("쓰기 지연 저널의 손상된 줄을 건너뜁니다: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("쓰기 지연 저널 복구 실패: " + path, e);
+        }
+        publishView();
+        log.info("쓰기 지연 저널에서 미반영 변경 {}건 복구 ({}개 확장자)", recovered, pending.size());
+    }
+}
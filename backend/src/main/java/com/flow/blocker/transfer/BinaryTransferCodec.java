@@ -0,0 +1,150 @@
+package com.flow.blocker.transfer;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.transfer.TransferFormat.MalformedRowException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 길이 접두 바이너리 스냅샷 형식
+ *
+ * <pre>
+ * header  : magic "FXBL"(4) | version(1)
+ * record  : length(1, 1~255) | extension ASCII(length) | flags(1, bit0=fixed bit1=active)
+ *           | rule_type(1) | action(1) | priority(zigzag varint)
+ * trailer : length(1) = 0 | record count(varint)
+ * </pre>
+ *
+ * 레코드 개수를 앞에 쓰지 않으므로 커서에서 읽는 대로 바로 내보낼 수 있고, trailer의 개수로 잘린 파일을 감지한다.
+ */
+final class BinaryTransferCodec {
+
+    private static final byte[] MAGIC = {'F', 'X', 'B', 'L'};
+    private static final int VERSION = 1;
+    private static final int FLAG_FIXED = 1;
+    private static final int FLAG_ACTIVE = 1 << 1;
+    private static final RuleType[] TYPES = RuleType.values();
+    private static final RuleAction[] ACTIONS = RuleAction.values();
+
+    private BinaryTransferCodec() {
+    }
+
+    static final class Reader implements TransferFormat.RowReader {
+
+        private final DataInputStream in;
+        private final byte[] buffer = new byte[255];
+        private long records;
+        private boolean finished;
+
+        Reader(InputStream in) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(in));
+            byte[] magic = new byte[MAGIC.length];
+            try {
+                this.in.readFully(magic);
+                if (!Arrays.equals(magic, MAGIC) || this.in.readUnsignedByte() != VERSION) {
+                    throw new MalformedRowException("지원하지 않는 바이너리 스냅샷입니다.");
+                }
+            } catch (EOFException e) {
+                throw new MalformedRowException("바이너리 스냅샷 헤더가 없습니다.");
+            }
+        }
+
+        @Override
+        public TransferRow next() throws IOException {
+            if (finished) {
+                return null;
+            }
+            try {
+                int length = in.readUnsignedByte();
+                if (length == 0) {
+                    finished = true;
+                    if (readVarint() != records) {
+                        throw new MalformedRowException("레코드 개수가 일치하지 않습니다.");
+                    }
+                    return null;
+                }
+                in.readFully(buffer, 0, length);
+                int flags = in.readUnsignedByte();
+                int type = in.readUnsignedByte();
+                int action = in.readUnsignedByte();
+                int priority = decodeZigzag(readVarint());
+                if (type >= TYPES.length || action >= ACTIONS.length) {
+                    throw new MalformedRowException("알 수 없는 규칙 값입니다.");
+                }
+                records++;
+                return new TransferRow(
+                        new String(buffer, 0, length, StandardCharsets.US_ASCII),
+                        (flags & FLAG_FIXED) != 0,
+                        (flags & FLAG_ACTIVE) != 0,
+                        TYPES[type],
+                        ACTIONS[action],
+                        priority);
+            } catch (EOFException e) {
+                throw new MalformedRowException("바이너리 스냅샷이 중간에 끝났습니다.");
+            }
+        }
+
+        @Override
+        public long position() {
+            return records + 1;
+        }
+
+        private long readVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new MalformedRowException("varint 형식이 올바르지 않습니다.");
+        }
+
+        private static int decodeZigzag(long value) {
+            return (int) (value >>> 1) ^ -(int) (value & 1);
+        }
+    }
+
+    static final class Writer implements TransferFormat.RowWriter {
+
+        private final DataOutputStream out;
+        private long records;
+
+        Writer(OutputStream out) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(out));
+            this.out.write(MAGIC);
+            this.out.writeByte(VERSION);
+        }
+
+        @Override
+        public void write(TransferRow row) throws IOException {
+            byte[] extension = row.extension().getBytes(StandardCharsets.US_ASCII);
+            out.writeByte(extension.length);
+            out.write(extension);
+            out.writeByte((row.fixed() ? FLAG_FIXED : 0) | (row.active() ? FLAG_ACTIVE : 0));
+            out.writeByte(row.ruleType().ordinal());
+            out.writeByte(row.action().ordinal());
+            writeVarint(((row.priority() << 1) ^ (row.priority() >> 31)) & 0xFFFFFFFFL);
+            records++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.writeByte(0);
+            writeVarint(records);
+            out.flush();
+        }
+
+        private void writeVarint(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.flow.blocker.transfer;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.transfer.TransferFormat.MalformedRowException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * CSV 형식: extension,fixed,active,rule_type,action,priority
+ * - 첫 줄 헤더, 빈 줄, '#' 주석은 건너뛴다.
+ * - 확장자 한 열만 있는 줄은 활성 커스텀 BLOCK 규칙으로 읽는다 (위협 정보 피드 목록 그대로 가져오기용).
+ * - 값에 쉼표/따옴표가 들어갈 수 없으므로 인용 처리는 하지 않는다.
+ */
+final class CsvTransferCodec {
+
+    static final String HEADER = "extension,fixed,active,rule_type,action,priority";
+    private static final int MAX_LINE_LENGTH = 256;
+
+    private CsvTransferCodec() {
+    }
+
+    static final class Reader implements TransferFormat.RowReader {
+
+        private final BufferedReader in;
+        private long line;
+
+        Reader(InputStream in) {
+            this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public TransferRow next() throws IOException {
+            String text;
+            while ((text = in.readLine()) != null) {
+                line++;
+                if (text.length() > MAX_LINE_LENGTH) {
+                    throw new MalformedRowException("행이 너무 깁니다.");
+                }
+                String trimmed = text.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#") || (line == 1 && isHeader(trimmed))) {
+                    continue;
+                }
+                return parse(trimmed);
+            }
+            return null;
+        }
+
+        @Override
+        public long position() {
+            return line;
+        }
+
+        private static boolean isHeader(String text) {
+            return text.equals("extension") || text.startsWith("extension,");
+        }
+
+        private TransferRow parse(String text) throws MalformedRowException {
+            String[] columns = text.split(",", -1);
+            if (columns.length == 1) {
+                return TransferRow.custom(columns[0]);
+            }
+            if (columns.length != 6) {
+                throw new MalformedRowException("열 개수가 올바르지 않습니다.");
+            }
+            try {
+                return new TransferRow(
+                        columns[0].strip(),
+                        parseBoolean(columns[1]),
+                        parseBoolean(columns[2]),
+                        columns[3].isBlank() ? null : RuleType.valueOf(columns[3].strip().toUpperCase(Locale.ROOT)),
+                        RuleAction.valueOf(columns[4].strip().toUpperCase(Locale.ROOT)),
+                        Integer.parseInt(columns[5].strip()));
+            } catch (IllegalArgumentException e) {
+                throw new MalformedRowException("값을 해석할 수 없습니다.");
+            }
+        }
+
+        private static boolean parseBoolean(String value) throws MalformedRowException {
+            String stripped = value.strip();
+            if (stripped.equalsIgnoreCase("true")) {
+                return true;
+            }
+            if (stripped.equalsIgnoreCase("false")) {
+                return false;
+            }
+            throw new MalformedRowException("true/false 값이 아닙니다.");
+        }
+    }
+
+    static final class Writer implements TransferFormat.RowWriter {
+
+        private final java.io.Writer out;
+
+        Writer(OutputStream out) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.out.write(HEADER);
+            this.out.write('\n');
+        }
+
+        @Override
+        public void write(TransferRow row) throws IOException {
+            out.write(row.extension());
+            out.write(',');
+            out.write(Boolean.toString(row.fixed()));
+            out.write(',');
+            out.write(Boolean.toString(row.active()));
+            out.write(',');
+            out.write(row.ruleType().name());
+            out.write(',');
+            out.write(row.action().name());
+            out.write(',');
+            out.write(Integer.toString(row.priority()));
+            out.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.flow.blocker.transfer;
+
+import com.flow.blocker.exception.ExtensionException;
+import com.flow.blocker.exception.ExtensionException.ErrorCode;
+import org.springframework.http.MediaType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public enum TransferFormat {
+
+    CSV(new MediaType("text", "csv"), "csv") {
+        @Override
+        public RowReader reader(InputStream in) {
+            return new CsvTransferCodec.Reader(in);
+        }
+
+        @Override
+        public RowWriter writer(OutputStream out) throws IOException {
+            return new CsvTransferCodec.Writer(out);
+        }
+    },
+
+    BINARY(MediaType.APPLICATION_OCTET_STREAM, "bin") {
+        @Override
+        public RowReader reader(InputStream in) throws IOException {
+            return new BinaryTransferCodec.Reader(in);
+        }
+
+        @Override
+        public RowWriter writer(OutputStream out) throws IOException {
+            return new BinaryTransferCodec.Writer(out);
+        }
+    };
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    TransferFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public abstract RowReader reader(InputStream in) throws IOException;
+
+    public abstract RowWriter writer(OutputStream out) throws IOException;
+
+    public static TransferFormat from(String name) {
+        for (TransferFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw ExtensionException.of(ErrorCode.UNSUPPORTED_TRANSFER_FORMAT);
+    }
+
+    /**
+     * 한 행씩 읽는다. 끝에 도달하면 null.
+     */
+    public interface RowReader {
+
+        TransferRow next() throws IOException;
+
+        // 오류 메시지용 현재 행 번호 (1부터)
+        long position();
+    }
+
+    /**
+     * close() 시 남은 내용을 기록하고 flush 한다. 하위 스트림은 닫지 않는다.
+     */
+    public interface RowWriter extends Closeable {
+
+        void write(TransferRow row) throws IOException;
+    }
+
+    public static class MalformedRowException extends IOException {
+
+        public MalformedRowException(String message) {
+            super(message);
+        }
+    }
+}
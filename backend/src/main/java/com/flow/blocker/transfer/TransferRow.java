@@ -0,0 +1,44 @@
+package com.flow.blocker.transfer;
+
+import com.flow.blocker.domain.BlockedExtension;
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+
+public record TransferRow(String extension, boolean fixed, boolean active,
+                          RuleType ruleType, RuleAction action, int priority) {
+
+    public static TransferRow custom(String extension) {
+        return new TransferRow(extension, false, true, null, RuleAction.BLOCK, 0);
+    }
+
+    public static TransferRow from(BlockedExtension entity) {
+        return new TransferRow(entity.getExtension(), entity.isFixed(), entity.isActive(),
+                entity.getRuleType(), entity.getAction(), entity.getPriority());
+    }
+
+    public TransferRow withActive(boolean active) {
+        return new TransferRow(extension, fixed, active, ruleType, action, priority);
+    }
+
+    /**
+     * 저장되지 않은 엔티티로 변환한다. (쓰기 지연 모드의 응답/이벤트용)
+     */
+    public BlockedExtension toEntity() {
+        return BlockedExtension.builder()
+                .extension(extension)
+                .fixed(fixed)
+                .active(active)
+                .ruleType(ruleType)
+                .action(action)
+                .priority(priority)
+                .build();
+    }
+
+    public TransferRow withRule(String extension, RuleType ruleType) {
+        return new TransferRow(extension, fixed, active, ruleType, action, priority);
+    }
+
+    public TransferRow withFixed(boolean fixed) {
+        return new TransferRow(extension, fixed, active, ruleType, action, priority);
+    }
+}
@@ -0,0 +1,19 @@
+package com.flow.blocker.upload;
+
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * 업로드 파트의 파일명이 차단 목록에 걸렸을 때. 서블릿 입력 스트림 읽기 중에 던지므로 IOException이다.
+ */
+@Getter
+public class BlockedUploadException extends IOException {
+
+    private final String filename;
+
+    public BlockedUploadException(String filename) {
+        super("차단된 파일: " + filename);
+        this.filename = filename;
+    }
+}
@@ -0,0 +1,10 @@
+package com.flow.blocker.upload;
+
+import java.io.IOException;
+
+public class MalformedUploadException extends IOException {
+
+    public MalformedUploadException(String message) {
+        super(message);
+    }
+}
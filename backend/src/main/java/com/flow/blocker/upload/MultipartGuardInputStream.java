@@ -0,0 +1,254 @@
+package com.flow.blocker.upload;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * multipart/form-data 본문을 그대로 흘려보내면서 각 파트의 헤더만 해석해 파일명을 검사하는 스트림.
+ * 본문 바이트는 복사하지 않고 경계(\r\n--boundary)만 찾으며, 차단된 파일명이 나오면 {@link BlockedUploadException}을 던진다.
+ * {@link #primeFirstPart}로 첫 파트 헤더까지만 미리 읽어 두면 첫 파일이 차단될 때 본문을 한 바이트도 읽지 않는다.
+ */
+public class MultipartGuardInputStream extends InputStream {
+
+    /**
+     * 파일명을 받아 차단 여부를 판단한다.
+     */
+    @FunctionalInterface
+    public interface FilenamePolicy {
+        boolean isBlocked(String filename);
+    }
+
+    private enum State {
+        BODY,
+        AFTER_DELIMITER,
+        HEADERS,
+        EPILOGUE
+    }
+
+    private static final String CONTENT_DISPOSITION = "content-disposition:";
+
+    private final InputStream source;
+    private final byte[] delimiter;
+    private final FilenamePolicy policy;
+    private final int maxHeaderBytes;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+
+    private State state = State.BODY;
+    // 첫 경계는 본문 맨 앞에 CRLF 없이 올 수 있으므로 CRLF를 이미 본 것으로 시작한다
+    private int matched = 2;
+    private int headerBytes;
+    private int partCount;
+    private boolean headerLineHasCr;
+
+    private byte[] replay = new byte[0];
+    private int replayPos;
+    private int replayLimit;
+
+    public MultipartGuardInputStream(InputStream source, String boundary, FilenamePolicy policy, int maxHeaderBytes) {
+        this.source = source;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.policy = policy;
+        this.maxHeaderBytes = maxHeaderBytes;
+    }
+
+    /**
+     * 첫 파트의 헤더 끝(또는 limit 바이트)까지 미리 읽어 검사한다. 읽은 바이트는 이후 read()에서 그대로 다시 돌려준다.
+     */
+    public void primeFirstPart(int limit) throws IOException {
+        byte[] buffer = new byte[Math.min(limit, 8192)];
+        byte[] primed = new byte[0];
+        int total = 0;
+        while (total < limit && partCount == 0 && state != State.EPILOGUE) {
+            int n = source.read(buffer, 0, Math.min(buffer.length, limit - total));
+            if (n < 0) {
+                break;
+            }
+            primed = Arrays.copyOf(primed, total + n);
+            System.arraycopy(buffer, 0, primed, total, n);
+            total += n;
+            scan(buffer, 0, n);
+        }
+        replay = primed;
+        replayPos = 0;
+        replayLimit = total;
+    }
+
+    /**
+     * 미리 읽어 두고 아직 돌려주지 않은 바이트가 있으면 true
+     */
+    public boolean hasPrimedBytes() {
+        return replayPos < replayLimit;
+    }
+
+    /**
+     * 지금까지 헤더 검사를 마친 파트 수
+     */
+    public int getPartCount() {
+        return partCount;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        int n = read(one, 0, 1);
+        return n < 0 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (replayPos < replayLimit) {
+            int n = Math.min(len, replayLimit - replayPos);
+            System.arraycopy(replay, replayPos, b, off, n);
+            replayPos += n;
+            if (replayPos == replayLimit) {
+                replay = new byte[0];
+            }
+            return n;
+        }
+        int n = source.read(b, off, len);
+        if (n > 0) {
+            scan(b, off, n);
+        }
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (replayLimit - replayPos) + source.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    private void scan(byte[] b, int off, int len) throws IOException {
+        for (int i = off, end = off + len; i < end && state != State.EPILOGUE; i++) {
+            byte c = b[i];
+            switch (state) {
+                case BODY -> {
+                    if (c == delimiter[matched]) {
+                        if (++matched == delimiter.length) {
+                            matched = 0;
+                            line.reset();
+                            state = State.AFTER_DELIMITER;
+                        }
+                    } else {
+                        // 경계 문자열에는 CR이 없으므로 CR에서만 다시 시작하면 된다
+                        matched = c == '\r' ? 1 : 0;
+                    }
+                }
+                case AFTER_DELIMITER -> {
+                    if (c == '\n') {
+                        boolean closing = line.size() >= 2 && line.toByteArray()[0] == '-' && line.toByteArray()[1] == '-';
+                        line.reset();
+                        headerBytes = 0;
+                        state = closing ? State.EPILOGUE : State.HEADERS;
+                    } else if (line.size() < 64) {
+                        line.write(c);
+                    } else {
+                        throw new MalformedUploadException("경계 뒤 줄이 너무 깁니다");
+                    }
+                }
+                case HEADERS -> {
+                    if (++headerBytes > maxHeaderBytes) {
+                        throw new MalformedUploadException("파트 헤더가 " + maxHeaderBytes + "바이트를 넘습니다");
+                    }
+                    if (c == '\n') {
+                        if (line.size() == 0) {
+                            partCount++;
+                            state = State.BODY;
+                        } else {
+                            onHeaderLine(line.toString(StandardCharsets.UTF_8));
+                            line.reset();
+                        }
+                    } else if (c != '\r') {
+                        line.write(c);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void onHeaderLine(String header) throws IOException {
+        if (!header.regionMatches(true, 0, CONTENT_DISPOSITION, 0, CONTENT_DISPOSITION.length())) {
+            return;
+        }
+        String filename = filenameOf(header);
+        if (filename != null && !filename.isBlank() && policy.isBlocked(filename)) {
+            throw new BlockedUploadException(filename);
+        }
+    }
+
+    /**
+     * filename*=UTF-8''... (RFC 5987)를 우선하고, 없으면 filename="..." 을 쓴다.
+     */
+    static String filenameOf(String header) {
+        String extended = parameter(header, "filename*");
+        if (extended != null) {
+            int quote = extended.indexOf("''");
+            if (quote >= 0) {
+                String charset = extended.substring(0, quote);
+                try {
+                    return URLDecoder.decode(extended.substring(quote + 2).replace("+", "%2B"),
+                            charset.isEmpty() ? "UTF-8" : charset);
+                } catch (IllegalArgumentException | UnsupportedEncodingException e) {
+                    // 잘못된 인코딩이면 일반 filename으로 판단
+                }
+            }
+        }
+        return parameter(header, "filename");
+    }
+
+    private static String parameter(String header, String name) {
+        String lower = header.toLowerCase(Locale.ROOT);
+        int from = 0;
+        while (true) {
+            int index = lower.indexOf(name, from);
+            if (index < 0) {
+                return null;
+            }
+            from = index + name.length();
+            // 파라미터 이름 경계 확인 (filename 이 filename* 의 일부로 잡히지 않도록)
+            char before = index == 0 ? ';' : lower.charAt(index - 1);
+            int eq = from;
+            while (eq < lower.length() && lower.charAt(eq) == ' ') {
+                eq++;
+            }
+            if ((before != ';' && before != ' ') || eq >= lower.length() || lower.charAt(eq) != '=') {
+                continue;
+            }
+            return value(header, eq + 1);
+        }
+    }
+
+    private static String value(String header, int from) {
+        while (from < header.length() && header.charAt(from) == ' ') {
+            from++;
+        }
+        if (from < header.length() && header.charAt(from) == '"') {
+            StringBuilder value = new StringBuilder();
+            for (int i = from + 1; i < header.length(); i++) {
+                char c = header.charAt(i);
+                if (c == '\\' && i + 1 < header.length()) {
+                    value.append(header.charAt(++i));
+                } else if (c == '"') {
+                    break;
+                } else {
+                    value.append(c);
+                }
+            }
+            return value.toString();
+        }
+        int end = header.indexOf(';', from);
+        return header.substring(from, end < 0 ? header.length() : end).trim();
+    }
+}
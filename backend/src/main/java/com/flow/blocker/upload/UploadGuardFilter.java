@@ -0,0 +1,252 @@
+package com.flow.blocker.upload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flow.blocker.exception.ExtensionException.ErrorCode;
+import com.flow.blocker.exception.GlobalExceptionHandler.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/**
+ * 업로드 게이트웨이 앞단에서 multipart/form-data 요청의 파일명을 검사한다.
+ *
+ * 스트리밍 소비자(getInputStream): 첫 파트는 헤더까지만 미리 읽어 차단되면 본문을 읽기 전에 403으로 끊고,
+ * 이후 파트는 다운스트림이 읽는 동안 경계마다 검사해 차단되면 읽기를 실패시킨다. 비동기 읽기(setReadListener)도 그대로 전달한다.
+ *
+ * 컨테이너 파트 파싱(getParts, 스프링 MultipartFile): 컨테이너가 원본 스트림을 직접 읽으므로 미리 읽지 않는다.
+ * 대신 체인 전에 getParts()로 파트를 받아 각 파일명을 검사하고, 차단되면 403으로 끊는다. 파싱 결과는 컨테이너가 캐시하므로 다운스트림이 그대로 쓴다.
+ * 어느 쪽인지는 생성 시 받은 판별식(partsParsed)으로 정한다.
+ */
+@Slf4j
+public class UploadGuardFilter extends OncePerRequestFilter {
+
+    private static final int FIRST_PART_LIMIT = 64 * 1024;
+
+    private final MultipartGuardInputStream.FilenamePolicy policy;
+    private final int maxHeaderBytes;
+    private final Predicate<HttpServletRequest> partsParsed;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public UploadGuardFilter(MultipartGuardInputStream.FilenamePolicy policy, int maxHeaderBytes) {
+        this(policy, maxHeaderBytes, request -> false);
+    }
+
+    /**
+     * @param partsParsed 다운스트림이 컨테이너 파트 파싱(getParts)으로 본문을 받는 요청이면 true
+     */
+    public UploadGuardFilter(MultipartGuardInputStream.FilenamePolicy policy, int maxHeaderBytes,
+                             Predicate<HttpServletRequest> partsParsed) {
+        this.policy = policy;
+        this.maxHeaderBytes = maxHeaderBytes;
+        this.partsParsed = partsParsed;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return boundaryOf(request.getContentType()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (partsParsed.test(request)) {
+            try {
+                checkParts(request);
+            } catch (IOException e) {
+                if (!reject(e, response)) {
+                    throw e;
+                }
+                return;
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+        ServletInputStream source = request.getInputStream();
+        MultipartGuardInputStream guard = new MultipartGuardInputStream(
+                source, boundaryOf(request.getContentType()), policy, maxHeaderBytes);
+        try {
+            guard.primeFirstPart(FIRST_PART_LIMIT);
+            chain.doFilter(new GuardedRequest(request, new GuardedInputStream(guard, source)), response);
+        } catch (IOException | ServletException e) {
+            if (!reject(e, response)) {
+                throw e;
+            }
+        }
+    }
+
+    private void checkParts(HttpServletRequest request) throws IOException, ServletException {
+        for (Part part : request.getParts()) {
+            String disposition = part.getHeader("Content-Disposition");
+            String filename = disposition != null
+                    ? MultipartGuardInputStream.filenameOf(disposition) : part.getSubmittedFileName();
+            if (filename != null && !filename.isBlank() && policy.isBlocked(filename)) {
+                throw new BlockedUploadException(filename);
+            }
+        }
+    }
+
+    private boolean reject(Throwable e, HttpServletResponse response) throws IOException {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BlockedUploadException blocked) {
+                log.info("차단된 업로드 거부: {}", blocked.getFilename());
+                writeError(response, HttpStatus.FORBIDDEN, ErrorCode.BLOCKED_UPLOAD.name(),
+                        ErrorCode.BLOCKED_UPLOAD.format(blocked.getFilename()));
+                return true;
+            }
+            if (cause instanceof MalformedUploadException malformed) {
+                writeError(response, HttpStatus.BAD_REQUEST, ErrorCode.INVALID_MULTIPART.name(),
+                        ErrorCode.INVALID_MULTIPART.format(malformed.getMessage()));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String code, String message)
+            throws IOException {
+        if (response.isCommitted()) {
+            // 이미 응답이 나갔으면 연결을 끊는 것 외에는 할 수 있는 게 없다
+            throw new IOException(message);
+        }
+        response.reset();
+        response.setStatus(status.value());
+        // 남은 본문을 읽지 않고 끊도록 연결을 닫는다
+        response.setHeader("Connection", "close");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .code(code)
+                .message(message)
+                .build());
+    }
+
+    static String boundaryOf(String contentType) {
+        if (contentType == null
+                || !contentType.regionMatches(true, 0, MediaType.MULTIPART_FORM_DATA_VALUE, 0,
+                MediaType.MULTIPART_FORM_DATA_VALUE.length())) {
+            return null;
+        }
+        try {
+            String boundary = MediaType.parseMediaType(contentType).getParameter("boundary");
+            if (boundary == null) {
+                return null;
+            }
+            if (boundary.length() >= 2 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+                boundary = boundary.substring(1, boundary.length() - 1);
+            }
+            return boundary.isEmpty() || boundary.length() > 70 ? null : boundary;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static class GuardedRequest extends HttpServletRequestWrapper {
+
+        private final GuardedInputStream inputStream;
+        private BufferedReader reader;
+
+        GuardedRequest(HttpServletRequest request, GuardedInputStream inputStream) {
+            super(request);
+            this.inputStream = inputStream;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                reader = new BufferedReader(new InputStreamReader(inputStream,
+                        encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1));
+            }
+            return reader;
+        }
+    }
+
+    /**
+     * 미리 읽은 첫 파트 바이트를 먼저 돌려주고 원본 스트림으로 이어진다.
+     * 비동기 읽기에서는 원본 스트림에 리스너를 걸고, 원본이 끝났어도 미리 읽은 바이트가 남아 있으면 onAllDataRead 전에 한 번 더 알린다.
+     */
+    private static class GuardedInputStream extends ServletInputStream {
+
+        private final MultipartGuardInputStream guard;
+        private final ServletInputStream source;
+        private boolean finished;
+
+        GuardedInputStream(MultipartGuardInputStream guard, ServletInputStream source) {
+            this.guard = guard;
+            this.source = source;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = guard.read();
+            finished = b < 0;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = guard.read(b, off, len);
+            finished = n < 0;
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return guard.available();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished || !guard.hasPrimedBytes() && source.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return guard.hasPrimedBytes() || source.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            source.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    readListener.onDataAvailable();
+                }
+
+                @Override
+                public void onAllDataRead() throws IOException {
+                    if (guard.hasPrimedBytes()) {
+                        readListener.onDataAvailable();
+                    }
+                    readListener.onAllDataRead();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    readListener.onError(t);
+                }
+            });
+        }
+    }
+}
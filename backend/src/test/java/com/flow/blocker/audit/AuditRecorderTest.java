@@ -0,0 +1,124 @@
+package com.flow.blocker.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flow.blocker.dto.CustomExtensionRequest;
+import com.flow.blocker.repository.BlockedExtensionRepository;
+import com.flow.blocker.repository.PolicyAuditRepository;
+import com.flow.blocker.service.ExtensionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 감사 로그는 커밋 이후에만 기록되므로 트랜잭션 롤백 없이 실제로 커밋하며 검증한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuditRecorderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuditRecorder auditRecorder;
+
+    @Autowired
+    private ExtensionService extensionService;
+
+    @Autowired
+    private BlockedExtensionRepository repository;
+
+    @Autowired
+    private PolicyAuditRepository auditRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        repository.findByFixedFalse().forEach(repository::delete);
+        auditRecorder.flush();
+        auditRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.findByFixedFalse().forEach(repository::delete);
+    }
+
+    @Test
+    @DisplayName("추가/토글/삭제가 변경 전후 상태와 요청자와 함께 기록되어야 한다")
+    void shouldRecordMutations() throws Exception {
+        mockMvc.perform(post("/api/extensions/custom")
+                        .header(AuditRecorder.ACTOR_HEADER, "alice")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomExtensionRequest("sh"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/extensions/custom/sh").header(AuditRecorder.ACTOR_HEADER, "bob"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/extensions/fixed/cpl"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/extensions/fixed/cpl"))
+                .andExpect(status().isOk());
+
+        auditRecorder.flush();
+
+        mockMvc.perform(get("/api/audit").param("extension", "sh"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].changeType", is("DELETE")))
+                .andExpect(jsonPath("$.items[0].actor", is("bob")))
+                .andExpect(jsonPath("$.items[0].after", nullValue()))
+                .andExpect(jsonPath("$.items[1].changeType", is("ADD")))
+                .andExpect(jsonPath("$.items[1].actor", is("alice")))
+                .andExpect(jsonPath("$.items[1].after", containsString("active=true")));
+
+        mockMvc.perform(get("/api/audit").param("extension", "cpl").param("size", "1"))
+                .andExpect(jsonPath("$.items[0].before", is("active=true")))
+                .andExpect(jsonPath("$.items[0].after", is("active=false")))
+                .andExpect(jsonPath("$.items[0].actor", is("127.0.0.1")))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()));
+    }
+
+    @Test
+    @DisplayName("롤백된 변경은 기록되지 않아야 한다")
+    void shouldNotRecordRolledBackChanges() {
+        transactionTemplate.executeWithoutResult(status -> {
+            extensionService.addCustomExtension("rollback");
+            status.setRollbackOnly();
+        });
+
+        auditRecorder.flush();
+
+        assertThat(auditRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("백그라운드 스레드가 큐를 비워야 한다")
+    void shouldFlushInBackground() throws InterruptedException {
+        extensionService.addCustomExtension("bg");
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (auditRepository.count() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(auditRepository.count()).isEqualTo(1);
+        assertThat(auditRecorder.getPendingCount()).isZero();
+    }
+}
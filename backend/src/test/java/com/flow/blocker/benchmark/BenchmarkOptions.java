@@ -0,0 +1,29 @@
+package com.flow.blocker.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * JMH 공통 실행 옵션. 결과는 빌드 간 비교를 위해 target/jmh/{클래스명}.json 으로 남긴다.
+ * 실행: ./mvnw test -Pbenchmark -Dtest={클래스명}
+ */
+final class BenchmarkOptions {
+
+    private BenchmarkOptions() {
+    }
+
+    static ChainedOptionsBuilder forClass(Class<?> benchmarkClass) {
+        new java.io.File("target/jmh").mkdirs();
+        return new OptionsBuilder()
+                .include(benchmarkClass.getName() + "\\.")
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh/" + benchmarkClass.getSimpleName() + ".json");
+    }
+}
@@ -0,0 +1,135 @@
+package com.flow.blocker.benchmark;
+
+import com.flow.blocker.FlowBlockerApplication;
+import com.flow.blocker.grpc.GrpcServerLifecycle;
+import com.flow.blocker.grpc.v1.CheckRequest;
+import com.flow.blocker.grpc.v1.CheckResponse;
+import com.flow.blocker.grpc.v1.ExtensionPolicyGrpc;
+import com.flow.blocker.service.ExtensionService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 파일명 검사를 REST(JSON/HTTP 1.1)와 gRPC(단건, 양방향 스트림)로 호출했을 때의 왕복 지연 비교.
+ * 애플리케이션은 포크된 JVM 안에서 임의 포트로 띄운다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CheckTransportBenchmark {
+
+    private static final String[] FILENAMES = {"setup.exe", "report.pdf", "archive.tar.gz", "shell.php5"};
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private URI[] checkUris;
+    private ManagedChannel channel;
+    private ExtensionPolicyGrpc.ExtensionPolicyBlockingStub blockingStub;
+    private CheckRequest[] requests;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        context = SpringApplication.run(FlowBlockerApplication.class,
+                "--server.port=0", "--blocker.grpc.enabled=true", "--blocker.grpc.port=0",
+                "--logging.level.root=WARN");
+        ExtensionService extensionService = context.getBean(ExtensionService.class);
+        extensionService.addCustomExtension("php*");
+        extensionService.addCustomExtension("tar.gz");
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        checkUris = new URI[FILENAMES.length];
+        requests = new CheckRequest[FILENAMES.length];
+        for (int i = 0; i < FILENAMES.length; i++) {
+            checkUris[i] = URI.create("http://localhost:" + port + "/api/extensions/check?filename=" + FILENAMES[i]);
+            requests[i] = CheckRequest.newBuilder().setFilename(FILENAMES[i]).build();
+        }
+
+        int grpcPort = context.getBean(GrpcServerLifecycle.class).getPort();
+        channel = ManagedChannelBuilder.forAddress("localhost", grpcPort).usePlaintext().build();
+        blockingStub = ExtensionPolicyGrpc.newBlockingStub(channel);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        context.close();
+    }
+
+    @Benchmark
+    public String rest() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(checkUris[cursor++ & 3]).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public CheckResponse grpcUnary() {
+        return blockingStub.check(requests[cursor++ & 3]);
+    }
+
+    @Benchmark
+    public CheckResponse grpcStream(StreamState stream) throws InterruptedException {
+        stream.requests.onNext(requests[cursor++ & 3]);
+        return stream.responses.take();
+    }
+
+    /**
+     * 벤치마크 스레드마다 하나의 CheckStream을 열어 두고 요청 하나를 보낸 뒤 응답을 기다린다.
+     */
+    @State(Scope.Thread)
+    public static class StreamState {
+
+        private final SynchronousQueue<CheckResponse> responses = new SynchronousQueue<>();
+        private StreamObserver<CheckRequest> requests;
+
+        @Setup
+        public void open(CheckTransportBenchmark benchmark) {
+            requests = ExtensionPolicyGrpc.newStub(benchmark.channel).checkStream(new StreamObserver<>() {
+                @Override
+                public void onNext(CheckResponse response) {
+                    try {
+                        responses.put(response);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onCompleted() {
+                }
+            });
+        }
+
+        @TearDown
+        public void close() {
+            requests.onCompleted();
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void runBenchmark() throws RunnerException {
+        new Runner(BenchmarkOptions.forClass(getClass()).build()).run();
+    }
+}
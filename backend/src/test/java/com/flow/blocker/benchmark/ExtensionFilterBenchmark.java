@@ -0,0 +1,115 @@
+package com.flow.blocker.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flow.blocker.domain.BlockedExtension;
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.dto.ExtensionFilterResponse;
+import com.flow.blocker.dto.ExtensionResponse;
+import com.flow.blocker.dto.ExtensionResponse.CustomExtensionDto;
+import com.flow.blocker.policy.ExtensionBloomFilter;
+import com.flow.blocker.policy.PackedRuleTable;
+import com.flow.blocker.policy.PolicySnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 규칙 수와 목표 오탐률에 따른 Bloom 필터 크기(전체 목록 JSON 대비), 실측 오탐률, 빌드/조회 시간 측정.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExtensionFilterBenchmark {
+
+    private static final int FILENAME_COUNT = 1024;
+    private static final int FPR_SAMPLES = 100_000;
+
+    @Param({"200", "10000", "100000"})
+    public int ruleCount;
+
+    @Param({"0.01", "0.001"})
+    public double falsePositiveRate;
+
+    private PolicySnapshot snapshot;
+    private ExtensionBloomFilter filter;
+    private String[] filenames;
+    private int cursor;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        Random random = new Random(42);
+        PackedRuleTable.Builder builder = PackedRuleTable.builder(ruleCount);
+        List<CustomExtensionDto> listed = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            String pattern = randomToken(random, 3, 8) + i;
+            builder.add(pattern, RuleType.EXTENSION, RuleAction.BLOCK, 0);
+            listed.add(CustomExtensionDto.from(BlockedExtension.createCustomRule(pattern, RuleType.EXTENSION,
+                    RuleAction.BLOCK, 0)));
+        }
+        snapshot = new PolicySnapshot(1, builder.build(), RuleAction.ALLOW);
+        filter = ExtensionBloomFilter.of(snapshot, falsePositiveRate);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        int listBytes = objectMapper.writeValueAsBytes(ExtensionResponse.builder()
+                .fixedExtensions(List.of())
+                .customExtensions(listed)
+                .customCount(ruleCount)
+                .build()).length;
+        int filterBytes = objectMapper.writeValueAsBytes(ExtensionFilterResponse.from(filter)).length;
+
+        int falsePositives = 0;
+        for (int i = 0; i < FPR_SAMPLES; i++) {
+            // 규칙에 없는 확장자 (숫자 접미사가 없음)
+            if (filter.mightBlock("clean-" + i + "." + randomToken(random, 3, 8))) {
+                falsePositives++;
+            }
+        }
+
+        filenames = new String[FILENAME_COUNT];
+        for (int i = 0; i < FILENAME_COUNT; i++) {
+            filenames[i] = "upload-" + i + "." + randomToken(random, 3, 5);
+        }
+
+        System.out.printf("%n[filter] rules=%d targetFpr=%s bits=%d hashes=%d filterJson=%d listJson=%d ratio=%.3f measuredFpr=%.5f%n",
+                ruleCount, falsePositiveRate, filter.bitCount(), filter.hashCount(), filterBytes, listBytes,
+                (double) filterBytes / listBytes, (double) falsePositives / FPR_SAMPLES);
+    }
+
+    @Benchmark
+    public boolean mightBlock() {
+        return filter.mightBlock(filenames[cursor++ & (FILENAME_COUNT - 1)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public ExtensionBloomFilter build() {
+        return ExtensionBloomFilter.of(snapshot, falsePositiveRate);
+    }
+
+    private static String randomToken(Random random, int min, int max) {
+        int length = min + random.nextInt(max - min + 1);
+        StringBuilder token = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            token.append((char) ('a' + random.nextInt(26)));
+        }
+        return token.toString();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void runBenchmark() throws RunnerException {
+        new Runner(BenchmarkOptions.forClass(getClass()).build()).run();
+    }
+}
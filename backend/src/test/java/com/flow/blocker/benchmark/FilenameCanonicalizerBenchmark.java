@@ -0,0 +1,85 @@
+package com.flow.blocker.benchmark;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.policy.ExtensionNormalizer;
+import com.flow.blocker.policy.FilenameCanonicalizer;
+import com.flow.blocker.policy.PackedRuleTable;
+import com.flow.blocker.policy.PolicySnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파일명 정규화를 검사 앞에 붙였을 때의 비용. plain(정규화 없음)과 canonical을 같은 입력으로 비교한다.
+ * ascii는 일반 업로드 이름(끝 점/공백 일부 포함), obfuscated는 폭 없는 문자/전각 문자가 섞인 이름이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FilenameCanonicalizerBenchmark {
+
+    private static final int FILENAME_COUNT = 1024;
+    private static final String[] EXTENSIONS = {"exe", "sh", "pdf", "png", "tar.gz", "docx", "js", "hwp"};
+
+    @Param({"ascii", "obfuscated"})
+    public String input;
+
+    private PolicySnapshot snapshot;
+    private String[] filenames;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        PackedRuleTable.Builder builder = PackedRuleTable.builder(EXTENSIONS.length);
+        for (int i = 0; i < EXTENSIONS.length; i += 2) {
+            builder.add(EXTENSIONS[i], RuleType.EXTENSION, RuleAction.BLOCK, 0);
+        }
+        snapshot = new PolicySnapshot(1, builder.build(), RuleAction.ALLOW);
+
+        Random random = new Random(42);
+        filenames = new String[FILENAME_COUNT];
+        for (int i = 0; i < FILENAME_COUNT; i++) {
+            String name = "upload-" + i + "." + EXTENSIONS[random.nextInt(EXTENSIONS.length)];
+            if (input.equals("obfuscated")) {
+                StringBuilder obfuscated = new StringBuilder();
+                for (int c = 0; c < name.length(); c++) {
+                    if (random.nextInt(8) == 0) {
+                        obfuscated.append('​');
+                    }
+                    obfuscated.append(random.nextInt(8) == 0 ? (char) (name.charAt(c) + 0xFEE0) : name.charAt(c));
+                }
+                name = obfuscated.toString();
+            }
+            filenames[i] = i % 8 == 0 ? name + ". " : name;
+        }
+    }
+
+    @Benchmark
+    public boolean plain() {
+        String filename = filenames[cursor++ & (FILENAME_COUNT - 1)];
+        return snapshot.isBlocked(filename, 0, filename.length());
+    }
+
+    @Benchmark
+    public boolean canonical() {
+        String filename = filenames[cursor++ & (FILENAME_COUNT - 1)];
+        long scan = FilenameCanonicalizer.scan(filename, 0, filename.length());
+        if (FilenameCanonicalizer.needsRewrite(scan)) {
+            String name = FilenameCanonicalizer.rewrite(filename, 0, filename.length(), scan);
+            return snapshot.isBlocked(name, 0, name.length());
+        }
+        return snapshot.isBlocked(filename, ExtensionNormalizer.start(scan), ExtensionNormalizer.end(scan));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void runBenchmark() throws RunnerException {
+        new Runner(BenchmarkOptions.forClass(getClass()).build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.flow.blocker.benchmark;
+
+import com.flow.blocker.FlowBlockerApplication;
+import com.flow.blocker.service.ExtensionService;
+import org.apache.coyote.AbstractProtocol;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 커스텀 규칙 200개 상태의 GET /api/extensions 를 16개씩 동시에 요청할 때
+ * HTTP/1.1 vs HTTP/2(h2c), 비압축 vs gzip 의 지연, 응답 바이트, 서버 측 연결 수 비교.
+ * 운영 설정(src/main/resources/application.yml)의 server.* 를 그대로 사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HttpTransportBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 16;
+
+    @Param({"HTTP_1_1", "HTTP_2"})
+    public HttpClient.Version protocol;
+
+    @Param({"identity", "gzip"})
+    public String encoding;
+
+    private ServletWebServerApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+    private final AtomicLong responses = new AtomicLong();
+    private final AtomicLong responseBytes = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        context = (ServletWebServerApplicationContext) SpringApplication.run(FlowBlockerApplication.class,
+                "--spring.config.location=file:src/main/resources/application.yml",
+                "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--blocker.grpc.enabled=false",
+                "--logging.level.root=WARN");
+        ExtensionService extensionService = context.getBean(ExtensionService.class);
+        for (int i = 0; i < 200; i++) {
+            extensionService.addCustomExtension("custom" + i);
+        }
+
+        client = HttpClient.newBuilder().version(protocol).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + context.getWebServer().getPort() + "/api/extensions"))
+                .header("Accept-Encoding", encoding)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        AbstractProtocol<?> handler = (AbstractProtocol<?>) ((TomcatWebServer) context.getWebServer())
+                .getTomcat().getConnector().getProtocolHandler();
+        System.out.printf("%n[transport] protocol=%s encoding=%s bytesPerResponse=%d openConnections=%d%n",
+                protocol, encoding, responseBytes.get() / Math.max(responses.get(), 1), handler.getConnectionCount());
+        context.close();
+    }
+
+    @Benchmark
+    public void concurrentGet() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[CONCURRENT_REQUESTS];
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            futures[i] = client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .thenAccept(response -> {
+                        responses.incrementAndGet();
+                        responseBytes.addAndGet(response.body().length);
+                    });
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void runBenchmark() throws RunnerException {
+        new Runner(BenchmarkOptions.forClass(getClass()).build()).run();
+    }
+}
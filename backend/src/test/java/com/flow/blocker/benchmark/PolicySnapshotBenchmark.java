@@ -0,0 +1,101 @@
+package com.flow.blocker.benchmark;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.policy.PackedRuleTable;
+import com.flow.blocker.policy.PolicySnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 규칙 수(200 / 100k)에 따른 검사 처리량, 스냅샷 재빌드 시간, 메모리 사용량 측정.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PolicySnapshotBenchmark {
+
+    private static final int FILENAME_COUNT = 1024;
+
+    @Param({"200", "100000"})
+    public int ruleCount;
+
+    private PackedRuleTable table;
+    private PolicySnapshot snapshot;
+    private String[] filenames;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        PackedRuleTable.Builder builder = PackedRuleTable.builder(ruleCount);
+        String[] patterns = new String[ruleCount];
+        for (int i = 0; i < ruleCount; i++) {
+            String base = randomToken(random, 3, 8) + i;
+            int kind = random.nextInt(20);
+            if (kind == 0) {
+                patterns[i] = base + "*";
+                builder.add(patterns[i], RuleType.PREFIX, RuleAction.BLOCK, 0);
+            } else if (kind == 1) {
+                patterns[i] = base;
+                builder.add(base, RuleType.SEGMENT, RuleAction.BLOCK, 0);
+            } else if (kind == 2) {
+                patterns[i] = randomToken(random, 2, 4) + "." + base;
+                builder.add(patterns[i], RuleType.EXTENSION, RuleAction.BLOCK, 0);
+            } else {
+                patterns[i] = base;
+                builder.add(base, RuleType.EXTENSION, RuleAction.ALLOW, random.nextInt(10));
+            }
+        }
+        table = builder.build();
+        snapshot = new PolicySnapshot(1, table, RuleAction.ALLOW);
+
+        filenames = new String[FILENAME_COUNT];
+        for (int i = 0; i < FILENAME_COUNT; i++) {
+            String extension = i % 2 == 0
+                    ? patterns[random.nextInt(ruleCount)].replace("*", "x")
+                    : randomToken(random, 3, 5);
+            filenames[i] = "upload-" + i + "." + extension;
+        }
+
+        long footprint = snapshot.footprintBytes();
+        System.out.printf("%n[footprint] rules=%d bytes=%d perRule=%.1f states=%d%n",
+                ruleCount, footprint, (double) footprint / ruleCount, snapshot.matcher().stateCount());
+    }
+
+    @Benchmark
+    public boolean check() {
+        String filename = filenames[cursor++ & (FILENAME_COUNT - 1)];
+        return snapshot.isBlocked(filename, 0, filename.length());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public PolicySnapshot rebuild() {
+        return new PolicySnapshot(2, table, RuleAction.ALLOW);
+    }
+
+    private static String randomToken(Random random, int min, int max) {
+        int length = min + random.nextInt(max - min + 1);
+        StringBuilder token = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            token.append((char) ('a' + random.nextInt(26)));
+        }
+        return token.toString();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void runBenchmark() throws RunnerException {
+        new Runner(BenchmarkOptions.forClass(getClass()).build()).run();
+    }
+}
@@ -0,0 +1,145 @@
+package com.flow.blocker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flow.blocker.FlowBlockerApplication;
+import com.flow.blocker.exception.ExtensionException;
+import com.flow.blocker.exception.GlobalExceptionHandler;
+import com.flow.blocker.exception.GlobalExceptionHandler.ErrorResponse;
+import com.flow.blocker.service.ExtensionValidator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * 잘못된 확장자가 몰려올 때의 거절 처리량.
+ * - addInvalid: POST /api/extensions/custom 전체 경로 (MockMvc, 필터/검증/예외 처리 포함)
+ * - stackless/legacy: 같은 검증 실패를 stackDepth 프레임 아래에서 던지고 응답 본문을 만드는 비용.
+ *   legacy는 이전 방식(스택 트레이스를 채우는 예외 + 요청마다 ErrorResponse 빌더와 JSON 직렬화)을 재현한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RejectionBenchmark {
+
+    private static final String[] INVALID = {"bad!ext", "../etc", "ex e", "tooooooooooooooooooolong", "a#b", "%00"};
+
+    // Spring MVC 요청 처리 중 서비스 계층까지의 대략적인 스택 깊이와 얕은 경우
+    @Param({"16", "128"})
+    public int stackDepth;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private ExtensionValidator validator;
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private MockHttpServletRequestBuilder[] requests;
+    private int cursor;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = SpringApplication.run(FlowBlockerApplication.class,
+                "--spring.main.web-application-type=servlet", "--server.port=0", "--blocker.grpc.enabled=false",
+                "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:rejection;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        validator = context.getBean(ExtensionValidator.class);
+        handler = context.getBean(GlobalExceptionHandler.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        requests = new MockHttpServletRequestBuilder[INVALID.length];
+        for (int i = 0; i < INVALID.length; i++) {
+            requests[i] = post("/api/extensions/custom")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"extension\":\"" + INVALID[i] + "\"}");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int addInvalid() throws Exception {
+        return mockMvc.perform(requests[next()]).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public byte[] stackless() {
+        try {
+            return validateAt(stackDepth, INVALID[next()], false);
+        } catch (ExtensionException e) {
+            return handler.handleExtensionException(e).getBody();
+        }
+    }
+
+    @Benchmark
+    public byte[] legacy() throws Exception {
+        try {
+            return validateAt(stackDepth, INVALID[next()], true);
+        } catch (LegacyException e) {
+            return objectMapper.writeValueAsBytes(ErrorResponse.builder()
+                    .code(e.code)
+                    .message(e.getMessage())
+                    .build());
+        }
+    }
+
+    @Tag("benchmark")
+    @Test
+    void runBenchmark() throws RunnerException {
+        new Runner(BenchmarkOptions.forClass(RejectionBenchmark.class).build()).run();
+    }
+
+    private int next() {
+        int index = cursor++;
+        if (cursor == INVALID.length) {
+            cursor = 0;
+        }
+        return index;
+    }
+
+    private byte[] validateAt(int depth, String extension, boolean legacy) {
+        if (depth > 0) {
+            return validateAt(depth - 1, extension, legacy);
+        }
+        try {
+            String normalized = validator.normalize(extension);
+            validator.validate(normalized, validator.resolveRuleType(normalized, null));
+            return null;
+        } catch (ExtensionException e) {
+            if (legacy) {
+                // 같은 깊이에서 스택 트레이스를 채우는 예외로 다시 던진다
+                throw new LegacyException(e.getErrorCode().name(), e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 이전 ExtensionException처럼 생성 시점의 스택 트레이스를 채우는 예외
+     */
+    private static final class LegacyException extends RuntimeException {
+
+        private final String code;
+
+        LegacyException(String code, String message) {
+            super(message);
+            this.code = code;
+        }
+    }
+}
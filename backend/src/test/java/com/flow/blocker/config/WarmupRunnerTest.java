@@ -0,0 +1,91 @@
+package com.flow.blocker.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 운영 설정(src/main/resources/application.yml)의 management.* 로 readiness 프로브가 워밍업 뒤에만 UP인지 확인한다.
+ */
+@SpringBootTest(properties = {
+        "spring.config.location=file:src/main/resources/application.yml",
+        "spring.datasource.url=jdbc:h2:mem:warmup;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "blocker.grpc.enabled=false",
+        "blocker.warmup.check-iterations=1000",
+        "blocker.warmup.list-iterations=3"
+})
+@AutoConfigureMockMvc
+class WarmupRunnerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private ReadinessRecorder readinessRecorder;
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        ReadinessRecorder readinessRecorder(ApplicationContext context) {
+            return new ReadinessRecorder(context);
+        }
+    }
+
+    // readiness가 바뀔 때마다 그 시점의 워밍업 완료 여부를 기록
+    static class ReadinessRecorder {
+
+        private final ApplicationContext context;
+        private final List<String> transitions = new CopyOnWriteArrayList<>();
+
+        ReadinessRecorder(ApplicationContext context) {
+            this.context = context;
+        }
+
+        @EventListener
+        public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+            transitions.add(event.getState() + ":" + context.getBean(WarmupRunner.class).isCompleted());
+        }
+    }
+
+    @Test
+    @DisplayName("워밍업이 끝난 뒤에만 트래픽을 받는다")
+    void shouldAcceptTrafficOnlyAfterWarmup() {
+        assertThat(warmupRunner.isCompleted()).isTrue();
+        assertThat(readinessRecorder.transitions)
+                .containsExactly("REFUSING_TRAFFIC:false", "ACCEPTING_TRAFFIC:true");
+    }
+
+    @Test
+    @DisplayName("readiness/liveness 프로브를 노출한다")
+    void shouldExposeProbes() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+}
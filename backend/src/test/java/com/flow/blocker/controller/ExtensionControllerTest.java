@@ -1,8 +1,14 @@
 package com.flow.blocker.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.flow.blocker.config.QueryCountInspector;
 import com.flow.blocker.dto.CustomExtensionRequest;
+import com.flow.blocker.policy.PolicyCache;
 import com.flow.blocker.repository.BlockedExtensionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,8 +18,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -55,6 +67,135 @@ class ExtensionControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/extensions/custom")
+    class GetCustomExtensions {
+
+        @Test
+        @DisplayName("커서 기반으로 커스텀 확장자를 조회한다")
+        void shouldReturnPageWithCursor() throws Exception {
+            for (String extension : new String[]{"sh", "py", "rb"}) {
+                mockMvc.perform(post("/api/extensions/custom")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new CustomExtensionRequest(extension))))
+                        .andExpect(status().isOk());
+            }
+
+            mockMvc.perform(get("/api/extensions/custom").param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[*].extension", contains("sh", "py")))
+                    .andExpect(jsonPath("$.nextCursor", notNullValue()));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/extensions/check")
+    class CheckFilename {
+
+        @Test
+        @DisplayName("차단 규칙과 일치하면 blocked=true를 반환한다")
+        void shouldReturnBlocked() throws Exception {
+            CustomExtensionRequest request = new CustomExtensionRequest("tar.gz");
+            mockMvc.perform(post("/api/extensions/custom")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/extensions/check").param("filename", "backup.TAR.GZ"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.blocked", is(true)))
+                    .andExpect(jsonPath("$.matchedRule", is("tar.gz")))
+                    .andExpect(jsonPath("$.ruleType", is("EXTENSION")));
+        }
+
+        @Test
+        @DisplayName("일치하는 규칙이 없으면 blocked=false를 반환한다")
+        void shouldReturnNotBlocked() throws Exception {
+            mockMvc.perform(get("/api/extensions/check").param("filename", "report.pdf"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.blocked", is(false)));
+        }
+
+        @Test
+        @DisplayName("끝의 점/공백, 폭 없는 문자, 방향 제어 문자, 전각 문자로 감춘 확장자도 차단한다")
+        void shouldBlockObfuscatedFilename() throws Exception {
+            mockMvc.perform(post("/api/extensions/custom")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CustomExtensionRequest("sh"))))
+                    .andExpect(status().isOk());
+
+            for (String filename : List.of("run.sh.", "run.sh . ", "run.s\u200Bh", "photo\u202Egnp.sh",
+                    "run.\uFF53\uFF48", "run\uFF0ESH\u3000")) {
+                mockMvc.perform(get("/api/extensions/check").param("filename", filename))
+                        .andExpect(jsonPath("$.blocked", is(true)))
+                        .andExpect(jsonPath("$.matchedRule", is("sh")))
+                        .andExpect(jsonPath("$.filename", is(filename)));
+            }
+        }
+
+        @Test
+        @DisplayName("contentType을 보내면 확장자와 대조하고, 차단 대상 타입은 확장자와 무관하게 차단한다")
+        void shouldCheckContentType() throws Exception {
+            mockMvc.perform(post("/api/extensions/custom")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CustomExtensionRequest("sh"))))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/extensions/check")
+                            .param("filename", "photo.png").param("contentType", "image/png"))
+                    .andExpect(jsonPath("$.blocked", is(false)))
+                    .andExpect(jsonPath("$.contentTypeMatch", is("MATCH")))
+                    .andExpect(jsonPath("$.contentTypeBlocked", is(false)));
+
+            // 이름은 이미지지만 선언된 타입이 차단 대상
+            mockMvc.perform(get("/api/extensions/check")
+                            .param("filename", "photo.png").param("contentType", "application/x-sh"))
+                    .andExpect(jsonPath("$.blocked", is(true)))
+                    .andExpect(jsonPath("$.matchedRule", is("sh")))
+                    .andExpect(jsonPath("$.contentTypeMatch", is("MISMATCH")))
+                    .andExpect(jsonPath("$.contentTypeBlocked", is(true)));
+
+            // 이름은 차단 대상이고 타입은 이미지로 위장
+            mockMvc.perform(get("/api/extensions/check")
+                            .param("filename", "run.sh").param("contentType", "image/png"))
+                    .andExpect(jsonPath("$.blocked", is(true)))
+                    .andExpect(jsonPath("$.contentTypeMatch", is("MISMATCH")))
+                    .andExpect(jsonPath("$.contentTypeBlocked", is(false)));
+
+            // 선언된 타입이 확장자와 맞으면 같은 타입의 다른 확장자 규칙은 보지 않는다
+            mockMvc.perform(post("/api/extensions/custom")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CustomExtensionRequest("jfif"))))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/api/extensions/check")
+                            .param("filename", "photo.jpg").param("contentType", "image/jpeg"))
+                    .andExpect(jsonPath("$.blocked", is(false)))
+                    .andExpect(jsonPath("$.contentTypeMatch", is("MATCH")))
+                    .andExpect(jsonPath("$.contentTypeBlocked", is(false)));
+
+            // REPORT 모드에서는 차단 대상이 아닌 불일치는 표시만 한다
+            mockMvc.perform(get("/api/extensions/check")
+                            .param("filename", "report.pdf").param("contentType", "image/png"))
+                    .andExpect(jsonPath("$.blocked", is(false)))
+                    .andExpect(jsonPath("$.contentTypeMatch", is("MISMATCH")));
+
+            mockMvc.perform(get("/api/extensions/check")
+                            .param("filename", "report.pdf").param("contentType", "application/octet-stream"))
+                    .andExpect(jsonPath("$.contentTypeMatch", is("UNKNOWN")));
+
+            mockMvc.perform(get("/api/extensions/check").param("filename", "report.pdf"))
+                    .andExpect(jsonPath("$.contentTypeMatch").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("파일명이 없으면 400을 반환한다")
+        void shouldReturn400ForMissingFilename() throws Exception {
+            mockMvc.perform(get("/api/extensions/check"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code", is("EMPTY_FILENAME")));
+        }
+    }
+
     @Nested
     @DisplayName("PATCH /api/extensions/fixed/{extension}")
     class ToggleFixedExtension {
@@ -232,4 +373,282 @@ class ExtensionControllerTest {
                     .andExpect(jsonPath("$.code", is("CANNOT_DELETE_FIXED")));
         }
     }
+
+    @Nested
+    @DisplayName("PUT/DELETE /api/extensions/{extension}/schedule")
+    class Schedule {
+
+        @Test
+        @DisplayName("고정 확장자에 업무 시간 외 예약을 걸고 해제한다")
+        void shouldScheduleFixedExtension() throws Exception {
+            mockMvc.perform(put("/api/extensions/js/schedule")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"windowStart": "09:00", "windowEnd": "18:00",
+                                     "windowDays": ["MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"],
+                                     "outsideWindow": true}
+                                    """))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.type", is("SCHEDULE")))
+                    .andExpect(jsonPath("$.fixedExtension.extension", is("js")))
+                    .andExpect(jsonPath("$.fixedExtension.schedule.windowStart", is("09:00:00")))
+                    .andExpect(jsonPath("$.fixedExtension.schedule.windowDays", hasSize(5)))
+                    .andExpect(jsonPath("$.fixedExtension.schedule.outsideWindow", is(true)));
+
+            mockMvc.perform(get("/api/extensions"))
+                    .andExpect(jsonPath("$.fixedExtensions[?(@.extension=='js')].schedule.windowEnd",
+                            contains("18:00:00")));
+
+            mockMvc.perform(delete("/api/extensions/js/schedule"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.fixedExtension.schedule").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("프론트엔드 출처의 PUT 사전 요청(CORS preflight)을 허용한다")
+        void shouldAllowPreflight() throws Exception {
+            mockMvc.perform(options("/api/extensions/js/schedule")
+                            .header("Origin", "http://localhost:5173")
+                            .header("Access-Control-Request-Method", "PUT"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Access-Control-Allow-Origin", "http://localhost:5173"))
+                    .andExpect(header().string("Access-Control-Allow-Methods", containsString("PUT")));
+        }
+
+        @Test
+        @DisplayName("구간 끝이 없으면 400 INVALID_SCHEDULE")
+        void shouldRejectHalfWindow() throws Exception {
+            mockMvc.perform(put("/api/extensions/js/schedule")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"windowStart\": \"09:00\"}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code", is("INVALID_SCHEDULE")));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/extensions/export, POST /api/extensions/import")
+    class Transfer {
+
+        @Test
+        @DisplayName("CSV로 내보낸다")
+        void shouldExportCsv() throws Exception {
+            MvcResult result = mockMvc.perform(get("/api/extensions/export").param("format", "csv"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Disposition", containsString("blocked-extensions.csv")))
+                    .andExpect(content().string(containsString("bat,true,false,EXTENSION,BLOCK,0")));
+        }
+
+        @Test
+        @DisplayName("CSV를 가져온다")
+        void shouldImportCsv() throws Exception {
+            mockMvc.perform(post("/api/extensions/import")
+                            .param("format", "csv")
+                            .contentType("text/csv")
+                            .content("sh\npy\n"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.importedCount", is(2)))
+                    .andExpect(jsonPath("$.customCount", is(2)));
+        }
+
+        @Test
+        @DisplayName("지원하지 않는 형식은 400을 반환한다")
+        void shouldReturn400ForUnsupportedFormat() throws Exception {
+            mockMvc.perform(get("/api/extensions/export").param("format", "xml"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code", is("UNSUPPORTED_TRANSFER_FORMAT")));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/extensions/filter")
+    class Filter {
+
+        @Test
+        @DisplayName("Bloom 필터를 ETag와 함께 돌려주고, 규칙이 그대로면 304를 반환한다")
+        void shouldServeFilterWithEtag() throws Exception {
+            MvcResult result = mockMvc.perform(get("/api/extensions/filter"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andExpect(jsonPath("$.algorithm", is("bloom-fnv1a32-double")))
+                    .andExpect(jsonPath("$.defaultAction", is("ALLOW")))
+                    .andExpect(jsonPath("$.bits", notNullValue()))
+                    .andReturn();
+            String etag = result.getResponse().getHeader("ETag");
+            int keyCount = JsonPath.read(result.getResponse().getContentAsString(), "$.keyCount");
+
+            mockMvc.perform(get("/api/extensions/filter").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+
+            mockMvc.perform(post("/api/extensions/custom")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CustomExtensionRequest("sh"))))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/extensions/filter").header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(etag)))
+                    .andExpect(jsonPath("$.keyCount", is(keyCount + 1)));
+        }
+    }
+
+    @Nested
+    @DisplayName("요청당 쿼리 예산")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class QueryBudget {
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Autowired
+        private PolicyCache policyCache;
+
+        // 테스트 트랜잭션 밖에서 실행해 UPDATE/DELETE까지 실제로 flush된 문장 수를 센다
+        private int queries(MockHttpServletRequestBuilder request) throws Exception {
+            mockMvc.perform(request).andExpect(status().isOk());
+            return QueryCountInspector.count();
+        }
+
+        private MockHttpServletRequestBuilder addRequest(String extension) throws Exception {
+            return post("/api/extensions/custom")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new CustomExtensionRequest(extension)));
+        }
+
+        @AfterEach
+        void tearDown() {
+            // 커밋된 변경을 저장소에서 직접 지우므로 정책 스냅샷도 무효화한다
+            repository.findByFixedFalse().forEach(repository::delete);
+            policyCache.invalidate();
+        }
+
+        @Test
+        @DisplayName("조회는 쿼리 1개 이하")
+        void readsShouldUseAtMostOneQuery() throws Exception {
+            queries(addRequest("sh"));
+            queries(addRequest("py"));
+
+            assertThat(queries(get("/api/extensions"))).isLessThanOrEqualTo(1);
+            assertThat(queries(get("/api/extensions/custom").param("size", "1"))).isLessThanOrEqualTo(1);
+            // 변경 직후 첫 검사만 정책 스냅샷을 다시 빌드하고, 이후 검사는 DB를 읽지 않는다
+            assertThat(queries(get("/api/extensions/check").param("filename", "a.sh"))).isLessThanOrEqualTo(1);
+            assertThat(queries(get("/api/extensions/check").param("filename", "a.py"))).isZero();
+        }
+
+        @Test
+        @DisplayName("추가/토글/삭제는 쿼리 2개 이하")
+        void writesShouldUseAtMostTwoQueries() throws Exception {
+            assertThat(queries(addRequest("sh"))).isLessThanOrEqualTo(2);
+            assertThat(queries(patch("/api/extensions/fixed/exe"))).isLessThanOrEqualTo(2);
+            assertThat(queries(patch("/api/extensions/fixed/exe"))).isLessThanOrEqualTo(2);
+            assertThat(queries(delete("/api/extensions/custom/sh"))).isLessThanOrEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("요청당 쿼리 수를 메트릭으로 기록한다")
+        void shouldRecordQueryCountMetric() throws Exception {
+            queries(get("/api/extensions"));
+
+            DistributionSummary summary = meterRegistry.find("blocker.http.queries")
+                    .tags("method", "GET", "uri", "/api/extensions")
+                    .summary();
+            assertThat(summary).isNotNull();
+            assertThat(summary.count()).isPositive();
+            assertThat(summary.max()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("변경 응답과 변경 목록")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class ChangeResponse {
+
+        @Autowired
+        private PolicyCache policyCache;
+
+        @AfterEach
+        void tearDown() {
+            repository.findByFixedFalse().forEach(repository::delete);
+            policyCache.invalidate();
+        }
+
+        private long revisionOf(MvcResult result) throws Exception {
+            return ((Number) JsonPath.read(result.getResponse().getContentAsString(), "$.revision")).longValue();
+        }
+
+        @Test
+        @DisplayName("추가/토글/삭제는 변경된 항목, 커스텀 개수, 목록 revision을 돌려준다")
+        void shouldReturnChangedItemAndRevision() throws Exception {
+            MvcResult list = mockMvc.perform(get("/api/extensions")).andReturn();
+            long listRevision = revisionOf(list);
+            boolean exeActive = JsonPath.<List<Boolean>>read(list.getResponse().getContentAsString(),
+                    "$.fixedExtensions[?(@.extension=='exe')].active").get(0);
+
+            MvcResult added = mockMvc.perform(post("/api/extensions/custom")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CustomExtensionRequest("sh"))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.type", is("ADD")))
+                    .andExpect(jsonPath("$.customExtension.extension", is("sh")))
+                    .andExpect(jsonPath("$.customExtension.ruleType", is("EXTENSION")))
+                    .andExpect(jsonPath("$.fixedExtension").doesNotExist())
+                    .andExpect(jsonPath("$.customCount", is(1)))
+                    .andReturn();
+            assertThat(revisionOf(added)).isEqualTo(listRevision + 1);
+
+            mockMvc.perform(patch("/api/extensions/fixed/exe"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.type", is("TOGGLE")))
+                    .andExpect(jsonPath("$.fixedExtension.extension", is("exe")))
+                    .andExpect(jsonPath("$.fixedExtension.active", is(!exeActive)))
+                    .andExpect(jsonPath("$.customCount", is(1)))
+                    .andExpect(jsonPath("$.revision", is(listRevision + 2)));
+            mockMvc.perform(patch("/api/extensions/fixed/exe"))
+                    .andExpect(jsonPath("$.fixedExtension.active", is(exeActive)));
+
+            mockMvc.perform(delete("/api/extensions/custom/sh"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.type", is("DELETE")))
+                    .andExpect(jsonPath("$.extension", is("sh")))
+                    .andExpect(jsonPath("$.customExtension").doesNotExist())
+                    .andExpect(jsonPath("$.customCount", is(0)));
+        }
+
+        @Test
+        @DisplayName("since 이후 커밋된 변경만 순서대로 돌려준다")
+        void shouldReturnChangesSinceRevision() throws Exception {
+            long listRevision = revisionOf(mockMvc.perform(get("/api/extensions")).andReturn());
+            mockMvc.perform(post("/api/extensions/custom")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new CustomExtensionRequest("sh"))));
+            mockMvc.perform(post("/api/extensions/custom")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new CustomExtensionRequest("exe"))))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(delete("/api/extensions/custom/sh"));
+
+            mockMvc.perform(get("/api/extensions/changes").param("since", String.valueOf(listRevision)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.reset", is(false)))
+                    .andExpect(jsonPath("$.revision", is(listRevision + 2)))
+                    .andExpect(jsonPath("$.changes[*].type", contains("ADD", "DELETE")))
+                    .andExpect(jsonPath("$.changes[*].extension", contains("sh", "sh")));
+
+            mockMvc.perform(get("/api/extensions/changes").param("since", String.valueOf(listRevision + 2)))
+                    .andExpect(jsonPath("$.changes", hasSize(0)));
+        }
+
+        @Test
+        @DisplayName("보관 범위 밖의 revision이면 reset을 돌려준다")
+        void shouldResetForUnknownRevision() throws Exception {
+            mockMvc.perform(get("/api/extensions/changes").param("since", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.reset", is(true)))
+                    .andExpect(jsonPath("$.changes", hasSize(0)));
+        }
+    }
 }
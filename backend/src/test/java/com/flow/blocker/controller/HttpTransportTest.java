@@ -0,0 +1,97 @@
+package com.flow.blocker.controller;
+
+import com.flow.blocker.repository.BlockedExtensionRepository;
+import com.flow.blocker.service.ExtensionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 운영 설정(src/main/resources/application.yml)의 server.* 로 실제 서버를 띄워 HTTP/2와 응답 압축을 확인한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.config.location=file:src/main/resources/application.yml",
+        "spring.datasource.url=jdbc:h2:mem:transport;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "blocker.grpc.enabled=false"
+})
+class HttpTransportTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ExtensionService extensionService;
+
+    @Autowired
+    private BlockedExtensionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.findByFixedFalse().forEach(repository::delete);
+        for (int i = 0; i < 50; i++) {
+            extensionService.addCustomExtension("ext" + i);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.findByFixedFalse().forEach(repository::delete);
+    }
+
+    @Test
+    @DisplayName("TLS 없이도 h2c로 HTTP/2를 협상해야 한다")
+    void shouldNegotiateH2c() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+        HttpResponse<String> response = client.send(request().build(), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.version()).isEqualTo(HttpClient.Version.HTTP_2);
+    }
+
+    @Test
+    @DisplayName("gzip을 요청하면 압축해서, 요청하지 않으면 그대로 보내야 한다")
+    void shouldCompressWhenAccepted() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        HttpResponse<byte[]> plain = client.send(request().build(), HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> gzip = client.send(request().header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(plain.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(gzip.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(gzip.body().length).isLessThan(plain.body().length / 2);
+    }
+
+    @Test
+    @DisplayName("최소 크기보다 작은 응답은 압축하지 않아야 한다")
+    void shouldNotCompressSmallResponses() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/extensions/check?filename=a.exe"))
+                .header("Accept-Encoding", "gzip")
+                .build();
+
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+    }
+
+    private HttpRequest.Builder request() {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/extensions"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.flow.blocker.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivationScheduleTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    // 2024-01-01은 월요일
+    private static ZonedDateTime at(int day, int hour, int minute) {
+        return ZonedDateTime.of(2024, 1, day, hour, minute, 0, 0, ZONE);
+    }
+
+    @Test
+    @DisplayName("업무 시간 외 적용: 평일 09:00~18:00 밖과 주말 내내 적용된다")
+    void shouldApplyOutsideBusinessHours() {
+        ActivationSchedule schedule = ActivationSchedule.builder()
+                .windowStart(LocalTime.of(9, 0))
+                .windowEnd(LocalTime.of(18, 0))
+                .windowDays(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY))
+                .outsideWindow(true)
+                .build();
+
+        assertThat(schedule.isActiveAt(at(1, 8, 59))).isTrue();
+        assertThat(schedule.isActiveAt(at(1, 9, 0))).isFalse();
+        assertThat(schedule.isActiveAt(at(1, 17, 59))).isFalse();
+        assertThat(schedule.isActiveAt(at(1, 18, 0))).isTrue();
+        assertThat(schedule.isActiveAt(at(6, 12, 0))).isTrue();
+
+        assertThat(schedule.nextTransitionAfter(at(5, 17, 0))).isEqualTo(at(5, 18, 0));
+        // 금요일 퇴근 후에는 주말을 건너뛰어 월요일 출근 시각
+        assertThat(schedule.nextTransitionAfter(at(5, 18, 0))).isEqualTo(at(8, 9, 0));
+    }
+
+    @Test
+    @DisplayName("자정을 넘기는 구간은 시작한 날의 요일을 따른다")
+    void shouldFollowStartDayForOvernightWindow() {
+        ActivationSchedule schedule = ActivationSchedule.builder()
+                .windowStart(LocalTime.of(22, 0))
+                .windowEnd(LocalTime.of(2, 0))
+                .windowDays(EnumSet.of(DayOfWeek.FRIDAY))
+                .build();
+
+        assertThat(schedule.isActiveAt(at(5, 21, 59))).isFalse();
+        assertThat(schedule.isActiveAt(at(5, 23, 0))).isTrue();
+        assertThat(schedule.isActiveAt(at(6, 1, 59))).isTrue();
+        assertThat(schedule.isActiveAt(at(6, 2, 0))).isFalse();
+        assertThat(schedule.isActiveAt(at(6, 23, 0))).isFalse();
+        assertThat(schedule.isActiveAt(at(1, 1, 0))).isFalse();
+
+        assertThat(schedule.nextTransitionAfter(at(5, 12, 0))).isEqualTo(at(5, 22, 0));
+        assertThat(schedule.nextTransitionAfter(at(5, 22, 0))).isEqualTo(at(6, 2, 0));
+        assertThat(schedule.nextTransitionAfter(at(6, 2, 0))).isEqualTo(at(12, 22, 0));
+    }
+
+    @Test
+    @DisplayName("기간이 끝나면 더 이상 전환되지 않는다")
+    void shouldStopTransitionsAfterValidUntil() {
+        ActivationSchedule schedule = ActivationSchedule.builder()
+                .validUntil(at(10, 0, 0).toInstant())
+                .build();
+
+        assertThat(schedule.isActiveAt(at(9, 23, 59))).isTrue();
+        assertThat(schedule.isActiveAt(at(10, 0, 0))).isFalse();
+        assertThat(schedule.nextTransitionAfter(at(1, 0, 0))).isEqualTo(at(10, 0, 0));
+        assertThat(schedule.nextTransitionAfter(at(10, 0, 0))).isNull();
+    }
+
+    @Test
+    @DisplayName("먼 미래에 시작하는 기간도 시작 이후 첫 구간 경계를 찾는다")
+    void shouldFindFirstWindowAfterDistantValidFrom() {
+        ActivationSchedule schedule = ActivationSchedule.builder()
+                .validFrom(ZonedDateTime.of(2024, 6, 1, 0, 0, 0, 0, ZONE).toInstant())
+                .windowStart(LocalTime.of(9, 0))
+                .windowEnd(LocalTime.of(18, 0))
+                .build();
+
+        assertThat(schedule.isActiveAt(at(1, 12, 0))).isFalse();
+        assertThat(schedule.nextTransitionAfter(at(1, 12, 0)))
+                .isEqualTo(ZonedDateTime.of(2024, 6, 1, 9, 0, 0, 0, ZONE));
+    }
+
+    @Test
+    @DisplayName("요일을 모두 지정하거나 생략하면 매일로 저장한다")
+    void shouldNormalizeEveryDay() {
+        ActivationSchedule allDays = ActivationSchedule.builder()
+                .windowStart(LocalTime.of(9, 0))
+                .windowEnd(LocalTime.of(18, 0))
+                .windowDays(EnumSet.allOf(DayOfWeek.class))
+                .build();
+
+        assertThat(allDays.getWindowDays()).isZero();
+        assertThat(allDays.getWindowDaySet()).containsExactlyElementsOf(EnumSet.allOf(DayOfWeek.class));
+        assertThat(allDays.describe()).isEqualTo("window=09:00-18:00");
+        assertThat(ActivationSchedule.builder().build().isEmpty()).isTrue();
+    }
+}
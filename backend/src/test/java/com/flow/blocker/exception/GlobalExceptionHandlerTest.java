@@ -0,0 +1,60 @@
+package com.flow.blocker.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flow.blocker.exception.ExtensionException.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(new ObjectMapper());
+
+    @Test
+    @DisplayName("도메인 예외는 스택 트레이스를 채우지 않고, 인자 없는 오류는 공유 인스턴스를 쓴다")
+    void domainExceptionShouldBeStackless() {
+        ExtensionException shared = ExtensionException.of(ErrorCode.INVALID_EXTENSION);
+
+        assertThat(shared.getStackTrace()).isEmpty();
+        assertThat(new ExtensionException(ErrorCode.MAX_CUSTOM_EXCEEDED, 200).getStackTrace()).isEmpty();
+        assertThat(ExtensionException.of(ErrorCode.INVALID_EXTENSION)).isSameAs(shared);
+        // 공유 인스턴스에 상태를 덧붙일 수 없다
+        shared.addSuppressed(new IllegalStateException());
+        assertThat(shared.getSuppressed()).isEmpty();
+        assertThatThrownBy(() -> shared.initCause(new IllegalStateException()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> ExtensionException.of(ErrorCode.MAX_CUSTOM_EXCEEDED))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("고정 메시지 오류는 미리 직렬화한 같은 응답을 돌려준다")
+    void shouldServePrecomputedResponse() {
+        ResponseEntity<byte[]> first = handler.handleExtensionException(ExtensionException.of(ErrorCode.DUPLICATE_EXTENSION));
+        ResponseEntity<byte[]> second = handler.handleExtensionException(new ExtensionException(ErrorCode.DUPLICATE_EXTENSION));
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(first.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(new String(first.getBody(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"code\":\"DUPLICATE_EXTENSION\",\"message\":\"이미 등록된 확장자입니다.\"}");
+    }
+
+    @Test
+    @DisplayName("인자가 있는 오류는 메시지를 담아 새로 직렬화한다")
+    void shouldSerializeFormattedMessage() {
+        ResponseEntity<byte[]> response = handler.handleExtensionException(
+                new ExtensionException(ErrorCode.MAX_CUSTOM_EXCEEDED, 200));
+
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8))
+                .contains("\"code\":\"MAX_CUSTOM_EXCEEDED\"")
+                .contains("최대 200개");
+    }
+}
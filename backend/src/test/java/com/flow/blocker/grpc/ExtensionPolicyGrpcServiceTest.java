@@ -0,0 +1,193 @@
+package com.flow.blocker.grpc;
+
+import com.flow.blocker.grpc.v1.ChangeType;
+import com.flow.blocker.grpc.v1.CheckRequest;
+import com.flow.blocker.grpc.v1.CheckResponse;
+import com.flow.blocker.grpc.v1.ExtensionPolicyGrpc;
+import com.flow.blocker.grpc.v1.PolicyUpdate;
+import com.flow.blocker.grpc.v1.RuleType;
+import com.flow.blocker.grpc.v1.WatchPolicyRequest;
+import com.flow.blocker.repository.BlockedExtensionRepository;
+import com.flow.blocker.service.ExtensionService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"blocker.grpc.enabled=true", "blocker.grpc.port=0"})
+class ExtensionPolicyGrpcServiceTest {
+
+    @Autowired
+    private GrpcServerLifecycle server;
+
+    @Autowired
+    private ExtensionService extensionService;
+
+    @Autowired
+    private BlockedExtensionRepository repository;
+
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        repository.findByFixedFalse().forEach(repository::delete);
+        channel = ManagedChannelBuilder.forAddress("localhost", server.getPort()).usePlaintext().build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        repository.findByFixedFalse().forEach(repository::delete);
+    }
+
+    @Test
+    @DisplayName("Check는 REST 검사와 같은 결과를 반환해야 한다")
+    void check() {
+        extensionService.addCustomExtension("php*");
+        ExtensionPolicyGrpc.ExtensionPolicyBlockingStub stub = ExtensionPolicyGrpc.newBlockingStub(channel);
+
+        CheckResponse blocked = stub.check(CheckRequest.newBuilder().setFilename("/upload/shell.php5").build());
+        CheckResponse allowed = stub.check(CheckRequest.newBuilder().setFilename("report.pdf").build());
+
+        assertThat(blocked.getBlocked()).isTrue();
+        assertThat(blocked.getMatchedRule()).isEqualTo("php*");
+        assertThat(blocked.getRuleType()).isEqualTo(RuleType.PREFIX);
+        assertThat(allowed.getBlocked()).isFalse();
+        assertThat(allowed.getMatchedRule()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("빈 파일명은 INVALID_ARGUMENT로 거부해야 한다")
+    void checkEmptyFilename() {
+        ExtensionPolicyGrpc.ExtensionPolicyBlockingStub stub = ExtensionPolicyGrpc.newBlockingStub(channel);
+
+        assertThatThrownBy(() -> stub.check(CheckRequest.newBuilder().setFilename(" ").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+    }
+
+    @Test
+    @DisplayName("CheckStream은 요청 순서대로 correlation id와 함께 응답해야 한다")
+    void checkStream() throws InterruptedException {
+        extensionService.addCustomExtension("sh");
+        List<CheckResponse> responses = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        StreamObserver<CheckRequest> requests = ExtensionPolicyGrpc.newStub(channel).checkStream(
+                new StreamObserver<>() {
+                    @Override
+                    public void onNext(CheckResponse response) {
+                        responses.add(response);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+        requests.onNext(CheckRequest.newBuilder().setFilename("run.sh").setCorrelationId(1).build());
+        requests.onNext(CheckRequest.newBuilder().setFilename("notes.txt").setCorrelationId(2).build());
+        requests.onNext(CheckRequest.newBuilder().setFilename("a.b.sh").setCorrelationId(3).build());
+        requests.onCompleted();
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(responses).extracting(CheckResponse::getCorrelationId).containsExactly(1L, 2L, 3L);
+        assertThat(responses).extracting(CheckResponse::getBlocked).containsExactly(true, false, true);
+    }
+
+    @Test
+    @DisplayName("CheckStream은 잘못된 항목에 항목별 오류를 돌려주고 스트림을 유지해야 한다")
+    void checkStreamInvalidItem() throws InterruptedException {
+        extensionService.addCustomExtension("sh");
+        List<CheckResponse> responses = new CopyOnWriteArrayList<>();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+
+        StreamObserver<CheckRequest> requests = ExtensionPolicyGrpc.newStub(channel).checkStream(
+                new StreamObserver<>() {
+                    @Override
+                    public void onNext(CheckResponse response) {
+                        responses.add(response);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        errors.add(t);
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+        requests.onNext(CheckRequest.newBuilder().setFilename(" ").setCorrelationId(1).build());
+        requests.onNext(CheckRequest.newBuilder().setFilename("run.sh").setCorrelationId(2).build());
+        requests.onCompleted();
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(errors).isEmpty();
+        assertThat(responses).extracting(CheckResponse::getCorrelationId).containsExactly(1L, 2L);
+        assertThat(responses.get(0).getErrorCode()).isEqualTo("EMPTY_FILENAME");
+        assertThat(responses.get(0).getErrorMessage()).isNotEmpty();
+        assertThat(responses.get(1).getErrorCode()).isEmpty();
+        assertThat(responses.get(1).getBlocked()).isTrue();
+    }
+
+    @Test
+    @DisplayName("WatchPolicy는 현재 규칙을 보내고 커밋된 변경마다 다시 보내야 한다")
+    void watchPolicy() throws InterruptedException {
+        BlockingQueue<PolicyUpdate> updates = new LinkedBlockingQueue<>();
+        ExtensionPolicyGrpc.newStub(channel).watchPolicy(WatchPolicyRequest.getDefaultInstance(),
+                new StreamObserver<>() {
+                    @Override
+                    public void onNext(PolicyUpdate update) {
+                        updates.add(update);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+
+        PolicyUpdate initial = updates.poll(5, TimeUnit.SECONDS);
+        assertThat(initial).isNotNull();
+        assertThat(initial.getChangeType()).isEqualTo(ChangeType.CHANGE_TYPE_UNSPECIFIED);
+        assertThat(initial.getRulesList()).noneMatch(rule -> rule.getPattern().equals("watched"));
+
+        extensionService.addCustomExtension("watched");
+
+        PolicyUpdate changed = updates.poll(5, TimeUnit.SECONDS);
+        assertThat(changed).isNotNull();
+        assertThat(changed.getChangeType()).isEqualTo(ChangeType.ADD);
+        assertThat(changed.getExtension()).isEqualTo("watched");
+        assertThat(changed.getRulesList()).anyMatch(rule -> rule.getPattern().equals("watched"));
+        assertThat(changed.getRevision()).isGreaterThan(initial.getRevision());
+    }
+}
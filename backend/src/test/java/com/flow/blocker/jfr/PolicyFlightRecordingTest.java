@@ -0,0 +1,100 @@
+package com.flow.blocker.jfr;
+
+import com.flow.blocker.exception.ExtensionException;
+import com.flow.blocker.repository.BlockedExtensionRepository;
+import com.flow.blocker.service.ExtensionService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "blocker.jfr.enabled=true",
+        "blocker.jfr.dump-path=target/jfr/flow-blocker-test.jfr",
+        "blocker.jfr.check-threshold=0ms"
+})
+class PolicyFlightRecordingTest {
+
+    @Autowired
+    private PolicyFlightRecording flightRecording;
+
+    @Autowired
+    private ExtensionService extensionService;
+
+    @Autowired
+    private BlockedExtensionRepository repository;
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        repository.findByFixedFalse().forEach(repository::delete);
+        extensionService.checkFilename("warm.txt");
+    }
+
+    @Test
+    @DisplayName("검사/변경/재빌드마다 정책 이벤트가 기록되어야 한다")
+    void shouldRecordPolicyEvents() throws Exception {
+        Instant since = Instant.now();
+
+        extensionService.addCustomExtension("jfrext");
+        extensionService.checkFilename("report.jfrext");
+        extensionService.getExtensionFilter();
+        extensionService.toggleFixedExtension("exe");
+        extensionService.toggleFixedExtension("exe");
+        extensionService.deleteCustomExtension("jfrext");
+        assertThatThrownBy(() -> extensionService.addCustomExtension("exe"))
+                .isInstanceOf(ExtensionException.class);
+
+        List<RecordedEvent> events = dump(since);
+
+        RecordedEvent check = events.stream()
+                .filter(e -> e.getEventType().getName().equals(PolicyCheckEvent.NAME))
+                .filter(e -> "report.jfrext".equals(e.getString("filename")))
+                .findFirst().orElseThrow();
+        assertThat(check.getBoolean("blocked")).isTrue();
+        assertThat(check.getString("rule")).isEqualTo("jfrext");
+        assertThat(check.getString("ruleType")).isEqualTo("EXTENSION");
+
+        List<RecordedEvent> mutations = events.stream()
+                .filter(e -> e.getEventType().getName().equals(PolicyMutationEvent.NAME))
+                .toList();
+        assertThat(mutations).extracting(e -> e.getString("operation"))
+                .containsExactly("ADD", "TOGGLE", "TOGGLE", "DELETE", "ADD");
+        assertThat(mutations).extracting(e -> e.getString("outcome"))
+                .containsExactly("COMMITTED", "COMMITTED", "COMMITTED", "COMMITTED", "ROLLED_BACK");
+        assertThat(mutations.get(0).getString("extension")).isEqualTo("jfrext");
+        assertThat(mutations).allSatisfy(e -> {
+            assertThat(e.getLong("dbTime")).isPositive();
+            assertThat(e.getLong("dbTime")).isLessThanOrEqualTo(e.getDuration().toNanos());
+        });
+
+        List<RecordedEvent> rebuilds = events.stream()
+                .filter(e -> e.getEventType().getName().equals(PolicyRebuildEvent.NAME))
+                .toList();
+        assertThat(rebuilds).extracting(e -> e.getString("structure"))
+                .contains(PolicyRebuildEvent.SNAPSHOT, PolicyRebuildEvent.BLOOM_FILTER);
+        assertThat(rebuilds).allSatisfy(e -> assertThat(e.getLong("sizeBytes")).isPositive());
+    }
+
+    private List<RecordedEvent> dump(Instant since) throws Exception {
+        Path file = tempDir.resolve("dump.jfr");
+        flightRecording.recording().dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().startsWith("com.flow.blocker."))
+                .filter(e -> !e.getStartTime().isBefore(since))
+                .toList();
+    }
+}
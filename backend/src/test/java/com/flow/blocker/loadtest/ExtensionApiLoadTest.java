@@ -0,0 +1,61 @@
+package com.flow.blocker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flow.blocker.repository.BlockedExtensionRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 애플리케이션을 임의 포트로 띄우고 HTTP 부하를 건다. 결과는 target/loadtest/{이름}.json 으로 남긴다.
+ * 실행: ./mvnw test -Ploadtest -Dloadtest.concurrency=32 -Dloadtest.duration=30s -Dloadtest.mix=read=70,write=10,check=20
+ * -Dloadtest.base-url 을 주면 이미 떠 있는 서버를 대상으로 한다.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ExtensionApiLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BlockedExtensionRepository repository;
+
+    @Test
+    void mixedWorkload() throws InterruptedException, IOException {
+        repository.findByFixedFalse().forEach(repository::delete);
+
+        String baseUrl = System.getProperty("loadtest.base-url", "http://localhost:" + port);
+        LoadTestDriver.Options options = new LoadTestDriver.Options(
+                URI.create(baseUrl),
+                Integer.getInteger("loadtest.concurrency", 16),
+                duration("loadtest.warmup", "5s"),
+                duration("loadtest.duration", "20s"),
+                LoadTestDriver.Options.parseMix(System.getProperty("loadtest.mix", "read=70,write=10,check=20")));
+
+        LoadTestDriver.Report report;
+        try (LoadTestDriver driver = new LoadTestDriver(options)) {
+            report = driver.run();
+        }
+
+        File output = new File("target/loadtest/" + System.getProperty("loadtest.name", "mixed") + ".json");
+        output.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+
+        assertThat(report.total().requests()).isPositive();
+    }
+
+    private static Duration duration(String key, String defaultValue) {
+        return Duration.parse("PT" + System.getProperty(key, defaultValue).toUpperCase(java.util.Locale.ROOT));
+    }
+}
@@ -0,0 +1,59 @@
+package com.flow.blocker.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 워커 스레드 하나가 소유하는 지연시간 기록기. 측정 중에는 동기화 없이 배열에만 쓰고,
+ * 측정이 끝난 뒤 {@link #merge}로 합쳐 백분위수를 계산한다.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1 << 12];
+    private int size;
+    private long errors;
+
+    void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size << 1);
+        }
+        samples[size++] = nanos;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    static Summary merge(Iterable<LatencyRecorder> recorders, double seconds) {
+        int total = 0;
+        long errors = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.size;
+            errors += recorder.errors;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, all, offset, recorder.size);
+            offset += recorder.size;
+        }
+        Arrays.sort(all);
+        return new Summary(total, errors, seconds > 0 ? total / seconds : 0,
+                micros(all, 0.50), micros(all, 0.99), micros(all, 0.999),
+                all.length == 0 ? 0 : all[all.length - 1] / 1_000.0);
+    }
+
+    private static double micros(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000.0;
+    }
+
+    /**
+     * 지연시간 단위는 마이크로초.
+     */
+    record Summary(long requests, long errors, double throughput,
+                   double p50, double p99, double p999, double max) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.flow.blocker.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 읽기/쓰기/검사 요청을 가중치대로 섞어 고정된 수의 워커가 쉬지 않고(closed loop) 보내는 HTTP 부하 드라이버.
+ * 워밍업 구간의 요청은 집계하지 않는다. HTTP 클라이언트 스레드 풀은 close()에서 정리한다.
+ */
+public class LoadTestDriver implements AutoCloseable {
+
+    private static final String[] FILENAMES = {
+            "report.pdf", "setup.exe", "photo.JPG", "archive.tar.gz", "script.sh",
+            "C:\\Users\\me\\run.bat", "/var/data/notes.txt", "malware.exe.txt", "image.png", "noextension"
+    };
+
+    public enum Scenario {
+        /** GET /api/extensions */
+        READ,
+        /** POST /api/extensions/custom + DELETE (각각 한 건으로 집계) */
+        WRITE,
+        /** GET /api/extensions/check */
+        CHECK
+    }
+
+    /**
+     * @param mix 시나리오별 가중치 (예: read=70,write=10,check=20)
+     */
+    public record Options(URI baseUri, int concurrency, Duration warmup, Duration duration,
+                          Map<Scenario, Integer> mix) {
+
+        public static Map<Scenario, Integer> parseMix(String mix) {
+            Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+            for (String entry : mix.split(",")) {
+                String[] pair = entry.trim().split("=");
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("잘못된 시나리오 가중치: " + entry);
+                }
+                weights.put(Scenario.valueOf(pair[0].trim().toUpperCase(java.util.Locale.ROOT)),
+                        Integer.parseInt(pair[1].trim()));
+            }
+            return weights;
+        }
+    }
+
+    public record Report(int concurrency, double durationSeconds,
+                         LatencyRecorder.Summary total, Map<String, LatencyRecorder.Summary> scenarios) {
+    }
+
+    private final Options options;
+    private final ExecutorService clientExecutor;
+    private final HttpClient client;
+    private final Scenario[] wheel;
+
+    public LoadTestDriver(Options options) {
+        this.options = options;
+        this.clientExecutor = Executors.newFixedThreadPool(Math.max(2, options.concurrency() / 4));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+        this.wheel = buildWheel(options.mix());
+    }
+
+    public Report run() throws InterruptedException {
+        int concurrency = options.concurrency();
+        List<Map<Scenario, LatencyRecorder>> perWorker = new ArrayList<>(concurrency);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+
+        for (int w = 0; w < concurrency; w++) {
+            Map<Scenario, LatencyRecorder> recorders = new EnumMap<>(Scenario.class);
+            for (Scenario scenario : Scenario.values()) {
+                recorders.put(scenario, new LatencyRecorder());
+            }
+            perWorker.add(recorders);
+            int worker = w;
+            workers.execute(() -> {
+                try {
+                    runWorker(worker, recorders, measureFrom, end);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        done.await();
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+
+        double seconds = options.duration().toNanos() / 1e9;
+        Map<String, LatencyRecorder.Summary> scenarios = new LinkedHashMap<>();
+        List<LatencyRecorder> all = new ArrayList<>();
+        for (Scenario scenario : Scenario.values()) {
+            List<LatencyRecorder> recorders = perWorker.stream().map(m -> m.get(scenario)).toList();
+            all.addAll(recorders);
+            if (options.mix().getOrDefault(scenario, 0) > 0) {
+                scenarios.put(scenario.name().toLowerCase(java.util.Locale.ROOT),
+                        LatencyRecorder.merge(recorders, seconds));
+            }
+        }
+        return new Report(concurrency, seconds, LatencyRecorder.merge(all, seconds), scenarios);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        clientExecutor.shutdown();
+        clientExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void runWorker(int worker, Map<Scenario, LatencyRecorder> recorders, long measureFrom, long end) {
+        // 워커마다 고유한 이름을 써서 중복 오류 없이 추가/삭제를 반복한다
+        String extension = "lt" + worker;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            Scenario scenario = wheel[random.nextInt(wheel.length)];
+            switch (scenario) {
+                case READ -> send(get("/api/extensions"), recorders.get(scenario), measureFrom);
+                case CHECK -> send(get("/api/extensions/check?filename="
+                                + URLEncoder.encode(FILENAMES[random.nextInt(FILENAMES.length)], StandardCharsets.UTF_8)),
+                        recorders.get(scenario), measureFrom);
+                case WRITE -> {
+                    send(request("/api/extensions/custom")
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString("{\"extension\":\"" + extension + "\"}"))
+                                    .build(),
+                            recorders.get(scenario), measureFrom);
+                    send(request("/api/extensions/custom/" + extension).DELETE().build(),
+                            recorders.get(scenario), measureFrom);
+                }
+            }
+        }
+    }
+
+    private void send(HttpRequest request, LatencyRecorder recorder, long measureFrom) {
+        long begin = System.nanoTime();
+        boolean ok;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() < 400;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            ok = false;
+        }
+        long elapsed = System.nanoTime() - begin;
+        if (begin < measureFrom) {
+            return;
+        }
+        if (ok) {
+            recorder.record(elapsed);
+        } else {
+            recorder.error();
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(options.baseUri().resolve(path)).timeout(Duration.ofSeconds(10));
+    }
+
+    private static Scenario[] buildWheel(Map<Scenario, Integer> mix) {
+        List<Scenario> wheel = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(scenario);
+            }
+        });
+        if (wheel.isEmpty()) {
+            throw new IllegalArgumentException("시나리오 가중치가 모두 0입니다");
+        }
+        return wheel.toArray(Scenario[]::new);
+    }
+}
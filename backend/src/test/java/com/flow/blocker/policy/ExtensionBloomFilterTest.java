@@ -0,0 +1,114 @@
+package com.flow.blocker.policy;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExtensionBloomFilterTest {
+
+    // 검사 API(ExtensionService.checkFilename)가 exe 규칙으로 차단하는 가린 파일명
+    private static final String[] OBFUSCATED_EXE = {"evil.exe.", "evil.exe ", "evil.exe. . ",
+            "evil.\uFF45\uFF58\uFF45", "evil.e\u200Bxe", "evil.e\u200Dxe", "photo\u202Egpj.exe", "evil.exe\uFE0F"};
+
+    private static String token(Random random, int length) {
+        StringBuilder token = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            token.append((char) ('a' + random.nextInt(26)));
+        }
+        return token.toString();
+    }
+
+    @Test
+    @DisplayName("차단되는 파일명은 항상 후보로 판정한다 (거짓 음성 없음)")
+    void shouldNeverMissBlockedFilename() {
+        Random random = new Random(7);
+        List<PolicyRule> rules = new ArrayList<>();
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String pattern = token(random, 2 + random.nextInt(4));
+            patterns.add(pattern);
+            RuleType type = RuleType.values()[random.nextInt(RuleType.values().length)];
+            rules.add(new PolicyRule(type == RuleType.PREFIX ? pattern + "*" : pattern + i, type,
+                    random.nextInt(5) == 0 ? RuleAction.ALLOW : RuleAction.BLOCK, random.nextInt(3)));
+        }
+        PolicySnapshot snapshot = new PolicySnapshot(3, rules, RuleAction.ALLOW);
+        ExtensionBloomFilter filter = ExtensionBloomFilter.of(snapshot, 0.01);
+
+        int blocked = 0;
+        for (int i = 0; i < 50_000; i++) {
+            PolicyRule rule = rules.get(random.nextInt(rules.size()));
+            String extension = rule.pattern().replace("*", token(random, random.nextInt(3)));
+            String filename = switch (random.nextInt(4)) {
+                case 0 -> "file." + extension.toUpperCase();
+                case 1 -> "file." + extension + "." + token(random, 3);
+                case 2 -> "a.b." + extension;
+                default -> token(random, 5) + "." + token(random, 3);
+            };
+            if (snapshot.isBlocked(filename, 0, filename.length())) {
+                blocked++;
+                assertThat(filter.mightBlock(filename)).as(filename).isTrue();
+            }
+        }
+        assertThat(blocked).isGreaterThan(1000);
+    }
+
+    @Test
+    @DisplayName("깨끗한 파일명의 오탐률이 설정값 근처이다")
+    void shouldKeepFalsePositiveRateNearTarget() {
+        Random random = new Random(11);
+        List<PolicyRule> rules = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            rules.add(new PolicyRule("r" + i, RuleType.EXTENSION));
+        }
+        for (double target : new double[]{0.01, 0.001}) {
+            ExtensionBloomFilter filter = ExtensionBloomFilter.of(new PolicySnapshot(1, rules, RuleAction.ALLOW), target);
+            int hits = 0;
+            int samples = 200_000;
+            for (int i = 0; i < samples; i++) {
+                if (filter.mightContain('e', "x" + token(random, 6), 0, 7)) {
+                    hits++;
+                }
+            }
+            double measured = (double) hits / samples;
+            assertThat(measured).as("target %s", target).isLessThan(target * 1.5);
+            // 규칙당 약 -1.44 log2(p) 비트
+            assertThat(filter.bitCount() / 8).isLessThan((int) (10_000 * -1.5 * Math.log(target) / Math.log(2) / 8));
+        }
+    }
+
+    @Test
+    @DisplayName("허용 규칙은 넣지 않으며 잘못된 오탐률은 거부한다")
+    void shouldSkipAllowRulesAndValidateRate() {
+        ExtensionBloomFilter filter = ExtensionBloomFilter.of(new PolicySnapshot(1, List.of(
+                new PolicyRule("png", RuleType.EXTENSION, RuleAction.ALLOW, 0),
+                new PolicyRule("exe", RuleType.EXTENSION)), RuleAction.ALLOW), 0.01);
+
+        assertThat(filter.keyCount()).isEqualTo(1);
+        assertThat(filter.mightBlock("photo.png")).isFalse();
+        assertThat(filter.mightBlock("Setup.EXE")).isTrue();
+        assertThat(filter.mightBlock("설치.exe")).isTrue();
+        assertThat(filter.mightBlock("noextension")).isFalse();
+        assertThatThrownBy(() -> ExtensionBloomFilter.of(new PolicySnapshot(1, List.of(), RuleAction.ALLOW), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("가린 파일명도 검사 API와 같이 정규화해 후보로 판정한다")
+    void shouldCanonicalizeObfuscatedFilename() {
+        PolicySnapshot snapshot = new PolicySnapshot(1, List.of(new PolicyRule("exe", RuleType.EXTENSION)),
+                RuleAction.ALLOW);
+        ExtensionBloomFilter filter = ExtensionBloomFilter.of(snapshot, 0.01);
+
+        for (String filename : OBFUSCATED_EXE) {
+            assertThat(filter.mightBlock(filename)).as(filename).isTrue();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.flow.blocker.policy;
+
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExtensionMatcherTest {
+
+    private static ExtensionMatcher compile(PolicyRule... rules) {
+        return ExtensionMatcher.compile(List.of(rules));
+    }
+
+    private static PolicyRule rule(String pattern, RuleType type) {
+        return new PolicyRule(pattern, type);
+    }
+
+    @Nested
+    @DisplayName("EXTENSION 규칙")
+    class ExtensionRule {
+
+        @Test
+        @DisplayName("마지막 확장자가 일치하면 차단된다")
+        void shouldMatchLastExtension() {
+            ExtensionMatcher matcher = compile(rule("exe", RuleType.EXTENSION));
+
+            assertThat(matcher.match("setup.exe")).isZero();
+            assertThat(matcher.match("SETUP.EXE")).isZero();
+            assertThat(matcher.match("setup.exe.txt")).isEqualTo(ExtensionMatcher.NO_MATCH);
+            assertThat(matcher.match("setup.exes")).isEqualTo(ExtensionMatcher.NO_MATCH);
+            assertThat(matcher.match("exe")).isEqualTo(ExtensionMatcher.NO_MATCH);
+        }
+
+        @Test
+        @DisplayName("다중 확장자가 일치하면 차단된다")
+        void shouldMatchMultiPartExtension() {
+            ExtensionMatcher matcher = compile(rule("tar.gz", RuleType.EXTENSION));
+
+            assertThat(matcher.match("backup.tar.gz")).isZero();
+            assertThat(matcher.match("backup.gz")).isEqualTo(ExtensionMatcher.NO_MATCH);
+            assertThat(matcher.match("backup.tar.gz.txt")).isEqualTo(ExtensionMatcher.NO_MATCH);
+        }
+    }
+
+    @Nested
+    @DisplayName("PREFIX 규칙")
+    class PrefixRule {
+
+        @Test
+        @DisplayName("마지막 확장자가 접두사로 시작하면 차단된다")
+        void shouldMatchPrefixFamily() {
+            ExtensionMatcher matcher = compile(rule("php*", RuleType.PREFIX));
+
+            assertThat(matcher.match("index.php")).isZero();
+            assertThat(matcher.match("index.php5")).isZero();
+            assertThat(matcher.match("index.phtml")).isEqualTo(ExtensionMatcher.NO_MATCH);
+            assertThat(matcher.match("index.php.txt")).isEqualTo(ExtensionMatcher.NO_MATCH);
+            assertThat(matcher.match("php5")).isEqualTo(ExtensionMatcher.NO_MATCH);
+        }
+    }
+
+    @Nested
+    @DisplayName("SEGMENT 규칙")
+    class SegmentRule {
+
+        @Test
+        @DisplayName("중간 확장자에 포함되어도 차단된다")
+        void shouldMatchInnerExtension() {
+            ExtensionMatcher matcher = compile(rule("exe", RuleType.SEGMENT));
+
+            assertThat(matcher.match("invoice.exe.pdf")).isZero();
+            assertThat(matcher.match("invoice.pdf.exe")).isZero();
+            assertThat(matcher.match("exe.pdf")).isEqualTo(ExtensionMatcher.NO_MATCH);
+            assertThat(matcher.match("invoice.exec.pdf")).isEqualTo(ExtensionMatcher.NO_MATCH);
+        }
+    }
+
+    @Test
+    @DisplayName("여러 규칙이 일치하면 가장 앞선 규칙을 반환한다")
+    void shouldReturnHighestPriorityRule() {
+        ExtensionMatcher matcher = compile(
+                rule("gz", RuleType.EXTENSION),
+                rule("tar.gz", RuleType.EXTENSION),
+                rule("tar", RuleType.SEGMENT));
+
+        assertThat(matcher.match("a.tar.gz")).isZero();
+        assertThat(matcher.match("a.tar.zip")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("겹치는 패턴도 실패 링크를 따라 모두 찾는다")
+    void shouldFollowFailureLinks() {
+        ExtensionMatcher matcher = compile(
+                rule("abc", RuleType.EXTENSION),
+                rule("bc", RuleType.SEGMENT),
+                rule("c", RuleType.EXTENSION));
+
+        assertThat(matcher.match("x.ab.bc")).isEqualTo(1);
+        assertThat(matcher.match("x.abc")).isZero();
+        assertThat(matcher.match("x.a.c")).isEqualTo(2);
+        assertThat(matcher.match("x.ab.abc.d")).isEqualTo(ExtensionMatcher.NO_MATCH);
+    }
+
+    @Test
+    @DisplayName("지정한 구간만 검사한다")
+    void shouldMatchOnlyGivenRange() {
+        ExtensionMatcher matcher = compile(rule("exe", RuleType.EXTENSION));
+
+        assertThat(matcher.match("dir.exe/readme.txt", 8, 18)).isEqualTo(ExtensionMatcher.NO_MATCH);
+        assertThat(matcher.match("dir/run.exe  ", 4, 11)).isZero();
+    }
+
+    @Test
+    @DisplayName("규칙이 많아도 결과가 정확하다")
+    void shouldMatchWithManyRules() {
+        List<PolicyRule> rules = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            rules.add(rule("x" + i, RuleType.EXTENSION));
+        }
+        ExtensionMatcher matcher = ExtensionMatcher.compile(rules);
+
+        assertThat(matcher.match("file.x9999")).isEqualTo(9999);
+        assertThat(matcher.match("file.x10000")).isEqualTo(ExtensionMatcher.NO_MATCH);
+        assertThat(matcher.ruleCount()).isEqualTo(10_000);
+    }
+}
@@ -0,0 +1,101 @@
+package com.flow.blocker.policy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExtensionNormalizerTest {
+
+    private Locale originalLocale;
+
+    @BeforeEach
+    void setUp() {
+        originalLocale = Locale.getDefault();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Locale.setDefault(originalLocale);
+    }
+
+    // 기존 구현 (로케일만 ROOT로 고정)
+    private static String reference(String extension) {
+        String normalized = extension.trim().toLowerCase(Locale.ROOT);
+        if (normalized.startsWith("*.")) {
+            normalized = normalized.substring(2);
+        } else if (normalized.startsWith(".")) {
+            normalized = normalized.substring(1);
+        }
+        return normalized;
+    }
+
+    @Test
+    @DisplayName("공백, 대문자, 선행 *. 과 . 을 정규화한다")
+    void shouldNormalize() {
+        assertThat(ExtensionNormalizer.normalize("  EXE  ")).isEqualTo("exe");
+        assertThat(ExtensionNormalizer.normalize("*.Sh")).isEqualTo("sh");
+        assertThat(ExtensionNormalizer.normalize(".Tar.GZ")).isEqualTo("tar.gz");
+        assertThat(ExtensionNormalizer.normalize("PHP*")).isEqualTo("php*");
+        assertThat(ExtensionNormalizer.normalize("..exe")).isEqualTo(".exe");
+        assertThat(ExtensionNormalizer.normalize("   ")).isEmpty();
+        assertThat(ExtensionNormalizer.normalize(new StringBuilder(" *.BAT"))).isEqualTo("bat");
+    }
+
+    @Test
+    @DisplayName("이미 정규화된 입력은 새 문자열을 만들지 않는다")
+    void shouldReturnSameInstanceWhenAlreadyNormalized() {
+        String extension = "tar.gz";
+
+        assertThat(ExtensionNormalizer.normalize(extension)).isSameAs(extension);
+    }
+
+    @Test
+    @DisplayName("터키어 로케일에서도 I는 점 없는 ı가 아닌 i로 바뀐다")
+    void shouldIgnoreTurkishLocale() {
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+        assertThat("BIN".toLowerCase()).isEqualTo("bın");
+        assertThat(ExtensionNormalizer.normalize("BIN")).isEqualTo("bin");
+        assertThat(ExtensionNormalizer.normalize("*.INI")).isEqualTo("ini");
+    }
+
+    @Test
+    @DisplayName("ASCII가 아닌 문자는 기존과 같이 Locale.ROOT 소문자 변환을 따른다")
+    void shouldMatchReferenceForNonAscii() {
+        // KELVIN SIGN(U+212A)은 ASCII k로, 점 있는 İ(U+0130)는 두 글자로 바뀐다
+        assertThat(ExtensionNormalizer.normalize("Key")).isEqualTo("key");
+        assertThat(ExtensionNormalizer.normalize("İni")).isEqualTo(reference("İni"));
+        assertThat(ExtensionNormalizer.normalize(" .ÄBC ")).isEqualTo("äbc");
+    }
+
+    @Test
+    @DisplayName("임의 입력에 대해 기존 구현과 결과가 같다")
+    void shouldMatchReferenceForRandomInput() {
+        char[] alphabet = " \t.*abcxyzABCXYZ019/\\ÄKİ".toCharArray();
+        Random random = new Random(7);
+        for (int n = 0; n < 20_000; n++) {
+            char[] chars = new char[random.nextInt(8)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String input = new String(chars);
+
+            assertThat(ExtensionNormalizer.normalize(input)).as("input=[%s]", input).isEqualTo(reference(input));
+        }
+    }
+
+    @Test
+    @DisplayName("trimRange는 원본 위의 구간만 계산한다")
+    void shouldComputeRange() {
+        String input = "file:  *.EXE ";
+        long range = ExtensionNormalizer.trimRange(input, 5, input.length());
+
+        assertThat(input.substring(ExtensionNormalizer.start(range), ExtensionNormalizer.end(range))).isEqualTo("EXE");
+    }
+}
@@ -0,0 +1,148 @@
+package com.flow.blocker.policy;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilenameCanonicalizerTest {
+
+    private static final String[] INVISIBLE = {"\u200B", "\u200C", "\u200D", "\u200E", "\u200F", "\u202A", "\u202E",
+            "\u2060", "\u2066", "\u2069", "\uFEFF", "\u00AD", "\uFE0F", "\uDB40\uDC01"};
+    private static final String[] TRAILING = {".", " ", "\u3000", "\u00A0", "\uFF0E"};
+
+    // 검사 경로와 같은 방식으로 구간을 계산해 꺼낸다
+    private static String canonical(String s, int from, int to) {
+        long scan = FilenameCanonicalizer.scan(s, from, to);
+        if (FilenameCanonicalizer.needsRewrite(scan)) {
+            return FilenameCanonicalizer.rewrite(s, from, to, scan);
+        }
+        return s.substring(ExtensionNormalizer.start(scan), ExtensionNormalizer.end(scan));
+    }
+
+    // 규칙을 따로 적은 느린 구현 (기준)
+    private static String reference(String s) {
+        StringBuilder out = new StringBuilder();
+        s.codePoints().forEach(c -> {
+            if (Character.getType(c) == Character.FORMAT || (c >= 0xFE00 && c <= 0xFE0F)) {
+                return;
+            }
+            if (c >= 0xFF01 && c <= 0xFF5E) {
+                c -= 0xFEE0;
+            } else if (Character.getType(c) == Character.SPACE_SEPARATOR) {
+                c = ' ';
+            }
+            out.appendCodePoint(c);
+        });
+        int start = 0;
+        while (start < out.length() && out.charAt(start) <= ' ') {
+            start++;
+        }
+        int end = out.length();
+        while (end > start && (out.charAt(end - 1) <= ' ' || out.charAt(end - 1) == '.')) {
+            end--;
+        }
+        return out.substring(start, end);
+    }
+
+    @Test
+    @DisplayName("Windows가 버리는 끝의 점과 공백을 뺀다")
+    void shouldStripTrailingDotsAndSpaces() {
+        assertThat(FilenameCanonicalizer.canonicalize("evil.exe.")).isEqualTo("evil.exe");
+        assertThat(FilenameCanonicalizer.canonicalize("evil.exe ")).isEqualTo("evil.exe");
+        assertThat(FilenameCanonicalizer.canonicalize("  evil.exe . .. ")).isEqualTo("evil.exe");
+        assertThat(FilenameCanonicalizer.canonicalize(".htaccess")).isEqualTo(".htaccess");
+        assertThat(FilenameCanonicalizer.canonicalize("my file.tar.gz")).isEqualTo("my file.tar.gz");
+        assertThat(FilenameCanonicalizer.canonicalize(" . . ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("폭 없는 문자와 방향 제어 문자를 지우고 전각 문자를 반각으로 접는다")
+    void shouldRemoveInvisibleAndFoldFullwidth() {
+        assertThat(FilenameCanonicalizer.canonicalize("evil.e\u200Bxe")).isEqualTo("evil.exe");
+        assertThat(FilenameCanonicalizer.canonicalize("\uFEFFevil.exe\u200D")).isEqualTo("evil.exe");
+        // 화면에는 "photoexe.jpg"로 보이지만 실제 이름은 photo<RLO>gpj.exe
+        assertThat(FilenameCanonicalizer.canonicalize("photo\u202Egpj.exe")).isEqualTo("photogpj.exe");
+        assertThat(FilenameCanonicalizer.canonicalize("evil\uFF0E\uFF45\uFF38\uFF45")).isEqualTo("evil.eXe");
+        assertThat(FilenameCanonicalizer.canonicalize("evil.exe\u3000\uFF0E")).isEqualTo("evil.exe");
+        assertThat(FilenameCanonicalizer.canonicalize("보고서.hwp\u00A0")).isEqualTo("보고서.hwp");
+    }
+
+    @Test
+    @DisplayName("ASCII만 있으면 원본 위의 구간만 계산하고, 바꿀 것이 없으면 같은 인스턴스를 돌려준다")
+    void shouldNotCopyAsciiNames() {
+        String filename = "upload-1.exe";
+        String path = "dir/evil.exe. ";
+        long scan = FilenameCanonicalizer.scan(path, 4, path.length());
+
+        assertThat(FilenameCanonicalizer.canonicalize(filename)).isSameAs(filename);
+        assertThat(FilenameCanonicalizer.needsRewrite(scan)).isFalse();
+        assertThat(path.substring(ExtensionNormalizer.start(scan), ExtensionNormalizer.end(scan))).isEqualTo("evil.exe");
+    }
+
+    @Test
+    @DisplayName("임의 입력에 대해 기준 구현과 같고, 결과는 다시 정규화해도 바뀌지 않는다")
+    void shouldMatchReferenceAndBeIdempotent() {
+        String[] alphabet = {"a", "E", "x", "1", ".", " ", "\t", "-", "\u00E9", "한", "\u3000", "\u00A0", "\uFF41",
+                "\uFF0E", "\u200B", "\u202E", "\uFEFF", "\uD83D\uDE00", "\uDB40\uDC01", "\uD800"};
+        Random random = new Random(49);
+        for (int n = 0; n < 50_000; n++) {
+            StringBuilder input = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int i = 0; i < length; i++) {
+                input.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            String s = input.toString();
+            String canonical = FilenameCanonicalizer.canonicalize(s);
+
+            assertThat(canonical).as("input=[%s]", s).isEqualTo(reference(s));
+            assertThat(FilenameCanonicalizer.canonicalize(canonical)).as("input=[%s]", s).isEqualTo(canonical);
+        }
+    }
+
+    @Test
+    @DisplayName("이름 사이에 감춤 문자를 넣거나 전각으로 바꿔도 정규화 결과는 원래 이름과 같다")
+    void shouldRecoverObfuscatedNames() {
+        String[] names = {"evil.exe", "backup.tar.gz", "run.sh", "setup.msi", "a.b.c.js"};
+        Random random = new Random(4);
+        for (int n = 0; n < 20_000; n++) {
+            String name = names[random.nextInt(names.length)];
+            StringBuilder obfuscated = new StringBuilder();
+            for (int i = 0; i < name.length(); i++) {
+                if (random.nextInt(3) == 0) {
+                    obfuscated.append(INVISIBLE[random.nextInt(INVISIBLE.length)]);
+                }
+                char c = name.charAt(i);
+                obfuscated.append(random.nextInt(3) == 0 ? (char) (c + 0xFEE0) : c);
+            }
+            int trailing = random.nextInt(4);
+            for (int i = 0; i < trailing; i++) {
+                obfuscated.append(TRAILING[random.nextInt(TRAILING.length)]);
+            }
+            String s = "dir/" + obfuscated;
+
+            assertThat(canonical(s, 4, s.length())).as("input=[%s]", s).isEqualTo(name);
+        }
+    }
+
+    @Test
+    @DisplayName("정규화한 이름은 원래 이름과 같은 규칙에 걸린다")
+    void shouldEvaluateLikePlainName() {
+        PackedRuleTable.Builder builder = PackedRuleTable.builder(2);
+        builder.add("exe", RuleType.EXTENSION, RuleAction.BLOCK, 0);
+        builder.add("tar.gz", RuleType.EXTENSION, RuleAction.BLOCK, 0);
+        PolicySnapshot policy = new PolicySnapshot(1, builder.build(), RuleAction.ALLOW);
+
+        for (String s : new String[]{"evil.exe.", "evil.exe ", "evil.e\u200Bxe",
+                "evil.\uFF25\uFF38\uFF25", "backup.tar\uFF0Egz\u3000"}) {
+            String canonical = FilenameCanonicalizer.canonicalize(s);
+
+            assertThat(policy.isBlocked(s, 0, s.length())).as("raw=[%s]", s).isFalse();
+            assertThat(policy.isBlocked(canonical, 0, canonical.length())).as("input=[%s]", s).isTrue();
+        }
+    }
+}
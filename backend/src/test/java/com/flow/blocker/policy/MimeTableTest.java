@@ -0,0 +1,151 @@
+package com.flow.blocker.policy;
+
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.policy.ContentTypePolicy.Match;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MimeTableTest {
+
+    private static MimeTable bundled() throws IOException {
+        try (InputStream in = MimeTable.class.getResourceAsStream(ContentTypePolicy.TABLE_RESOURCE)) {
+            return MimeTable.load(in);
+        }
+    }
+
+    @Test
+    @DisplayName("Content-Type 파라미터, 공백, 대소문자를 무시하고 타입을 찾는다")
+    void shouldLookUpTypeIgnoringParameters() throws IOException {
+        MimeTable table = bundled();
+
+        int png = table.typeOf("image/png");
+        assertThat(png).isNotEqualTo(MimeTable.UNKNOWN);
+        assertThat(table.typeOf("  Image/PNG ; charset=binary")).isEqualTo(png);
+        assertThat(table.typeOf("application/octet-stream")).isEqualTo(MimeTable.UNKNOWN);
+        assertThat(table.typeOf("image/pn")).isEqualTo(MimeTable.UNKNOWN);
+        assertThat(table.typeOf("")).isEqualTo(MimeTable.UNKNOWN);
+        assertThat(table.typeOf(null)).isEqualTo(MimeTable.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("파일명의 마지막 확장자가 선언된 타입과 맞는지 판단한다")
+    void shouldMatchExtensionAgainstType() throws IOException {
+        MimeTable table = bundled();
+        int png = table.typeOf("image/png");
+        int javascript = table.typeOf("text/javascript");
+
+        assertThat(table.matches(png, table.extensionOf("photo.PNG", 0, 9))).isTrue();
+        assertThat(table.matches(png, table.extensionOf("payload.exe", 0, 11))).isFalse();
+        assertThat(table.matches(javascript, table.extensionOf("app.min.js", 0, 10))).isTrue();
+        assertThat(table.extensionOf("README", 0, 6)).isEqualTo(MimeTable.UNKNOWN);
+        assertThat(table.extensionOf("archive.", 0, 8)).isEqualTo(MimeTable.UNKNOWN);
+        // 범위 밖의 '.'은 보지 않는다
+        assertThat(table.extensionOf("dir.png/file", 8, 12)).isEqualTo(MimeTable.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("같은 타입이 여러 줄에 있으면 확장자를 합치고, 형식이 틀린 줄은 거부한다")
+    void shouldLoadTable() throws IOException {
+        MimeTable table = MimeTable.load(stream("""
+                # 주석
+                text/x-a aa ab
+                text/x-a ac aa  # 중복 무시
+                text/x-b ab
+                """));
+
+        assertThat(table.typeCount()).isEqualTo(2);
+        assertThat(table.extensionCount()).isEqualTo(3);
+        assertThat(table.extensionCountOf(table.typeOf("text/x-a"))).isEqualTo(3);
+        assertThat(table.matches(table.typeOf("text/x-b"), table.extensionOf("f.ab", 0, 4))).isTrue();
+        assertThat(table.matches(table.typeOf("text/x-b"), table.extensionOf("f.aa", 0, 4))).isFalse();
+
+        assertThatThrownBy(() -> MimeTable.load(stream("png image\n"))).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("조회는 객체를 할당하지 않는다")
+    void lookupShouldNotAllocate() throws IOException {
+        MimeTable table = bundled();
+        String contentType = "image/png; charset=binary";
+        String filename = "holiday-photo.png";
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        int matched = 0;
+        for (int i = 0; i < 20_000; i++) {
+            matched += lookup(table, contentType, filename);
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            matched += lookup(table, contentType, filename);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(matched).isEqualTo(120_000);
+        // 측정 호출 자체의 할당만 허용 (조회 한 번에 객체 하나만 만들어도 수 MB)
+        assertThat(allocated).isLessThan(64 * 1024);
+    }
+
+    @Test
+    @DisplayName("선언된 타입의 확장자가 활성 규칙으로 차단되면 타입 자체를 차단 대상으로 본다")
+    void shouldBlockTypesOfBlockedExtensions() {
+        ContentTypePolicy policy = new ContentTypePolicy(new BlockerProperties());
+        PolicySnapshot snapshot = new PolicySnapshot(1, List.of(
+                new PolicyRule("exe", RuleType.EXTENSION),
+                new PolicyRule("php*", RuleType.PREFIX),
+                new PolicyRule("js", RuleType.EXTENSION, RuleAction.ALLOW, 0)), RuleAction.ALLOW);
+
+        int executable = policy.typeOf("application/x-msdownload");
+        assertThat(policy.isTypeBlocked(snapshot, executable)).isTrue();
+        assertThat(snapshot.rule(policy.blockingRank(snapshot, executable)).pattern()).isEqualTo("exe");
+        assertThat(policy.isTypeBlocked(snapshot, policy.typeOf("application/x-httpd-php"))).isTrue();
+        assertThat(policy.isTypeBlocked(snapshot, policy.typeOf("text/javascript"))).isFalse();
+        assertThat(policy.isTypeBlocked(snapshot, policy.typeOf("image/png"))).isFalse();
+        assertThat(policy.isTypeBlocked(snapshot, MimeTable.UNKNOWN)).isFalse();
+
+        int png = policy.typeOf("image/png");
+        assertThat(policy.match(png, "payload.exe", 0, 11)).isEqualTo(Match.MISMATCH);
+        assertThat(policy.match(png, "photo.png", 0, 9)).isEqualTo(Match.MATCH);
+        assertThat(policy.match(MimeTable.UNKNOWN, "photo.png", 0, 9)).isEqualTo(Match.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("허용 목록 모드(default-action: BLOCK)에서도 타입 차단은 규칙 일치로만 판단한다")
+    void shouldJudgeTypeByRulesUnderDefaultBlock() {
+        ContentTypePolicy policy = new ContentTypePolicy(new BlockerProperties());
+        PolicySnapshot snapshot = new PolicySnapshot(1, List.of(
+                new PolicyRule("jpg", RuleType.EXTENSION, RuleAction.ALLOW, 0),
+                new PolicyRule("png", RuleType.EXTENSION, RuleAction.ALLOW, 0),
+                new PolicyRule("sh", RuleType.EXTENSION)), RuleAction.BLOCK);
+
+        // jpe/jfif는 규칙이 없어 기본 동작으로 차단되지만 타입을 막지는 않는다
+        assertThat(snapshot.isBlocked(snapshot.evaluate("photo.jfif", 0, 10))).isTrue();
+        assertThat(policy.isTypeBlocked(snapshot, policy.typeOf("image/jpeg"))).isFalse();
+        assertThat(policy.isTypeBlocked(snapshot, policy.typeOf("application/x-msdownload"))).isFalse();
+        int shell = policy.typeOf("application/x-sh");
+        assertThat(policy.isTypeBlocked(snapshot, shell)).isTrue();
+        assertThat(snapshot.rule(policy.blockingRank(snapshot, shell)).pattern()).isEqualTo("sh");
+    }
+
+    private static int lookup(MimeTable table, String contentType, String filename) {
+        int type = table.typeOf(contentType);
+        int extension = table.extensionOf(filename, 0, filename.length());
+        return table.matches(type, extension) ? 1 : 0;
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,97 @@
+package com.flow.blocker.policy;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PolicySnapshotTest {
+
+    // 검사 API(ExtensionService.checkFilename)가 exe 규칙으로 차단하는 가린 파일명
+    private static final String[] OBFUSCATED_EXE = {"evil.exe.", "evil.exe ", "evil.exe. . ",
+            "evil.\uFF45\uFF58\uFF45", "evil.e\u200Bxe", "evil.e\u200Dxe", "photo\u202Egpj.exe", "evil.exe\uFE0F"};
+
+    private static boolean blocked(PolicySnapshot snapshot, String filename) {
+        return snapshot.isBlocked(filename, 0, filename.length());
+    }
+
+    @Test
+    @DisplayName("차단 목록 모드에서는 일치하지 않으면 허용한다")
+    void denyListMode() {
+        PolicySnapshot snapshot = new PolicySnapshot(1, List.of(
+                new PolicyRule("exe", RuleType.EXTENSION, RuleAction.BLOCK, 0)), RuleAction.ALLOW);
+
+        assertThat(blocked(snapshot, "setup.exe")).isTrue();
+        assertThat(blocked(snapshot, "report.pdf")).isFalse();
+    }
+
+    @Test
+    @DisplayName("확장자 입력은 정규화 없이 대소문자/공백/선행 점을 무시하고 검사한다")
+    void shouldEvaluateRawExtension() {
+        PolicySnapshot snapshot = new PolicySnapshot(1, List.of(
+                new PolicyRule("exe", RuleType.EXTENSION, RuleAction.BLOCK, 0),
+                new PolicyRule("tar.gz", RuleType.EXTENSION, RuleAction.BLOCK, 0),
+                new PolicyRule("php*", RuleType.PREFIX, RuleAction.BLOCK, 0)), RuleAction.ALLOW);
+
+        for (String extension : List.of(" EXE", "*.exe", ".Tar.Gz", "PHP5")) {
+            int rank = snapshot.evaluateExtension(extension, 0, extension.length());
+            assertThat(snapshot.isBlocked(rank)).as(extension).isTrue();
+        }
+        assertThat(snapshot.evaluateExtension("gz", 0, 2)).isEqualTo(ExtensionMatcher.NO_MATCH);
+        assertThat(snapshot.evaluateExtension("exe.pdf", 0, 7)).isEqualTo(ExtensionMatcher.NO_MATCH);
+    }
+
+    @Test
+    @DisplayName("허용 목록 모드에서는 허용 규칙에 일치할 때만 허용한다")
+    void allowListMode() {
+        PolicySnapshot snapshot = new PolicySnapshot(1, List.of(
+                new PolicyRule("pdf", RuleType.EXTENSION, RuleAction.ALLOW, 0),
+                new PolicyRule("png", RuleType.EXTENSION, RuleAction.ALLOW, 0),
+                new PolicyRule("jpg", RuleType.EXTENSION, RuleAction.ALLOW, 0)), RuleAction.BLOCK);
+
+        assertThat(blocked(snapshot, "scan.pdf")).isFalse();
+        assertThat(blocked(snapshot, "photo.JPG")).isFalse();
+        assertThat(blocked(snapshot, "setup.exe")).isTrue();
+        assertThat(blocked(snapshot, "README")).isTrue();
+    }
+
+    @Test
+    @DisplayName("우선순위가 높은(값이 작은) 규칙이 먼저 적용된다")
+    void shouldApplyRulesInPriorityOrder() {
+        PolicySnapshot snapshot = new PolicySnapshot(1, List.of(
+                new PolicyRule("pdf", RuleType.EXTENSION, RuleAction.ALLOW, 10),
+                new PolicyRule("exe", RuleType.SEGMENT, RuleAction.BLOCK, 0)), RuleAction.BLOCK);
+
+        assertThat(blocked(snapshot, "invoice.pdf")).isFalse();
+        assertThat(blocked(snapshot, "invoice.exe.pdf")).isTrue();
+        assertThat(snapshot.rule(snapshot.evaluate("invoice.exe.pdf", 0, 15)).pattern()).isEqualTo("exe");
+    }
+
+    @Test
+    @DisplayName("우선순위가 같으면 BLOCK이 ALLOW보다 먼저 적용된다")
+    void shouldPreferBlockOnTie() {
+        PolicySnapshot snapshot = new PolicySnapshot(1, List.of(
+                new PolicyRule("pdf", RuleType.EXTENSION, RuleAction.ALLOW, 0),
+                new PolicyRule("exe", RuleType.SEGMENT, RuleAction.BLOCK, 0)), RuleAction.ALLOW);
+
+        assertThat(blocked(snapshot, "invoice.exe.pdf")).isTrue();
+    }
+
+    @Test
+    @DisplayName("파일명 평가는 정규화한 이름으로 판정하고, ASCII 이름은 원본 구간 그대로 평가한다")
+    void shouldEvaluateCanonicalFilename() {
+        PolicySnapshot snapshot = new PolicySnapshot(1, List.of(
+                new PolicyRule("exe", RuleType.EXTENSION, RuleAction.BLOCK, 0)), RuleAction.ALLOW);
+
+        for (String filename : OBFUSCATED_EXE) {
+            assertThat(snapshot.isBlocked(snapshot.evaluateCanonical(filename, 0, filename.length())))
+                    .as(filename).isTrue();
+        }
+        assertThat(snapshot.evaluateCanonical("dir/setup.exe.", 4, 14)).isEqualTo(0);
+        assertThat(snapshot.evaluateCanonical("notes.txt ", 0, 10)).isEqualTo(ExtensionMatcher.NO_MATCH);
+    }
+}
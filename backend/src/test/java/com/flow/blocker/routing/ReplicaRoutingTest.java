@@ -0,0 +1,151 @@
+package com.flow.blocker.routing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.dto.CustomExtensionRequest;
+import com.flow.blocker.policy.PolicyCache;
+import com.flow.blocker.repository.BlockedExtensionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 두 인메모리 H2(주 DB, 복제본)로 라우팅을 확인한다. 복제는 LocalSnapshotReplicator를 직접 호출해 원하는 시점에만 일어난다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "blocker.replica.enabled=true",
+        "blocker.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "blocker.replica.heartbeat-interval=1h",
+        "blocker.replica.max-lag=1h"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    private static final String REPLICA_ONLY = "replicaonly";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private LocalSnapshotReplicator replicator;
+
+    @Autowired
+    private BlockerProperties properties;
+
+    @Autowired
+    private BlockedExtensionRepository repository;
+
+    @Autowired
+    private PolicyCache policyCache;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        replicator.copySchema();
+        replicate();
+        // 복제본에만 있는 행으로 어느 쪽에서 읽었는지 구분한다
+        new JdbcTemplate(replicaDataSource).update("INSERT INTO blocked_extension "
+                + "(extension, is_fixed, is_active, rule_type, rule_action, priority, created_at) "
+                + "VALUES (?, FALSE, TRUE, 'EXTENSION', 'BLOCK', 0, CURRENT_TIMESTAMP)", REPLICA_ONLY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        properties.getReplica().setMaxLag(Duration.ofHours(1));
+        repository.findByFixedFalse().forEach(repository::delete);
+        policyCache.invalidate();
+    }
+
+    // 주 DB에 하트비트를 쓰고 복제한 뒤 복제본 하트비트를 읽는다 (같은 밀리초의 쓰기와 구분되도록 잠시 기다림)
+    private void replicate() throws InterruptedException {
+        Thread.sleep(5);
+        lagMonitor.beat();
+        replicator.replicate();
+        lagMonitor.probe();
+    }
+
+    private ResultActions listCustom(String client) throws Exception {
+        return mockMvc.perform(get("/api/extensions/custom").header(ReadRouting.CLIENT_HEADER, client))
+                .andExpect(status().isOk());
+    }
+
+    private void add(String client, String extension) throws Exception {
+        mockMvc.perform(post("/api/extensions/custom")
+                        .header(ReadRouting.CLIENT_HEADER, client)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomExtensionRequest(extension))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("읽기는 복제본으로 가고, 방금 쓴 클라이언트만 복제본이 따라잡을 때까지 주 DB에서 읽는다")
+    void shouldReadOwnWritesFromPrimaryUntilReplicaCatchesUp() throws Exception {
+        listCustom("reader").andExpect(jsonPath("$.items[*].extension", hasItem(REPLICA_ONLY)));
+
+        add("writer", "fresh");
+
+        listCustom("writer")
+                .andExpect(jsonPath("$.items[*].extension", hasItem("fresh")))
+                .andExpect(jsonPath("$.items[*].extension", not(hasItem(REPLICA_ONLY))));
+        listCustom("reader")
+                .andExpect(jsonPath("$.items[*].extension", hasItem(REPLICA_ONLY)))
+                .andExpect(jsonPath("$.items[*].extension", not(hasItem("fresh"))));
+
+        replicate();
+
+        // 복제본이 쓰기를 반영했으므로 쓴 클라이언트도 복제본에서 읽는다 (복제로 replicaonly는 사라짐)
+        listCustom("writer")
+                .andExpect(jsonPath("$.items[*].extension", hasItem("fresh")))
+                .andExpect(jsonPath("$.items[*].extension", not(hasItem(REPLICA_ONLY))));
+    }
+
+    @Test
+    @DisplayName("revision과 함께 내려가는 전체 목록은 다른 클라이언트의 쓰기도 반영된 곳에서 읽는다")
+    void shouldReadFullListFromPrimaryAfterAnyWrite() throws Exception {
+        add("writer", "fresh");
+
+        mockMvc.perform(get("/api/extensions").header(ReadRouting.CLIENT_HEADER, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customExtensions[*].extension", hasItem("fresh")));
+        mockMvc.perform(get("/api/extensions/check").param("filename", "a.fresh"))
+                .andExpect(jsonPath("$.blocked").value(true));
+    }
+
+    @Test
+    @DisplayName("복제본 지연이 max-lag를 넘으면 모든 읽기를 주 DB로 보낸다")
+    void shouldFallBackToPrimaryWhenReplicaLags() throws Exception {
+        properties.getReplica().setMaxLag(Duration.ofMillis(1));
+        Thread.sleep(10);
+
+        listCustom("reader").andExpect(jsonPath("$.items[*].extension", not(hasItem(REPLICA_ONLY))));
+    }
+}
@@ -0,0 +1,200 @@
+package com.flow.blocker.scan;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.policy.PolicyRule;
+import com.flow.blocker.policy.PolicySnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DirectoryScanTest {
+
+    // 검사 API(ExtensionService.checkFilename)가 exe 규칙으로 차단하는 가린 파일명
+    private static final String[] OBFUSCATED_EXE = {"evil.exe.", "evil.exe ", "evil.exe. . ",
+            "evil.\uFF45\uFF58\uFF45", "evil.e\u200Bxe", "evil.e\u200Dxe", "photo\u202Egpj.exe", "evil.exe\uFE0F"};
+
+    @TempDir
+    Path temp;
+
+    private Path root;
+    private Path checkpoint;
+    private Path report;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = Files.createDirectories(temp.resolve("uploads"));
+        checkpoint = temp.resolve("scan/scan.checkpoint");
+        report = temp.resolve("scan/violations.csv");
+        pool = new ForkJoinPool(4);
+        FileTime past = FileTime.from(Instant.now().minusSeconds(3600));
+        for (String file : List.of("a/setup.exe", "a/readme.txt", "a/b/run.sh", "a/b/c/photo.png",
+                "d/deep/er/x.EXE", "d/notes, final.exe", "top.pdf")) {
+            Path path = root.resolve(file);
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, file);
+            Files.setLastModifiedTime(path, past);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private static PolicySnapshot policy(long revision, String... extensions) {
+        List<PolicyRule> rules = Arrays.stream(extensions)
+                .map(extension -> new PolicyRule(extension, RuleType.EXTENSION))
+                .toList();
+        return new PolicySnapshot(revision, rules, RuleAction.ALLOW);
+    }
+
+    private DirectoryScan.Result scan(PolicySnapshot policy) throws IOException {
+        return new DirectoryScan(root, policy, checkpoint, report).run(pool);
+    }
+
+    private List<String> reportedPaths() throws IOException {
+        return Files.readAllLines(report, StandardCharsets.UTF_8).stream()
+                .skip(1)
+                .map(line -> line.startsWith("\"") ? line.substring(1, line.indexOf('"', 1)) : line.split(",")[0])
+                .map(path -> path.replace('\\', '/'))
+                .sorted()
+                .toList();
+    }
+
+    @Test
+    @DisplayName("하위 디렉터리까지 모든 파일을 검사해 위반 파일을 보고서에 기록한다")
+    void shouldReportViolationsInWholeTree() throws IOException {
+        DirectoryScan.Result result = scan(policy(1, "exe", "sh"));
+
+        assertThat(result.completed()).isTrue();
+        assertThat(result.mode()).isEqualTo(DirectoryScan.Mode.FULL);
+        assertThat(result.filesChecked()).isEqualTo(7);
+        assertThat(result.violations()).isEqualTo(4);
+        assertThat(Files.readAllLines(report).get(0)).isEqualTo(DirectoryScan.REPORT_HEADER);
+        assertThat(reportedPaths()).containsExactly("a/b/run.sh", "a/setup.exe", "d/deep/er/x.EXE", "d/notes, final.exe");
+        assertThat(ScanCheckpoint.readHeader(checkpoint).state()).isEqualTo(ScanCheckpoint.State.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("정책이 그대로면 이전 검사 이후 들어온 파일만 검사해 보고서에 덧붙인다")
+    void shouldScanOnlyNewFilesWhenPolicyUnchanged() throws IOException {
+        scan(policy(1, "exe"));
+        Path added = root.resolve("a/b/new.exe");
+        Files.writeString(added, "new");
+        Files.setLastModifiedTime(added, FileTime.from(Instant.now().plusSeconds(5)));
+
+        DirectoryScan.Result result = scan(policy(1, "exe"));
+
+        assertThat(result.mode()).isEqualTo(DirectoryScan.Mode.INCREMENTAL);
+        assertThat(result.filesChecked()).isEqualTo(1);
+        assertThat(reportedPaths()).containsExactly("a/b/new.exe", "a/setup.exe", "d/deep/er/x.EXE", "d/notes, final.exe");
+    }
+
+    @Test
+    @DisplayName("정책이 바뀌면 보고서를 비우고 전체를 다시 검사한다")
+    void shouldRescanEverythingAfterPolicyChange() throws IOException {
+        scan(policy(1, "exe"));
+
+        DirectoryScan.Result result = scan(policy(2, "png"));
+
+        assertThat(result.mode()).isEqualTo(DirectoryScan.Mode.FULL);
+        assertThat(result.filesChecked()).isEqualTo(7);
+        assertThat(reportedPaths()).containsExactly("a/b/c/photo.png");
+    }
+
+    @Test
+    @DisplayName("revision이 같아도 규칙이 다르면 전체를 다시 검사한다")
+    void shouldRescanEverythingWhenRulesDifferUnderSameRevision() throws IOException {
+        scan(policy(0, "exe"));
+
+        // 재기동하면 revision은 다시 같은 값에서 시작한다
+        DirectoryScan.Result result = scan(policy(0, "exe", "txt"));
+
+        assertThat(result.mode()).isEqualTo(DirectoryScan.Mode.FULL);
+        assertThat(result.filesChecked()).isEqualTo(7);
+        assertThat(reportedPaths()).contains("a/readme.txt");
+    }
+
+    @Test
+    @DisplayName("revision이 달라도 규칙이 같으면 증분 검사한다")
+    void shouldScanIncrementallyWhenOnlyRevisionDiffers() throws IOException {
+        scan(policy(1, "exe"));
+
+        DirectoryScan.Result result = scan(policy(7, "exe"));
+
+        assertThat(result.mode()).isEqualTo(DirectoryScan.Mode.INCREMENTAL);
+        assertThat(result.filesChecked()).isZero();
+    }
+
+    @Test
+    @DisplayName("가린 파일명도 검사 API와 같이 정규화해 위반으로 기록한다")
+    void shouldReportObfuscatedFilenames() throws IOException {
+        Path hidden = Files.createDirectories(root.resolve("hidden"));
+        int stored = 0;
+        for (String filename : OBFUSCATED_EXE) {
+            try {
+                Files.writeString(hidden.resolve(filename), filename);
+                stored++;
+            } catch (InvalidPathException | IOException e) {
+                // 파일 시스템/로캘이 저장하지 못하는 이름 (Windows의 끝 점/공백, UTF-8이 아닌 sun.jnu.encoding)
+            }
+        }
+        assertThat(stored).isPositive();
+
+        DirectoryScan.Result result = scan(policy(1, "exe"));
+
+        assertThat(result.violations()).isEqualTo(3 + stored);
+    }
+
+    @Test
+    @DisplayName("중단된 검사는 완료된 디렉터리를 건너뛰고 이어서 검사한다")
+    void shouldResumeInterruptedScan() throws IOException {
+        // a 디렉터리의 파일까지 검사하고 중단된 상태
+        try (ScanCheckpoint running = ScanCheckpoint.begin(checkpoint, policy(3, "exe").fingerprint(), 0,
+                System.currentTimeMillis())) {
+            running.markDone("");
+            running.markDone("a");
+        }
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, DirectoryScan.REPORT_HEADER + "\na/setup.exe,EXTENSION,exe,2024-01-01T00:00:00Z\n");
+        Files.writeString(checkpoint, Files.readString(checkpoint) + "D a%2Fb");
+
+        DirectoryScan.Result result = scan(policy(3, "exe"));
+
+        assertThat(result.mode()).isEqualTo(DirectoryScan.Mode.RESUMED);
+        // 잘린 마지막 줄(a/b)은 완료로 보지 않는다: a/b, a/b/c, d, d/deep/er 의 파일만 검사
+        assertThat(result.filesChecked()).isEqualTo(4);
+        assertThat(reportedPaths()).containsExactly("a/setup.exe", "d/deep/er/x.EXE", "d/notes, final.exe");
+        assertThat(ScanCheckpoint.readHeader(checkpoint).state()).isEqualTo(ScanCheckpoint.State.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("취소하면 체크포인트를 진행 중 상태로 남긴다")
+    void shouldLeaveCheckpointRunningWhenCancelled() throws IOException {
+        DirectoryScan scan = new DirectoryScan(root, policy(1, "exe"), checkpoint, report);
+        scan.cancel();
+
+        DirectoryScan.Result result = scan.run(pool);
+
+        assertThat(result.completed()).isFalse();
+        assertThat(ScanCheckpoint.readHeader(checkpoint).state()).isEqualTo(ScanCheckpoint.State.RUNNING);
+        assertThat(scan(policy(1, "exe")).mode()).isEqualTo(DirectoryScan.Mode.RESUMED);
+    }
+}
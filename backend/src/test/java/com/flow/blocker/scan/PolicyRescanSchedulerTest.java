@@ -0,0 +1,99 @@
+package com.flow.blocker.scan;
+
+import com.flow.blocker.FlowBlockerApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 체크포인트가 재기동 뒤에도 규칙 내용으로 비교되는지 컨텍스트를 두 번 띄워 확인한다.
+ * 두 컨텍스트는 같은 메모리 DB를 쓰고, 사이에 규칙을 DB에 직접 추가한다. (PolicyCache revision은 둘 다 처음부터 센다)
+ */
+class PolicyRescanSchedulerTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:rescan-restart;DB_CLOSE_DELAY=-1";
+
+    @TempDir
+    Path temp;
+
+    private Path root;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = Files.createDirectories(temp.resolve("uploads"));
+        FileTime past = FileTime.from(Instant.now().minusSeconds(3600));
+        for (String file : new String[]{"setup.exe", "docs/readme.txt"}) {
+            Path path = root.resolve(file);
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, file);
+            Files.setLastModifiedTime(path, past);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        execute("SHUTDOWN");
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(FlowBlockerApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=" + DB_URL,
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--blocker.warmup.enabled=false",
+                "--blocker.scan.enabled=true",
+                "--blocker.scan.root=" + root,
+                "--blocker.scan.report-path=" + temp.resolve("scan/violations.csv"),
+                "--blocker.scan.checkpoint-path=" + temp.resolve("scan/scan.checkpoint"),
+                // 자동 실행 없이 scan()을 직접 호출한다
+                "--blocker.scan.trigger-delay=1h",
+                "--blocker.scan.interval=1h");
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(DB_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @Test
+    @DisplayName("다른 규칙으로 재기동하면 revision이 같아도 전체를 다시 검사해야 한다")
+    void shouldRescanEverythingAfterRestartWithDifferentRules() throws SQLException, IOException {
+        DirectoryScan.Result first;
+        try (ConfigurableApplicationContext context = start()) {
+            first = context.getBean(PolicyRescanScheduler.class).scan();
+        }
+        assertThat(first.mode()).isEqualTo(DirectoryScan.Mode.FULL);
+        assertThat(first.violations()).isZero();
+
+        execute("INSERT INTO blocked_extension (extension, is_fixed, is_active, created_at) "
+                + "VALUES ('txt', false, true, CURRENT_TIMESTAMP)");
+
+        DirectoryScan.Result second;
+        try (ConfigurableApplicationContext context = start()) {
+            second = context.getBean(PolicyRescanScheduler.class).scan();
+        }
+        assertThat(second.revision()).isEqualTo(first.revision());
+        assertThat(second.mode()).isEqualTo(DirectoryScan.Mode.FULL);
+        assertThat(second.filesChecked()).isEqualTo(2);
+        assertThat(second.violations()).isEqualTo(1);
+        assertThat(Files.readString(temp.resolve("scan/violations.csv"))).contains("readme.txt");
+    }
+}
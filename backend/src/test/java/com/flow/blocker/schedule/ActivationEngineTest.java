@@ -0,0 +1,193 @@
+package com.flow.blocker.schedule;
+
+import com.flow.blocker.dto.ExtensionChangeResponse;
+import com.flow.blocker.dto.ScheduleRequest;
+import com.flow.blocker.exception.ExtensionException;
+import com.flow.blocker.exception.ExtensionException.ErrorCode;
+import com.flow.blocker.policy.PolicyCache;
+import com.flow.blocker.policy.PolicyChangedEvent;
+import com.flow.blocker.policy.PolicyChangedEvent.ChangeType;
+import com.flow.blocker.repository.BlockedExtensionRepository;
+import com.flow.blocker.service.ExtensionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ActivationEngineTest {
+
+    @Autowired
+    private ExtensionService extensionService;
+
+    @Autowired
+    private ActivationEngine activationEngine;
+
+    @Autowired
+    private PolicyCache policyCache;
+
+    @Autowired
+    private BlockedExtensionRepository repository;
+
+    // "slow" 규칙의 전환 이벤트를 받으면 풀릴 때까지 멈추는 리스너
+    private static volatile CountDownLatch slowListenerGate = new CountDownLatch(0);
+
+    @TestConfiguration
+    static class SlowListenerConfig {
+
+        @Bean
+        SlowListener slowListener() {
+            return new SlowListener();
+        }
+    }
+
+    static class SlowListener {
+
+        @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+        public void onPolicyChanged(PolicyChangedEvent event) throws InterruptedException {
+            if (event.type() == ChangeType.ACTIVATION && "slow".equals(event.extension())) {
+                slowListenerGate.await(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowListenerGate.countDown();
+        // 저장소에서 직접 지우면 삭제 이벤트가 없으므로 예약 상태도 다시 읽는다
+        repository.findByFixedFalse().forEach(repository::delete);
+        activationEngine.reload();
+        policyCache.invalidate();
+    }
+
+    private boolean blocked(String filename) {
+        return extensionService.checkFilename(filename).isBlocked();
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return condition.getAsBoolean();
+    }
+
+    @Test
+    @DisplayName("시작 시각 전에는 적용하지 않고, 경계에서 타이머가 스냅샷을 한 번 다시 빌드한다")
+    void shouldActivateAtValidFrom() throws InterruptedException {
+        extensionService.addCustomExtension("sched");
+        assertThat(blocked("a.sched")).isTrue();
+
+        ExtensionChangeResponse change = extensionService.updateSchedule("sched", ScheduleRequest.builder()
+                .validFrom(Instant.now().plusMillis(500))
+                .build());
+        assertThat(change.getType()).isEqualTo(ChangeType.SCHEDULE);
+        assertThat(change.getCustomExtension().getSchedule().getValidFrom()).isNotNull();
+        assertThat(policyCache.scheduledOff()).containsExactly("sched");
+        assertThat(blocked("a.sched")).isFalse();
+
+        // 경계 전에는 조회가 몇 번이든 같은 스냅샷을 쓴다
+        long revision = policyCache.current().revision();
+        assertThat(blocked("b.sched")).isFalse();
+        assertThat(policyCache.current().revision()).isEqualTo(revision);
+
+        assertThat(await(() -> blocked("a.sched"))).isTrue();
+        assertThat(policyCache.scheduledOff()).isEmpty();
+        assertThat(activationEngine.trackedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("종료 시각이 지나면 해제되고, 예약을 지우면 바로 다시 적용된다")
+    void shouldDeactivateAtValidUntilAndRestoreOnClear() throws InterruptedException {
+        extensionService.addCustomExtension("sched");
+        extensionService.updateSchedule("sched", ScheduleRequest.builder()
+                .validUntil(Instant.now().plusMillis(300))
+                .build());
+        assertThat(blocked("a.sched")).isTrue();
+
+        assertThat(await(() -> !blocked("a.sched"))).isTrue();
+
+        ExtensionChangeResponse cleared = extensionService.updateSchedule("sched", null);
+        assertThat(cleared.getCustomExtension().getSchedule()).isNull();
+        assertThat(blocked("a.sched")).isTrue();
+        assertThat(activationEngine.trackedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("삭제된 규칙은 예약 추적에서 빠진다")
+    void shouldForgetDeletedRule() {
+        extensionService.addCustomExtension("sched");
+        extensionService.updateSchedule("sched", ScheduleRequest.builder()
+                .validFrom(Instant.now().plusSeconds(3600))
+                .build());
+        assertThat(policyCache.scheduledOff()).containsExactly("sched");
+
+        extensionService.deleteCustomExtension("sched");
+        assertThat(activationEngine.trackedCount()).isZero();
+        assertThat(policyCache.scheduledOff()).isEmpty();
+
+        // 같은 이름으로 다시 추가하면 예약 없이 적용된다
+        extensionService.addCustomExtension("sched");
+        assertThat(blocked("a.sched")).isTrue();
+    }
+
+    @Test
+    @DisplayName("전환 이벤트 리스너가 느려도 다른 경계의 전환과 요청 스레드의 예약 변경은 기다리지 않는다")
+    void shouldNotBlockOnSlowActivationListener() throws InterruptedException {
+        slowListenerGate = new CountDownLatch(1);
+        extensionService.addCustomExtension("slow");
+        extensionService.addCustomExtension("fast");
+        extensionService.updateSchedule("slow", ScheduleRequest.builder()
+                .validFrom(Instant.now().plusMillis(300))
+                .build());
+        extensionService.updateSchedule("fast", ScheduleRequest.builder()
+                .validFrom(Instant.now().plusMillis(800))
+                .build());
+
+        assertThat(await(() -> blocked("a.slow"))).isTrue();
+        assertThat(await(() -> blocked("a.fast"))).isTrue();
+
+        // slow 이벤트 발행이 아직 멈춰 있어도 예약 변경은 바로 반영된다
+        extensionService.updateSchedule("fast", ScheduleRequest.builder()
+                .validFrom(Instant.now().plusSeconds(3600))
+                .build());
+        assertThat(blocked("a.fast")).isFalse();
+        assertThat(slowListenerGate.getCount()).isEqualTo(1);
+        slowListenerGate.countDown();
+    }
+
+    @Test
+    @DisplayName("구간 시작/끝 중 하나만 있거나 기간이 뒤집히면 거절한다")
+    void shouldRejectInvalidSchedule() {
+        extensionService.addCustomExtension("sched");
+
+        assertThatThrownBy(() -> extensionService.updateSchedule("sched", ScheduleRequest.builder()
+                .windowStart(LocalTime.of(9, 0))
+                .build()))
+                .isInstanceOf(ExtensionException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INVALID_SCHEDULE);
+        assertThatThrownBy(() -> extensionService.updateSchedule("sched", ScheduleRequest.builder()
+                .validFrom(Instant.now())
+                .validUntil(Instant.now().minusSeconds(1))
+                .build()))
+                .isInstanceOf(ExtensionException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INVALID_SCHEDULE);
+    }
+}
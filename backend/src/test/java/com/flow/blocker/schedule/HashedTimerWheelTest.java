@@ -0,0 +1,64 @@
+package com.flow.blocker.schedule;
+
+import com.flow.blocker.schedule.HashedTimerWheel.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimerWheelTest {
+
+    // 한 바퀴 = 80ms
+    private final HashedTimerWheel wheel = new HashedTimerWheel("test-wheel", Duration.ofMillis(10), 8);
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    @DisplayName("휠 한 바퀴보다 먼 작업도 마감 이후에, 마감 순서대로 실행한다")
+    void shouldFireAfterDeadlineAcrossRounds() throws InterruptedException {
+        List<Integer> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long start = System.nanoTime();
+        long[] elapsedMillis = new long[3];
+        int[] delays = {250, 30, 120};
+        for (int i = 0; i < delays.length; i++) {
+            int index = i;
+            wheel.schedule(Duration.ofMillis(delays[i]), () -> {
+                elapsedMillis[index] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                fired.add(delays[index]);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).containsExactly(30, 120, 250);
+        for (int i = 0; i < delays.length; i++) {
+            assertThat(elapsedMillis[i]).isGreaterThanOrEqualTo(delays[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("취소한 작업은 실행하지 않는다")
+    void shouldNotFireCancelledTimeout() throws InterruptedException {
+        CountDownLatch later = new CountDownLatch(1);
+        Timeout cancelled = wheel.schedule(Duration.ofMillis(30), () -> {
+            throw new AssertionError("cancelled timeout fired");
+        });
+        wheel.schedule(Duration.ofMillis(60), later::countDown);
+        cancelled.cancel();
+
+        assertThat(later.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancelled.isExpired()).isFalse();
+        assertThat(wheel.wheelSize()).isEqualTo(8);
+    }
+}
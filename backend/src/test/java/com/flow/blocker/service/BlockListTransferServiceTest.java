@@ -0,0 +1,202 @@
+package com.flow.blocker.service;
+
+import com.flow.blocker.domain.BlockedExtension;
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.dto.ImportResponse;
+import com.flow.blocker.exception.ExtensionException;
+import com.flow.blocker.exception.ExtensionException.ErrorCode;
+import com.flow.blocker.repository.BlockedExtensionRepository;
+import com.flow.blocker.transfer.TransferFormat;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class BlockListTransferServiceTest {
+
+    @Autowired
+    private BlockListTransferService transferService;
+
+    @Autowired
+    private ExtensionService extensionService;
+
+    @Autowired
+    private BlockedExtensionRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        repository.findByFixedFalse().forEach(repository::delete);
+    }
+
+    private byte[] export(TransferFormat format) throws IOException {
+        entityManager.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transferService.exportRules(out, format);
+        return out.toByteArray();
+    }
+
+    private ImportResponse importText(String csv) throws IOException {
+        return transferService.importRules(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), TransferFormat.CSV);
+    }
+
+    @Nested
+    @DisplayName("CSV")
+    class Csv {
+
+        @Test
+        @DisplayName("내보내기는 헤더와 모든 행을 포함해야 한다")
+        void shouldExportAllRows() throws IOException {
+            extensionService.addCustomExtension("php*");
+
+            String csv = new String(export(TransferFormat.CSV), StandardCharsets.UTF_8);
+
+            assertThat(csv).startsWith("extension,fixed,active,rule_type,action,priority\n");
+            assertThat(csv).contains("exe,true,false,EXTENSION,BLOCK,0\n");
+            assertThat(csv).contains("php*,false,true,PREFIX,BLOCK,0\n");
+        }
+
+        @Test
+        @DisplayName("확장자 한 열짜리 목록을 커스텀 규칙으로 가져와야 한다")
+        void shouldImportSingleColumnList() throws IOException {
+            ImportResponse response = importText("# feed\nSH\n.py\n\n*.tar.gz\n");
+
+            assertThat(response.getImportedCount()).isEqualTo(3);
+            assertThat(response.getCustomCount()).isEqualTo(3);
+            assertThat(repository.existsByExtension("sh")).isTrue();
+            assertThat(repository.findByExtension("tar.gz").orElseThrow().getRuleType())
+                    .isEqualTo(RuleType.EXTENSION);
+            assertThat(extensionService.checkFilename("a.tar.gz").isBlocked()).isTrue();
+        }
+
+        @Test
+        @DisplayName("기존 규칙은 갱신하고 새 규칙은 추가해야 한다")
+        void shouldUpsertRows() throws IOException {
+            importText("""
+                    extension,fixed,active,rule_type,action,priority
+                    exe,true,true,EXTENSION,BLOCK,0
+                    pdf,false,true,,ALLOW,-5
+                    """);
+
+            assertThat(repository.findByExtension("exe").orElseThrow().isActive()).isTrue();
+            BlockedExtension pdf = repository.findByExtension("pdf").orElseThrow();
+            assertThat(pdf.getAction()).isEqualTo(RuleAction.ALLOW);
+            assertThat(pdf.getPriority()).isEqualTo(-5);
+        }
+
+        @Test
+        @DisplayName("검증에 실패한 행이 있으면 행 번호와 함께 거부해야 한다")
+        void shouldRejectInvalidRow() {
+            assertThatThrownBy(() -> importText("sh\npy\n../etc\n"))
+                    .isInstanceOf(ExtensionException.class)
+                    .hasMessage(ErrorCode.INVALID_IMPORT_ROW.format(3, ErrorCode.PATH_TRAVERSAL_DETECTED.getMessage()));
+        }
+
+        @Test
+        @DisplayName("열 개수가 맞지 않으면 거부해야 한다")
+        void shouldRejectMalformedRow() {
+            assertThatThrownBy(() -> importText("sh,false\n"))
+                    .isInstanceOf(ExtensionException.class)
+                    .extracting("errorCode")
+                    .isEqualTo(ErrorCode.INVALID_IMPORT_ROW);
+        }
+
+        @Test
+        @DisplayName("개수 제한을 넘으면 거부해야 한다")
+        void shouldRejectOverMaxCount() {
+            StringBuilder csv = new StringBuilder();
+            for (int i = 0; i <= 200; i++) {
+                csv.append("bulk").append(i).append('\n');
+            }
+
+            assertThatThrownBy(() -> importText(csv.toString()))
+                    .isInstanceOf(ExtensionException.class)
+                    .hasMessage(ErrorCode.MAX_CUSTOM_EXCEEDED.format(200));
+        }
+
+        @Test
+        @DisplayName("개수 제한을 넘는 배치에서 바로 중단하고 나머지 행은 읽지 않아야 한다")
+        void shouldStopAtFirstBatchOverMaxCount() {
+            StringBuilder csv = new StringBuilder();
+            for (int i = 0; i < 20_000; i++) {
+                csv.append("bulk").append(i).append('\n');
+            }
+            ByteArrayInputStream in = new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+
+            assertThatThrownBy(() -> transferService.importRules(in, TransferFormat.CSV))
+                    .isInstanceOf(ExtensionException.class)
+                    .hasMessage(ErrorCode.MAX_CUSTOM_EXCEEDED.format(200));
+            assertThat(in.available()).isPositive();
+            assertThat(repository.countByFixedFalse()).isZero();
+        }
+
+        @Test
+        @DisplayName("고정 규칙이 아닌 확장자는 fixed=true로 가져와도 커스텀 규칙이 되어야 한다")
+        void shouldNotCreateFixedRuleFromImport() throws IOException {
+            ImportResponse response = importText("""
+                    extension,fixed,active,rule_type,action,priority
+                    evil,true,true,EXTENSION,BLOCK,0
+                    bat,false,true,EXTENSION,BLOCK,0
+                    """);
+
+            assertThat(response.getCustomCount()).isEqualTo(1);
+            assertThat(repository.findByExtension("evil").orElseThrow().isFixed()).isFalse();
+            assertThat(repository.findByExtension("bat").orElseThrow().isFixed()).isTrue();
+            extensionService.deleteCustomExtension("evil");
+            assertThat(repository.existsByExtension("evil")).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("바이너리 스냅샷")
+    class Binary {
+
+        @Test
+        @DisplayName("내보낸 스냅샷을 다시 가져오면 같은 상태가 되어야 한다")
+        void shouldRoundTrip() throws IOException {
+            extensionService.addCustomExtension("min.js", RuleType.EXTENSION, RuleAction.ALLOW, -300);
+            extensionService.addCustomExtension("dll", RuleType.SEGMENT);
+            extensionService.toggleFixedExtension("bat");
+
+            byte[] snapshot = export(TransferFormat.BINARY);
+            repository.findByFixedFalse().forEach(repository::delete);
+            extensionService.toggleFixedExtension("bat");
+
+            ImportResponse response = transferService.importRules(new ByteArrayInputStream(snapshot), TransferFormat.BINARY);
+
+            assertThat(response.getImportedCount()).isEqualTo(9);
+            assertThat(repository.findByExtension("bat").orElseThrow().isActive()).isTrue();
+            assertThat(repository.findByExtension("min.js").orElseThrow().getPriority()).isEqualTo(-300);
+            assertThat(repository.findByExtension("dll").orElseThrow().getRuleType()).isEqualTo(RuleType.SEGMENT);
+        }
+
+        @Test
+        @DisplayName("잘린 스냅샷은 거부해야 한다")
+        void shouldRejectTruncatedSnapshot() throws IOException {
+            byte[] snapshot = export(TransferFormat.BINARY);
+            byte[] truncated = java.util.Arrays.copyOf(snapshot, snapshot.length - 3);
+
+            assertThatThrownBy(() -> transferService.importRules(new ByteArrayInputStream(truncated), TransferFormat.BINARY))
+                    .isInstanceOf(ExtensionException.class)
+                    .extracting("errorCode")
+                    .isEqualTo(ErrorCode.INVALID_IMPORT_ROW);
+        }
+    }
+}
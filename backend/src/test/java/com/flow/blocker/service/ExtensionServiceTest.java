@@ -1,6 +1,10 @@
 package com.flow.blocker.service;
 
 import com.flow.blocker.domain.BlockedExtension;
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.dto.CustomExtensionPageResponse;
+import com.flow.blocker.dto.ExtensionCheckResponse;
 import com.flow.blocker.dto.ExtensionResponse;
 import com.flow.blocker.exception.ExtensionException;
 import com.flow.blocker.exception.ExtensionException.ErrorCode;
@@ -13,6 +17,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 
 @SpringBootTest
@@ -276,6 +283,121 @@ class ExtensionServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("패턴 규칙 추가")
+    class AddPatternRule {
+
+        @Test
+        @DisplayName("다중 확장자는 EXTENSION 규칙으로 추가되어야 한다")
+        void shouldAddMultiPartExtension() {
+            extensionService.addCustomExtension("*.tar.gz");
+
+            BlockedExtension saved = repository.findByExtension("tar.gz").orElseThrow();
+            assertThat(saved.getRuleType()).isEqualTo(RuleType.EXTENSION);
+        }
+
+        @Test
+        @DisplayName("* 로 끝나면 PREFIX 규칙으로 추가되어야 한다")
+        void shouldInferPrefixRule() {
+            extensionService.addCustomExtension("PHP*");
+
+            BlockedExtension saved = repository.findByExtension("php*").orElseThrow();
+            assertThat(saved.getRuleType()).isEqualTo(RuleType.PREFIX);
+        }
+
+        @Test
+        @DisplayName("SEGMENT 규칙을 지정해서 추가할 수 있어야 한다")
+        void shouldAddSegmentRule() {
+            extensionService.addCustomExtension("pdf", RuleType.SEGMENT);
+
+            BlockedExtension saved = repository.findByExtension("pdf").orElseThrow();
+            assertThat(saved.getRuleType()).isEqualTo(RuleType.SEGMENT);
+        }
+
+        @Test
+        @DisplayName("규칙 종류와 형식이 맞지 않으면 거부되어야 한다")
+        void shouldRejectMismatchedPattern() {
+            assertThatThrownBy(() -> extensionService.addCustomExtension("tar.gz", RuleType.SEGMENT))
+                    .isInstanceOf(ExtensionException.class)
+                    .hasMessage(ErrorCode.INVALID_RULE_PATTERN.getMessage());
+
+            assertThatThrownBy(() -> extensionService.addCustomExtension("p*p"))
+                    .isInstanceOf(ExtensionException.class)
+                    .hasMessage(ErrorCode.INVALID_RULE_PATTERN.getMessage());
+
+            assertThatThrownBy(() -> extensionService.addCustomExtension("tar."))
+                    .isInstanceOf(ExtensionException.class)
+                    .hasMessage(ErrorCode.INVALID_RULE_PATTERN.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("파일명 검사")
+    class CheckFilename {
+
+        @Test
+        @DisplayName("비활성 고정 확장자는 차단하지 않아야 한다")
+        void shouldNotBlockInactiveFixed() {
+            assertThat(extensionService.checkFilename("setup.exe").isBlocked()).isFalse();
+        }
+
+        @Test
+        @DisplayName("활성화된 고정 확장자는 차단되어야 한다")
+        void shouldBlockActivatedFixed() {
+            extensionService.toggleFixedExtension("exe");
+
+            ExtensionCheckResponse response = extensionService.checkFilename("C:\\Temp\\SETUP.EXE ");
+            assertThat(response.isBlocked()).isTrue();
+            assertThat(response.getMatchedRule()).isEqualTo("exe");
+        }
+
+        @Test
+        @DisplayName("끝의 점/공백, 전각, 폭 없는 문자로 가린 파일명도 차단되어야 한다")
+        void shouldBlockObfuscatedFilenames() {
+            extensionService.toggleFixedExtension("exe");
+
+            for (String filename : new String[]{"evil.exe.", "evil.exe ", "evil.exe. . ", "evil.\uFF45\uFF58\uFF45",
+                    "evil.e\u200Bxe", "evil.e\u200Dxe", "photo\u202Egpj.exe", "evil.exe\uFE0F"}) {
+                assertThat(extensionService.checkFilename(filename).isBlocked()).as(filename).isTrue();
+            }
+        }
+
+        @Test
+        @DisplayName("추가/삭제한 규칙이 즉시 반영되어야 한다")
+        void shouldReflectMutations() {
+            extensionService.addCustomExtension("php*");
+            extensionService.addCustomExtension("dll", RuleType.SEGMENT);
+
+            assertThat(extensionService.checkFilename("shell.php7").getRuleType()).isEqualTo(RuleType.PREFIX);
+            assertThat(extensionService.checkFilename("invoice.dll.pdf").getRuleType()).isEqualTo(RuleType.SEGMENT);
+
+            extensionService.deleteCustomExtension("php*");
+
+            assertThat(extensionService.checkFilename("shell.php7").isBlocked()).isFalse();
+        }
+
+        @Test
+        @DisplayName("우선순위가 높은 허용 규칙은 차단 규칙보다 먼저 적용되어야 한다")
+        void shouldApplyAllowRuleByPriority() {
+            extensionService.toggleFixedExtension("js");
+            extensionService.addCustomExtension("min.js", RuleType.EXTENSION, RuleAction.ALLOW, -1);
+
+            ExtensionCheckResponse allowed = extensionService.checkFilename("app.min.js");
+            assertThat(allowed.isBlocked()).isFalse();
+            assertThat(allowed.getAction()).isEqualTo(RuleAction.ALLOW);
+
+            assertThat(extensionService.checkFilename("app.js").isBlocked()).isTrue();
+        }
+
+        @Test
+        @DisplayName("빈 파일명은 거부되어야 한다")
+        void shouldRejectEmptyFilename() {
+            assertThatThrownBy(() -> extensionService.checkFilename(" "))
+                    .isInstanceOf(ExtensionException.class)
+                    .hasMessage(ErrorCode.EMPTY_FILENAME.getMessage());
+        }
+    }
+
     @Nested
     @DisplayName("경로 문자 차단 (보안)")
     class PathTraversalPrevention {
@@ -360,7 +482,7 @@ class ExtensionServiceTest {
             // 201번째 추가 시도
             assertThatThrownBy(() -> extensionService.addCustomExtension("ext200"))
                     .isInstanceOf(ExtensionException.class)
-                    .hasMessage(ErrorCode.MAX_CUSTOM_EXCEEDED.getMessage());
+                    .hasMessage(ErrorCode.MAX_CUSTOM_EXCEEDED.format(200));
         }
 
         @Test
@@ -379,4 +501,41 @@ class ExtensionServiceTest {
                     .doesNotThrowAnyException();
         }
     }
+
+    @Nested
+    @DisplayName("커스텀 확장자 커서 조회")
+    class GetCustomExtensionsPage {
+
+        @Test
+        @DisplayName("커서를 따라가면 모든 커스텀 확장자를 중복 없이 조회해야 한다")
+        void shouldIterateAllPages() {
+            for (int i = 0; i < 25; i++) {
+                extensionService.addCustomExtension("page" + i);
+            }
+
+            List<String> collected = new ArrayList<>();
+            Long cursor = null;
+            int pages = 0;
+            do {
+                CustomExtensionPageResponse page = extensionService.getCustomExtensions(cursor, 10);
+                page.getItems().forEach(item -> collected.add(item.getExtension()));
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+
+            assertThat(pages).isEqualTo(3);
+            assertThat(collected).hasSize(25).doesNotHaveDuplicates();
+        }
+
+        @Test
+        @DisplayName("페이지 크기는 최대값으로 제한되어야 한다")
+        void shouldClampPageSize() {
+            extensionService.addCustomExtension("sh");
+
+            CustomExtensionPageResponse page = extensionService.getCustomExtensions(null, 100_000);
+
+            assertThat(page.getItems()).hasSize(1);
+            assertThat(page.getNextCursor()).isNull();
+        }
+    }
 }
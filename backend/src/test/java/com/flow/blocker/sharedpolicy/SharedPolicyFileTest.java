@@ -0,0 +1,188 @@
+package com.flow.blocker.sharedpolicy;
+
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.policy.PolicyRule;
+import com.flow.blocker.policy.PolicySnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedPolicyFileTest {
+
+    // 검사 API(ExtensionService.checkFilename)가 exe 규칙으로 차단하는 가린 파일명
+    private static final String[] OBFUSCATED_EXE = {"evil.exe.", "evil.exe ", "evil.exe. . ",
+            "evil.\uFF45\uFF58\uFF45", "evil.e\u200Bxe", "evil.e\u200Dxe", "photo\u202Egpj.exe", "evil.exe\uFE0F"};
+
+    private static final List<PolicyRule> RULES = List.of(
+            new PolicyRule("exe", RuleType.EXTENSION),
+            new PolicyRule("tar.gz", RuleType.EXTENSION),
+            new PolicyRule("php*", RuleType.PREFIX),
+            new PolicyRule("sh", RuleType.SEGMENT),
+            new PolicyRule("bat", RuleType.EXTENSION, RuleAction.BLOCK, 5),
+            new PolicyRule("pdf", RuleType.EXTENSION, RuleAction.ALLOW, -1),
+            new PolicyRule("gz", RuleType.EXTENSION, RuleAction.ALLOW, 3));
+
+    @TempDir
+    Path temp;
+
+    private SharedPolicyWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("리더의 판정이 백엔드 정책 스냅샷과 같다")
+    void shouldMatchPolicySnapshot() throws Exception {
+        PolicySnapshot snapshot = new PolicySnapshot(7, RULES, RuleAction.ALLOW);
+        Path path = temp.resolve("policy.fxpl");
+        writer = new SharedPolicyWriter(path);
+        writer.publish(snapshot);
+
+        try (SharedPolicyReader reader = SharedPolicyReader.open(path)) {
+            assertThat(reader.revision()).isEqualTo(7);
+            assertThat(reader.contains("tar.gz")).isTrue();
+            assertThat(reader.contains("php*")).isTrue();
+            assertThat(reader.contains("php")).isFalse();
+            assertThat(reader.isBlocked("setup.EXE")).isTrue();
+            assertThat(reader.isBlocked("backup.tar.gz")).isTrue();
+            assertThat(reader.isBlocked("index.php5")).isTrue();
+            assertThat(reader.isBlocked("index.php.txt")).isFalse();
+            assertThat(reader.isBlocked("run.sh.txt")).isTrue();
+            assertThat(reader.isBlocked("report.exe.pdf")).isFalse();
+
+            String[] parts = {"exe", "EXE", "tar", "gz", "php", "php7", "sh", "bat", "pdf", "txt", "a", "", " ", "é"};
+            Random random = new Random(41);
+            for (int i = 0; i < 20_000; i++) {
+                StringBuilder filename = new StringBuilder(random.nextBoolean() ? "file" : "");
+                for (int j = random.nextInt(4); j >= 0; j--) {
+                    filename.append(random.nextInt(8) == 0 ? ".." : ".").append(parts[random.nextInt(parts.length)]);
+                }
+                String name = filename.toString();
+                assertThat(reader.isBlocked(name)).as(name)
+                        .isEqualTo(snapshot.isBlocked(snapshot.evaluateCanonical(name, 0, name.length())));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("가린 파일명도 검사 API와 같이 정규화해 판정한다")
+    void shouldCanonicalizeObfuscatedFilename() throws Exception {
+        PolicySnapshot snapshot = new PolicySnapshot(1, RULES, RuleAction.ALLOW);
+        Path path = temp.resolve("policy.fxpl");
+        writer = new SharedPolicyWriter(path);
+        writer.publish(snapshot);
+
+        try (SharedPolicyReader reader = SharedPolicyReader.open(path)) {
+            for (String filename : OBFUSCATED_EXE) {
+                assertThat(reader.isBlocked(filename)).as(filename).isTrue();
+            }
+            assertThat(reader.isBlocked("index.\uFF50hp7 ")).isTrue();
+            assertThat(reader.isBlocked("report.pdf.")).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("기본 차단 모드에서는 일치하지 않는 파일을 차단한다")
+    void shouldApplyDefaultAction() throws Exception {
+        Path path = temp.resolve("policy.fxpl");
+        writer = new SharedPolicyWriter(path);
+        writer.publish(new PolicySnapshot(1, List.of(new PolicyRule("png", RuleType.EXTENSION, RuleAction.ALLOW, 0)),
+                RuleAction.BLOCK));
+
+        try (SharedPolicyReader reader = SharedPolicyReader.open(path)) {
+            assertThat(reader.isBlocked("photo.png")).isFalse();
+            assertThat(reader.isBlocked("notes.txt")).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("열어 둔 리더가 제자리 갱신과 파일 교체를 모두 따라간다")
+    void shouldFollowUpdatesAndReplacement() throws Exception {
+        Path path = temp.resolve("policy.fxpl");
+        writer = new SharedPolicyWriter(path);
+        writer.publish(new PolicySnapshot(1, List.of(new PolicyRule("exe", RuleType.EXTENSION)), RuleAction.ALLOW));
+
+        try (SharedPolicyReader reader = SharedPolicyReader.open(path)) {
+            assertThat(reader.isBlocked("a.sh")).isFalse();
+
+            writer.publish(new PolicySnapshot(2, List.of(new PolicyRule("sh", RuleType.EXTENSION)), RuleAction.ALLOW));
+            assertThat(reader.revision()).isEqualTo(2);
+            assertThat(reader.isBlocked("a.sh")).isTrue();
+            assertThat(reader.isBlocked("a.exe")).isFalse();
+
+            // 용량(256개)을 넘으면 새 파일로 교체된다
+            List<PolicyRule> many = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                many.add(new PolicyRule("x" + i, RuleType.EXTENSION));
+            }
+            writer.publish(new PolicySnapshot(3, many, RuleAction.ALLOW));
+            assertThat(reader.revision()).isEqualTo(3);
+            assertThat(reader.entries()).hasSize(1000);
+            assertThat(reader.isBlocked("a.x999")).isTrue();
+
+            // 재기동한 백엔드가 새로 쓴 파일도 따라간다
+            writer.close();
+            writer = new SharedPolicyWriter(path);
+            writer.publish(new PolicySnapshot(1, List.of(new PolicyRule("doc", RuleType.EXTENSION)), RuleAction.ALLOW));
+            assertThat(reader.isBlocked("a.doc")).isTrue();
+            assertThat(reader.isBlocked("a.x999")).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("기록 중에도 리더는 한 시점의 일관된 목록만 본다")
+    void shouldNeverObserveTornSnapshot() throws Exception {
+        Path path = temp.resolve("policy.fxpl");
+        writer = new SharedPolicyWriter(path);
+        List<PolicyRule> first = new ArrayList<>();
+        List<PolicyRule> second = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            first.add(new PolicyRule("a" + i, RuleType.EXTENSION));
+            second.add(new PolicyRule("b" + i, RuleType.SEGMENT, RuleAction.ALLOW, i));
+        }
+        PolicySnapshot a = new PolicySnapshot(1, first, RuleAction.ALLOW);
+        PolicySnapshot b = new PolicySnapshot(2, second, RuleAction.ALLOW);
+        writer.publish(a);
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread publisher = new Thread(() -> {
+            try {
+                for (int i = 0; !stop.get(); i++) {
+                    writer.publish(i % 2 == 0 ? b : a);
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        publisher.start();
+        try (SharedPolicyReader reader = SharedPolicyReader.open(path)) {
+            for (int i = 0; i < 2_000; i++) {
+                List<SharedPolicyReader.Entry> entries = reader.entries();
+                assertThat(entries).hasSize(100);
+                String prefix = entries.get(0).pattern().substring(0, 1);
+                assertThat(entries).allMatch(entry -> entry.pattern().startsWith(prefix)
+                        && entry.type().equals(prefix.equals("a") ? "EXTENSION" : "SEGMENT"));
+            }
+        } finally {
+            stop.set(true);
+            publisher.join();
+        }
+        assertThat(failure.get()).isNull();
+    }
+}
@@ -0,0 +1,137 @@
+package com.flow.blocker.storage;
+
+import com.flow.blocker.audit.AuditEntry;
+import com.flow.blocker.audit.AuditRecorder;
+import com.flow.blocker.dto.ScheduleRequest;
+import com.flow.blocker.repository.BlockedExtensionRepository;
+import com.flow.blocker.service.ExtensionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class H2CheckpointManagerTest {
+
+    @TempDir
+    static Path checkpointDir;
+
+    @DynamicPropertySource
+    static void checkpointProperties(DynamicPropertyRegistry registry) {
+        registry.add("blocker.checkpoint.enabled", () -> "true");
+        registry.add("blocker.checkpoint.path", () -> checkpointDir.resolve("extensions.sql.gz").toString());
+        registry.add("blocker.checkpoint.interval", () -> "1h");
+    }
+
+    @Autowired
+    private H2CheckpointManager checkpointManager;
+
+    @Autowired
+    private ExtensionService extensionService;
+
+    @Autowired
+    private BlockedExtensionRepository repository;
+
+    @Autowired
+    private AuditRecorder auditRecorder;
+
+    @BeforeEach
+    void setUp() {
+        repository.findByFixedFalse().forEach(repository::delete);
+        auditRecorder.flush();
+        checkpointManager.checkpoint();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.findByFixedFalse().forEach(repository::delete);
+    }
+
+    @Test
+    @DisplayName("규칙이 변경되었을 때만 체크포인트를 기록해야 한다")
+    void shouldCheckpointOnlyWhenChanged() {
+        extensionService.addCustomExtension("cp");
+        auditRecorder.flush();
+
+        assertThat(checkpointManager.checkpoint()).isTrue();
+        assertThat(Files.exists(checkpointDir.resolve("extensions.sql.gz"))).isTrue();
+        assertThat(checkpointManager.checkpoint()).isFalse();
+    }
+
+    @Test
+    @DisplayName("규칙 revision을 바꾸지 않는 예약 변경도 체크포인트해야 한다")
+    void shouldCheckpointScheduleChange() {
+        extensionService.addCustomExtension("sched");
+        auditRecorder.flush();
+        checkpointManager.checkpoint();
+
+        // 지금도 적용 중인 기간이라 적용 집합(revision)은 그대로다
+        extensionService.updateSchedule("sched", ScheduleRequest.builder()
+                .validFrom(Instant.now().minus(1, ChronoUnit.DAYS))
+                .validUntil(Instant.now().plus(1, ChronoUnit.DAYS))
+                .build());
+
+        assertThat(checkpointManager.checkpoint()).isTrue();
+    }
+
+    @Test
+    @DisplayName("감사 로그 기록도 체크포인트해야 한다")
+    void shouldCheckpointAuditRows() {
+        assertThat(checkpointManager.checkpoint()).isFalse();
+
+        auditRecorder.record(new AuditEntry(LocalDateTime.now(), "tester", "ADD", "audit", null, "{}"));
+        auditRecorder.flush();
+
+        assertThat(checkpointManager.checkpoint()).isTrue();
+    }
+
+    @Test
+    @DisplayName("종료 시에는 변경이 없어도 마지막 체크포인트를 기록해야 한다")
+    void shouldAlwaysCheckpointOnStop() throws Exception {
+        Path target = checkpointDir.resolve("extensions.sql.gz");
+        assertThat(checkpointManager.checkpoint()).isFalse();
+        Files.delete(target);
+
+        checkpointManager.stop();
+        checkpointManager.start();
+
+        assertThat(Files.exists(target)).isTrue();
+    }
+
+    @Test
+    @DisplayName("재시작 시 체크포인트 내용으로 복원되어야 한다")
+    void shouldRestoreOnStart() throws Exception {
+        extensionService.addCustomExtension("restored");
+        extensionService.toggleFixedExtension("bat");
+        checkpointManager.checkpoint();
+        Path target = checkpointDir.resolve("extensions.sql.gz");
+        Path saved = checkpointDir.resolve("saved.sql.gz");
+        Files.copy(target, saved, StandardCopyOption.REPLACE_EXISTING);
+
+        // 체크포인트 이후의 변경이 기록되기 전에 죽었다고 보고, 그 시점의 체크포인트로 재시작
+        repository.deleteAll(repository.findByFixedFalse());
+        checkpointManager.stop();
+        Files.move(saved, target, StandardCopyOption.REPLACE_EXISTING);
+        checkpointManager.start();
+
+        assertThat(repository.existsByExtension("restored")).isTrue();
+        assertThat(extensionService.checkFilename("a.restored").isBlocked()).isTrue();
+        assertThat(extensionService.checkFilename("a.bat").isBlocked()).isTrue();
+
+        extensionService.toggleFixedExtension("bat");
+    }
+}
@@ -0,0 +1,209 @@
+package com.flow.blocker.storage;
+
+import com.flow.blocker.config.BlockerProperties;
+import com.flow.blocker.domain.BlockedExtension.RuleAction;
+import com.flow.blocker.domain.BlockedExtension.RuleType;
+import com.flow.blocker.dto.ExtensionResponse;
+import com.flow.blocker.exception.ExtensionException;
+import com.flow.blocker.exception.ExtensionException.ErrorCode;
+import com.flow.blocker.repository.BlockedExtensionBulkRepository;
+import com.flow.blocker.repository.BlockedExtensionRepository;
+import com.flow.blocker.service.ExtensionService;
+import com.flow.blocker.transfer.TransferRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class WriteBehindBufferTest {
+
+    @TempDir
+    static Path journalDir;
+
+    @DynamicPropertySource
+    static void writeBehindProperties(DynamicPropertyRegistry registry) {
+        registry.add("blocker.write-behind.enabled", () -> "true");
+        registry.add("blocker.write-behind.journal-path", () -> journalDir.resolve("write-behind.journal").toString());
+        // 기록 시점을 테스트에서 flush()로 제어한다
+        registry.add("blocker.write-behind.flush-interval", () -> "1h");
+    }
+
+    @Autowired
+    private WriteBehindBuffer writeBehind;
+
+    @Autowired
+    private ExtensionService extensionService;
+
+    @Autowired
+    private BlockedExtensionRepository repository;
+
+    @Autowired
+    private BlockedExtensionBulkRepository bulkRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BlockerProperties properties;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        writeBehind.flush();
+        repository.findByFixedFalse().forEach(repository::delete);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.flush();
+        repository.findByFixedFalse().forEach(repository::delete);
+    }
+
+    @Test
+    @DisplayName("변경은 기록 전에도 조회와 검사에 바로 반영되어야 한다")
+    void shouldApplyInMemoryBeforeFlush() {
+        extensionService.addCustomExtension("wb");
+
+        assertThat(repository.existsByExtension("wb")).isFalse();
+        assertThat(extensionService.checkFilename("a.wb").isBlocked()).isTrue();
+        ExtensionResponse response = extensionService.getAllExtensions();
+        assertThat(response.getCustomCount()).isEqualTo(1);
+        assertThat(response.getCustomExtensions()).extracting("extension").containsExactly("wb");
+
+        writeBehind.flush();
+
+        assertThat(repository.existsByExtension("wb")).isTrue();
+        assertThat(writeBehind.getPendingCount()).isZero();
+        assertThat(Files.exists(journalDir.resolve("write-behind.journal"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("같은 확장자의 연속 변경은 최종 상태 하나로 합쳐져야 한다")
+    void shouldCoalesceChanges() {
+        extensionService.toggleFixedExtension("bat");
+        extensionService.toggleFixedExtension("bat");
+        extensionService.toggleFixedExtension("bat");
+        extensionService.addCustomExtension("tmp");
+        extensionService.deleteCustomExtension("tmp");
+
+        assertThat(writeBehind.getPendingCount()).isEqualTo(2);
+        assertThat(extensionService.checkFilename("a.bat").isBlocked()).isTrue();
+
+        writeBehind.flush();
+
+        assertThat(repository.findByExtension("bat").orElseThrow().isActive()).isTrue();
+        assertThat(repository.existsByExtension("tmp")).isFalse();
+
+        extensionService.toggleFixedExtension("bat");
+    }
+
+    @Test
+    @DisplayName("중복/개수 제한 검사는 반영 대기 변경을 포함해야 한다")
+    void shouldValidateAgainstPendingState() {
+        extensionService.addCustomExtension("dup");
+
+        assertThatThrownBy(() -> extensionService.addCustomExtension("dup"))
+                .isInstanceOf(ExtensionException.class)
+                .hasMessage(ErrorCode.DUPLICATE_EXTENSION.getMessage());
+
+        int maxCount = properties.getCustom().getMaxCount();
+        for (int i = 1; i < maxCount; i++) {
+            extensionService.addCustomExtension("ext" + i);
+        }
+        assertThatThrownBy(() -> extensionService.addCustomExtension("over"))
+                .isInstanceOf(ExtensionException.class)
+                .hasMessage(ErrorCode.MAX_CUSTOM_EXCEEDED.format(maxCount));
+
+        writeBehind.flush();
+        assertThat(repository.countByFixedFalse()).isEqualTo(maxCount);
+    }
+
+    @Test
+    @DisplayName("재기동 시 저널에 남은 변경을 복구해야 한다")
+    void shouldRecoverFromJournal() {
+        extensionService.addCustomExtension("lost");
+        assertThat(repository.existsByExtension("lost")).isFalse();
+
+        // 기록 전에 프로세스가 죽었다고 보고 같은 저널로 새 버퍼를 만든다
+        WriteBehindBuffer restarted = new WriteBehindBuffer(bulkRepository, transactionManager, properties);
+        assertThat(restarted.find("lost")).isPresent();
+        restarted.flush();
+
+        assertThat(repository.existsByExtension("lost")).isTrue();
+    }
+
+    @Test
+    @DisplayName("기록 중에도 변경은 기다리지 않고, 그 사이 다시 바뀐 확장자는 다음 기록까지 남아야 한다")
+    void shouldNotBlockOrLoseChangesDuringFlush() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockedExtensionBulkRepository slowRepository = new BlockedExtensionBulkRepository(dataSource) {
+            @Override
+            public void upsert(List<TransferRow> rows) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.upsert(rows);
+            }
+        };
+        BlockerProperties slowProperties = new BlockerProperties();
+        slowProperties.getWriteBehind().setEnabled(true);
+        slowProperties.getWriteBehind().setJournalPath(journalDir.resolve("slow.journal"));
+        WriteBehindBuffer buffer = new WriteBehindBuffer(slowRepository, transactionManager, slowProperties);
+
+        buffer.enqueue(PendingChange.upsert(row("wba", true)));
+        CompletableFuture<Void> flushing = CompletableFuture.runAsync(buffer::flush);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 기록 트랜잭션이 끝나지 않았어도 변경 검사-적용은 바로 끝난다
+        CompletableFuture.runAsync(() -> {
+            buffer.locked(() -> {
+                buffer.enqueue(PendingChange.upsert(row("wba", false)));
+                return null;
+            });
+            buffer.enqueue(PendingChange.upsert(row("wbb", true)));
+        }).get(1, TimeUnit.SECONDS);
+
+        release.countDown();
+        flushing.get(5, TimeUnit.SECONDS);
+
+        assertThat(repository.findByExtension("wba").orElseThrow().isActive()).isTrue();
+        assertThat(buffer.find("wba").orElseThrow().row().active()).isFalse();
+        assertThat(buffer.find("wbb")).isPresent();
+        assertThat(Files.readAllLines(journalDir.resolve("slow.journal"))).hasSize(2);
+
+        buffer.flush();
+
+        assertThat(repository.findByExtension("wba").orElseThrow().isActive()).isFalse();
+        assertThat(repository.existsByExtension("wbb")).isTrue();
+        assertThat(buffer.getPendingCount()).isZero();
+        assertThat(Files.exists(journalDir.resolve("slow.journal"))).isFalse();
+    }
+
+    private static TransferRow row(String extension, boolean active) {
+        return new TransferRow(extension, false, active, RuleType.EXTENSION, RuleAction.BLOCK, 0);
+    }
+}
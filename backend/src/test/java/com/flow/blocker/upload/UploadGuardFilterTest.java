@@ -0,0 +1,373 @@
+package com.flow.blocker.upload;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.Part;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.DelegatingServletInputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockPart;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadGuardFilterTest {
+
+    private static final String BOUNDARY = "----guard7MA4YWxkTrZu0gW";
+    private static final long HUGE = 512L * 1024 * 1024;
+
+    private final UploadGuardFilter filter = new UploadGuardFilter(
+            filename -> filename.toLowerCase().endsWith(".exe"), 16 * 1024);
+
+    @Test
+    @DisplayName("첫 파트가 차단되면 본문을 읽기 전에 403으로 끊는다")
+    void shouldRejectBlockedFirstPartBeforeBody() throws Exception {
+        CountingInputStream body = new CountingInputStream(new SequenceInputStream(Collections.enumeration(List.of(
+                text(partHeader("file", "filename=\"setup.EXE\"")),
+                new RepeatingInputStream(HUGE),
+                text(closing())))));
+        AtomicBoolean chainCalled = new AtomicBoolean();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(body), response, (req, res) -> chainCalled.set(true));
+
+        assertThat(chainCalled).isFalse();
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(response.getHeader("Connection")).isEqualTo("close");
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8))
+                .contains("BLOCKED_UPLOAD").contains("setup.EXE");
+        assertThat(body.count).isLessThan(64 * 1024 + 1);
+    }
+
+    @Test
+    @DisplayName("허용된 파트는 바이트 그대로 다운스트림에 전달한다")
+    void shouldPassAllowedPartsUnchanged() throws Exception {
+        byte[] payload = multipart(
+                part("note", null, "hello\r\n--not-a-boundary\r\n"),
+                part("file", "filename=\"report.pdf\"", "%PDF-1.7 \r\n\r\n binary"),
+                part("file", "filename=\"\"", ""));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload/files");
+        request.setContentType("multipart/form-data; boundary=\"" + BOUNDARY + "\"");
+        request.setContent(payload);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+
+        filter.doFilter(request, response, (req, res) -> req.getInputStream().transferTo(received));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(received.toByteArray()).isEqualTo(payload);
+    }
+
+    @Test
+    @DisplayName("뒤쪽 파트가 차단되면 다운스트림 읽기 중에 실패하고 403을 응답한다")
+    void shouldRejectBlockedLaterPartWhileStreaming() throws Exception {
+        byte[] payload = multipart(
+                part("file", "filename=\"a.txt\"", "first"),
+                part("file", "filename=\"../../b.exe\"", "MZ payload"));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload/files");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(payload);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            InputStream in = req.getInputStream();
+            byte[] buffer = new byte[7];
+            while (in.read(buffer) >= 0) {
+                // 게이트웨이가 스트리밍으로 소비
+            }
+            res.getWriter().write("stored");
+        };
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8))
+                .contains("b.exe").doesNotContain("stored");
+    }
+
+    @Test
+    @DisplayName("filename* (RFC 5987) 인코딩된 파일명을 해석한다")
+    void shouldDecodeExtendedFilename() throws Exception {
+        byte[] payload = multipart(part("file",
+                "filename=\"safe.txt\"; filename*=UTF-8''%EC%84%A4%EC%B9%98.exe", "x"));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload/files");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(payload);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.getInputStream().transferTo(OutputStream.nullOutputStream()));
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).contains("설치.exe");
+        assertThat(MultipartGuardInputStream.filenameOf(
+                "Content-Disposition: form-data; name=\"f\"; filename=\"a \\\"q\\\".png\"")).isEqualTo("a \"q\".png");
+    }
+
+    @Test
+    @DisplayName("파트 헤더가 제한을 넘으면 400을 응답한다")
+    void shouldRejectOversizedHeader() throws Exception {
+        byte[] payload = multipart(part("file", "filename=\"" + "a".repeat(20_000) + ".txt\"", "x"));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload/files");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(payload);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.getInputStream().transferTo(OutputStream.nullOutputStream()));
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).contains("INVALID_MULTIPART");
+    }
+
+    @Test
+    @DisplayName("컨테이너가 파트를 파싱하는 경로는 미리 읽지 않고, 차단된 파트가 있으면 체인 전에 403으로 끊는다")
+    void shouldRejectBlockedPartOnPartsPath() throws Exception {
+        UploadGuardFilter partsFilter = new UploadGuardFilter(
+                filename -> filename.toLowerCase().endsWith(".exe"), 16 * 1024, request -> true);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload/files");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.addPart(new MockPart("file", "a.txt", "first".getBytes(StandardCharsets.UTF_8)));
+        request.addPart(new MockPart("file", "setup.EXE", "MZ".getBytes(StandardCharsets.UTF_8)));
+        AtomicBoolean chainCalled = new AtomicBoolean();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        partsFilter.doFilter(request, response, (req, res) -> chainCalled.set(true));
+
+        assertThat(chainCalled).isFalse();
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).contains("setup.EXE");
+    }
+
+    @Test
+    @DisplayName("컨테이너가 파트를 파싱하는 경로에서 허용된 파트는 다운스트림이 그대로 받는다")
+    void shouldPassAllowedPartsOnPartsPath() throws Exception {
+        UploadGuardFilter partsFilter = new UploadGuardFilter(
+                filename -> filename.toLowerCase().endsWith(".exe"), 16 * 1024, request -> true);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload/files");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.addPart(new MockPart("note", null, "hello".getBytes(StandardCharsets.UTF_8)));
+        request.addPart(new MockPart("file", "report.pdf", "%PDF-1.7".getBytes(StandardCharsets.UTF_8)));
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        partsFilter.doFilter(request, response, (req, res) -> {
+            Part file = ((MockHttpServletRequest) req).getPart("file");
+            file.getInputStream().transferTo(received);
+        });
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(received.toString(StandardCharsets.UTF_8)).isEqualTo("%PDF-1.7");
+    }
+
+    @Test
+    @DisplayName("비동기 읽기(setReadListener)도 미리 읽은 바이트부터 그대로 전달한다")
+    void shouldSupportNonBlockingRead() throws Exception {
+        byte[] payload = multipart(
+                part("file", "filename=\"a.txt\"", "first"),
+                part("file", "filename=\"b.pdf\"", "second"));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload/files") {
+            private final ServletInputStream stream = new ListeningInputStream(payload);
+
+            @Override
+            public ServletInputStream getInputStream() {
+                return stream;
+            }
+        };
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            ServletInputStream in = req.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[16];
+                    while (in.isReady() && !in.isFinished()) {
+                        int n = in.read(buffer);
+                        if (n < 0) {
+                            break;
+                        }
+                        received.write(buffer, 0, n);
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new AssertionError(t);
+                }
+            });
+        });
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(allRead).isTrue();
+        assertThat(received.toByteArray()).isEqualTo(payload);
+    }
+
+    @Test
+    @DisplayName("multipart가 아닌 요청은 검사하지 않는다")
+    void shouldSkipNonMultipart() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload/files");
+        request.setContentType("application/json");
+        request.setContent("{\"filename\":\"a.exe\"}".getBytes(StandardCharsets.UTF_8));
+        AtomicBoolean chainCalled = new AtomicBoolean();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> chainCalled.set(req == request));
+
+        assertThat(chainCalled).isTrue();
+    }
+
+    private static MockHttpServletRequest request(InputStream body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload/files") {
+            private final ServletInputStream stream = new DelegatingServletInputStream(body);
+
+            @Override
+            public ServletInputStream getInputStream() {
+                return stream;
+            }
+        };
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        return request;
+    }
+
+    private static String partHeader(String name, String filenameParam) {
+        return "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\""
+                + (filenameParam != null ? "; " + filenameParam : "") + "\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n";
+    }
+
+    private static String part(String name, String filenameParam, String content) {
+        return partHeader(name, filenameParam) + content + "\r\n";
+    }
+
+    private static String closing() {
+        return "\r\n--" + BOUNDARY + "--\r\n";
+    }
+
+    private static byte[] multipart(String... parts) {
+        return (String.join("", parts) + "--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static InputStream text(String value) {
+        return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 리스너를 걸면 바로 남은 본문을 알리고 끝을 알리는 비동기 입력 스트림
+    private static class ListeningInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream body;
+
+        ListeningInputStream(byte[] body) {
+            this.body = new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public int read() {
+            return body.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return body.read(b, off, len);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return body.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            try {
+                if (!isFinished()) {
+                    readListener.onDataAvailable();
+                }
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+
+    // 메모리에 올리지 않는 대용량 파일 본문
+    private static class RepeatingInputStream extends InputStream {
+
+        private long remaining;
+
+        RepeatingInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining <= 0) {
+                return -1;
+            }
+            remaining--;
+            return 'A';
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = (int) Math.min(len, remaining);
+            Arrays.fill(b, off, off + n, (byte) 'A');
+            remaining -= n;
+            return n;
+        }
+    }
+}
@@ -12,12 +12,27 @@ export const extensionApi = {
     return api.get('/extensions')
   },
 
+  getChanges(since) {
+    return api.get('/extensions/changes', { params: { since } })
+  },
+
   toggleFixed(extension) {
     return api.patch(`/extensions/fixed/${extension}`)
   },
 
-  addCustom(extension) {
-    return api.post('/extensions/custom', { extension })
+  addCustom(extension, ruleType) {
+    return api.post('/extensions/custom', { extension, ruleType })
+  },
+
+  getFilter(etag) {
+    return api.get('/extensions/filter', {
+      headers: etag ? { 'If-None-Match': etag } : {},
+      validateStatus: status => status === 200 || status === 304
+    })
+  },
+
+  check(filename) {
+    return api.get('/extensions/check', { params: { filename } })
   },
 
   deleteCustom(extension) {
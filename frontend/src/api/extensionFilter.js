@@ -0,0 +1,67 @@
+// 서버 ExtensionBloomFilter와 같은 키/해시 규칙으로 동작하는 클라이언트 사전 필터
+const FNV_OFFSET = 0x811c9dc5
+const FNV_OFFSET_2 = 0x050c5d1f
+const FNV_PRIME = 0x01000193
+
+// 서버 FilenameCanonicalizer와 같은 정규화: 서식 문자/이형 선택자 제거, 전각 ASCII → 반각,
+// 유니코드 공백 → ' ', 앞 공백과 끝의 '.'/공백 제거 ("evil.exe.", "evil.ｅｘｅ", "evil.e\u200Bxe" → "evil.exe")
+export function canonicalizeFilename(filename) {
+  return filename
+    .replace(/[\p{Cf}\uFE00-\uFE0F\u{E0100}-\u{E01EF}]/gu, '')
+    .replace(/[\uFF01-\uFF5E]/g, ch => String.fromCharCode(ch.charCodeAt(0) - 0xFEE0))
+    .replace(/\p{Zs}/gu, ' ')
+    .replace(/^[\x00-\x20]+/, '')
+    .replace(/[\x00-\x20.]+$/, '')
+}
+
+export function createExtensionFilter(response) {
+  const { bitCount, hashCount, defaultAction } = response
+  const bits = Uint8Array.from(atob(response.bits), c => c.charCodeAt(0))
+
+  const mightContain = (kind, key) => {
+    if (key.length === 0 || /[^\x00-\x7f]/.test(key)) {
+      return false
+    }
+    let h1 = Math.imul(FNV_OFFSET ^ kind.charCodeAt(0), FNV_PRIME)
+    let h2 = Math.imul(FNV_OFFSET_2 ^ kind.charCodeAt(0), FNV_PRIME)
+    for (const ch of key.toLowerCase()) {
+      h1 = Math.imul(h1 ^ ch.charCodeAt(0), FNV_PRIME)
+      h2 = Math.imul(h2 ^ ch.charCodeAt(0), FNV_PRIME)
+    }
+    h2 |= 1
+    for (let i = 0; i < hashCount; i++) {
+      const index = ((h1 + Math.imul(i, h2)) >>> 0) % bitCount
+      if ((bits[index >>> 3] & (1 << (index & 7))) === 0) {
+        return false
+      }
+    }
+    return true
+  }
+
+  // false면 차단 규칙에 걸리지 않는 것이 확실하다. true면 검사 API로 확인해야 한다.
+  const mightBlock = rawFilename => {
+    if (defaultAction === 'BLOCK') {
+      return true
+    }
+    const filename = canonicalizeFilename(rawFilename)
+    const lastDot = filename.lastIndexOf('.')
+    for (let dot = filename.indexOf('.'); dot !== -1; dot = filename.indexOf('.', dot + 1)) {
+      const next = filename.indexOf('.', dot + 1)
+      if ((response.extensionKeyCount > 0 && mightContain('e', filename.substring(dot + 1)))
+          || (response.segmentKeyCount > 0
+            && mightContain('s', filename.substring(dot + 1, next === -1 ? filename.length : next)))) {
+        return true
+      }
+      if (dot === lastDot && response.prefixKeyCount > 0) {
+        for (let end = dot + 2; end <= filename.length; end++) {
+          if (mightContain('p', filename.substring(dot + 1, end))) {
+            return true
+          }
+        }
+      }
+    }
+    return false
+  }
+
+  return { revision: response.revision, mightBlock }
+}